@@ -1,19 +1,49 @@
 package com.app.heartbound.config;
 
+import com.app.heartbound.dto.LeaderboardEntryDTO;
+import com.app.heartbound.dto.UserHotState;
+import com.app.heartbound.entities.DiscordBotSettings;
+import com.app.heartbound.entities.PairLevel;
+import com.app.heartbound.entities.PendingPrison;
+import com.app.heartbound.events.DomainEvent;
+import com.app.heartbound.events.DomainEvent.BalanceChanged;
+import com.app.heartbound.events.DomainEvent.PairingChanged;
+import com.app.heartbound.events.DomainEvent.SettingsChanged;
+import com.app.heartbound.events.DomainEvent.ShopItemChanged;
+import com.app.heartbound.events.DomainEvent.UserChanged;
+import com.app.heartbound.repositories.DiscordBotSettingsRepository;
+import com.app.heartbound.services.discord.DiscordBotSettingsService.FishingSettings;
 import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
 import com.github.benmanes.caffeine.cache.Caffeine;
-import com.github.benmanes.caffeine.cache.RemovalListener;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.stereotype.Component;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import jakarta.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
-import com.app.heartbound.dto.LeaderboardEntryDTO;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * Centralized Cache Configuration for Pairing System Performance Optimization.
@@ -24,13 +54,18 @@ import com.app.heartbound.dto.LeaderboardEntryDTO;
  * - Voice streak statistics (calculated data)
  * - User profile information (external API data)
  * - Batch operation results
+ *
+ * It is also the registry behind Spring's cache abstraction, and the subscriber that applies
+ * {@link DomainEvent}s to the caches holding the changed data.
  */
 @Configuration
-@Component
+@EnableCaching
 @Getter
 @Slf4j
 public class CacheConfig {
 
+    private static final int USER_HOT_STATE_VERSION_STRIPES = 64;
+
     // Pair Level Cache Configuration
     @Value("${cache.pair-level.max-size:5000}")
     private long pairLevelCacheMaxSize;
@@ -45,6 +80,13 @@ public class CacheConfig {
     @Value("${cache.achievement.expire-after-write-minutes:60}")
     private long achievementCacheExpireMinutes;
 
+    // Unlocked Achievement Bitset Cache Configuration
+    @Value("${cache.unlocked-achievements.max-size:10000}")
+    private long unlockedAchievementsCacheMaxSize;
+
+    @Value("${cache.unlocked-achievements.expire-after-access-minutes:60}")
+    private long unlockedAchievementsCacheExpireMinutes;
+
     // Voice Streak Cache Configuration
     @Value("${cache.voice-streak.max-size:2000}")
     private long voiceStreakCacheMaxSize;
@@ -59,6 +101,13 @@ public class CacheConfig {
     @Value("${cache.user-profile.expire-after-write-minutes:30}")
     private long userProfileCacheExpireMinutes;
 
+    // User Hot State Cache Configuration
+    @Value("${cache.user-hot-state.max-size:20000}")
+    private long userHotStateCacheMaxSize;
+
+    @Value("${cache.user-hot-state.expire-after-write-minutes:30}")
+    private long userHotStateCacheExpireMinutes;
+
     // Batch Operation Cache Configuration
     @Value("${cache.batch-operations.max-size:100}")
     private long batchOperationsCacheMaxSize;
@@ -138,579 +187,360 @@ public class CacheConfig {
     @Value("${cache.pending-prison.expire-after-write-days:35}")
     private long pendingPrisonCacheExpireDays;
 
+    @Value("${cache.discord-bot-settings.refresh-after-write-minutes:5}")
+    private long discordBotSettingsCacheRefreshMinutes;
+
+    @Getter(AccessLevel.NONE)
+    private final DiscordBotSettingsRepository discordBotSettingsRepository;
+
+    @Getter(AccessLevel.NONE)
+    private final Map<String, Cache<?, ?>> cachesByName = new LinkedHashMap<>();
+
+    @Getter(AccessLevel.NONE)
+    private final Map<Class<? extends DomainEvent>, List<Consumer<DomainEvent>>> subscribers = new HashMap<>();
+
+    @Getter(AccessLevel.NONE)
+    private final AtomicLongArray userHotStateVersions = new AtomicLongArray(USER_HOT_STATE_VERSION_STRIPES);
+
     // Cache instances
-    private Cache<Long, Object> pairLevelCache;
+    private Cache<Long, PairLevel> pairLevelCache;
     private Cache<String, List<Object>> achievementListCache;
     private Cache<Long, Object> achievementCache;
+    private Cache<Long, BitSet> unlockedAchievementsCache;
     private Cache<Long, Object> voiceStreakStatsCache;
     private Cache<String, List<Object>> voiceStreakListCache;
     private Cache<String, Object> userProfileCache;
+    private Cache<String, UserHotState> userHotStateCache;
     private Cache<String, Map<String, Object>> batchOperationsCache;
     private Cache<String, List<Object>> dailyMessageActivityCache;
     private Cache<String, Object> dailyClaimCache;
-    private Cache<Long, Object> discordBotSettingsCache;
-    private Cache<String, Object> fishingSettingsCache;
+    private LoadingCache<Long, DiscordBotSettings> discordBotSettingsCache;
+    private Cache<String, FishingSettings> fishingSettingsCache;
     private Cache<String, List<String>> prisonCache;
     private Cache<String, Object> countingGameCache;
     private Cache<String, Object> giveawayCache;
     private Cache<String, List<Object>> featuredItemsCache;
     private Cache<String, List<LeaderboardEntryDTO>> leaderboardCache;
-    private Cache<String, Object> pendingPrisonCache;
+    private Cache<String, PendingPrison> pendingPrisonCache;
+
+    public CacheConfig(DiscordBotSettingsRepository discordBotSettingsRepository) {
+        this.discordBotSettingsRepository = discordBotSettingsRepository;
+    }
 
+    /**
+     * Builds every cache and declares which domain events invalidate it.
+     *
+     * Caches that one service both fills and changes (counting game, giveaways, daily activity,
+     * pending prison, unlocked achievements) are invalidated by that service directly. Caches over
+     * data that other code changes subscribe to the {@link DomainEvent} it publishes instead, so a
+     * writer does not need to know which caches hold its data.
+     */
     @PostConstruct
     public void initializeCaches() {
         log.info("Initializing Pairing System Performance Caches...");
 
         // Pair Level Cache - stores PairLevel entities and calculations
-        this.pairLevelCache = Caffeine.newBuilder()
+        this.pairLevelCache = define("pairLevel", Caffeine.newBuilder()
                 .maximumSize(pairLevelCacheMaxSize)
-                .expireAfterWrite(pairLevelCacheExpireMinutes, TimeUnit.MINUTES)
-                .removalListener((RemovalListener<Long, Object>) (key, value, cause) -> {
-                    if (log.isDebugEnabled()) {
-                        log.debug("Pair level cache entry removed: pairingId={}, cause={}", key, cause);
-                    }
-                })
-                .recordStats()
-                .build();
+                .expireAfterWrite(pairLevelCacheExpireMinutes, TimeUnit.MINUTES));
+        evictOn(PairingChanged.class, pairLevelCache, PairingChanged::pairingId);
 
         // Achievement List Cache - stores lists of achievements per pairing
-        this.achievementListCache = Caffeine.newBuilder()
+        this.achievementListCache = define("achievementList", Caffeine.newBuilder()
                 .maximumSize(achievementCacheMaxSize)
-                .expireAfterWrite(achievementCacheExpireMinutes, TimeUnit.MINUTES)
-                .removalListener((RemovalListener<String, List<Object>>) (key, value, cause) -> {
-                    if (log.isDebugEnabled()) {
-                        log.debug("Achievement list cache entry removed: key={}, cause={}", key, cause);
-                    }
-                })
-                .recordStats()
-                .build();
+                .expireAfterWrite(achievementCacheExpireMinutes, TimeUnit.MINUTES));
+        evictOn(PairingChanged.class, achievementListCache, event -> "pairing_" + event.pairingId() + "_unlocked");
+        evictOn(PairingChanged.class, achievementListCache, event -> "pairing_" + event.pairingId() + "_available");
 
         // Individual Achievement Cache - stores single achievement data
-        this.achievementCache = Caffeine.newBuilder()
+        this.achievementCache = define("achievement", Caffeine.newBuilder()
                 .maximumSize(achievementCacheMaxSize)
-                .expireAfterWrite(achievementCacheExpireMinutes, TimeUnit.MINUTES)
-                .removalListener((RemovalListener<Long, Object>) (key, value, cause) -> {
-                    if (log.isDebugEnabled()) {
-                        log.debug("Achievement cache entry removed: achievementId={}, cause={}", key, cause);
-                    }
-                })
-                .recordStats()
-                .build();
+                .expireAfterWrite(achievementCacheExpireMinutes, TimeUnit.MINUTES));
+
+        // Unlocked Achievements Cache - one bitset per pairing, indexed by AchievementIndex bit
+        this.unlockedAchievementsCache = define("unlockedAchievements", Caffeine.newBuilder()
+                .maximumSize(unlockedAchievementsCacheMaxSize)
+                .expireAfterAccess(unlockedAchievementsCacheExpireMinutes, TimeUnit.MINUTES));
 
         // Voice Streak Statistics Cache - stores calculated streak data
-        this.voiceStreakStatsCache = Caffeine.newBuilder()
+        this.voiceStreakStatsCache = define("voiceStreakStats", Caffeine.newBuilder()
                 .maximumSize(voiceStreakCacheMaxSize)
-                .expireAfterWrite(voiceStreakCacheExpireMinutes, TimeUnit.MINUTES)
-                .removalListener((RemovalListener<Long, Object>) (key, value, cause) -> {
-                    if (log.isDebugEnabled()) {
-                        log.debug("Voice streak stats cache entry removed: pairingId={}, cause={}", key, cause);
-                    }
-                })
-                .recordStats()
-                .build();
+                .expireAfterWrite(voiceStreakCacheExpireMinutes, TimeUnit.MINUTES));
+        evictOn(PairingChanged.class, voiceStreakStatsCache, PairingChanged::pairingId);
 
         // Voice Streak List Cache - stores lists of voice streaks
-        this.voiceStreakListCache = Caffeine.newBuilder()
+        this.voiceStreakListCache = define("voiceStreakList", Caffeine.newBuilder()
                 .maximumSize(voiceStreakCacheMaxSize)
-                .expireAfterWrite(voiceStreakCacheExpireMinutes, TimeUnit.MINUTES)
-                .removalListener((RemovalListener<String, List<Object>>) (key, value, cause) -> {
-                    if (log.isDebugEnabled()) {
-                        log.debug("Voice streak list cache entry removed: key={}, cause={}", key, cause);
-                    }
-                })
-                .recordStats()
-                .build();
+                .expireAfterWrite(voiceStreakCacheExpireMinutes, TimeUnit.MINUTES));
+        evictOn(PairingChanged.class, voiceStreakListCache, event -> "pairing_" + event.pairingId() + "_streaks");
+        evictOn(PairingChanged.class, voiceStreakListCache, event -> "pairing_" + event.pairingId() + "_recent");
 
         // User Profile Cache - stores user profile data
-        this.userProfileCache = Caffeine.newBuilder()
+        this.userProfileCache = define("userProfile", Caffeine.newBuilder()
                 .maximumSize(userProfileCacheMaxSize)
-                .expireAfterWrite(userProfileCacheExpireMinutes, TimeUnit.MINUTES)
-                .removalListener((RemovalListener<String, Object>) (key, value, cause) -> {
-                    if (log.isDebugEnabled()) {
-                        log.debug("User profile cache entry removed: userId={}, cause={}", key, cause);
-                    }
-                })
-                .recordStats()
-                .build();
+                .expireAfterWrite(userProfileCacheExpireMinutes, TimeUnit.MINUTES));
+        evictOn(UserChanged.class, userProfileCache, UserChanged::userId);
+        evictOn(BalanceChanged.class, userProfileCache, BalanceChanged::userId);
+
+        // User Hot State Cache - compact read model of the user fields read per Discord event.
+        // Atomic balance updates are written through with the absolute balance they returned,
+        // ordered by balance version, so a state loaded after the commit is not changed twice and
+        // an older balance never replaces a newer one. Any other change evicts. Both also move the
+        // user's version on, see getUserHotState.
+        this.userHotStateCache = define("userHotState", Caffeine.newBuilder()
+                .maximumSize(userHotStateCacheMaxSize)
+                .expireAfterWrite(userHotStateCacheExpireMinutes, TimeUnit.MINUTES));
+        subscribe(UserChanged.class, event -> evictUserHotState(event.userId()));
+        subscribe(BalanceChanged.class, this::writeBalanceThrough);
 
         // Batch Operations Cache - stores results of batch operations
-        this.batchOperationsCache = Caffeine.newBuilder()
+        this.batchOperationsCache = define("batchOperations", Caffeine.newBuilder()
                 .maximumSize(batchOperationsCacheMaxSize)
-                .expireAfterWrite(batchOperationsCacheExpireMinutes, TimeUnit.MINUTES)
-                .removalListener((RemovalListener<String, Map<String, Object>>) (key, value, cause) -> {
-                    if (log.isDebugEnabled()) {
-                        log.debug("Batch operations cache entry removed: key={}, cause={}", key, cause);
-                    }
-                })
-                .recordStats()
-                .build();
+                .expireAfterWrite(batchOperationsCacheExpireMinutes, TimeUnit.MINUTES));
+        evictOn(PairingChanged.class, batchOperationsCache, event -> "all_active_pairings");
 
         // Daily Message Activity Cache - stores daily activity statistics
-        this.dailyMessageActivityCache = Caffeine.newBuilder()
+        this.dailyMessageActivityCache = define("dailyMessageActivity", Caffeine.newBuilder()
                 .maximumSize(dailyActivityCacheMaxSize)
-                .expireAfterWrite(dailyActivityCacheExpireMinutes, TimeUnit.MINUTES)
-                .removalListener((RemovalListener<String, List<Object>>) (key, value, cause) -> {
-                    if (log.isDebugEnabled()) {
-                        log.debug("Daily message activity cache entry removed: key={}, cause={}", key, cause);
-                    }
-                })
-                .recordStats()
-                .build();
+                .expireAfterWrite(dailyActivityCacheExpireMinutes, TimeUnit.MINUTES));
 
         // Daily Claim Cache - stores user daily claim status
-        this.dailyClaimCache = Caffeine.newBuilder()
+        this.dailyClaimCache = define("dailyClaim", Caffeine.newBuilder()
                 .maximumSize(dailyClaimCacheMaxSize)
-                .expireAfterWrite(dailyClaimCacheExpireMinutes, TimeUnit.MINUTES)
-                .removalListener((RemovalListener<String, Object>) (key, value, cause) -> {
-                    if (log.isDebugEnabled()) {
-                        log.debug("Daily claim cache entry removed: userId={}, cause={}", key, cause);
-                    }
-                })
-                .recordStats()
-                .build();
+                .expireAfterWrite(dailyClaimCacheExpireMinutes, TimeUnit.MINUTES));
+        evictOn(UserChanged.class, dailyClaimCache, UserChanged::userId);
 
-        // Discord Bot Settings Cache - stores Discord bot settings
-        this.discordBotSettingsCache = Caffeine.newBuilder()
+        // Discord Bot Settings Cache - the single settings row, read on every message. Refreshed
+        // in the background so readers never wait on the database after the first load.
+        this.discordBotSettingsCache = define("discordBotSettings", Caffeine.newBuilder()
                 .maximumSize(discordBotSettingsCacheMaxSize)
                 .expireAfterWrite(discordBotSettingsCacheExpireMinutes, TimeUnit.MINUTES)
-                .removalListener((RemovalListener<Long, Object>) (key, value, cause) -> {
-                    if (log.isDebugEnabled()) {
-                        log.debug("Discord bot settings cache entry removed: key={}, cause={}", key, cause);
-                    }
-                })
-                .recordStats()
-                .build();
+                .refreshAfterWrite(discordBotSettingsCacheRefreshMinutes, TimeUnit.MINUTES),
+                id -> discordBotSettingsRepository.findById(id).orElse(null));
+        clearOn(SettingsChanged.class, discordBotSettingsCache);
 
         // Fishing Settings Cache - stores frequently accessed fishing configuration for performance
-        this.fishingSettingsCache = Caffeine.newBuilder()
+        this.fishingSettingsCache = define("fishingSettings", Caffeine.newBuilder()
                 .maximumSize(50) // Small cache for fishing settings
-                .expireAfterWrite(30, TimeUnit.MINUTES) // 10-minute TTL for Discord commands
-                .removalListener((RemovalListener<String, Object>) (key, value, cause) -> {
-                    if (log.isDebugEnabled()) {
-                        log.debug("Fishing settings cache entry removed: key={}, cause={}", key, cause);
-                    }
-                })
-                .recordStats()
-                .build();
+                .expireAfterWrite(30, TimeUnit.MINUTES));
+        clearOn(SettingsChanged.class, fishingSettingsCache);
 
         // Prison Cache - stores user role data for prison system
-        this.prisonCache = Caffeine.newBuilder()
+        this.prisonCache = define("prison", Caffeine.newBuilder()
                 .maximumSize(prisonCacheMaxSize)
-                .expireAfterWrite(prisonCacheExpireHours, TimeUnit.HOURS)
-                .removalListener((RemovalListener<String, List<String>>) (key, value, cause) -> {
-                    if (log.isDebugEnabled()) {
-                        log.debug("Prison cache entry removed: userId={}, cause={}", key, cause);
-                    }
-                })
-                .recordStats()
-                .build();
+                .expireAfterWrite(prisonCacheExpireHours, TimeUnit.HOURS));
+        evictOn(UserChanged.class, prisonCache, UserChanged::userId);
 
         // Counting Game Cache - stores counting game state and user data
-        this.countingGameCache = Caffeine.newBuilder()
+        this.countingGameCache = define("countingGame", Caffeine.newBuilder()
                 .maximumSize(countingGameCacheMaxSize)
-                .expireAfterWrite(countingGameCacheExpireMinutes, TimeUnit.MINUTES)
-                .removalListener((RemovalListener<String, Object>) (key, value, cause) -> {
-                    if (log.isDebugEnabled()) {
-                        log.debug("Counting game cache entry removed: key={}, cause={}", key, cause);
-                    }
-                })
-                .recordStats()
-                .build();
+                .expireAfterWrite(countingGameCacheExpireMinutes, TimeUnit.MINUTES));
 
         // Giveaway Cache - stores active giveaway data and entry counts
-        this.giveawayCache = Caffeine.newBuilder()
+        this.giveawayCache = define("giveaway", Caffeine.newBuilder()
                 .maximumSize(giveawayCacheMaxSize)
-                .expireAfterWrite(giveawayCacheExpireMinutes, TimeUnit.MINUTES)
-                .removalListener((RemovalListener<String, Object>) (key, value, cause) -> {
-                    if (log.isDebugEnabled()) {
-                        log.debug("Giveaway cache entry removed: key={}, cause={}", key, cause);
-                    }
-                })
-                .recordStats()
-                .build();
+                .expireAfterWrite(giveawayCacheExpireMinutes, TimeUnit.MINUTES));
 
-        // Featured Items Cache - stores featured shop items
-        this.featuredItemsCache = Caffeine.newBuilder()
+        // Featured Items Cache - featured shop items per user, including that user's ownership
+        this.featuredItemsCache = define("featuredItems", Caffeine.newBuilder()
                 .maximumSize(featuredItemsCacheMaxSize)
-                .expireAfterWrite(featuredItemsCacheExpireMinutes, TimeUnit.MINUTES)
-                .removalListener((RemovalListener<String, List<Object>>) (key, value, cause) -> {
-                    if (log.isDebugEnabled()) {
-                        log.debug("Featured items cache entry removed: key={}, cause={}", key, cause);
-                    }
-                })
-                .recordStats()
-                .build();
+                .expireAfterWrite(featuredItemsCacheExpireMinutes, TimeUnit.MINUTES));
+        evictOn(UserChanged.class, featuredItemsCache, UserChanged::userId);
+        clearOn(ShopItemChanged.class, featuredItemsCache);
 
         // Leaderboard Cache - stores leaderboard data
-        this.leaderboardCache = Caffeine.newBuilder()
+        this.leaderboardCache = define("leaderboard", Caffeine.newBuilder()
                 .maximumSize(leaderboardCacheMaxSize)
-                .expireAfterWrite(leaderboardCacheExpireMinutes, TimeUnit.MINUTES)
-                .removalListener((RemovalListener<String, List<LeaderboardEntryDTO>>) (key, value, cause) -> {
-                    if (log.isDebugEnabled()) {
-                        log.debug("Leaderboard cache entry removed: key={}, cause={}", key, cause);
-                    }
-                })
-                .recordStats()
-                .build();
+                .expireAfterWrite(leaderboardCacheExpireMinutes, TimeUnit.MINUTES));
+        clearOn(UserChanged.class, leaderboardCache);
+        clearOn(BalanceChanged.class, leaderboardCache);
 
         // Pending Prison Cache - stores pending prison records for unregistered users
-        this.pendingPrisonCache = Caffeine.newBuilder()
+        this.pendingPrisonCache = define("pendingPrison", Caffeine.newBuilder()
                 .maximumSize(pendingPrisonCacheMaxSize)
-                .expireAfterWrite(pendingPrisonCacheExpireDays, TimeUnit.DAYS)
-                .removalListener((RemovalListener<String, Object>) (key, value, cause) -> {
-                    if (log.isDebugEnabled()) {
-                        log.debug("Pending prison cache entry removed: userId={}, cause={}", key, cause);
-                    }
-                })
-                .recordStats()
-                .build();
-
-        log.info("Pairing System Performance Caches initialized successfully - " +
-                "PairLevel: {}/{} entries/minutes, " +
-                "Achievement: {}/{} entries/minutes, " +
-                "VoiceStreak: {}/{} entries/minutes, " +
-                "UserProfile: {}/{} entries/minutes, " +
-                "BatchOps: {}/{} entries/minutes, " +
-                "DailyActivity: {}/{} entries/minutes, " +
-                "DailyClaim: {}/{} entries/minutes, " +
-                "DiscordBotSettings: {}/{} entries/minutes, " +
-                "FishingSettings: 50/30 entries/minutes, " +
-                "Prison: {}/{} entries/hours, " +
-                "CountingGame: {}/{} entries/minutes, " +
-                "Giveaway: {}/{} entries/minutes, " +
-                "ShopLayout: {}/{} entries/minutes, " +
-                "PendingRoleSelection: {}/{} entries/minutes, " +
-                "PendingPrison: {}/{} entries/days",
-                pairLevelCacheMaxSize, pairLevelCacheExpireMinutes,
-                achievementCacheMaxSize, achievementCacheExpireMinutes,
-                voiceStreakCacheMaxSize, voiceStreakCacheExpireMinutes,
-                userProfileCacheMaxSize, userProfileCacheExpireMinutes,
-                batchOperationsCacheMaxSize, batchOperationsCacheExpireMinutes,
-                dailyActivityCacheMaxSize, dailyActivityCacheExpireMinutes,
-                dailyClaimCacheMaxSize, dailyClaimCacheExpireMinutes,
-                discordBotSettingsCacheMaxSize, discordBotSettingsCacheExpireMinutes,
-                prisonCacheMaxSize, prisonCacheExpireHours,
-                countingGameCacheMaxSize, countingGameCacheExpireMinutes,
-                giveawayCacheMaxSize, giveawayCacheExpireMinutes,
-                shopLayoutCacheMaxSize, shopLayoutCacheExpireMinutes,
-                pendingPrisonCacheMaxSize, pendingPrisonCacheExpireDays);
-    }
-
-    /**
-     * Invalidates all pairing-related caches for a specific pairing.
-     * Use when pairing data is modified.
-     */
-    public void invalidatePairingCaches(Long pairingId) {
-        if (pairingId != null) {
-            pairLevelCache.invalidate(pairingId);
-            voiceStreakStatsCache.invalidate(pairingId);
-            
-            // Invalidate achievement lists for this pairing
-            achievementListCache.invalidate("pairing_" + pairingId + "_unlocked");
-            achievementListCache.invalidate("pairing_" + pairingId + "_available");
-            
-            // Invalidate voice streak lists for this pairing
-            voiceStreakListCache.invalidate("pairing_" + pairingId + "_streaks");
-            voiceStreakListCache.invalidate("pairing_" + pairingId + "_recent");
-            
-            log.debug("Invalidated all caches for pairingId: {}", pairingId);
-        }
-    }
+                .expireAfterWrite(pendingPrisonCacheExpireDays, TimeUnit.DAYS));
 
-    /**
-     * Invalidates user profile cache for a specific user.
-     * Use when user data is updated.
-     */
-    public void invalidateUserProfileCache(String userId) {
-        if (userId != null) {
-            userProfileCache.invalidate(userId);
-            log.debug("Invalidated user profile cache for userId: {}", userId);
-        }
+        log.info("Pairing System Performance Caches initialized successfully - {} caches, {} event subscriptions",
+                cachesByName.size(), subscribers.values().stream().mapToInt(List::size).sum());
     }
 
     /**
-     * Invalidates batch operation caches.
-     * Use when batch operations need to be re-calculated.
+     * Spring's cache abstraction over the same Caffeine instances, so {@code @Cacheable} methods
+     * share sizing, statistics and event invalidation with direct users. Unknown cache names fail
+     * instead of silently creating an unbounded cache.
      */
-    public void invalidateBatchCaches() {
-        batchOperationsCache.invalidateAll();
-        log.debug("Invalidated all batch operation caches");
+    @Bean
+    public CacheManager cacheManager() {
+        List<CaffeineCache> springCaches = new ArrayList<>();
+        cachesByName.forEach((name, cache) -> springCaches.add(new CaffeineCache(name, uncheckedCast(cache))));
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(springCaches);
+        return cacheManager;
     }
 
     /**
-     * Invalidates daily message activity cache for a specific user.
-     * Use when a user's daily message statistics are updated.
+     * Applies a domain event to the caches subscribed to it, once the publishing transaction has
+     * committed (or immediately when it was published outside a transaction).
      */
-    public void invalidateDailyMessageActivityCache(String userId) {
-        if (userId != null) {
-            dailyMessageActivityCache.invalidate("activity_stats_" + userId);
-            log.debug("Daily message activity cache invalidated for user: {}", userId);
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDomainEvent(DomainEvent event) {
+        List<Consumer<DomainEvent>> handlers = subscribers.get(event.getClass());
+        if (handlers == null) {
+            return;
         }
-    }
-
-    /**
-     * Invalidates daily voice activity cache for a specific user.
-     * Use when a user's daily voice statistics are updated.
-     */
-    public void invalidateDailyVoiceActivityCache(String userId) {
-        if (userId != null) {
-            dailyMessageActivityCache.invalidate("voice_activity_stats_" + userId);
-            log.debug("Daily voice activity cache invalidated for user: {}", userId);
+        for (Consumer<DomainEvent> handler : handlers) {
+            handler.accept(event);
         }
+        log.debug("Applied {} to {} cache subscriptions", event, handlers.size());
     }
 
     /**
-     * Invalidates daily claim cache for a specific user.
-     * Use when a user's daily claim status is updated.
+     * Moves a user's hot-state version on as soon as a change is published, before it commits, so
+     * a load that might have read the old row is not cached.
      */
-    public void invalidateDailyClaimCache(String userId) {
+    @EventListener
+    public void onUserEventPublished(DomainEvent event) {
+        String userId = switch (event) {
+            case UserChanged e -> e.userId();
+            case BalanceChanged e -> e.userId();
+            default -> null;
+        };
         if (userId != null) {
-            dailyClaimCache.invalidate(userId);
-            log.debug("Daily claim cache invalidated for user: {}", userId);
+            userHotStateVersions.incrementAndGet(versionStripe(userId));
         }
     }
 
-    /**
-     * Invalidates Discord bot settings cache.
-     * Use when Discord bot settings are updated.
-     */
-    public void invalidateDiscordBotSettingsCache() {
-        discordBotSettingsCache.invalidateAll();
-        log.debug("Discord bot settings cache invalidated");
+    private void evictUserHotState(String userId) {
+        userHotStateCache.asMap().compute(userId, (key, state) -> {
+            userHotStateVersions.incrementAndGet(versionStripe(key));
+            return null;
+        });
     }
 
-    /**
-     * Invalidates fishing settings cache.
-     * Use when fishing-related Discord bot settings are updated.
-     */
-    public void invalidateFishingSettingsCache() {
-        fishingSettingsCache.invalidateAll();
-        log.debug("Fishing settings cache invalidated");
+    private void writeBalanceThrough(BalanceChanged event) {
+        userHotStateCache.asMap().compute(event.userId(), (key, state) -> {
+            if (state == null) {
+                // Not cached: a load still in flight may have read the balance before this one
+                userHotStateVersions.incrementAndGet(versionStripe(key));
+                return null;
+            }
+            if (state.balanceVersion() >= event.balanceVersion()) {
+                return state;
+            }
+            return state.withBalance(event.credits(), event.experience(), event.level(), event.balanceVersion());
+        });
     }
 
     /**
-     * Invalidates prison cache for a specific user.
-     * Use when a user's prison status is updated externally.
+     * Returns the cached hot state of a user, loading it on a miss.
+     *
+     * The loader runs outside the cache's lock: callers may hold a pooled connection, and the
+     * after-commit update of the same entry would otherwise wait on a load that is itself waiting
+     * for a connection. Instead the load is only cached if the user's version did not move while
+     * it ran, which is the case when no change to that user was published or committed meanwhile.
      */
-    public void invalidatePrisonCache(String userId) {
-        if (userId != null) {
-            prisonCache.invalidate(userId);
-            log.debug("Prison cache invalidated for user: {}", userId);
+    public UserHotState getUserHotState(String userId, Function<String, UserHotState> loader) {
+        UserHotState cached = userHotStateCache.getIfPresent(userId);
+        if (cached != null) {
+            return cached;
         }
-    }
-
-    /**
-     * Invalidates counting game cache.
-     * Use when counting game state or user data is updated.
-     */
-    public void invalidateCountingGameCache() {
-        countingGameCache.invalidateAll();
-        log.debug("Counting game cache invalidated");
-    }
-
-    /**
-     * Invalidates specific counting game cache entry.
-     * Use when specific counting game data is updated.
-     */
-    public void invalidateCountingGameCache(String key) {
-        if (key != null) {
-            countingGameCache.invalidate(key);
-            log.debug("Counting game cache entry invalidated: {}", key);
+        int stripe = versionStripe(userId);
+        long version = userHotStateVersions.get(stripe);
+        UserHotState loaded = loader.apply(userId);
+        if (loaded == null) {
+            return null;
         }
+        UserHotState result = userHotStateCache.asMap().compute(userId, (key, existing) -> {
+            if (existing != null) {
+                return existing;
+            }
+            return userHotStateVersions.get(stripe) == version ? loaded : null;
+        });
+        return result != null ? result : loaded;
     }
 
     /**
-     * Invalidates giveaway cache.
-     * Use when giveaway data is updated.
+     * All caches by name, for binding hit/miss and size metrics.
      */
-    public void invalidateGiveawayCache() {
-        giveawayCache.invalidateAll();
-        log.debug("Giveaway cache invalidated");
+    public Map<String, Cache<?, ?>> getCachesByName() {
+        return Collections.unmodifiableMap(cachesByName);
     }
 
     /**
-     * Invalidates specific giveaway cache entry.
-     * Use when specific giveaway data is updated.
+     * Invalidates all caches. Use with caution - only for scenarios like
+     * system maintenance or emergency cache refresh.
      */
-    public void invalidateGiveawayCache(String key) {
-        if (key != null) {
-            giveawayCache.invalidate(key);
-            log.debug("Giveaway cache entry invalidated: {}", key);
-        }
+    public void invalidateAllCaches() {
+        log.warn("Invalidating ALL pairing system caches - this will cause temporary performance degradation");
+        cachesByName.values().forEach(Cache::invalidateAll);
+        log.info("All pairing system caches invalidated successfully");
     }
 
     /**
-     * Invalidates shop layout caches.
-     * Use when shop items are updated (featured/daily status changes).
+     * Gets per-cache statistics for monitoring and debugging.
      */
-    public void invalidateShopLayoutCaches() {
-        featuredItemsCache.invalidateAll();
-        log.debug("Shop layout caches invalidated");
+    public Map<String, CacheStats> getCacheStats() {
+        Map<String, CacheStats> stats = new LinkedHashMap<>();
+        cachesByName.forEach((name, cache) -> stats.put(name, cache.stats()));
+        return stats;
     }
 
     /**
-     * Invalidates specific shop layout cache entry.
-     * Use when specific user's shop layout data is updated.
+     * Performs manual cleanup of expired entries.
+     * Can be called during low-traffic periods for proactive memory management.
      */
-    public void invalidateShopLayoutCache(String userId) {
-        if (userId != null) {
-            featuredItemsCache.invalidate(userId);
-            log.debug("Shop layout cache invalidated for user: {}", userId);
-        }
+    public void performMaintenance() {
+        log.debug("Performing manual pairing cache maintenance...");
+        cachesByName.values().forEach(Cache::cleanUp);
+        log.debug("Pairing cache maintenance completed");
     }
 
-    /**
-     * Invalidates the leaderboard cache.
-     * Should be called when factors affecting leaderboard might change (e.g., user credits update).
-     */
-    public void invalidateLeaderboardCache() {
-        leaderboardCache.invalidateAll();
-        log.debug("Leaderboard cache invalidated");
+    private <K, V> Cache<K, V> define(String name, Caffeine<Object, Object> builder) {
+        Cache<K, V> cache = withDefaults(name, builder).build();
+        cachesByName.put(name, cache);
+        return cache;
     }
 
+    private <K, V> LoadingCache<K, V> define(String name, Caffeine<Object, Object> builder, CacheLoader<K, V> loader) {
+        LoadingCache<K, V> cache = withDefaults(name, builder).build(loader);
+        cachesByName.put(name, cache);
+        return cache;
+    }
 
-
-    /**
-     * Invalidates pending prison cache for a specific user.
-     * Use when pending prison data is updated or a user registers.
-     */
-    public void invalidatePendingPrisonCache(String discordUserId) {
-        if (discordUserId != null) {
-            pendingPrisonCache.invalidate(discordUserId);
-            log.debug("Pending prison cache invalidated for user: {}", discordUserId);
-        }
+    private static <K, V> Caffeine<K, V> withDefaults(String name, Caffeine<Object, Object> builder) {
+        return builder
+                .recordStats()
+                .removalListener((K key, V value, RemovalCause cause) -> {
+                    if (log.isDebugEnabled()) {
+                        log.debug("{} cache entry removed: key={}, cause={}", name, key, cause);
+                    }
+                });
     }
 
-    /**
-     * Invalidates all pending prison caches.
-     * Use when pending prison data needs to be re-calculated.
-     */
-    public void invalidateAllPendingPrisonCaches() {
-        pendingPrisonCache.invalidateAll();
-        log.debug("All pending prison caches invalidated");
+    private <E extends DomainEvent, K> void evictOn(Class<E> eventType, Cache<K, ?> cache, Function<E, K> key) {
+        subscribe(eventType, event -> {
+            K cacheKey = key.apply(event);
+            if (cacheKey != null) {
+                cache.invalidate(cacheKey);
+            }
+        });
     }
 
-    /**
-     * Invalidates all caches. Use with caution - only for scenarios like
-     * system maintenance or emergency cache refresh.
-     */
-    public void invalidateAllCaches() {
-        log.warn("Invalidating ALL pairing system caches - this will cause temporary performance degradation");
-        pairLevelCache.invalidateAll();
-        achievementListCache.invalidateAll();
-        achievementCache.invalidateAll();
-        voiceStreakStatsCache.invalidateAll();
-        voiceStreakListCache.invalidateAll();
-        userProfileCache.invalidateAll();
-        batchOperationsCache.invalidateAll();
-        dailyMessageActivityCache.invalidateAll();
-        dailyClaimCache.invalidateAll();
-        discordBotSettingsCache.invalidateAll();
-        fishingSettingsCache.invalidateAll();
-        prisonCache.invalidateAll();
-        countingGameCache.invalidateAll();
-        giveawayCache.invalidateAll();
-        featuredItemsCache.invalidateAll();
-        leaderboardCache.invalidateAll();
-        pendingPrisonCache.invalidateAll();
-        log.info("All pairing system caches invalidated successfully");
+    private <E extends DomainEvent> void clearOn(Class<E> eventType, Cache<?, ?> cache) {
+        subscribe(eventType, event -> cache.invalidateAll());
     }
 
-    /**
-     * Gets cache statistics for monitoring and debugging.
-     */
-    public CacheStats getCacheStats() {
-        return CacheStats.builder()
-                .pairLevelHitRate(pairLevelCache.stats().hitRate())
-                .pairLevelSize(pairLevelCache.estimatedSize())
-                .achievementListHitRate(achievementListCache.stats().hitRate())
-                .achievementListSize(achievementListCache.estimatedSize())
-                .achievementHitRate(achievementCache.stats().hitRate())
-                .achievementSize(achievementCache.estimatedSize())
-                .voiceStreakStatsHitRate(voiceStreakStatsCache.stats().hitRate())
-                .voiceStreakStatsSize(voiceStreakStatsCache.estimatedSize())
-                .voiceStreakListHitRate(voiceStreakListCache.stats().hitRate())
-                .voiceStreakListSize(voiceStreakListCache.estimatedSize())
-                .userProfileHitRate(userProfileCache.stats().hitRate())
-                .userProfileSize(userProfileCache.estimatedSize())
-                .batchOperationsHitRate(batchOperationsCache.stats().hitRate())
-                .batchOperationsSize(batchOperationsCache.estimatedSize())
-                .dailyMessageActivityHitRate(dailyMessageActivityCache.stats().hitRate())
-                .dailyMessageActivitySize(dailyMessageActivityCache.estimatedSize())
-                .dailyClaimHitRate(dailyClaimCache.stats().hitRate())
-                .dailyClaimSize(dailyClaimCache.estimatedSize())
-                .discordBotSettingsHitRate(discordBotSettingsCache.stats().hitRate())
-                .discordBotSettingsSize(discordBotSettingsCache.estimatedSize())
-                .fishingSettingsHitRate(fishingSettingsCache.stats().hitRate())
-                .fishingSettingsSize(fishingSettingsCache.estimatedSize())
-                .prisonHitRate(prisonCache.stats().hitRate())
-                .prisonSize(prisonCache.estimatedSize())
-                .giveawayHitRate(giveawayCache.stats().hitRate())
-                .giveawaySize(giveawayCache.estimatedSize())
-                .pendingPrisonHitRate(pendingPrisonCache.stats().hitRate())
-                .pendingPrisonSize(pendingPrisonCache.estimatedSize())
-                .build();
+    private <E extends DomainEvent> void subscribe(Class<E> eventType, Consumer<E> handler) {
+        subscribers.computeIfAbsent(eventType, type -> new ArrayList<>())
+                .add(event -> handler.accept(eventType.cast(event)));
     }
 
-    /**
-     * Performs manual cleanup of expired entries.
-     * Can be called during low-traffic periods for proactive memory management.
-     */
-    public void performMaintenance() {
-        log.debug("Performing manual pairing cache maintenance...");
-        pairLevelCache.cleanUp();
-        achievementListCache.cleanUp();
-        achievementCache.cleanUp();
-        voiceStreakStatsCache.cleanUp();
-        voiceStreakListCache.cleanUp();
-        userProfileCache.cleanUp();
-        batchOperationsCache.cleanUp();
-        dailyMessageActivityCache.cleanUp();
-        dailyClaimCache.cleanUp();
-        discordBotSettingsCache.cleanUp();
-        fishingSettingsCache.cleanUp();
-        prisonCache.cleanUp();
-        countingGameCache.cleanUp();
-        giveawayCache.cleanUp();
-        featuredItemsCache.cleanUp();
-        leaderboardCache.cleanUp();
-        pendingPrisonCache.cleanUp();
-        log.debug("Pairing cache maintenance completed");
+    private static int versionStripe(String userId) {
+        return Math.floorMod(userId.hashCode(), USER_HOT_STATE_VERSION_STRIPES);
     }
 
-    /**
-     * Cache statistics data structure for monitoring.
-     */
-    @lombok.Builder
-    @lombok.Data
-    public static class CacheStats {
-        private final double pairLevelHitRate;
-        private final long pairLevelSize;
-        private final double achievementListHitRate;
-        private final long achievementListSize;
-        private final double achievementHitRate;
-        private final long achievementSize;
-        private final double voiceStreakStatsHitRate;
-        private final long voiceStreakStatsSize;
-        private final double voiceStreakListHitRate;
-        private final long voiceStreakListSize;
-        private final double userProfileHitRate;
-        private final long userProfileSize;
-        private final double batchOperationsHitRate;
-        private final long batchOperationsSize;
-        private final double dailyMessageActivityHitRate;
-        private final long dailyMessageActivitySize;
-        private final double dailyClaimHitRate;
-        private final long dailyClaimSize;
-        private final double discordBotSettingsHitRate;
-        private final long discordBotSettingsSize;
-        private final double fishingSettingsHitRate;
-        private final long fishingSettingsSize;
-        private final double prisonHitRate;
-        private final long prisonSize;
-        private final double giveawayHitRate;
-        private final long giveawaySize;
-        private final double pendingPrisonHitRate;
-        private final long pendingPrisonSize;
+    @SuppressWarnings("unchecked")
+    private static Cache<Object, Object> uncheckedCast(Cache<?, ?> cache) {
+        return (Cache<Object, Object>) cache;
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,121 @@
+package com.app.heartbound.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Metrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Connection pools for the application database.
+ *
+ * Reports ({@link ReportingQuery} methods and {@link ReportingQueries#execute}: audit statistics,
+ * fairness verification, leaderboards, economy analytics) take their connections from a separate,
+ * smaller pool whose statements time out, so a few long reports cannot hold the connections that
+ * Discord commands, the web API and credit updates need. Everything else, including ordinary
+ * {@code @Transactional(readOnly = true)} reads, Flyway and work outside a transaction, uses the
+ * primary pool configured by {@code spring.datasource.*}. The reporting pool connects to the
+ * primary database unless {@code datasource.reporting.url} points it at a replica.
+ *
+ * Both pools are bound to {@code spring.datasource.hikari.*}, so settings such as
+ * {@code max-lifetime}, {@code leak-detection-threshold} and {@code connection-test-query} apply
+ * to both; the reporting pool then takes its size and timeouts from {@code datasource.reporting.*}.
+ *
+ * Routing is done by {@link LazyConnectionDataSourceProxy}: the connection is only fetched when
+ * the first statement runs, by which point the transaction has marked it read-only, so writes
+ * can never reach the reporting pool. Both pools publish {@code hikaricp.*} metrics tagged with
+ * their pool name.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataSourceConfig.class);
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties,
+                                 Environment environment,
+                                 @Value("${datasource.reporting.url:}") String reportingUrl,
+                                 @Value("${datasource.reporting.username:}") String reportingUsername,
+                                 @Value("${datasource.reporting.password:}") String reportingPassword,
+                                 @Value("${datasource.reporting.maximum-pool-size:3}") int reportingMaximumPoolSize,
+                                 @Value("${datasource.reporting.minimum-idle:0}") int reportingMinimumIdle,
+                                 @Value("${datasource.reporting.connection-timeout-ms:30000}") long reportingConnectionTimeoutMs,
+                                 @Value("${datasource.reporting.statement-timeout-ms:30000}") long reportingStatementTimeoutMs) {
+        HikariDataSource primary = hikari(properties, environment);
+        if (primary.getPoolName() == null) {
+            primary.setPoolName("primary");
+        }
+
+        HikariDataSource reporting = hikari(properties, environment);
+        reporting.setPoolName("reporting");
+        if (StringUtils.hasText(reportingUrl)) {
+            reporting.setJdbcUrl(reportingUrl);
+        }
+        if (StringUtils.hasText(reportingUsername)) {
+            reporting.setUsername(reportingUsername);
+            reporting.setPassword(reportingPassword);
+        }
+        reporting.setMaximumPoolSize(reportingMaximumPoolSize);
+        reporting.setMinimumIdle(reportingMinimumIdle);
+        reporting.setConnectionTimeout(reportingConnectionTimeoutMs);
+        reporting.setReadOnly(true);
+        reporting.setConnectionInitSql("SET statement_timeout = " + reportingStatementTimeoutMs);
+
+        logger.info("Reports use pool '{}' ({}, max {} connections, {}ms statement timeout)",
+                reporting.getPoolName(), StringUtils.hasText(reportingUrl) ? "replica" : "primary database",
+                reportingMaximumPoolSize, reportingStatementTimeoutMs);
+        return new RoutingDataSource(primary, reporting);
+    }
+
+    /**
+     * A Hikari pool built and bound as Spring Boot does when it owns the DataSource
+     */
+    private static HikariDataSource hikari(DataSourceProperties properties, Environment environment) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(Metrics.globalRegistry));
+        return pool;
+    }
+
+    /**
+     * Sends read-only connections of reports to the reporting pool and everything else to the
+     * primary, and closes both pools when the context shuts down.
+     */
+    static final class RoutingDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+        private final HikariDataSource primary;
+        private final HikariDataSource reporting;
+
+        RoutingDataSource(HikariDataSource primary, HikariDataSource reporting) {
+            super(primary);
+            setReadOnlyDataSource(new DelegatingDataSource(primary) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    return ReportingQueries.isReporting() ? reporting.getConnection() : primary.getConnection();
+                }
+            });
+            this.primary = primary;
+            this.reporting = reporting;
+        }
+
+        @Override
+        public void close() {
+            reporting.close();
+            primary.close();
+        }
+    }
+}
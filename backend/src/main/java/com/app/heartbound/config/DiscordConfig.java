@@ -33,6 +33,8 @@ import com.app.heartbound.services.discord.TradeCommandListener;
 import com.app.heartbound.services.discord.GuildEventListener;
 import com.app.heartbound.services.discord.GrabCommandListener;
 import com.app.heartbound.services.discord.TermsOfServiceListener;
+import com.app.heartbound.services.discord.DiscordEventManager;
+import com.app.heartbound.services.discord.DiscordInteractionRouter;
 import jakarta.annotation.PreDestroy;
 import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.JDABuilder;
@@ -171,6 +173,12 @@ public class DiscordConfig {
     @Autowired
     private MinesCommandListener minesCommandListener;
 
+    @Autowired
+    private DiscordEventManager discordEventManager;
+
+    @Autowired
+    private DiscordInteractionRouter discordInteractionRouter;
+
     @Bean
     public JDA jda() {
         if (discordToken == null || discordToken.isBlank() || discordToken.equals("${DISCORD_BOT_TOKEN}")) {
@@ -205,6 +213,8 @@ public class DiscordConfig {
                             CacheFlag.ONLINE_STATUS,
                             CacheFlag.SCHEDULED_EVENTS
                     )
+                    // Dispatch events on virtual threads so slow listeners never stall the gateway
+                    .setEventManager(discordEventManager)
                     // Register all listeners EXCEPT shopCommandListener, statsCommandListener, breakupCommandListener, leaderboardCommandListener, and openCaseCommandListener (we'll register them manually)
                     .addEventListeners(chatActivityListener, 
                                       creditsCommandListener, dailyCommandListener, coinflipCommandListener, rpsCommandListener, defuseCommandListener, giveCommandListener, blackjackCommandListener, welcomeListener, welcomeCommandListener,
@@ -241,6 +251,9 @@ public class DiscordConfig {
 
             // Register trade command listener manually
             tradeCommandListener.registerWithJDA(jdaInstance);
+
+            // All listeners are registered; freeze the interaction dispatch table
+            discordInteractionRouter.buildDispatchTable(jdaInstance.getRegisteredListeners());
             
             // Register slash commands
             registerSlashCommands();
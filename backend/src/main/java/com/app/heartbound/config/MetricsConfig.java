@@ -0,0 +1,36 @@
+package com.app.heartbound.config;
+
+import com.app.heartbound.config.security.JWTCacheConfig;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Instrumentation that is not owned by a single service, exported through the Prometheus
+ * actuator endpoint on the management port.
+ *
+ * Discord listeners and interactions record their own timers ({@code discord.events.*},
+ * {@code discord.interactions}), the services' executors are bound by {@link MonitoredExecutors},
+ * and Spring Boot binds the Spring-managed ones, including the WebSocket client channels and the
+ * broker scheduler that also runs {@code @Scheduled} jobs. This adds Caffeine cache statistics
+ * and per-unit-of-work Hibernate statement counts.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder cacheMetrics(CacheConfig cacheConfig, JWTCacheConfig jwtCacheConfig) {
+        return registry -> {
+            cacheConfig.getCachesByName().forEach((name, cache) -> CaffeineCacheMetrics.monitor(registry, cache, name));
+            jwtCacheConfig.getCachesByName().forEach((name, cache) -> CaffeineCacheMetrics.monitor(registry, cache, name));
+        };
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer statementMetricsCustomizer(StatementMetrics statementMetrics) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, statementMetrics);
+    }
+}
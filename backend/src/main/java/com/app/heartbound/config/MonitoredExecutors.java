@@ -0,0 +1,57 @@
+package com.app.heartbound.config;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Factories for the services' own executors that publish queue depth, active threads and
+ * completed tasks as {@code executor.*} metrics tagged with the executor name.
+ *
+ * Metrics go to the global registry, which Spring Boot backs with the application registry, so
+ * executors created in field initializers are covered without injecting a registry. The JDK's
+ * {@code Executors} wrappers hide the underlying pool from Micrometer, so these return the pool
+ * itself.
+ */
+public final class MonitoredExecutors {
+
+    private MonitoredExecutors() {
+    }
+
+    public static ScheduledExecutorService newScheduledThreadPool(String name, int threads) {
+        return newScheduledThreadPool(name, threads, namedThreads(name));
+    }
+
+    public static ScheduledExecutorService newScheduledThreadPool(String name, int threads, ThreadFactory threadFactory) {
+        return monitor(new ScheduledThreadPoolExecutor(threads, threadFactory), name);
+    }
+
+    public static ThreadPoolExecutor newFixedThreadPool(String name, int threads, ThreadFactory threadFactory) {
+        return monitor(new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(), threadFactory), name);
+    }
+
+    private static <E extends ThreadPoolExecutor> E monitor(E executor, String name) {
+        new ExecutorServiceMetrics(executor, name, Tags.empty()).bindTo(Metrics.globalRegistry);
+        return executor;
+    }
+
+    private static ThreadFactory namedThreads(String name) {
+        ThreadFactory defaults = Executors.defaultThreadFactory();
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = defaults.newThread(runnable);
+            thread.setName(name + "-" + counter.incrementAndGet());
+            return thread;
+        };
+    }
+}
@@ -1,6 +1,5 @@
 package com.app.heartbound.config;
 
-import com.app.heartbound.config.security.RateLimitingFilter;
 import com.app.heartbound.services.RateLimitingService;
 
 import org.springframework.context.annotation.Configuration;
@@ -13,11 +12,9 @@ import org.springframework.scheduling.annotation.Scheduled;
 @EnableAsync(proxyTargetClass = true)
 public class RateLimitingConfig {
 
-    private final RateLimitingFilter rateLimitingFilter;
     private final RateLimitingService rateLimitingService;
 
-    public RateLimitingConfig(RateLimitingFilter rateLimitingFilter, RateLimitingService rateLimitingService) {
-        this.rateLimitingFilter = rateLimitingFilter;
+    public RateLimitingConfig(RateLimitingService rateLimitingService) {
         this.rateLimitingService = rateLimitingService;
     }
 
@@ -28,7 +25,6 @@ public class RateLimitingConfig {
     @Scheduled(fixedRateString = "${rate.limit.cleanup-interval-ms:3600000}")  // Default: once per hour
     public void cleanupBuckets() {
         try {
-            rateLimitingFilter.cleanupBuckets();
             rateLimitingService.cleanupCaches();
         } catch (Exception e) {
             // Log error to prevent silent failures in scheduled tasks
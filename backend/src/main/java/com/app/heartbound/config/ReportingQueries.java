@@ -0,0 +1,66 @@
+package com.app.heartbound.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Routes reports to the reporting connection pool, either declaratively through
+ * {@link ReportingQuery} or programmatically through {@link #execute}.
+ *
+ * The advice runs outside the transaction interceptor, so the report's transaction fetches its
+ * connection while the thread is marked. The mark is restored afterwards, so nested reports and
+ * calls made from a report back to ordinary code behave as expected.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ReportingQueries {
+
+    private static final ThreadLocal<Boolean> reporting = ThreadLocal.withInitial(() -> false);
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ReportingQueries(PlatformTransactionManager transactionManager) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Whether the current thread is running a report
+     */
+    static boolean isReporting() {
+        return reporting.get();
+    }
+
+    @Around("@annotation(com.app.heartbound.config.ReportingQuery)")
+    public Object route(ProceedingJoinPoint joinPoint) throws Throwable {
+        boolean previous = reporting.get();
+        reporting.set(true);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            reporting.set(previous);
+        }
+    }
+
+    /**
+     * Run a report in a read-only transaction on the reporting pool, for code that cannot go
+     * through the proxy (e.g. a method called from its own class).
+     */
+    public <T> T execute(TransactionCallback<T> report) {
+        boolean previous = reporting.get();
+        reporting.set(true);
+        try {
+            return readOnlyTransaction.execute(report);
+        } finally {
+            reporting.set(previous);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.app.heartbound.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a report: a read-only transaction that scans many rows (statistics, leaderboards,
+ * analytics). Its connection comes from the reporting pool, so reports queue behind each other
+ * instead of taking the connections that Discord commands and the web API need.
+ *
+ * Only takes effect on a {@code @Transactional(readOnly = true)} method that starts its own
+ * transaction; anything else stays on the primary pool. See {@link DataSourceConfig}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReportingQuery {
+}
@@ -0,0 +1,88 @@
+package com.app.heartbound.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Counts the SQL statements Hibernate issues per unit of work (an HTTP request, one Discord
+ * event delivered to one listener, one interaction) and records them in the {@code db.statements}
+ * distribution, tagged by source and name.
+ *
+ * Installed as Hibernate's {@link StatementInspector} by {@link MetricsConfig}. Counting is per
+ * thread, so work handed off to another thread ({@code @Async}, executors) is not attributed to
+ * the scope that started it.
+ */
+@Component
+public class StatementMetrics implements StatementInspector {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    public StatementMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.statements++;
+        }
+        return sql;
+    }
+
+    /**
+     * Start counting statements issued on the current thread. The returned scope must be closed
+     * on the same thread.
+     */
+    public Scope open() {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /**
+     * The statement distribution for one unit of work. Callers that record the same name on
+     * every event should look it up once and keep it.
+     */
+    public DistributionSummary summary(String source, String name) {
+        return summaries.computeIfAbsent(source + ':' + name, key -> DistributionSummary.builder("db.statements")
+            .description("SQL statements issued by Hibernate per unit of work")
+            .baseUnit("statements")
+            .tag("source", source)
+            .tag("name", name)
+            .serviceLevelObjectives(1, 2, 5, 10, 20, 50, 100)
+            .register(meterRegistry));
+    }
+
+    public static final class Scope {
+
+        private final Scope enclosing;
+        private int statements;
+
+        private Scope(Scope enclosing) {
+            this.enclosing = enclosing;
+        }
+
+        /**
+         * Stop counting, record the count and hand counting back to the enclosing scope, which
+         * also includes these statements.
+         */
+        public void close(DistributionSummary summary) {
+            if (enclosing != null) {
+                enclosing.statements += statements;
+                CURRENT.set(enclosing);
+            } else {
+                CURRENT.remove();
+            }
+            summary.record(statements);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.app.heartbound.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records the Hibernate statements issued by each HTTP request, including those from the
+ * security filters, tagged by method and route pattern (never the raw path, so ids do not
+ * multiply the series).
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class StatementMetricsFilter extends OncePerRequestFilter {
+
+    private final StatementMetrics statementMetrics;
+
+    public StatementMetricsFilter(StatementMetrics statementMetrics) {
+        this.statementMetrics = statementMetrics;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        StatementMetrics.Scope scope = statementMetrics.open();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String endpoint = request.getMethod() + " " + (pattern != null ? pattern : "UNKNOWN");
+            scope.close(statementMetrics.summary("http", endpoint));
+        }
+    }
+}
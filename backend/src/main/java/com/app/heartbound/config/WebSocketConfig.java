@@ -10,6 +10,7 @@ import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 
 @Configuration
@@ -33,6 +34,13 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     @Value("${cors.origin.patterns:}")
     private String allowedOriginPatterns;
 
+    // A session whose sends stall longer than this, or back up past the buffer limit, is closed
+    @Value("${websocket.send-time-limit-ms:10000}")
+    private int sendTimeLimitMs;
+
+    @Value("${websocket.send-buffer-size-limit-kb:512}")
+    private int sendBufferSizeLimitKb;
+
     public WebSocketConfig(JWTChannelInterceptor jwtChannelInterceptor) {
         this.jwtChannelInterceptor = jwtChannelInterceptor;
         logger.debug("Initializing WebSocketConfig with JWTChannelInterceptor");
@@ -106,4 +114,13 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         
         logger.info("Outbound channel configured with enhanced message-optimized resource limits");
     }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendTimeLimit(sendTimeLimitMs)
+                   .setSendBufferSizeLimit(sendBufferSizeLimitKb * 1024);
+
+        logger.info("Slow WebSocket consumers are disconnected after {}ms or {}KB of buffered sends",
+                sendTimeLimitMs, sendBufferSizeLimitKb);
+    }
 }
@@ -0,0 +1,89 @@
+package com.app.heartbound.config.cluster;
+
+import com.app.heartbound.events.DomainEvent;
+import com.app.heartbound.events.DomainEvent.BalanceChanged;
+import com.app.heartbound.events.DomainEvent.PairingChanged;
+import com.app.heartbound.events.DomainEvent.SettingsChanged;
+import com.app.heartbound.events.DomainEvent.ShopItemChanged;
+import com.app.heartbound.events.DomainEvent.UserChanged;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.UUID;
+
+/**
+ * Forwards committed {@link DomainEvent}s to the other instances and republishes the ones they
+ * send, so the cache registry and shop catalogue on every replica see the same invalidations.
+ *
+ * Received events are published outside any transaction, so their listeners run immediately on
+ * the receiving thread; the flag stops them from being forwarded back.
+ */
+@Component
+public class ClusterEventRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterEventRelay.class);
+
+    private static final String TOPIC = "domain-event";
+    private static final ThreadLocal<Boolean> RECEIVING = ThreadLocal.withInitial(() -> false);
+
+    private final ClusterState clusterState;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ClusterEventRelay(ClusterState clusterState, ApplicationEventPublisher eventPublisher) {
+        this.clusterState = clusterState;
+        this.eventPublisher = eventPublisher;
+        clusterState.subscribe(TOPIC, this::receive);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDomainEvent(DomainEvent event) {
+        if (!RECEIVING.get()) {
+            clusterState.broadcast(TOPIC, encode(event));
+        }
+    }
+
+    private void receive(String message) {
+        DomainEvent event;
+        try {
+            event = decode(message);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Ignoring unknown domain event from another instance: {}", message);
+            return;
+        }
+        RECEIVING.set(true);
+        try {
+            eventPublisher.publishEvent(event);
+        } finally {
+            RECEIVING.remove();
+        }
+    }
+
+    static String encode(DomainEvent event) {
+        return switch (event) {
+            case UserChanged e -> "UserChanged:" + e.userId();
+            // Another instance evicts rather than writing the balance into its copy
+            case BalanceChanged e -> "UserChanged:" + e.userId();
+            case ShopItemChanged e -> "ShopItemChanged:" + (e.itemId() != null ? e.itemId() : "");
+            case PairingChanged e -> "PairingChanged:" + e.pairingId();
+            case SettingsChanged e -> "SettingsChanged:";
+        };
+    }
+
+    static DomainEvent decode(String message) {
+        int colon = message.indexOf(':');
+        if (colon < 0) {
+            throw new IllegalArgumentException(message);
+        }
+        String argument = message.substring(colon + 1);
+        return switch (message.substring(0, colon)) {
+            case "UserChanged" -> new UserChanged(argument);
+            case "ShopItemChanged" -> new ShopItemChanged(argument.isEmpty() ? null : UUID.fromString(argument));
+            case "PairingChanged" -> new PairingChanged(Long.valueOf(argument));
+            case "SettingsChanged" -> new SettingsChanged();
+            default -> throw new IllegalArgumentException(message);
+        };
+    }
+}
@@ -0,0 +1,51 @@
+package com.app.heartbound.config.cluster;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * State that has to agree across backend replicas: invalidation messages for the per-instance
+ * caches and small keyed entries with a time to live (single-use codes, used refresh tokens).
+ *
+ * Caches stay local to each instance. A writer updates its own copy, then broadcasts so the
+ * other instances evict theirs. Only the keyed entries are read from the shared store.
+ * {@code cluster.state.provider} selects the implementation: {@code in-process} (default, a
+ * single instance) or {@code postgres} (LISTEN/NOTIFY and the {@code shared_state} table).
+ */
+public interface ClusterState {
+
+    /**
+     * Deliver a message to the subscribers of the topic on every other instance. The sending
+     * instance does not receive its own messages. Delivery is best effort, so subscribers
+     * should only evict.
+     */
+    void broadcast(String topic, String message);
+
+    /**
+     * Receive the messages broadcast to the topic by other instances.
+     */
+    void subscribe(String topic, Consumer<String> listener);
+
+    /**
+     * Store the value unless an unexpired entry already exists for the key.
+     * @return true if this call stored the value
+     */
+    boolean putIfAbsent(String namespace, String key, String value, Duration ttl);
+
+    /**
+     * The value of an unexpired entry.
+     */
+    Optional<String> get(String namespace, String key);
+
+    /**
+     * Atomically remove an entry and return its value if it had not expired. At most one caller
+     * across the cluster receives the value.
+     */
+    Optional<String> take(String namespace, String key);
+
+    /**
+     * Number of live instances, at least 1. Used to split per-client limits between replicas.
+     */
+    int instanceCount();
+}
@@ -0,0 +1,89 @@
+package com.app.heartbound.config.cluster;
+
+import com.app.heartbound.config.MonitoredExecutors;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Single-instance {@link ClusterState}: there are no other instances to notify, and keyed
+ * entries live in a map swept once a minute.
+ */
+@Component
+@ConditionalOnProperty(name = "cluster.state.provider", havingValue = "in-process", matchIfMissing = true)
+public class InProcessClusterState implements ClusterState {
+
+    private record Entry(String value, long expiresAt) {
+        boolean isLive(long now) {
+            return now < expiresAt;
+        }
+    }
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService cleanupScheduler;
+
+    public InProcessClusterState() {
+        this.cleanupScheduler = MonitoredExecutors.newScheduledThreadPool("cluster-state-cleanup", 1);
+        cleanupScheduler.scheduleWithFixedDelay(this::removeExpired, 1, 1, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        cleanupScheduler.shutdownNow();
+    }
+
+    @Override
+    public void broadcast(String topic, String message) {
+        // No other instances
+    }
+
+    @Override
+    public void subscribe(String topic, Consumer<String> listener) {
+        // Nothing is ever received
+    }
+
+    @Override
+    public boolean putIfAbsent(String namespace, String key, String value, Duration ttl) {
+        long now = System.currentTimeMillis();
+        Entry entry = new Entry(value, now + ttl.toMillis());
+        boolean[] stored = {false};
+        entries.compute(namespace + ':' + key, (k, existing) -> {
+            if (existing != null && existing.isLive(now)) {
+                return existing;
+            }
+            stored[0] = true;
+            return entry;
+        });
+        return stored[0];
+    }
+
+    @Override
+    public Optional<String> get(String namespace, String key) {
+        Entry entry = entries.get(namespace + ':' + key);
+        return entry != null && entry.isLive(System.currentTimeMillis()) ? Optional.of(entry.value()) : Optional.empty();
+    }
+
+    @Override
+    public Optional<String> take(String namespace, String key) {
+        Entry entry = entries.remove(namespace + ':' + key);
+        return entry != null && entry.isLive(System.currentTimeMillis()) ? Optional.of(entry.value()) : Optional.empty();
+    }
+
+    @Override
+    public int instanceCount() {
+        return 1;
+    }
+
+    private void removeExpired() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> !entry.isLive(now));
+    }
+}
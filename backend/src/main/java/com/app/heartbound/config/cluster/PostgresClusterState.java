@@ -0,0 +1,364 @@
+package com.app.heartbound.config.cluster;
+
+import com.app.heartbound.config.MonitoredExecutors;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * {@link ClusterState} shared through the application's PostgreSQL database, so replicas need no
+ * additional infrastructure.
+ *
+ * Broadcasts go out with {@code pg_notify} on one channel, tagged with the sending instance, and
+ * are received on a dedicated {@code LISTEN} connection. Keyed entries live in
+ * {@code shared_state} and expire by the database clock. Every instance heartbeats a
+ * {@code cluster-member} entry, which is how live instances are counted.
+ *
+ * Nothing here borrows from the application's connection pool. Broadcasts are sent from
+ * after-commit callbacks while the caller still holds its pooled connection, so taking a second
+ * one could exhaust the pool under load. Broadcasts are queued and sent by one thread, and the
+ * keyed operations share a second dedicated autocommit connection, which keeps them outside the
+ * caller's transaction. Messages sent while the listener is reconnecting are lost, so cached
+ * entries still need their time-based expiry.
+ */
+@Component
+@ConditionalOnProperty(name = "cluster.state.provider", havingValue = "postgres")
+public class PostgresClusterState implements ClusterState {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostgresClusterState.class);
+
+    private static final String CHANNEL = "heartbound_cluster";
+    private static final String MEMBER_NAMESPACE = "cluster-member";
+    // NOTIFY payloads must stay under 8000 bytes
+    private static final int MAX_PAYLOAD_BYTES = 7900;
+    private static final int LISTEN_POLL_MS = 1000;
+    private static final long RECONNECT_DELAY_MS = 5000;
+    private static final int OUTBOX_CAPACITY = 10_000;
+    private static final int MAX_BATCH = 100;
+
+    private static final String PUT_IF_ABSENT_SQL =
+        "INSERT INTO shared_state (namespace, state_key, state_value, expires_at) " +
+        "VALUES (?, ?, ?, NOW() + ? * INTERVAL '1 millisecond') " +
+        "ON CONFLICT (namespace, state_key) DO UPDATE " +
+        "SET state_value = EXCLUDED.state_value, expires_at = EXCLUDED.expires_at " +
+        "WHERE shared_state.expires_at <= NOW()";
+    private static final String HEARTBEAT_SQL =
+        "INSERT INTO shared_state (namespace, state_key, state_value, expires_at) " +
+        "VALUES (?, ?, ?, NOW() + ? * INTERVAL '1 millisecond') " +
+        "ON CONFLICT (namespace, state_key) DO UPDATE SET expires_at = EXCLUDED.expires_at";
+    private static final String GET_SQL =
+        "SELECT state_value FROM shared_state WHERE namespace = ? AND state_key = ? AND expires_at > NOW()";
+    private static final String TAKE_SQL =
+        "DELETE FROM shared_state WHERE namespace = ? AND state_key = ? RETURNING state_value, expires_at > NOW()";
+    private static final String COUNT_MEMBERS_SQL =
+        "SELECT COUNT(*) FROM shared_state WHERE namespace = ? AND expires_at > NOW()";
+    private static final String DELETE_EXPIRED_SQL =
+        "DELETE FROM shared_state WHERE expires_at <= NOW()";
+
+    private final String url;
+    private final String username;
+    private final String password;
+    private final long heartbeatMillis;
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Map<String, List<Consumer<String>>> subscribers = new ConcurrentHashMap<>();
+    private final BlockingQueue<String> outbox = new LinkedBlockingQueue<>(OUTBOX_CAPACITY);
+    private final ScheduledExecutorService executor = MonitoredExecutors.newScheduledThreadPool("cluster-state", 3);
+    // A lock rather than synchronized, so virtual threads waiting on it do not pin their carrier
+    private final ReentrantLock commandLock = new ReentrantLock();
+    private Connection commandConnection;
+    private volatile boolean running = true;
+    private volatile int instanceCount = 1;
+
+    public PostgresClusterState(@Value("${spring.datasource.url}") String url,
+                                @Value("${spring.datasource.username}") String username,
+                                @Value("${spring.datasource.password}") String password,
+                                @Value("${cluster.state.heartbeat-seconds:10}") long heartbeatSeconds) {
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.heartbeatMillis = TimeUnit.SECONDS.toMillis(heartbeatSeconds);
+    }
+
+    /**
+     * Start once Flyway has created {@code shared_state}. Broadcasts made before then are queued.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        heartbeat();
+        executor.execute(this::listen);
+        executor.execute(this::send);
+        executor.scheduleWithFixedDelay(this::heartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+        logger.info("Cluster state shared through PostgreSQL as instance {} ({} live)", instanceId, instanceCount);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        executor.shutdownNow();
+        try {
+            take(MEMBER_NAMESPACE, instanceId);
+        } catch (RuntimeException e) {
+            logger.debug("Could not remove cluster membership on shutdown: {}", e.getMessage());
+        }
+        commandLock.lock();
+        try {
+            closeCommandConnection();
+        } finally {
+            commandLock.unlock();
+        }
+    }
+
+    @Override
+    public void broadcast(String topic, String message) {
+        String payload = instanceId + '\n' + topic + '\n' + message;
+        if (payload.getBytes(StandardCharsets.UTF_8).length > MAX_PAYLOAD_BYTES) {
+            throw new IllegalArgumentException("Cluster message on topic " + topic + " is too large to broadcast");
+        }
+        if (!outbox.offer(payload)) {
+            logger.warn("Cluster outbox is full, dropping message on topic {}", topic);
+        }
+    }
+
+    @Override
+    public void subscribe(String topic, Consumer<String> listener) {
+        subscribers.computeIfAbsent(topic, t -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    @Override
+    public boolean putIfAbsent(String namespace, String key, String value, Duration ttl) {
+        try {
+            return withCommandConnection(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(PUT_IF_ABSENT_SQL)) {
+                    statement.setString(1, namespace);
+                    statement.setString(2, key);
+                    statement.setString(3, value);
+                    statement.setLong(4, ttl.toMillis());
+                    return statement.executeUpdate() > 0;
+                }
+            });
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to store shared state " + namespace, e);
+        }
+    }
+
+    @Override
+    public Optional<String> get(String namespace, String key) {
+        try {
+            return withCommandConnection(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(GET_SQL)) {
+                    statement.setString(1, namespace);
+                    statement.setString(2, key);
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        return resultSet.next() ? Optional.ofNullable(resultSet.getString(1)) : Optional.<String>empty();
+                    }
+                }
+            });
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to read shared state " + namespace, e);
+        }
+    }
+
+    @Override
+    public Optional<String> take(String namespace, String key) {
+        try {
+            return withCommandConnection(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(TAKE_SQL)) {
+                    statement.setString(1, namespace);
+                    statement.setString(2, key);
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        return resultSet.next() && resultSet.getBoolean(2)
+                            ? Optional.ofNullable(resultSet.getString(1)) : Optional.<String>empty();
+                    }
+                }
+            });
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to take shared state " + namespace, e);
+        }
+    }
+
+    @Override
+    public int instanceCount() {
+        return instanceCount;
+    }
+
+    /**
+     * Renew this instance's membership, recount the live instances and sweep expired entries.
+     */
+    private void heartbeat() {
+        try {
+            int live = withCommandConnection(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(HEARTBEAT_SQL)) {
+                    statement.setString(1, MEMBER_NAMESPACE);
+                    statement.setString(2, instanceId);
+                    statement.setString(3, instanceId);
+                    // Missing two heartbeats in a row drops the instance from the count
+                    statement.setLong(4, heartbeatMillis * 3);
+                    statement.executeUpdate();
+                }
+                try (Statement statement = connection.createStatement()) {
+                    statement.executeUpdate(DELETE_EXPIRED_SQL);
+                }
+                try (PreparedStatement statement = connection.prepareStatement(COUNT_MEMBERS_SQL)) {
+                    statement.setString(1, MEMBER_NAMESPACE);
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        return resultSet.next() ? Math.max(resultSet.getInt(1), 1) : 1;
+                    }
+                }
+            });
+            if (live != instanceCount) {
+                logger.info("Live backend instances: {} -> {}", instanceCount, live);
+                instanceCount = live;
+            }
+        } catch (SQLException e) {
+            logger.warn("Cluster heartbeat failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Send queued broadcasts, batching whatever has accumulated behind the first one.
+     */
+    private void send() {
+        List<String> batch = new ArrayList<>(MAX_BATCH);
+        while (running) {
+            try {
+                batch.add(outbox.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            outbox.drainTo(batch, MAX_BATCH - 1);
+            try {
+                withCommandConnection(connection -> {
+                    try (PreparedStatement statement = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+                        for (String payload : batch) {
+                            statement.setString(1, CHANNEL);
+                            statement.setString(2, payload);
+                            statement.execute();
+                        }
+                    }
+                    return null;
+                });
+            } catch (SQLException e) {
+                logger.warn("Failed to broadcast {} cluster messages: {}", batch.size(), e.getMessage());
+            }
+            batch.clear();
+        }
+    }
+
+    private <T> T withCommandConnection(SqlWork<T> work) throws SQLException {
+        commandLock.lock();
+        try {
+            if (commandConnection == null || commandConnection.isClosed()) {
+                commandConnection = DriverManager.getConnection(url, username, password);
+                commandConnection.setAutoCommit(true);
+            }
+            try {
+                return work.run(commandConnection);
+            } catch (SQLException e) {
+                // Reconnect on the next call rather than reuse a connection in an unknown state
+                closeCommandConnection();
+                throw e;
+            }
+        } finally {
+            commandLock.unlock();
+        }
+    }
+
+    private void closeCommandConnection() {
+        if (commandConnection != null) {
+            try {
+                commandConnection.close();
+            } catch (SQLException e) {
+                logger.debug("Failed to close cluster command connection: {}", e.getMessage());
+            }
+            commandConnection = null;
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                logger.debug("Listening for cluster messages on {}", CHANNEL);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(LISTEN_POLL_MS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            dispatch(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                logger.warn("Cluster listener connection lost, reconnecting in {}ms: {}", RECONNECT_DELAY_MS, e.getMessage());
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void dispatch(String payload) {
+        int first = payload.indexOf('\n');
+        int second = first >= 0 ? payload.indexOf('\n', first + 1) : -1;
+        if (second < 0) {
+            logger.warn("Ignoring malformed cluster message");
+            return;
+        }
+        if (payload.substring(0, first).equals(instanceId)) {
+            return;
+        }
+        String topic = payload.substring(first + 1, second);
+        String message = payload.substring(second + 1);
+        for (Consumer<String> listener : subscribers.getOrDefault(topic, List.of())) {
+            try {
+                listener.accept(message);
+            } catch (RuntimeException e) {
+                logger.error("Cluster subscriber for topic {} failed: {}", topic, e.getMessage(), e);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface SqlWork<T> {
+        T run(Connection connection) throws SQLException;
+    }
+}
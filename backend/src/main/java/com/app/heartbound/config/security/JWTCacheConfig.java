@@ -13,6 +13,8 @@ import org.springframework.stereotype.Component;
 
 import jakarta.annotation.PostConstruct;
 import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -120,14 +122,20 @@ public class JWTCacheConfig {
      */
     public void invalidateToken(String token) {
         if (token != null && !token.trim().isEmpty()) {
-            String tokenHash = generateTokenCacheKey(token);
-            tokenValidationCache.invalidate(tokenHash);
-            claimsCache.invalidate(tokenHash);
-            userDetailsCache.invalidate(tokenHash);
-            logger.debug("Token invalidated from all caches: key_hash={}", tokenHash.hashCode());
+            invalidateCacheKey(generateTokenCacheKey(token));
         }
     }
 
+    /**
+     * Invalidates the entries stored under a key from {@link #generateTokenCacheKey(String)}.
+     */
+    public void invalidateCacheKey(String tokenHash) {
+        tokenValidationCache.invalidate(tokenHash);
+        claimsCache.invalidate(tokenHash);
+        userDetailsCache.invalidate(tokenHash);
+        logger.debug("Token invalidated from all caches: key_hash={}", tokenHash.hashCode());
+    }
+
     /**
      * Generates a consistent cache key for a token.
      * Uses hash to avoid storing full tokens in memory and for security.
@@ -154,6 +162,17 @@ public class JWTCacheConfig {
                 .build();
     }
 
+    /**
+     * All JWT caches by metric name, for binding hit/miss and size metrics.
+     */
+    public Map<String, Cache<?, ?>> getCachesByName() {
+        Map<String, Cache<?, ?>> caches = new LinkedHashMap<>();
+        caches.put("jwt.tokenValidation", tokenValidationCache);
+        caches.put("jwt.claims", claimsCache);
+        caches.put("jwt.userDetails", userDetailsCache);
+        return caches;
+    }
+
     /**
      * Performs manual cleanup of expired entries.
      * Normally Caffeine handles this automatically, but this can be called
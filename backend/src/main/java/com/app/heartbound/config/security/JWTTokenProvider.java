@@ -1,5 +1,6 @@
 package com.app.heartbound.config.security;
 
+import com.app.heartbound.config.cluster.ClusterState;
 import com.app.heartbound.enums.Role;
 import com.app.heartbound.exceptions.InvalidTokenException;
 import com.app.heartbound.exceptions.JwtException;
@@ -15,6 +16,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import java.time.Duration;
 import java.util.Date;
 import java.util.Map;
 import java.util.List;
@@ -22,12 +24,7 @@ import java.util.Set;
 import java.util.Collections;
 import java.util.stream.Collectors;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
 import jakarta.annotation.PostConstruct;
-import jakarta.annotation.PreDestroy;
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import org.springframework.security.core.Authentication;
@@ -59,12 +56,16 @@ public class JWTTokenProvider {
 
     private SecretKey key;
     private SecretKey refreshKey;
-    private final Set<String> usedRefreshTokens = ConcurrentHashMap.newKeySet();
-    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private static final String USED_REFRESH_TOKEN_NAMESPACE = "used-refresh-token";
+    private static final String CACHE_INVALIDATION_TOPIC = "jwt-cache";
+    private static final String ALL_TOKENS = "*";
     
     // JWT Cache Configuration - Autowired after construction
     private JWTCacheConfig jwtCacheConfig;
 
+    // Used refresh tokens and cache invalidations are shared with the other instances
+    private ClusterState clusterState;
+
     @PostConstruct
     public void init() {
         if (jwtSecret == null || jwtSecret.trim().isEmpty()) {
@@ -88,7 +89,6 @@ public class JWTTokenProvider {
         logger.debug("JWT Access Token Expiration (ms): {}", jwtExpirationInMs);
         logger.debug("JWT Refresh Token Expiration (ms): {}", jwtRefreshExpirationInMs);
         logger.info("JWT Caching enabled: {}", cacheEnabled);
-        scheduler.scheduleAtFixedRate(this::cleanupUsedTokens, 1, 1, TimeUnit.HOURS);
     }
 
     @Autowired
@@ -131,9 +131,25 @@ public class JWTTokenProvider {
         }
     }
 
-    @PreDestroy
-    public void shutdown() {
-        scheduler.shutdown();
+    @Autowired
+    public void setClusterState(ClusterState clusterState) {
+        this.clusterState = clusterState;
+        clusterState.subscribe(CACHE_INVALIDATION_TOPIC, this::onRemoteCacheInvalidation);
+    }
+
+    /**
+     * Another instance revoked a token or cleared its JWT caches. Token keys are hashes of the
+     * token, so the token itself never leaves the instance that revoked it.
+     */
+    private void onRemoteCacheInvalidation(String cacheKey) {
+        if (jwtCacheConfig == null) {
+            return;
+        }
+        if (ALL_TOKENS.equals(cacheKey)) {
+            jwtCacheConfig.invalidateAllCaches();
+        } else {
+            jwtCacheConfig.invalidateCacheKey(cacheKey);
+        }
     }
 
     public String generateToken(Authentication authentication) {
@@ -328,20 +344,23 @@ public class JWTTokenProvider {
         }
     }
 
-    public void markRefreshTokenAsUsed(String jti) {
-        if (jti != null) {
-            usedRefreshTokens.add(jti);
-            logger.debug("Refresh token JTI marked as used: {}", jti);
+    /**
+     * Record a refresh token JTI as used.
+     *
+     * @return true if this call recorded it, false if it was already used (or is null)
+     */
+    public boolean markRefreshTokenAsUsed(String jti) {
+        if (jti == null) {
+            return false;
         }
-    }
-
-    public boolean isRefreshTokenUsed(String jti) {
-        if (jti == null) return true;
-        boolean isUsed = usedRefreshTokens.contains(jti);
-        if (isUsed) {
+        // A refresh token cannot be presented after it expires, so neither can its reuse
+        boolean marked = clusterState.putIfAbsent(USED_REFRESH_TOKEN_NAMESPACE, jti, "1", Duration.ofMillis(jwtRefreshExpirationInMs));
+        if (marked) {
+            logger.debug("Refresh token JTI marked as used: {}", jti);
+        } else {
             logger.warn("Attempt to reuse refresh token with JTI: {}", jti);
         }
-        return isUsed;
+        return marked;
     }
     
     public String generateCustomToken(String subject, Map<String, Object> customClaims, long expirationMs) {
@@ -388,26 +407,23 @@ public class JWTTokenProvider {
         return claims.getSubject();
     }
 
-    public void invalidateRefreshToken(String token) {
+    /**
+     * Invalidate a refresh token so it cannot be exchanged again. Checking and marking is a
+     * single atomic step, so of two concurrent exchanges of the same token only one succeeds.
+     *
+     * @return true if the token was valid and unused until this call
+     */
+    public boolean invalidateRefreshToken(String token) {
         String jti = getJtiFromToken(token);
-        if (jti != null) {
-            markRefreshTokenAsUsed(jti);
-            logger.info("Refresh token with JTI {} has been invalidated.", jti);
-        } else {
+        if (jti == null) {
             logger.warn("Could not invalidate refresh token: JTI was null or token was invalid.");
+            return false;
         }
-    }
-
-    private void cleanupUsedTokens() {
-        long now = System.currentTimeMillis();
-        usedRefreshTokens.removeIf(jti -> {
-            boolean isExpired = jti.split(":").length > 1 && Long.parseLong(jti.split(":")[1]) < now;
-            if (isExpired) {
-                logger.debug("Cleaned up expired token: {}", jti);
-            }
-            return isExpired;
-        });
-        logger.debug("Cleaned up expired tokens. Remaining: {}", usedRefreshTokens.size());
+        boolean invalidated = markRefreshTokenAsUsed(jti);
+        if (invalidated) {
+            logger.info("Refresh token with JTI {} has been invalidated.", jti);
+        }
+        return invalidated;
     }
 
     /**
@@ -708,10 +724,21 @@ public class JWTTokenProvider {
     public void invalidateTokenCache(String token) {
         if (cacheEnabled && jwtCacheConfig != null && token != null) {
             jwtCacheConfig.invalidateToken(token);
+            clusterState.broadcast(CACHE_INVALIDATION_TOPIC, jwtCacheConfig.generateTokenCacheKey(token));
             logger.info("Token cache invalidated for security reasons");
         }
     }
 
+    /**
+     * Clears the JWT caches on this and every other instance.
+     */
+    public void invalidateAllTokenCaches() {
+        if (jwtCacheConfig != null) {
+            jwtCacheConfig.invalidateAllCaches();
+            clusterState.broadcast(CACHE_INVALIDATION_TOPIC, ALL_TOKENS);
+        }
+    }
+
     /**
      * Gets cache statistics for monitoring and performance analysis.
      *
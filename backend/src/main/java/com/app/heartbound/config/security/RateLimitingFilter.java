@@ -1,53 +1,29 @@
 package com.app.heartbound.config.security;
 
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
-import io.github.bucket4j.Bandwidth;
-import io.github.bucket4j.Bucket;
+import com.app.heartbound.services.RateLimitingService;
 import io.github.bucket4j.ConsumptionProbe;
-import io.github.bucket4j.Refill;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.time.Duration;
 
 @Component
 public class RateLimitingFilter extends OncePerRequestFilter {
 
     private static final Logger logger = LoggerFactory.getLogger(RateLimitingFilter.class);
 
-    // Configurable properties from application.properties
-    @Value("${rate.limit.max-requests:100}")
-    private int maxRequests;
+    private final RateLimitingService rateLimitingService;
 
-    @Value("${rate.limit.window-minutes:1}")
-    private int windowMinutes;
-    
-    @Value("${rate.limit.burst-capacity:120}")
-    private int burstCapacity;
-    
-    @Value("${rate.limit.cache-maximum-size:100000}")
-    private int cacheMaximumSize;
-
-    // Using Caffeine cache instead of ConcurrentHashMap
-    private final Cache<String, Bucket> buckets;
-    
-    public RateLimitingFilter() {
-        // Configure Caffeine cache with expiration and size limits
-        this.buckets = Caffeine.newBuilder()
-                .maximumSize(cacheMaximumSize)
-                .expireAfterAccess(Duration.ofHours(6))
-                .build();
+    public RateLimitingFilter(RateLimitingService rateLimitingService) {
+        this.rateLimitingService = rateLimitingService;
     }
 
     @Override
@@ -61,50 +37,29 @@ public class RateLimitingFilter extends OncePerRequestFilter {
             return;
         }
 
-        // Get client IP address
-        String clientIp = getClientIpAddress(request);
-        
-        // Get or create bucket for this IP
-        Bucket bucket = getBucketForIp(clientIp);
-        
-        // Try to consume a token from the bucket
-        ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
+        // Try to consume a token from the caller's global per-IP bucket
+        RateLimitingService.GlobalConsumption consumption = rateLimitingService.tryConsumeGlobal(request);
+        ConsumptionProbe probe = consumption.probe();
         
         if (probe.isConsumed()) {
             // Add rate limit headers
             response.addHeader("X-Rate-Limit-Remaining", String.valueOf(probe.getRemainingTokens()));
-            response.addHeader("X-Rate-Limit-Limit", String.valueOf(maxRequests));
+            // The limit this instance enforces, which is only a share of the configured one when scaled out
+            response.addHeader("X-Rate-Limit-Limit", String.valueOf(consumption.limit()));
             
-            logger.debug("Request from IP: {} to URI: {} within rate limits. Remaining: {}", 
-                     clientIp, requestURI, probe.getRemainingTokens());
+            logger.debug("Request to URI: {} within rate limits. Remaining: {}", 
+                     requestURI, probe.getRemainingTokens());
                      
             filterChain.doFilter(request, response);
         } else {
             // Rate limit exceeded
-            logger.warn("Rate limit exceeded for IP: {} on URI: {}", clientIp, requestURI);
+            logger.warn("Rate limit exceeded for IP: {} on URI: {}", getClientIpAddress(request), requestURI);
             
             // Return 429 Too Many Requests
             sendRateLimitResponse(response, probe.getNanosToWaitForRefill() / 1_000_000_000);
         }
     }
 
-    /**
-     * Get or create a token bucket for the given IP address
-     */
-    private Bucket getBucketForIp(String clientIp) {
-        return buckets.get(clientIp, ip -> {
-            // Configure the rate limit: [maxRequests] tokens per [windowMinutes] minutes
-            // Allow initial burst capacity higher than regular refill rate
-            Bandwidth limit = Bandwidth.classic(burstCapacity, 
-                Refill.intervally(maxRequests, Duration.ofMinutes(windowMinutes)));
-            
-            // Updated to use non-deprecated API
-            return Bucket.builder()
-                .addLimit(limit)
-                .build();
-        });
-    }
-
     /**
      * Determines if the given URI should bypass rate limiting
      */
@@ -140,15 +95,4 @@ public class RateLimitingFilter extends OncePerRequestFilter {
             + retryAfterSeconds + " seconds.\"}";
         response.getWriter().write(errorJson);
     }
-
-    /**
-     * Method to clean up unused buckets to prevent memory leaks.
-     * This can be called periodically from RateLimitingConfig.
-     */
-    public void cleanupBuckets() {
-        // Caffeine handles eviction automatically based on our configuration
-        // But we can still manually clean if needed
-        buckets.cleanUp();
-        logger.info("Triggered manual cleanup of rate limiting buckets cache");
-    }
 } 
\ No newline at end of file
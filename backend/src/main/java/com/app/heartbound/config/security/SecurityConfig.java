@@ -76,6 +76,8 @@ public class SecurityConfig {
             .authorizeHttpRequests(auth -> auth
                 // Permit swagger and OpenAPI endpoints
                 .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/api/swagger-ui/**", "/api/v3/api-docs/**").permitAll()
+                // Permit health and Prometheus scraping; both are only served on the management port
+                .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
                 // Permit the root, error, and WebSocket handshake endpoints
                 .requestMatchers("/", "/error", "/ws/**").permitAll()
                 // Permit static resources
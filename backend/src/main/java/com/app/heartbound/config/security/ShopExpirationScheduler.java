@@ -1,9 +1,11 @@
 package com.app.heartbound.config.security;
 
 import com.app.heartbound.entities.Shop;
+import com.app.heartbound.events.DomainEvent.ShopItemChanged;
 import com.app.heartbound.repositories.shop.ShopRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
@@ -15,10 +17,12 @@ import java.util.List;
 public class ShopExpirationScheduler {
     
     private final ShopRepository shopRepository;
+    private final ApplicationEventPublisher eventPublisher;
     private static final Logger logger = LoggerFactory.getLogger(ShopExpirationScheduler.class);
     
-    public ShopExpirationScheduler(ShopRepository shopRepository) {
+    public ShopExpirationScheduler(ShopRepository shopRepository, ApplicationEventPublisher eventPublisher) {
         this.shopRepository = shopRepository;
+        this.eventPublisher = eventPublisher;
     }
     
     @Scheduled(fixedRate = 3600000) // Run every hour (in milliseconds)
@@ -36,6 +40,7 @@ public class ShopExpirationScheduler {
                 logger.info("Marked item as expired: {} (ID: {})", item.getName(), item.getId());
             }
             logger.info("Updated {} expired shop items", count);
+            eventPublisher.publishEvent(new ShopItemChanged(null));
         } else {
             logger.debug("No expired shop items found");
         }
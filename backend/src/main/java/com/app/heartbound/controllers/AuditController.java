@@ -1,12 +1,14 @@
 package com.app.heartbound.controllers;
 
 import com.app.heartbound.config.security.RateLimited;
+import com.app.heartbound.dto.AuditCursorPageDTO;
 import com.app.heartbound.dto.AuditDTO;
 import com.app.heartbound.dto.CreateAuditDTO;
 import com.app.heartbound.enums.AuditSeverity;
 import com.app.heartbound.enums.AuditCategory;
 import com.app.heartbound.enums.RateLimitKeyType;
 import com.app.heartbound.services.AuditService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -16,11 +18,16 @@ import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
 import java.util.Map;
 import java.util.UUID;
@@ -32,10 +39,14 @@ public class AuditController {
 
     private static final Logger logger = LoggerFactory.getLogger(AuditController.class);
     
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    
     private final AuditService auditService;
+    private final ObjectMapper objectMapper;
     
-    public AuditController(AuditService auditService) {
+    public AuditController(AuditService auditService, ObjectMapper objectMapper) {
         this.auditService = auditService;
+        this.objectMapper = objectMapper;
     }
     
     /**
@@ -97,6 +108,109 @@ public class AuditController {
         }
     }
     
+    /**
+     * Get audit entries using keyset pagination with optional filtering
+     * 
+     * @param cursor the cursor returned with the previous slice (optional)
+     * @param size the slice size
+     * @param userId filter by user ID (optional)
+     * @param action filter by action (optional)
+     * @param entityType filter by entity type (optional)
+     * @param severity filter by severity (optional)
+     * @param category filter by category (optional)
+     * @param startDate filter by start date (optional)
+     * @param endDate filter by end date (optional)
+     * @return a slice of audit entries with the cursor for the next slice
+     */
+    @GetMapping("/cursor")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get audit entries by cursor", description = "Retrieve audit entries newest first using keyset pagination")
+    public ResponseEntity<AuditCursorPageDTO> getAuditEntriesAfterCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") @Min(1) int size,
+            @RequestParam(required = false) String userId,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) String entityType,
+            @RequestParam(required = false) AuditSeverity severity,
+            @RequestParam(required = false) AuditCategory category,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            Authentication authentication) {
+        
+        logger.debug("Admin {} requesting audit entries by cursor - size: {}", authentication.getName(), size);
+        
+        try {
+            AuditCursorPageDTO auditEntries = auditService.getAuditEntriesAfterCursor(
+                cursor, size, userId, action, entityType, severity, category, startDate, endDate);
+            return ResponseEntity.ok(auditEntries);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Admin {} supplied an invalid audit cursor", authentication.getName());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error retrieving audit entries by cursor for admin {}: {}", 
+                        authentication.getName(), e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Export audit entries matching the filters as newline-delimited JSON
+     * 
+     * @param userId filter by user ID (optional)
+     * @param action filter by action (optional)
+     * @param entityType filter by entity type (optional)
+     * @param severity filter by severity (optional)
+     * @param category filter by category (optional)
+     * @param startDate filter by start date (optional)
+     * @param endDate filter by end date (optional)
+     * @return a streamed NDJSON body with one audit entry per line
+     */
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    @PreAuthorize("hasRole('ADMIN')")
+    @RateLimited(
+        requestsPerMinute = 2,
+        requestsPerHour = 20,
+        keyType = RateLimitKeyType.USER,
+        keyPrefix = "audit_export"
+    )
+    @Operation(summary = "Export audit entries", description = "Stream audit entries as newline-delimited JSON, newest first")
+    public ResponseEntity<StreamingResponseBody> exportAuditEntries(
+            @RequestParam(required = false) String userId,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) String entityType,
+            @RequestParam(required = false) AuditSeverity severity,
+            @RequestParam(required = false) AuditCategory category,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            Authentication authentication) {
+        
+        logger.info("Admin {} exporting audit entries", authentication.getName());
+        
+        StreamingResponseBody body = outputStream -> {
+            try {
+                auditService.exportAuditEntries(userId, action, entityType, severity, category, startDate, endDate,
+                    entry -> writeLine(outputStream, entry));
+            } catch (UncheckedIOException e) {
+                // Client disconnected mid-export; the database cursor is closed with the transaction
+                logger.warn("Audit export for admin {} aborted: {}", authentication.getName(), e.getMessage());
+            }
+        };
+        
+        return ResponseEntity.ok()
+            .contentType(NDJSON)
+            .header("Content-Disposition", "attachment; filename=\"audit-export.ndjson\"")
+            .body(body);
+    }
+    
+    private void writeLine(OutputStream outputStream, AuditDTO entry) {
+        try {
+            outputStream.write(objectMapper.writeValueAsBytes(entry));
+            outputStream.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
     /**
      * Get a single audit entry by ID
      * 
@@ -284,4 +398,4 @@ public class AuditController {
                 .body(Map.of("error", "Failed to cleanup audit entries"));
         }
     }
-} 
\ No newline at end of file
+}
@@ -117,7 +117,7 @@ public class JWTCacheController {
         try {
             log.warn("Admin requesting complete JWT cache invalidation");
             
-            jwtCacheConfig.invalidateAllCaches();
+            jwtTokenProvider.invalidateAllTokenCaches();
             
             Map<String, String> response = Map.of(
                 "status", "success",
@@ -14,6 +14,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -28,6 +29,8 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Positive;
 
@@ -417,4 +420,25 @@ public class PairingController {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Unable to retrieve leaderboard");
         }
     }
+
+    @Operation(summary = "Get a page of the pairing leaderboard", description = "Retrieve one page of the ranked list of active pairings")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Leaderboard page retrieved successfully"),
+            @ApiResponse(responseCode = "401", description = "Authentication required")
+    })
+    @GetMapping("/leaderboard/page")
+    @PreAuthorize("hasRole('USER')")
+    @RateLimited(requestsPerMinute = 30, requestsPerHour = 500, keyType = RateLimitKeyType.USER)
+    public ResponseEntity<Page<PairingLeaderboardDTO>> getPairingLeaderboardPage(
+            @RequestParam(defaultValue = "0") @Min(0) int page,
+            @RequestParam(defaultValue = "25") @Min(1) @Max(100) int size) {
+        log.debug("Fetching pairing leaderboard page {} (size {})", page, size);
+
+        try {
+            return ResponseEntity.ok(pairingService.getLeaderboardPairings(page, size));
+        } catch (Exception e) {
+            log.error("Error retrieving pairing leaderboard page", e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Unable to retrieve leaderboard");
+        }
+    }
 } 
\ No newline at end of file
@@ -5,6 +5,8 @@ import com.app.heartbound.dto.UserProfileDTO;
 import com.app.heartbound.dto.LeaderboardEntryDTO;
 import com.app.heartbound.dto.UpdateProfileDTO;
 import com.app.heartbound.dto.DailyActivityDataDTO;
+import com.app.heartbound.dto.CreditFlowDTO;
+import com.app.heartbound.dto.EconomySnapshotDTO;
 import com.app.heartbound.dto.shop.UserInventoryItemDTO;
 import com.app.heartbound.enums.RateLimitKeyType;
 import com.app.heartbound.enums.Role;
@@ -14,6 +16,7 @@ import com.app.heartbound.services.UserService;
 import com.app.heartbound.services.UserSecurityService;
 import com.app.heartbound.services.UserInventoryService;
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -22,6 +25,7 @@ import org.springframework.web.bind.annotation.*;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -429,4 +433,44 @@ public class UserController {
     public ResponseEntity<com.app.heartbound.dto.EconomyStatsDTO> getEconomyStats() {
         return ResponseEntity.ok(economyService.getEconomyStats());
     }
+
+    /**
+     * Admin endpoint for credits minted and burned per hour and source.
+     *
+     * @param from start of the range (ISO date-time), defaults to 24 hours ago
+     * @param to end of the range (ISO date-time), defaults to now
+     * @return hourly credit flow, oldest hour first
+     */
+    @GetMapping("/admin/economy/credit-flow")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<CreditFlowDTO>> getCreditFlow(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minusHours(24);
+        if (!start.isBefore(end)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(economyService.getCreditFlow(start, end));
+    }
+
+    /**
+     * Admin endpoint for hourly snapshots of the money supply and items in circulation.
+     *
+     * @param from start of the range (ISO date-time), defaults to 7 days ago
+     * @param to end of the range (ISO date-time), defaults to now
+     * @return hourly snapshots, oldest first
+     */
+    @GetMapping("/admin/economy/snapshots")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<EconomySnapshotDTO>> getEconomySnapshots(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minusDays(7);
+        if (!start.isBefore(end)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(economyService.getSnapshots(start, end));
+    }
 }
@@ -4,12 +4,11 @@ import com.app.heartbound.dto.lfg.CreatePartyRequestDTO;
 import com.app.heartbound.dto.lfg.LFGPartyResponseDTO;
 import com.app.heartbound.dto.lfg.UpdatePartyRequestDTO;
 import com.app.heartbound.dto.lfg.LFGPartyEventDTO;
-import com.app.heartbound.entities.LFGParty;
+import com.app.heartbound.enums.Region;
+import com.app.heartbound.services.WebSocketFanoutService;
 import com.app.heartbound.services.lfg.LFGPartyService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
@@ -22,11 +21,11 @@ import java.util.Set;
 public class LFGPartyController {
 
     private final LFGPartyService partyService;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final WebSocketFanoutService fanoutService;
 
-    public LFGPartyController(LFGPartyService partyService, SimpMessagingTemplate messagingTemplate) {
+    public LFGPartyController(LFGPartyService partyService, WebSocketFanoutService fanoutService) {
         this.partyService = partyService;
-        this.messagingTemplate = messagingTemplate;
+        this.fanoutService = fanoutService;
     }
 
     /**
@@ -43,7 +42,7 @@ public class LFGPartyController {
               .party(createdParty)
               .message("Party update: New party created: " + createdParty.getId())
               .build();
-        messagingTemplate.convertAndSend("/topic/party", event);
+        fanoutService.sendNotification("/topic/party", event);
         return createdParty;
     }
 
@@ -59,34 +58,25 @@ public class LFGPartyController {
     }
 
     /**
-     * List parties with dynamic filtering and pagination.
+     * List parties with filtering and pagination.
      *
      * @param pageable pagination details
      * @param game optional filter by game name
      * @param title optional filter by title keyword
      * @param status optional filter by party status
+     * @param region optional filter by required region
+     * @param matchType optional filter by match type
      * @return paginated list of party responses
      */
     @GetMapping
     public Page<LFGPartyResponseDTO> listParties(Pageable pageable,
                                                  @RequestParam(required = false) String game,
                                                  @RequestParam(required = false) String title,
-                                                 @RequestParam(required = false) String status) {
-        Specification<LFGParty> spec = Specification.where(null);
-
-        if (game != null && !game.trim().isEmpty()) {
-            spec = spec.and((root, query, criteriaBuilder) ->
-                    criteriaBuilder.equal(root.get("game"), game));
-        }
-        if (title != null && !title.trim().isEmpty()) {
-            spec = spec.and((root, query, criteriaBuilder) ->
-                    criteriaBuilder.like(root.get("title"), "%" + title + "%"));
-        }
-        if (status != null && !status.trim().isEmpty()) {
-            spec = spec.and((root, query, criteriaBuilder) ->
-                    criteriaBuilder.equal(root.get("status"), status));
-        }
-        return partyService.listParties(spec, pageable);
+                                                 @RequestParam(required = false) String status,
+                                                 @RequestParam(required = false) Region region,
+                                                 @RequestParam(required = false) String matchType) {
+        return partyService.listParties(blankToNull(game), blankToNull(title), blankToNull(status),
+                region, blankToNull(matchType), pageable);
     }
 
     /**
@@ -106,7 +96,7 @@ public class LFGPartyController {
               .party(updatedParty)
               .message("Party update: Party " + id + " has been updated.")
               .build();
-        messagingTemplate.convertAndSend("/topic/party", event);
+        fanoutService.sendNotification("/topic/party", event);
         return updatedParty;
     }
 
@@ -133,7 +123,7 @@ public class LFGPartyController {
                 .build();
         
         // Broadcast to all subscribers
-        messagingTemplate.convertAndSend("/topic/party", event);
+        fanoutService.sendNotification("/topic/party", event);
     }
 
     /**
@@ -151,7 +141,7 @@ public class LFGPartyController {
               .party(updatedParty)
               .message("Party update: User joined party " + id)
               .build();
-        messagingTemplate.convertAndSend("/topic/party", event);
+        fanoutService.sendNotification("/topic/party", event);
         return result;
     }
 
@@ -164,7 +154,7 @@ public class LFGPartyController {
               .party(updatedParty)
               .message("Party update: User left party " + id)
               .build();
-        messagingTemplate.convertAndSend("/topic/party", event);
+        fanoutService.sendNotification("/topic/party", event);
         return result;
     }
 
@@ -178,7 +168,7 @@ public class LFGPartyController {
               .party(updatedParty)
               .message("Party update: User was kicked from party " + id)
               .build();
-        messagingTemplate.convertAndSend("/topic/party", event);
+        fanoutService.sendNotification("/topic/party", event);
         return result;
     }
 
@@ -195,7 +185,7 @@ public class LFGPartyController {
               .party(updatedParty)
               .message("Party update: User was invited to party " + id)
               .build();
-        messagingTemplate.convertAndSend("/topic/party", event);
+        fanoutService.sendNotification("/topic/party", event);
         return result;
     }
 
@@ -211,7 +201,7 @@ public class LFGPartyController {
               .party(updatedParty)
               .message("Party update: User accepted invitation to party " + id)
               .build();
-        messagingTemplate.convertAndSend("/topic/party", event);
+        fanoutService.sendNotification("/topic/party", event);
         return result;
     }
 
@@ -238,7 +228,7 @@ public class LFGPartyController {
                    .party(updatedParty)
                    .message("Party update: User has requested to join party " + id)
                    .build();
-            messagingTemplate.convertAndSend("/topic/party", event);
+            fanoutService.sendNotification("/topic/party", event);
         } catch (Exception e) {
             // Log the error but don't fail the entire request
             System.err.println("Error sending party join request event: " + e.getMessage());
@@ -265,7 +255,7 @@ public class LFGPartyController {
                 .targetUserId(userId)
                 .message("Party update: Join request accepted for user " + userId + " in party " + id)
                 .build();
-        messagingTemplate.convertAndSend("/topic/party", event);
+        fanoutService.sendNotification("/topic/party", event);
         return result;
     }
 
@@ -287,7 +277,11 @@ public class LFGPartyController {
                 .targetUserId(userId)
                 .message("Party update: Join request rejected for user " + userId + " in party " + id)
                 .build();
-        messagingTemplate.convertAndSend("/topic/party", event);
+        fanoutService.sendNotification("/topic/party", event);
         return result;
     }
+
+    private static String blankToNull(String value) {
+        return value != null && !value.trim().isEmpty() ? value : null;
+    }
 }
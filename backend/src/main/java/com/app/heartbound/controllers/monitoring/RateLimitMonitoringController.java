@@ -8,7 +8,6 @@ import com.app.heartbound.services.RateLimitingService;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Controller for monitoring rate limiting metrics and health.
@@ -27,15 +26,15 @@ public class RateLimitMonitoringController {
     
     /**
      * Get current rate limiting metrics
-     * Shows which endpoints are being hit by rate limits
+     * Shows which endpoints are being hit by rate limits (the most frequently limited keys only)
      */
     @GetMapping("/metrics")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Map<String, Object>> getRateLimitMetrics() {
-        ConcurrentHashMap<String, Long> rateLimitHits = rateLimitingService.getRateLimitHits();
+        Map<String, Long> rateLimitHits = rateLimitingService.getRateLimitHits();
         
         Map<String, Object> response = new HashMap<>();
-        response.put("total_rate_limit_hits", rateLimitHits.values().stream().mapToLong(Long::longValue).sum());
+        response.put("total_rate_limit_hits", rateLimitingService.getTotalRateLimitHits());
         response.put("hits_by_endpoint", rateLimitHits);
         response.put("endpoints_monitored", rateLimitHits.size());
         
@@ -53,8 +52,7 @@ public class RateLimitMonitoringController {
         health.put("enhanced_rate_limiting", "ENABLED");
         health.put("monitoring", "ACTIVE");
         
-        ConcurrentHashMap<String, Long> rateLimitHits = rateLimitingService.getRateLimitHits();
-        long totalHits = rateLimitHits.values().stream().mapToLong(Long::longValue).sum();
+        long totalHits = rateLimitingService.getTotalRateLimitHits();
         
         // Simple health indicators
         health.put("total_rate_limit_violations", totalHits);
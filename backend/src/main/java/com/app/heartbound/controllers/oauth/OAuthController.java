@@ -11,6 +11,7 @@ import com.app.heartbound.dto.UserDTO;
 import com.app.heartbound.dto.oauth.OAuthTokenResponse;
 import com.app.heartbound.services.oauth.OAuthService;
 import com.app.heartbound.services.UserService;
+import com.app.heartbound.services.DiscordProfileSyncService;
 import com.app.heartbound.services.oauth.DiscordCodeStore;
 import com.app.heartbound.entities.User;
 
@@ -77,6 +78,9 @@ public class OAuthController {
     @Autowired
     private DiscordChannelService discordChannelService; // Add this autowired dependency
 
+    @Autowired
+    private DiscordProfileSyncService discordProfileSyncService; // Deferred avatar/profile sync after login
+
 
 
     @Operation(summary = "Initiate Discord OAuth flow", description = "Redirects the user to Discord for authorization.")
@@ -250,47 +254,8 @@ public class OAuthController {
                 encodedFrontendState 
         );
 
-        // Ensure the user's avatar in the application reflects their Discord avatar
-        // userDTO.getAvatar() contains the full Discord CDN URL from oauthService.getUserInfo()
-        String discordAvatarFromDTO = userDTO.getAvatar(); 
-
-        if (discordAvatarFromDTO != null && !discordAvatarFromDTO.isEmpty()) {
-            boolean changed = false;
-            String currentPrimaryAvatar = user.getAvatar();
-            String currentDiscordAvatarCache = user.getDiscordAvatarUrl();
-
-            // Logic to update the primary avatar:
-            // Only update if the current primary avatar is null, empty, or the "USE_DISCORD_AVATAR" marker,
-            // AND it's different from the new Discord avatar.
-            if ((currentPrimaryAvatar == null || currentPrimaryAvatar.isEmpty() || "USE_DISCORD_AVATAR".equals(currentPrimaryAvatar))
-                && !discordAvatarFromDTO.equals(currentPrimaryAvatar)) {
-                user.setAvatar(discordAvatarFromDTO);
-                logger.debug("Updating primary avatar for user {} from '{}' to '{}' (was null, empty, or USE_DISCORD_AVATAR).", user.getId(), currentPrimaryAvatar, discordAvatarFromDTO);
-                changed = true;
-            } else if (currentPrimaryAvatar != null && !currentPrimaryAvatar.isEmpty() && !"USE_DISCORD_AVATAR".equals(currentPrimaryAvatar)) {
-                // User has a custom avatar, ensure it's not accidentally overwritten by a non-changed check below.
-                // Log that we are preserving the custom avatar.
-                if (!discordAvatarFromDTO.equals(currentPrimaryAvatar)) {
-                     logger.debug("User {} has a custom primary avatar '{}'. Preserving it over Discord avatar '{}'.", user.getId(), currentPrimaryAvatar, discordAvatarFromDTO);
-                }
-            }
-
-            // Always update the specific discordAvatarUrl field if it's different and a valid Discord CDN URL.
-            // This ensures the cached Discord avatar is always up-to-date.
-            if (discordAvatarFromDTO.contains("cdn.discordapp.com") && !discordAvatarFromDTO.equals(currentDiscordAvatarCache)) {
-                user.setDiscordAvatarUrl(discordAvatarFromDTO);
-                logger.debug("Updating cached discordAvatarUrl for user {} from '{}' to '{}'.", user.getId(), currentDiscordAvatarCache, discordAvatarFromDTO);
-                changed = true;
-            }
-
-            if (changed) {
-                userService.updateUser(user); // Persist the changes
-                logger.info("User avatar data updated (if necessary) from Discord for user {} during OAuth callback.", user.getId());
-            } else {
-                logger.debug("User avatar data for user {} required no updates based on Discord data or custom avatar was preserved.", user.getId());
-            }
-        }
-
+        // Sync avatar and profile fields from Discord in the background; the login does not depend on them
+        discordProfileSyncService.syncProfileAsync(userDTO);
 
         logger.info(">>> CONSTRUCTED REDIRECT URL TO FRONTEND: {}", frontendRedirectUrl); // CRITICAL LOG
         return new RedirectView(frontendRedirectUrl);
@@ -0,0 +1,29 @@
+package com.app.heartbound.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A keyset-paginated slice of audit entries, newest first.")
+public class AuditCursorPageDTO {
+
+    @Schema(description = "The audit entries in this slice")
+    private List<AuditDTO> content;
+
+    @Schema(description = "Opaque cursor to pass as 'cursor' to fetch the next slice, or null when there are no more entries")
+    private String nextCursor;
+
+    @Schema(description = "Whether more entries exist after this slice", example = "true")
+    private boolean hasNext;
+
+    @Schema(description = "The requested slice size", example = "20")
+    private int size;
+}
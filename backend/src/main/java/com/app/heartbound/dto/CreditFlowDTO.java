@@ -0,0 +1,20 @@
+package com.app.heartbound.dto;
+
+import com.app.heartbound.enums.CreditSource;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Credits minted (added to balances) and burned (taken from balances) by one source in one hour.
+ */
+@Data
+@Builder
+public class CreditFlowDTO {
+    private LocalDateTime hour;
+    private CreditSource source;
+    private long minted;
+    private long burned;
+    private long entries;
+}
@@ -0,0 +1,22 @@
+package com.app.heartbound.dto;
+
+import com.app.heartbound.enums.ItemRarity;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * The economy at the start of one hour, with the items of each rarity minted during the hour before.
+ */
+@Data
+@Builder
+public class EconomySnapshotDTO {
+    private LocalDateTime hour;
+    private long totalCredits;
+    private long totalUsers;
+    private long itemsInCirculation;
+    private Map<ItemRarity, Long> itemsByRarity;
+    private Map<ItemRarity, Long> itemsMinted;
+}
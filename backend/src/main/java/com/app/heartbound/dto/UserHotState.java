@@ -0,0 +1,94 @@
+package com.app.heartbound.dto;
+
+import com.app.heartbound.entities.User;
+import com.app.heartbound.enums.Role;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Immutable snapshot of the user fields read on hot paths (Discord events and commands),
+ * cached by {@link com.app.heartbound.services.UserService#getUserHotState(String)} so that
+ * read-only callers do not hydrate the {@link User} entity and its role collections.
+ *
+ * Roles are held as a bitmask over {@link Role} ordinals. Anything that needs to change the
+ * user still loads the entity. {@code balanceVersion} orders balances: a state only takes a
+ * balance with a higher version than its own.
+ */
+public record UserHotState(
+        String id,
+        int credits,
+        int level,
+        int experience,
+        long messageCount,
+        int fishCaughtCount,
+        int dailyStreak,
+        UUID equippedUserColorId,
+        UUID equippedListingId,
+        UUID equippedAccentId,
+        UUID equippedBadgeId,
+        UUID equippedFishingRodInstanceId,
+        int roleMask,
+        boolean banned,
+        boolean active,
+        LocalDateTime prisonReleaseAt,
+        boolean prisoned,
+        long balanceVersion) {
+
+    public static UserHotState from(User user) {
+        int roleMask = 0;
+        if (user.getRoles() != null) {
+            for (Role role : user.getRoles()) {
+                roleMask |= 1 << role.ordinal();
+            }
+        }
+        return new UserHotState(
+                user.getId(),
+                valueOf(user.getCredits()),
+                user.getLevel() != null ? user.getLevel() : 1,
+                valueOf(user.getExperience()),
+                user.getMessageCount() != null ? user.getMessageCount() : 0L,
+                valueOf(user.getFishCaughtCount()),
+                valueOf(user.getDailyStreak()),
+                user.getEquippedUserColorId(),
+                user.getEquippedListingId(),
+                user.getEquippedAccentId(),
+                user.getEquippedBadgeId(),
+                user.getEquippedFishingRodInstanceId(),
+                roleMask,
+                Boolean.TRUE.equals(user.getBanned()),
+                !Boolean.FALSE.equals(user.getActive()),
+                user.getPrisonReleaseAt(),
+                user.getPrisonedAt() != null,
+                user.getBalanceVersion() != null ? user.getBalanceVersion() : 0L);
+    }
+
+    /**
+     * The state with the balance left by a committed atomic credit/XP update
+     */
+    public UserHotState withBalance(int credits, int experience, int level, long balanceVersion) {
+        return new UserHotState(id, credits, level, experience, messageCount, fishCaughtCount, dailyStreak,
+                equippedUserColorId, equippedListingId, equippedAccentId, equippedBadgeId,
+                equippedFishingRodInstanceId, roleMask, banned, active, prisonReleaseAt, prisoned, balanceVersion);
+    }
+
+    public boolean hasRole(Role role) {
+        return (roleMask & (1 << role.ordinal())) != 0;
+    }
+
+    public Set<Role> roles() {
+        Set<Role> roles = EnumSet.noneOf(Role.class);
+        for (Role role : Role.values()) {
+            if (hasRole(role)) {
+                roles.add(role);
+            }
+        }
+        return roles;
+    }
+
+    private static int valueOf(Integer value) {
+        return value != null ? value : 0;
+    }
+}
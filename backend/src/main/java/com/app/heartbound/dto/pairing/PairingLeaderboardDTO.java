@@ -72,4 +72,57 @@ public class PairingLeaderboardDTO {
 
     @Schema(description = "Whether this pairing is currently active", example = "true")
     private boolean active;
+
+    /**
+     * Constructor used by JPA's constructor expression to map the leaderboard query directly.
+     * Only the public profile fields of both users are selected, so neither User entity (nor its
+     * role collections) is loaded.
+     */
+    public PairingLeaderboardDTO(Long id, String user1Id, String user2Id, String discordChannelName,
+                                 LocalDateTime matchedAt, int messageCount, int user1MessageCount,
+                                 int user2MessageCount, int voiceTimeMinutes, int wordCount, int emojiCount,
+                                 int activeDays, int compatibilityScore, boolean active,
+                                 Integer currentLevel, Integer totalXP, Integer currentStreak,
+                                 String user1Username, String user1Avatar, String user1DisplayName,
+                                 String user1Pronouns, String user1About, String user1BannerColor, String user1BannerUrl,
+                                 String user2Username, String user2Avatar, String user2DisplayName,
+                                 String user2Pronouns, String user2About, String user2BannerColor, String user2BannerUrl) {
+        this.id = id;
+        this.user1Id = user1Id;
+        this.user2Id = user2Id;
+        this.user1Profile = PublicUserProfileDTO.builder()
+                .id(user1Id)
+                .username(user1Username)
+                .avatar(user1Avatar)
+                .displayName(user1DisplayName)
+                .pronouns(user1Pronouns)
+                .about(user1About)
+                .bannerColor(user1BannerColor)
+                .bannerUrl(user1BannerUrl)
+                .build();
+        this.user2Profile = PublicUserProfileDTO.builder()
+                .id(user2Id)
+                .username(user2Username)
+                .avatar(user2Avatar)
+                .displayName(user2DisplayName)
+                .pronouns(user2Pronouns)
+                .about(user2About)
+                .bannerColor(user2BannerColor)
+                .bannerUrl(user2BannerUrl)
+                .build();
+        this.discordChannelName = discordChannelName;
+        this.matchedAt = matchedAt;
+        this.messageCount = messageCount;
+        this.user1MessageCount = user1MessageCount;
+        this.user2MessageCount = user2MessageCount;
+        this.voiceTimeMinutes = voiceTimeMinutes;
+        this.wordCount = wordCount;
+        this.emojiCount = emojiCount;
+        this.activeDays = activeDays;
+        this.compatibilityScore = compatibilityScore;
+        this.currentLevel = currentLevel != null ? currentLevel : 1;
+        this.totalXP = totalXP != null ? totalXP : 0;
+        this.currentStreak = currentStreak != null ? currentStreak : 0;
+        this.active = active;
+    }
 } 
\ No newline at end of file
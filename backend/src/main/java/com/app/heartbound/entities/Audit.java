@@ -21,8 +21,10 @@ import java.util.UUID;
 @Data
 @Entity
 @Table(name = "audits", indexes = {
-    @Index(name = "idx_audit_user_id", columnList = "user_id"),
-    @Index(name = "idx_audit_timestamp", columnList = "timestamp"),
+    @Index(name = "idx_audit_timestamp_id", columnList = "timestamp DESC, id DESC"),
+    @Index(name = "idx_audit_user_timestamp_id", columnList = "user_id, timestamp DESC, id DESC"),
+    @Index(name = "idx_audit_category_timestamp_id", columnList = "category, timestamp DESC, id DESC"),
+    @Index(name = "idx_audit_severity_timestamp_id", columnList = "severity, timestamp DESC, id DESC"),
     @Index(name = "idx_audit_action", columnList = "action"),
     @Index(name = "idx_audit_entity_type", columnList = "entity_type"),
     @Index(name = "idx_audit_entity_id", columnList = "entity_id")
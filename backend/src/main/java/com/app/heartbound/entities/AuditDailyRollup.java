@@ -0,0 +1,44 @@
+package com.app.heartbound.entities;
+
+import com.app.heartbound.enums.AuditCategory;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * AuditDailyRollup Entity
+ *
+ * Number of audit entries written per day and category. Rows are maintained
+ * incrementally as audit entries are written so statistics never scan the audits table.
+ */
+@Entity
+@Table(name = "audit_daily_rollups",
+       uniqueConstraints = @UniqueConstraint(name = "uk_audit_daily_rollups_day_category", columnNames = {"day", "category"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuditDailyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "day", nullable = false)
+    private LocalDate day;
+
+    @Column(name = "category", length = 50, nullable = false)
+    @Enumerated(EnumType.STRING)
+    private AuditCategory category;
+
+    @Column(name = "entry_count", nullable = false)
+    private Long entryCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
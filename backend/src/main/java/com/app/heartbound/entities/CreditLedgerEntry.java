@@ -0,0 +1,48 @@
+package com.app.heartbound.entities;
+
+import com.app.heartbound.enums.CreditSource;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * CreditLedgerEntry Entity
+ *
+ * One change to a user's credits, with the balance it left. The ledger is append-only: the
+ * balance in {@code users.credits} is the snapshot, and each entry records the delta and the
+ * balance after it, so credits minted and burned can be analysed without touching users.
+ */
+@Entity
+@Table(name = "credit_ledger")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CreditLedgerEntry {
+
+    @Id
+    // A pooled sequence so that the entries of one transaction are inserted in a JDBC batch
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "credit_ledger_id_seq")
+    @SequenceGenerator(name = "credit_ledger_id_seq", sequenceName = "credit_ledger_id_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @Column(name = "delta", nullable = false)
+    private Integer delta;
+
+    @Column(name = "balance_after", nullable = false)
+    private Integer balanceAfter;
+
+    @Column(name = "source", length = 32, nullable = false)
+    @Enumerated(EnumType.STRING)
+    private CreditSource source;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
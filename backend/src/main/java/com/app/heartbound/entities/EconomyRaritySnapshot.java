@@ -0,0 +1,46 @@
+package com.app.heartbound.entities;
+
+import com.app.heartbound.enums.ItemRarity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * EconomyRaritySnapshot Entity
+ *
+ * Items of one rarity in circulation at the start of an hour, and the number minted
+ * during the hour before it.
+ */
+@Entity
+@Table(name = "economy_rarity_snapshots",
+       uniqueConstraints = @UniqueConstraint(name = "uk_economy_rarity_snapshots_hour_rarity", columnNames = {"hour", "rarity"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EconomyRaritySnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "hour", nullable = false)
+    private LocalDateTime hour;
+
+    @Column(name = "rarity", length = 20, nullable = false)
+    @Enumerated(EnumType.STRING)
+    private ItemRarity rarity;
+
+    @Column(name = "items_in_circulation", nullable = false)
+    private Long itemsInCirculation;
+
+    @Column(name = "items_minted", nullable = false)
+    private Long itemsMinted;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
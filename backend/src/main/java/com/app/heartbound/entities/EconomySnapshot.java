@@ -0,0 +1,44 @@
+package com.app.heartbound.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * EconomySnapshot Entity
+ *
+ * Money supply, number of users and items in circulation at the start of an hour, written
+ * from the counters kept by {@code EconomyStatsService}.
+ */
+@Entity
+@Table(name = "economy_snapshots",
+       uniqueConstraints = @UniqueConstraint(name = "uk_economy_snapshots_hour", columnNames = {"hour"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EconomySnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "hour", nullable = false)
+    private LocalDateTime hour;
+
+    @Column(name = "total_credits", nullable = false)
+    private Long totalCredits;
+
+    @Column(name = "total_users", nullable = false)
+    private Long totalUsers;
+
+    @Column(name = "items_in_circulation", nullable = false)
+    private Long itemsInCirculation;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -18,6 +18,7 @@ import java.util.UUID;
 @AllArgsConstructor
 @Entity
 @Table(name = "item_instances")
+@EntityListeners(ItemInstanceEntityListener.class)
 public class ItemInstance {
 
     @Id
@@ -0,0 +1,55 @@
+package com.app.heartbound.entities;
+
+import com.app.heartbound.enums.ItemRarity;
+import com.app.heartbound.services.EconomyStatsService;
+import com.app.heartbound.services.shop.ShopCatalogService;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Entity listener for ItemInstance entities that counts minted and removed items in the
+ * economy statistics.
+ */
+@Component
+public class ItemInstanceEntityListener {
+
+    // Lazy: both use repositories, which need the entity manager this listener is part of
+    @Autowired
+    @Lazy
+    private EconomyStatsService economyStatsService;
+
+    @Autowired
+    @Lazy
+    private ShopCatalogService shopCatalogService;
+
+    /**
+     * Called after a new ItemInstance entity is inserted
+     */
+    @PostPersist
+    public void afterPersist(ItemInstance instance) {
+        economyStatsService.itemMinted(rarityOf(instance));
+    }
+
+    /**
+     * Called after an ItemInstance entity is deleted
+     */
+    @PostRemove
+    public void afterRemove(ItemInstance instance) {
+        economyStatsService.itemRemoved(rarityOf(instance));
+    }
+
+    /**
+     * Rarity of the instance's base item, looked up in the shop catalogue by id so that a lazy
+     * base item is not loaded during the flush
+     */
+    private ItemRarity rarityOf(ItemInstance instance) {
+        Shop baseItem = instance.getBaseItem();
+        if (baseItem == null) {
+            return null;
+        }
+        return shopCatalogService.findById(baseItem.getId()).map(Shop::getRarity).orElse(null);
+    }
+}
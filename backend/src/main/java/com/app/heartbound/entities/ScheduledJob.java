@@ -0,0 +1,64 @@
+package com.app.heartbound.entities;
+
+import com.app.heartbound.enums.ScheduledJobStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * ScheduledJob Entity
+ *
+ * A durable deadline. The job type and key together form the idempotency key:
+ * scheduling the same type/key again reschedules the existing job instead of adding one.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "scheduled_jobs",
+       uniqueConstraints = @UniqueConstraint(name = "uk_scheduled_jobs_type_key", columnNames = {"job_type", "job_key"}),
+       indexes = {
+           @Index(name = "idx_scheduled_jobs_status_due_at", columnList = "status, due_at")
+       })
+public class ScheduledJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_type", length = 50, nullable = false)
+    private String jobType;
+
+    @Column(name = "job_key", nullable = false)
+    private String jobKey;
+
+    @Column(name = "payload", columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "due_at", nullable = false)
+    private LocalDateTime dueAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 20, nullable = false)
+    private ScheduledJobStatus status;
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts;
+
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
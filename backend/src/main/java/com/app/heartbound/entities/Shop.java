@@ -27,7 +27,7 @@ import java.util.UUID;
 @EntityListeners(ShopEntityListener.class)
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class Shop {
     
     @Id
@@ -17,7 +17,9 @@ import lombok.NoArgsConstructor;
 public class TradeItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // A sequence rather than IDENTITY, so the items of a new trade are inserted in one batch
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "trade_items_id_seq")
+    @SequenceGenerator(name = "trade_items_id_seq", sequenceName = "trade_items_id_seq", allocationSize = 50)
     @JsonView(Views.Public.class)
     private Long id;
 
@@ -87,7 +87,12 @@ public class User {
     @Builder.Default
     @JsonView(Views.Admin.class)
     private Integer experience = 0;
-    
+
+    // Moved on by the atomic credit updates in UserRepository only, never written by Hibernate
+    @Column(name = "balance_version", insertable = false, updatable = false)
+    @JsonView(Views.Admin.class)
+    private Long balanceVersion;
+
     // Add message count field to track total messages sent by user
     @Builder.Default
     @JsonView(Views.Admin.class)
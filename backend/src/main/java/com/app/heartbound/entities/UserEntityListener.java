@@ -1,16 +1,21 @@
 package com.app.heartbound.entities;
 
+import com.app.heartbound.services.EconomyStatsService;
 import com.app.heartbound.services.HtmlSanitizationService;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 
 /**
  * Entity listener for User entities that automatically sanitizes content before persistence.
  * This provides an additional layer of security by ensuring all data is sanitized at the database level.
+ * It also counts created and deleted users in the economy statistics.
  */
 @Component
 public class UserEntityListener {
@@ -20,6 +25,11 @@ public class UserEntityListener {
     @Autowired
     private HtmlSanitizationService htmlSanitizationService;
     
+    // Lazy: the statistics use repositories, which need the entity manager this listener is part of
+    @Autowired
+    @Lazy
+    private EconomyStatsService economyStatsService;
+    
     /**
      * Called before persisting a new User entity
      */
@@ -36,6 +46,22 @@ public class UserEntityListener {
         sanitizeUserContent(user, "update");
     }
     
+    /**
+     * Called after a new User entity is inserted
+     */
+    @PostPersist
+    public void afterPersist(User user) {
+        economyStatsService.userCreated(user.getCredits() != null ? user.getCredits() : 0);
+    }
+    
+    /**
+     * Called after a User entity is deleted
+     */
+    @PostRemove
+    public void afterRemove(User user) {
+        economyStatsService.userDeleted(user.getCredits() != null ? user.getCredits() : 0);
+    }
+    
     /**
      * Sanitize all user-generated content in the User entity
      */
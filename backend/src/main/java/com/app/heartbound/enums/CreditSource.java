@@ -0,0 +1,62 @@
+package com.app.heartbound.enums;
+
+/**
+ * What a credit ledger entry was for. Stored by name in {@code credit_ledger.source}.
+ */
+public enum CreditSource {
+    /**
+     * Balance a user already had when the ledger was introduced
+     */
+    OPENING_BALANCE,
+
+    /**
+     * Balance set by an admin
+     */
+    ADMIN,
+
+    CHAT,
+    LEVEL_UP,
+    DAILY,
+    COUNTING,
+    FISHING,
+
+    /**
+     * Credit drops claimed with /grab
+     */
+    GRAB,
+
+    /**
+     * Transfers between users with /give
+     */
+    GIVE,
+
+    COINFLIP,
+    BLACKJACK,
+    MINES,
+    RPS,
+    DEFUSE,
+    SHOP_PURCHASE,
+
+    /**
+     * Refunds for shop items that were deleted
+     */
+    SHOP_REFUND,
+
+    /**
+     * Compensation for opening a case item that is already owned
+     */
+    CASE_COMPENSATION,
+
+    GIVEAWAY_ENTRY,
+    GIVEAWAY_REFUND,
+
+    /**
+     * Repairs and part upgrades of fishing rods
+     */
+    FISHING_ROD,
+
+    /**
+     * Refunds for items removed from an inventory by an admin
+     */
+    INVENTORY_REFUND
+}
@@ -0,0 +1,31 @@
+package com.app.heartbound.enums;
+
+/**
+ * Lifecycle states of a durable scheduled job.
+ */
+public enum ScheduledJobStatus {
+    /**
+     * Waiting for its due time
+     */
+    PENDING,
+
+    /**
+     * Claimed by a worker; the lease expires at {@code lockedUntil}
+     */
+    RUNNING,
+
+    /**
+     * Handler finished successfully
+     */
+    COMPLETED,
+
+    /**
+     * Cancelled before it ran
+     */
+    CANCELLED,
+
+    /**
+     * Handler failed on every attempt
+     */
+    FAILED
+}
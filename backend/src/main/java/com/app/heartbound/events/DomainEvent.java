@@ -0,0 +1,46 @@
+package com.app.heartbound.events;
+
+import java.util.UUID;
+
+/**
+ * Domain changes that other components react to, most importantly the caches registered in
+ * {@code CacheConfig}. Publish them with Spring's {@code ApplicationEventPublisher} from the code
+ * that makes the change. Cache subscribers run after the surrounding transaction commits, so a
+ * concurrent read cannot repopulate a cache with the data being replaced.
+ */
+public sealed interface DomainEvent {
+
+    /**
+     * A user's profile, balance, inventory or status changed.
+     */
+    record UserChanged(String userId) implements DomainEvent {
+    }
+
+    /**
+     * A user's credits and experience were changed by an atomic update, leaving this balance at
+     * this balance version. Unlike {@link UserChanged} this keeps the user's hot state cached and
+     * writes the balance into it, unless the cached state already has the same or a later version.
+     */
+    record BalanceChanged(String userId, int credits, int experience, int level, long balanceVersion)
+            implements DomainEvent {
+    }
+
+    /**
+     * A shop item's listing changed: created, edited, repriced, toggled, deleted or sold out.
+     * {@code itemId} is null when several items changed at once.
+     */
+    record ShopItemChanged(UUID itemId) implements DomainEvent {
+    }
+
+    /**
+     * A pairing, its level/XP or its activity changed.
+     */
+    record PairingChanged(Long pairingId) implements DomainEvent {
+    }
+
+    /**
+     * The Discord bot settings changed.
+     */
+    record SettingsChanged() implements DomainEvent {
+    }
+}
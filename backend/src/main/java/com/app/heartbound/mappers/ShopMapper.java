@@ -7,7 +7,7 @@ import com.app.heartbound.entities.User;
 import com.app.heartbound.enums.FishingRodPart;
 import com.app.heartbound.enums.ItemRarity;
 import com.app.heartbound.enums.ShopCategory;
-import com.app.heartbound.repositories.shop.CaseItemRepository;
+import com.app.heartbound.services.shop.ShopCatalogService;
 import com.app.heartbound.utils.LevelingUtil;
 import org.springframework.stereotype.Component;
 
@@ -17,10 +17,10 @@ import java.util.Map;
 @Component
 public class ShopMapper {
 
-    private final CaseItemRepository caseItemRepository;
+    private final ShopCatalogService shopCatalogService;
 
-    public ShopMapper(CaseItemRepository caseItemRepository) {
-        this.caseItemRepository = caseItemRepository;
+    public ShopMapper(ShopCatalogService shopCatalogService) {
+        this.shopCatalogService = shopCatalogService;
     }
 
     public ShopDTO mapToShopDTO(Shop shop, User user) {
@@ -36,7 +36,7 @@ public class ShopMapper {
         boolean isCase = shop.getCategory() == ShopCategory.CASE;
         Integer caseContentsCount = 0;
         if (isCase) {
-            caseContentsCount = Math.toIntExact(caseItemRepository.countByCaseShopItem(shop));
+            caseContentsCount = shopCatalogService.getCatalog().getCaseContentsCount(shop.getId());
         }
 
         return ShopDTO.builder()
@@ -0,0 +1,54 @@
+package com.app.heartbound.repositories;
+
+import com.app.heartbound.entities.AuditDailyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface AuditDailyRollupRepository extends JpaRepository<AuditDailyRollup, Long> {
+
+    /**
+     * Add a number of entries to the rollup row of a day and category, creating it if needed
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO audit_daily_rollups (day, category, entry_count, updated_at) " +
+                   "VALUES (:day, :category, :delta, NOW()) " +
+                   "ON CONFLICT (day, category) " +
+                   "DO UPDATE SET entry_count = audit_daily_rollups.entry_count + :delta, updated_at = NOW()",
+           nativeQuery = true)
+    void addEntries(@Param("day") LocalDate day, @Param("category") String category, @Param("delta") long delta);
+
+    @Query("SELECT COALESCE(SUM(r.entryCount), 0) FROM AuditDailyRollup r")
+    long sumAllEntries();
+
+    @Query("SELECT COALESCE(SUM(r.entryCount), 0) FROM AuditDailyRollup r WHERE r.day BETWEEN :fromDay AND :toDay")
+    long sumEntriesBetween(@Param("fromDay") LocalDate fromDay, @Param("toDay") LocalDate toDay);
+
+    @Query("SELECT r.category, SUM(r.entryCount) FROM AuditDailyRollup r WHERE r.day BETWEEN :fromDay AND :toDay GROUP BY r.category")
+    List<Object[]> sumEntriesByCategoryBetween(@Param("fromDay") LocalDate fromDay, @Param("toDay") LocalDate toDay);
+
+    @Modifying
+    @Query("DELETE FROM AuditDailyRollup r WHERE r.day <= :day")
+    int deleteByDayOnOrBefore(@Param("day") LocalDate day);
+
+    /**
+     * Recompute the rollup rows of a single day from the audits table
+     */
+    @Modifying
+    @Query(value = "INSERT INTO audit_daily_rollups (day, category, entry_count, updated_at) " +
+                   "SELECT CAST(a.\"timestamp\" AS DATE), COALESCE(a.category, 'SYSTEM'), COUNT(*), NOW() " +
+                   "FROM audits a WHERE a.\"timestamp\" >= :dayStart AND a.\"timestamp\" < :dayEnd " +
+                   "GROUP BY CAST(a.\"timestamp\" AS DATE), COALESCE(a.category, 'SYSTEM') " +
+                   "ON CONFLICT (day, category) DO UPDATE SET entry_count = EXCLUDED.entry_count, updated_at = NOW()",
+           nativeQuery = true)
+    int rebuildDay(@Param("dayStart") LocalDateTime dayStart, @Param("dayEnd") LocalDateTime dayEnd);
+}
@@ -6,16 +6,23 @@ import com.app.heartbound.enums.AuditCategory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface AuditRepository extends JpaRepository<Audit, UUID> {
+public interface AuditRepository extends JpaRepository<Audit, UUID>, JpaSpecificationExecutor<Audit> {
     
     /**
      * Find all audit entries with explicit timestamp descending order
@@ -127,4 +134,34 @@ public interface AuditRepository extends JpaRepository<Audit, UUID> {
      */
     @Query("SELECT a FROM Audit a WHERE a.severity IN ('HIGH', 'CRITICAL') ORDER BY a.timestamp DESC")
     Page<Audit> findRecentHighSeverityEntries(Pageable pageable);
-} 
\ No newline at end of file
+    
+    /**
+     * Stream audit entries matching the filters for export. Rows are fetched from a
+     * server-side cursor in batches, so this must be consumed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT a FROM Audit a WHERE " +
+            "(:userId IS NULL OR a.userId = :userId) AND " +
+            "(:action IS NULL OR LOWER(a.action) LIKE LOWER(CONCAT('%', :action, '%'))) AND " +
+            "(:entityType IS NULL OR a.entityType = :entityType) AND " +
+            "(cast(:severity as text) IS NULL OR a.severity = :severity) AND " +
+            "(cast(:category as text) IS NULL OR a.category = :category) AND " +
+            "(cast(:startDate as timestamp) IS NULL OR a.timestamp >= :startDate) AND " +
+            "(cast(:endDate as timestamp) IS NULL OR a.timestamp <= :endDate) " +
+            "ORDER BY a.timestamp DESC, a.id DESC")
+    Stream<Audit> streamWithFilters(
+            @Param("userId") String userId,
+            @Param("action") String action,
+            @Param("entityType") String entityType,
+            @Param("severity") AuditSeverity severity,
+            @Param("category") AuditCategory category,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate
+    );
+    
+    /**
+     * Count audit entries in the half-open range [startDate, endDate)
+     */
+    @Query("SELECT COUNT(a) FROM Audit a WHERE a.timestamp >= :startDate AND a.timestamp < :endDate")
+    long countByTimestampRange(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
+}
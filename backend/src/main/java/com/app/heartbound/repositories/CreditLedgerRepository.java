@@ -0,0 +1,27 @@
+package com.app.heartbound.repositories;
+
+import com.app.heartbound.entities.CreditLedgerEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface CreditLedgerRepository extends JpaRepository<CreditLedgerEntry, Long> {
+
+    /**
+     * Credits minted and burned per hour and source between two instants: rows of hour,
+     * source, minted, burned and entry count, ordered by hour and source
+     */
+    @Query(value = "SELECT date_trunc('hour', l.created_at) AS hour, l.source, " +
+                   "COALESCE(SUM(l.delta) FILTER (WHERE l.delta > 0), 0) AS minted, " +
+                   "COALESCE(-SUM(l.delta) FILTER (WHERE l.delta < 0), 0) AS burned, " +
+                   "COUNT(*) AS entries " +
+                   "FROM credit_ledger l WHERE l.created_at >= :from AND l.created_at < :to " +
+                   "GROUP BY 1, 2 ORDER BY 1, 2",
+           nativeQuery = true)
+    List<Object[]> sumHourlyFlowBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
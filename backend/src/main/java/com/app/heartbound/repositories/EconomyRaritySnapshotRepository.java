@@ -0,0 +1,32 @@
+package com.app.heartbound.repositories;
+
+import com.app.heartbound.entities.EconomyRaritySnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface EconomyRaritySnapshotRepository extends JpaRepository<EconomyRaritySnapshot, Long> {
+
+    /**
+     * Write the circulation of a rarity at an hour and add the items minted by this instance,
+     * so that every replica's mints are counted when several write the same hour
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO economy_rarity_snapshots (hour, rarity, items_in_circulation, items_minted, updated_at) " +
+                   "VALUES (:hour, :rarity, :itemsInCirculation, :itemsMinted, NOW()) " +
+                   "ON CONFLICT (hour, rarity) DO UPDATE SET items_in_circulation = EXCLUDED.items_in_circulation, " +
+                   "items_minted = economy_rarity_snapshots.items_minted + EXCLUDED.items_minted, updated_at = NOW()",
+           nativeQuery = true)
+    void upsert(@Param("hour") LocalDateTime hour, @Param("rarity") String rarity,
+                @Param("itemsInCirculation") long itemsInCirculation, @Param("itemsMinted") long itemsMinted);
+
+    List<EconomyRaritySnapshot> findByHourGreaterThanEqualAndHourLessThanOrderByHourAsc(LocalDateTime from, LocalDateTime to);
+}
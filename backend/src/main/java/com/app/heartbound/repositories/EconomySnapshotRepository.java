@@ -0,0 +1,32 @@
+package com.app.heartbound.repositories;
+
+import com.app.heartbound.entities.EconomySnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface EconomySnapshotRepository extends JpaRepository<EconomySnapshot, Long> {
+
+    /**
+     * Write the snapshot of an hour, replacing one already written for it
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO economy_snapshots (hour, total_credits, total_users, items_in_circulation, updated_at) " +
+                   "VALUES (:hour, :totalCredits, :totalUsers, :itemsInCirculation, NOW()) " +
+                   "ON CONFLICT (hour) DO UPDATE SET total_credits = EXCLUDED.total_credits, " +
+                   "total_users = EXCLUDED.total_users, items_in_circulation = EXCLUDED.items_in_circulation, " +
+                   "updated_at = NOW()",
+           nativeQuery = true)
+    void upsert(@Param("hour") LocalDateTime hour, @Param("totalCredits") long totalCredits,
+                @Param("totalUsers") long totalUsers, @Param("itemsInCirculation") long itemsInCirculation);
+
+    List<EconomySnapshot> findByHourGreaterThanEqualAndHourLessThanOrderByHourAsc(LocalDateTime from, LocalDateTime to);
+}
@@ -5,10 +5,12 @@ import com.app.heartbound.entities.Shop;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import jakarta.persistence.LockModeType;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -17,6 +19,12 @@ import java.util.UUID;
 public interface ItemInstanceRepository extends JpaRepository<ItemInstance, UUID> {
     List<ItemInstance> findByBaseItem(Shop baseItem);
 
+    // One DELETE for every instance of an item; pending changes are flushed first and the
+    // persistence context is cleared afterwards, as it still holds the deleted instances
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM ItemInstance i WHERE i.baseItem = :baseItem")
+    int deleteByBaseItem(@Param("baseItem") Shop baseItem);
+
     @Query("SELECT COUNT(i) FROM ItemInstance i")
     long countTotalInstances();
 
@@ -42,4 +50,51 @@ public interface ItemInstanceRepository extends JpaRepository<ItemInstance, UUID
            "i.equippedHook.id = :partInstanceId OR " +
            "i.equippedGrip.id = :partInstanceId")
     boolean isPartAlreadyEquipped(@Param("partInstanceId") UUID partInstanceId);
-} 
\ No newline at end of file
+
+    // Locks a set of instances in a single statement. Rows are locked in id order so that
+    // concurrent bulk operations over overlapping sets cannot deadlock each other.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM ItemInstance i JOIN FETCH i.baseItem WHERE i.id IN :ids ORDER BY i.id")
+    List<ItemInstance> findAllByIdInWithLockOrdered(@Param("ids") Collection<UUID> ids);
+
+    @Query("SELECT p.id FROM ItemInstance p WHERE p.id IN :partInstanceIds AND EXISTS (" +
+           "SELECT r.id FROM ItemInstance r WHERE " +
+           "r.equippedRodShaft = p OR " +
+           "r.equippedReel = p OR " +
+           "r.equippedFishingLine = p OR " +
+           "r.equippedHook = p OR " +
+           "r.equippedGrip = p)")
+    List<UUID> findEquippedPartIds(@Param("partInstanceIds") Collection<UUID> partInstanceIds);
+
+    @Query("SELECT DISTINCT i.baseItem.id FROM ItemInstance i WHERE i.owner.id = :ownerId " +
+           "AND i.baseItem.id IN :baseItemIds AND i.id NOT IN :excludedInstanceIds")
+    List<UUID> findOwnedBaseItemIds(@Param("ownerId") String ownerId,
+                                    @Param("baseItemIds") Collection<UUID> baseItemIds,
+                                    @Param("excludedInstanceIds") Collection<UUID> excludedInstanceIds);
+
+    // Swaps ownership of the given instances between two users in one statement
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE item_instances SET owner_id = CASE WHEN owner_id = :userA THEN :userB ELSE :userA END " +
+                   "WHERE id IN (:ids) AND owner_id IN (:userA, :userB)",
+           nativeQuery = true)
+    int swapOwners(@Param("ids") Collection<UUID> ids, @Param("userA") String userA, @Param("userB") String userB);
+
+    // Reads a rod's equipped part ids without loading or locking anything
+    @Query(value = "SELECT equipped_rod_shaft_id, equipped_reel_id, equipped_fishing_line_id, equipped_hook_id, equipped_grip_id " +
+                   "FROM item_instances WHERE id = :rodInstanceId",
+           nativeQuery = true)
+    List<Object[]> findEquippedPartIdsOfRod(@Param("rodInstanceId") UUID rodInstanceId);
+
+    // Backfills durability for legacy instances created before durability existed
+    @Modifying
+    @Query("UPDATE ItemInstance i SET i.durability = :durability WHERE i.id = :id AND i.durability IS NULL")
+    int initializeDurability(@Param("id") UUID id, @Param("durability") int durability);
+
+    @Modifying
+    @Query("UPDATE ItemInstance i SET i.durability = i.durability - 1 WHERE i.id IN :ids AND i.durability > 0")
+    int decrementDurability(@Param("ids") Collection<UUID> ids);
+
+    @Modifying
+    @Query("UPDATE ItemInstance i SET i.experience = :experience, i.level = :level WHERE i.id = :id")
+    int updateRodProgress(@Param("id") UUID id, @Param("experience") long experience, @Param("level") int level);
+}
@@ -0,0 +1,97 @@
+package com.app.heartbound.repositories;
+
+import com.app.heartbound.entities.ScheduledJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ScheduledJobRepository extends JpaRepository<ScheduledJob, Long> {
+
+    @Query(value = "SELECT id FROM scheduled_jobs WHERE job_type = :jobType AND job_key = :jobKey", nativeQuery = true)
+    Optional<Long> findIdByJobTypeAndJobKey(@Param("jobType") String jobType, @Param("jobKey") String jobKey);
+
+    /**
+     * Create the job for a type/key, or reset the existing one to pending with a new due time
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO scheduled_jobs (job_type, job_key, payload, due_at, status, attempts, created_at, updated_at) " +
+                   "VALUES (:jobType, :jobKey, :payload, :dueAt, 'PENDING', 0, NOW(), NOW()) " +
+                   "ON CONFLICT (job_type, job_key) " +
+                   "DO UPDATE SET payload = EXCLUDED.payload, due_at = EXCLUDED.due_at, status = 'PENDING', " +
+                   "attempts = 0, locked_until = NULL, last_error = NULL, updated_at = NOW()",
+           nativeQuery = true)
+    void upsertPending(@Param("jobType") String jobType, @Param("jobKey") String jobKey,
+                       @Param("payload") String payload, @Param("dueAt") LocalDateTime dueAt);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE ScheduledJob j SET j.status = com.app.heartbound.enums.ScheduledJobStatus.CANCELLED, j.updatedAt = :now " +
+           "WHERE j.jobType = :jobType AND j.jobKey = :jobKey AND j.status = com.app.heartbound.enums.ScheduledJobStatus.PENDING")
+    int cancel(@Param("jobType") String jobType, @Param("jobKey") String jobKey, @Param("now") LocalDateTime now);
+
+    /**
+     * Pending jobs due before the horizon, plus running jobs whose lease expired (their worker died)
+     */
+    @Query("SELECT j FROM ScheduledJob j WHERE " +
+           "(j.status = com.app.heartbound.enums.ScheduledJobStatus.PENDING AND j.dueAt < :horizon) OR " +
+           "(j.status = com.app.heartbound.enums.ScheduledJobStatus.RUNNING AND j.lockedUntil < :now) " +
+           "ORDER BY j.dueAt ASC")
+    List<ScheduledJob> findDueBefore(@Param("horizon") LocalDateTime horizon, @Param("now") LocalDateTime now);
+
+    /**
+     * Claim a job for execution. Fails if the job was cancelled, rescheduled or claimed by another worker
+     * since it was loaded; expired leases can be reclaimed.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ScheduledJob j SET j.status = com.app.heartbound.enums.ScheduledJobStatus.RUNNING, " +
+           "j.lockedUntil = :lockedUntil, j.attempts = j.attempts + 1, j.updatedAt = :now " +
+           "WHERE j.id = :id AND j.dueAt = :dueAt AND (j.status = com.app.heartbound.enums.ScheduledJobStatus.PENDING OR " +
+           "(j.status = com.app.heartbound.enums.ScheduledJobStatus.RUNNING AND j.lockedUntil < :now))")
+    int claim(@Param("id") Long id, @Param("dueAt") LocalDateTime dueAt,
+              @Param("lockedUntil") LocalDateTime lockedUntil, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE ScheduledJob j SET j.status = com.app.heartbound.enums.ScheduledJobStatus.COMPLETED, " +
+           "j.lockedUntil = NULL, j.updatedAt = :now " +
+           "WHERE j.id = :id AND j.dueAt = :dueAt AND j.status = com.app.heartbound.enums.ScheduledJobStatus.RUNNING")
+    int complete(@Param("id") Long id, @Param("dueAt") LocalDateTime dueAt, @Param("now") LocalDateTime now);
+
+    /**
+     * Put a failed job back to pending with a later due time
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ScheduledJob j SET j.status = com.app.heartbound.enums.ScheduledJobStatus.PENDING, " +
+           "j.dueAt = :retryAt, j.lockedUntil = NULL, j.lastError = :error, j.updatedAt = :now " +
+           "WHERE j.id = :id AND j.dueAt = :dueAt AND j.status = com.app.heartbound.enums.ScheduledJobStatus.RUNNING")
+    int retry(@Param("id") Long id, @Param("dueAt") LocalDateTime dueAt, @Param("retryAt") LocalDateTime retryAt,
+              @Param("error") String error, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE ScheduledJob j SET j.status = com.app.heartbound.enums.ScheduledJobStatus.FAILED, " +
+           "j.lockedUntil = NULL, j.lastError = :error, j.updatedAt = :now " +
+           "WHERE j.id = :id AND j.dueAt = :dueAt AND j.status = com.app.heartbound.enums.ScheduledJobStatus.RUNNING")
+    int fail(@Param("id") Long id, @Param("dueAt") LocalDateTime dueAt,
+             @Param("error") String error, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ScheduledJob j WHERE j.status IN (com.app.heartbound.enums.ScheduledJobStatus.COMPLETED, " +
+           "com.app.heartbound.enums.ScheduledJobStatus.CANCELLED) AND j.updatedAt < :cutoff")
+    int deleteFinishedBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    @Query("SELECT COUNT(j) FROM ScheduledJob j WHERE j.jobType = :jobType AND j.status = com.app.heartbound.enums.ScheduledJobStatus.PENDING")
+    long countPendingByType(@Param("jobType") String jobType);
+}
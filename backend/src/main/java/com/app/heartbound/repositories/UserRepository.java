@@ -12,12 +12,14 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.Lock;
 import jakarta.persistence.LockModeType;
 import java.util.UUID;
+import java.time.LocalDateTime;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, String> {
@@ -74,32 +76,84 @@ public interface UserRepository extends JpaRepository<User, String> {
            "WHERE u.id = :userId")
     Optional<User> findByIdWithInventory(@Param("userId") String userId);
 
-    @Modifying
+    // Credit updates are native so that the new balance comes back from the update itself, for
+    // the credit ledger, audit entries and the user's cached hot state. Each moves the balance
+    // version on and returns null when no row was updated.
+
+    /**
+     * A user's balance as left by an atomic credit update
+     */
+    interface BalanceRow {
+        Integer getCredits();
+        Integer getExperience();
+        Integer getLevel();
+        Long getVersion();
+    }
+
     @Transactional
-    @Query("UPDATE User u SET u.credits = u.credits + :credits, u.experience = u.experience + :xp WHERE u.id = :userId AND u.credits + :credits >= 0")
-    void incrementCreditsAndXp(@Param("userId") String userId, @Param("credits") int credits, @Param("xp") int xp);
+    @Query(value = "UPDATE users SET credits = credits + :credits, experience = experience + :xp, " +
+                   "balance_version = balance_version + 1 WHERE id = :userId AND credits + :credits >= 0 " +
+                   "RETURNING credits, experience, level, balance_version AS version", nativeQuery = true)
+    BalanceRow incrementCreditsAndXp(@Param("userId") String userId, @Param("credits") int credits, @Param("xp") int xp);
 
-    @Modifying
     @Transactional
-    @Query("UPDATE User u SET u.credits = u.credits + :amount WHERE u.id = :userId AND u.credits >= 0")
-    int incrementCredits(@Param("userId") String userId, @Param("amount") int amount);
+    @Query(value = "UPDATE users SET credits = credits + :amount, balance_version = balance_version + 1 " +
+                   "WHERE id = :userId AND credits >= 0 RETURNING credits, experience, level, balance_version AS version",
+           nativeQuery = true)
+    BalanceRow incrementCredits(@Param("userId") String userId, @Param("amount") int amount);
 
-    @Modifying
     @Transactional
-    @Query("UPDATE User u SET u.credits = u.credits - :amount WHERE u.id = :userId AND u.credits >= :amount")
-    int deductCredits(@Param("userId") String userId, @Param("amount") int amount);
+    @Query(value = "UPDATE users SET credits = credits - :amount, balance_version = balance_version + 1 " +
+                   "WHERE id = :userId AND credits >= :amount RETURNING credits, experience, level, balance_version AS version",
+           nativeQuery = true)
+    BalanceRow deductCredits(@Param("userId") String userId, @Param("amount") int amount);
 
-    @Modifying
     @Transactional
-    @Query("UPDATE User u SET u.credits = GREATEST(u.credits - :amount, 0) WHERE u.id = :userId")
-    int deductCreditsWithFloor(@Param("userId") String userId, @Param("amount") int amount);
+    @Query(value = "UPDATE users SET credits = GREATEST(credits - :amount, 0), balance_version = balance_version + 1 " +
+                   "WHERE id = :userId RETURNING credits, experience, level, balance_version AS version",
+           nativeQuery = true)
+    BalanceRow deductCreditsWithFloor(@Param("userId") String userId, @Param("amount") int amount);
+
+    @Query(value = "SELECT credits FROM users WHERE id = :userId FOR UPDATE", nativeQuery = true)
+    Integer findCreditsForUpdate(@Param("userId") String userId);
 
     List<User> findByPrisonReleaseAtIsNotNull();
 
-    // Pessimistic locking for purchase transactions
+    // Pessimistic locking for purchase transactions: locks the user row, then loads the user with
+    // their inventory. Locking the fetch itself would make Hibernate lock every inventory row with
+    // a follow-on SELECT ... FOR UPDATE each, as PostgreSQL cannot lock the outer-joined rows.
+    default Optional<User> findByIdWithLock(String userId) {
+        return lockById(userId).flatMap(this::findByIdWithInventory);
+    }
+
+    @Query(value = "SELECT id FROM users WHERE id = :userId FOR UPDATE", nativeQuery = true)
+    Optional<String> lockById(@Param("userId") String userId);
+
+    // Locks only the user row and reads the columns the fishing engine needs
+    @Query(value = "SELECT credits, fish_caught_count, fish_caught_since_limit, current_fishing_limit, " +
+                   "fishing_limit_cooldown_until, equipped_fishing_rod_instance_id FROM users WHERE id = :userId FOR UPDATE",
+           nativeQuery = true)
+    List<Object[]> findFishingStateForUpdate(@Param("userId") String userId);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.fishCaughtCount = :fishCaughtCount, u.fishCaughtSinceLimit = :fishCaughtSinceLimit, " +
+           "u.currentFishingLimit = :currentFishingLimit, u.fishingLimitCooldownUntil = :cooldownUntil WHERE u.id = :userId")
+    int updateFishingState(@Param("userId") String userId,
+                           @Param("fishCaughtCount") int fishCaughtCount,
+                           @Param("fishCaughtSinceLimit") int fishCaughtSinceLimit,
+                           @Param("currentFishingLimit") int currentFishingLimit,
+                           @Param("cooldownUntil") LocalDateTime cooldownUntil);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.equippedFishingRodInstanceId = NULL WHERE u.id = :userId AND u.equippedFishingRodInstanceId = :rodInstanceId")
+    int unequipFishingRod(@Param("userId") String userId, @Param("rodInstanceId") UUID rodInstanceId);
+
+    // Locks the given users in id order without hydrating their inventories
     @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @Query("SELECT u FROM User u LEFT JOIN FETCH u.itemInstances ii LEFT JOIN FETCH ii.baseItem WHERE u.id = :userId")
-    Optional<User> findByIdWithLock(@Param("userId") String userId);
+    @Query("SELECT u FROM User u WHERE u.id IN :userIds ORDER BY u.id")
+    List<User> findAllByIdInWithLockOrdered(@Param("userIds") Collection<String> userIds);
 
     @Query("SELECT u FROM User u WHERE u.username = :username")
     Optional<User> findByUsername(@Param("username") String username);
@@ -23,6 +23,10 @@ public interface PairAchievementRepository extends JpaRepository<PairAchievement
     @Query("SELECT pa FROM PairAchievement pa WHERE pa.pairing.id = :pairingId ORDER BY pa.unlockedAt DESC")
     List<PairAchievement> findByPairingId(@Param("pairingId") Long pairingId);
 
+    // Ids of the achievements a pairing has unlocked
+    @Query("SELECT pa.achievement.id FROM PairAchievement pa WHERE pa.pairing.id = :pairingId")
+    List<Long> findAchievementIdsByPairingId(@Param("pairingId") Long pairingId);
+
     // Check if pairing has specific achievement
     boolean existsByPairingAndAchievement(Pairing pairing, Achievement achievement);
 
@@ -1,5 +1,6 @@
 package com.app.heartbound.repositories.pairing;
 
+import com.app.heartbound.dto.pairing.PairingLeaderboardDTO;
 import com.app.heartbound.entities.Pairing;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -40,6 +41,25 @@ public interface PairingRepository extends JpaRepository<Pairing, Long> {
            "WHERE p.active = true " +
            "ORDER BY COALESCE(pl.currentLevel, 1) DESC, COALESCE(pl.totalXP, 0) DESC, p.matchedAt ASC")
     List<Pairing> findActivePairingsOrderedByLevel();
+
+    // Pairing leaderboard in one round-trip: pairing stats, level, current voice streak and the
+    // public profile fields of both users, mapped straight to the DTO. Pairings whose users no
+    // longer exist are left out, as the entity-based assembly did.
+    @Query("SELECT new com.app.heartbound.dto.pairing.PairingLeaderboardDTO(" +
+           "p.id, p.user1Id, p.user2Id, p.discordChannelName, p.matchedAt, p.messageCount, " +
+           "p.user1MessageCount, p.user2MessageCount, p.voiceTimeMinutes, p.wordCount, p.emojiCount, " +
+           "p.activeDays, p.compatibilityScore, p.active, " +
+           "COALESCE(pl.currentLevel, 1), COALESCE(pl.totalXP, 0), " +
+           "(SELECT COALESCE(MAX(vs.streakCount), 0) FROM VoiceStreak vs WHERE vs.pairing.id = p.id AND vs.active = true), " +
+           "u1.username, u1.avatar, u1.displayName, u1.pronouns, u1.about, u1.bannerColor, u1.bannerUrl, " +
+           "u2.username, u2.avatar, u2.displayName, u2.pronouns, u2.about, u2.bannerColor, u2.bannerUrl" +
+           ") FROM Pairing p " +
+           "JOIN User u1 ON u1.id = p.user1Id " +
+           "JOIN User u2 ON u2.id = p.user2Id " +
+           "LEFT JOIN PairLevel pl ON pl.pairing.id = p.id " +
+           "WHERE p.active = true " +
+           "ORDER BY COALESCE(pl.currentLevel, 1) DESC, COALESCE(pl.totalXP, 0) DESC, p.matchedAt ASC")
+    List<PairingLeaderboardDTO> findLeaderboardEntries();
     
     // Count pairings created after a specific date/time (for admin statistics)
     @Query("SELECT COUNT(p) FROM Pairing p WHERE p.matchedAt >= :afterDate")
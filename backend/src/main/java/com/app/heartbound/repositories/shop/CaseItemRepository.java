@@ -64,6 +64,12 @@ public interface CaseItemRepository extends JpaRepository<CaseItem, UUID> {
      */
     long countByCaseShopItem(Shop caseShopItem);
     
+    /**
+     * Count items per case in a single query (caseId, count)
+     */
+    @Query("SELECT ci.caseShopItem.id, COUNT(ci) FROM CaseItem ci GROUP BY ci.caseShopItem.id")
+    List<Object[]> countItemsGroupedByCase();
+    
     /**
      * Get total drop rate sum for a case (should be 100 for validation)
      */
@@ -0,0 +1,183 @@
+package com.app.heartbound.services;
+
+import com.app.heartbound.enums.AuditCategory;
+import com.app.heartbound.repositories.AuditDailyRollupRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Maintains the per-day/per-category audit rollups used for audit statistics.
+ *
+ * Audit writes often run inside larger business transactions, so entries are counted in
+ * memory once their transaction commits and flushed to {@code audit_daily_rollups} in
+ * periodic batches. This keeps hot rollup rows from being locked for the duration of
+ * unrelated transactions. Read methods add the not-yet-flushed counts so statistics are
+ * current.
+ */
+@Service
+public class AuditRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditRollupService.class);
+
+    private final AuditDailyRollupRepository rollupRepository;
+
+    private final Map<RollupKey, AtomicLong> pending = new ConcurrentHashMap<>();
+
+    public AuditRollupService(AuditDailyRollupRepository rollupRepository) {
+        this.rollupRepository = rollupRepository;
+    }
+
+    /**
+     * Count an audit entry towards its day and category once the current transaction commits.
+     *
+     * @param timestamp the audit entry timestamp
+     * @param category the audit entry category
+     */
+    public void recordEntry(LocalDateTime timestamp, AuditCategory category) {
+        RollupKey key = new RollupKey(
+            (timestamp != null ? timestamp : LocalDateTime.now()).toLocalDate(),
+            category != null ? category : AuditCategory.SYSTEM);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    increment(key, 1);
+                }
+            });
+        } else {
+            increment(key, 1);
+        }
+    }
+
+    /**
+     * Flush buffered counts to the rollup table.
+     */
+    @Scheduled(fixedDelayString = "${audit.rollup.flush-interval-ms:10000}")
+    public void flush() {
+        LocalDate today = LocalDate.now();
+        int flushed = 0;
+
+        for (Map.Entry<RollupKey, AtomicLong> entry : pending.entrySet()) {
+            RollupKey key = entry.getKey();
+            AtomicLong counter = entry.getValue();
+            long delta = counter.getAndSet(0);
+
+            if (delta == 0) {
+                // Past days no longer receive entries; drop their idle counters. The check runs
+                // under the map's lock for the key, like increments, so a late count is never dropped
+                if (key.day().isBefore(today)) {
+                    pending.computeIfPresent(key, (k, current) -> current.get() == 0 ? null : current);
+                }
+                continue;
+            }
+
+            try {
+                rollupRepository.addEntries(key.day(), key.category().name(), delta);
+                flushed++;
+            } catch (Exception e) {
+                // Put the delta back so it is retried on the next flush
+                increment(key, delta);
+                logger.error("Failed to flush audit rollup for {} {}: {}", key.day(), key.category(), e.getMessage());
+            }
+        }
+
+        if (flushed > 0) {
+            logger.debug("Flushed {} audit rollup rows", flushed);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * Total number of audit entries across all days.
+     */
+    public long countAll() {
+        return rollupRepository.sumAllEntries() + pendingBetween(LocalDate.MIN, LocalDate.MAX);
+    }
+
+    /**
+     * Number of audit entries written on the given days (inclusive).
+     */
+    public long countBetween(LocalDate fromDay, LocalDate toDay) {
+        if (fromDay.isAfter(toDay)) {
+            return 0;
+        }
+        return rollupRepository.sumEntriesBetween(fromDay, toDay) + pendingBetween(fromDay, toDay);
+    }
+
+    /**
+     * Number of audit entries per category written on the given days (inclusive).
+     */
+    public Map<AuditCategory, Long> countByCategoryBetween(LocalDate fromDay, LocalDate toDay) {
+        Map<AuditCategory, Long> counts = new EnumMap<>(AuditCategory.class);
+        for (AuditCategory category : AuditCategory.values()) {
+            counts.put(category, 0L);
+        }
+        for (Object[] row : rollupRepository.sumEntriesByCategoryBetween(fromDay, toDay)) {
+            counts.merge((AuditCategory) row[0], ((Number) row[1]).longValue(), Long::sum);
+        }
+        pending.forEach((key, counter) -> {
+            if (!key.day().isBefore(fromDay) && !key.day().isAfter(toDay)) {
+                counts.merge(key.category(), counter.get(), Long::sum);
+            }
+        });
+        return counts;
+    }
+
+    /**
+     * Drop rollups for days on or before the cutoff and recompute the cutoff day from the
+     * remaining audit entries. Called after retention deletes.
+     *
+     * @param cutoffDate entries older than this were deleted
+     */
+    @Transactional
+    public void rebuildAfterDeletion(LocalDateTime cutoffDate) {
+        LocalDate cutoffDay = cutoffDate.toLocalDate();
+        // Buffered counts for affected days are covered by the recomputation
+        pending.keySet().removeIf(key -> !key.day().isAfter(cutoffDay));
+
+        int removed = rollupRepository.deleteByDayOnOrBefore(cutoffDay);
+        int rebuilt = rollupRepository.rebuildDay(cutoffDay.atStartOfDay(), cutoffDay.plusDays(1).atStartOfDay());
+        logger.info("Audit rollups rebuilt after retention cleanup: removed {} rows, recomputed {} rows for {}",
+            removed, rebuilt, cutoffDay);
+    }
+
+    private long pendingBetween(LocalDate fromDay, LocalDate toDay) {
+        long total = 0;
+        for (Map.Entry<RollupKey, AtomicLong> entry : pending.entrySet()) {
+            LocalDate day = entry.getKey().day();
+            if (!day.isBefore(fromDay) && !day.isAfter(toDay)) {
+                total += entry.getValue().get();
+            }
+        }
+        return total;
+    }
+
+    private void increment(RollupKey key, long delta) {
+        pending.compute(key, (k, counter) -> {
+            AtomicLong target = counter != null ? counter : new AtomicLong();
+            target.addAndGet(delta);
+            return target;
+        });
+    }
+
+    private record RollupKey(LocalDate day, AuditCategory category) {
+    }
+}
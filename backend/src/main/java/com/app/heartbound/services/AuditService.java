@@ -1,5 +1,7 @@
 package com.app.heartbound.services;
 
+import com.app.heartbound.config.ReportingQuery;
+import com.app.heartbound.dto.AuditCursorPageDTO;
 import com.app.heartbound.dto.AuditDTO;
 import com.app.heartbound.dto.CreateAuditDTO;
 import com.app.heartbound.entities.Audit;
@@ -7,28 +9,48 @@ import com.app.heartbound.enums.AuditSeverity;
 import com.app.heartbound.enums.AuditCategory;
 import com.app.heartbound.repositories.AuditRepository;
 import com.app.heartbound.exceptions.ResourceNotFoundException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.Predicate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class AuditService {
 
     private static final Logger logger = LoggerFactory.getLogger(AuditService.class);
     
+    private static final int MAX_CURSOR_PAGE_SIZE = 200;
+    
     private final AuditRepository auditRepository;
+    private final AuditRollupService auditRollupService;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
     
-    public AuditService(AuditRepository auditRepository) {
+    public AuditService(AuditRepository auditRepository, AuditRollupService auditRollupService) {
         this.auditRepository = auditRepository;
+        this.auditRollupService = auditRollupService;
     }
     
     /**
@@ -83,6 +105,7 @@ public class AuditService {
         audit.setSource(createAuditDTO.getSource());
         
         Audit savedAudit = auditRepository.save(audit);
+        auditRollupService.recordEntry(savedAudit.getTimestamp(), savedAudit.getCategory());
         logger.info("Created audit entry with ID: {} for action: {}", savedAudit.getId(), savedAudit.getAction());
         
         return mapToDTO(savedAudit);
@@ -147,6 +170,135 @@ public class AuditService {
         return auditPage.map(this::mapToDTO);
     }
     
+    /**
+     * Retrieves audit entries using keyset pagination on (timestamp, id).
+     * Unlike offset pages, the cost of a slice does not grow with its depth.
+     * 
+     * @param cursor the cursor returned with the previous slice, or null for the newest entries
+     * @param size the slice size
+     * @param userId filter by user ID (optional)
+     * @param action filter by action (optional)
+     * @param entityType filter by entity type (optional)
+     * @param severity filter by severity (optional)
+     * @param category filter by category (optional)
+     * @param startDate filter by start date (optional)
+     * @param endDate filter by end date (optional)
+     * @return the slice of audit entries and the cursor for the next one
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    public AuditCursorPageDTO getAuditEntriesAfterCursor(String cursor, int size, String userId, String action,
+            String entityType, AuditSeverity severity, AuditCategory category,
+            LocalDateTime startDate, LocalDateTime endDate) {
+        
+        int limit = Math.min(Math.max(size, 1), MAX_CURSOR_PAGE_SIZE);
+        AuditCursor position = cursor != null && !cursor.isBlank() ? AuditCursor.decode(cursor) : null;
+        
+        logger.debug("Retrieving audit entries after cursor - size: {}, userId: {}, action: {}, " +
+                    "entityType: {}, severity: {}, category: {}", 
+                    limit, userId, action, entityType, severity, category);
+        
+        // Only the present filters go into the query, so the planner can pick the composite
+        // index matching them; one extra row tells whether another slice follows
+        Specification<Audit> filters = cursorFilters(userId, action, entityType, severity, category,
+            startDate, endDate, position);
+        List<Audit> rows = auditRepository.findBy(filters, query -> query
+            .sortBy(Sort.by(Sort.Direction.DESC, "timestamp").and(Sort.by(Sort.Direction.DESC, "id")))
+            .limit(limit + 1)
+            .all());
+        
+        boolean hasNext = rows.size() > limit;
+        List<Audit> slice = hasNext ? rows.subList(0, limit) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            Audit last = slice.get(slice.size() - 1);
+            nextCursor = new AuditCursor(last.getTimestamp(), last.getId()).encode();
+        }
+        
+        return AuditCursorPageDTO.builder()
+            .content(slice.stream().map(this::mapToDTO).toList())
+            .nextCursor(nextCursor)
+            .hasNext(hasNext)
+            .size(limit)
+            .build();
+    }
+
+    private static Specification<Audit> cursorFilters(String userId, String action, String entityType,
+            AuditSeverity severity, AuditCategory category, LocalDateTime startDate, LocalDateTime endDate,
+            AuditCursor position) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (userId != null) {
+                predicates.add(cb.equal(root.get("userId"), userId));
+            }
+            if (action != null) {
+                predicates.add(cb.like(cb.lower(root.get("action")), "%" + action.toLowerCase() + "%"));
+            }
+            if (entityType != null) {
+                predicates.add(cb.equal(root.get("entityType"), entityType));
+            }
+            if (severity != null) {
+                predicates.add(cb.equal(root.get("severity"), severity));
+            }
+            if (category != null) {
+                predicates.add(cb.equal(root.get("category"), category));
+            }
+            if (startDate != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("timestamp"), startDate));
+            }
+            if (endDate != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("timestamp"), endDate));
+            }
+            if (position != null) {
+                // (timestamp, id) < (cursor timestamp, cursor id), written so the leading
+                // timestamp bound can drive an index range scan
+                predicates.add(cb.lessThanOrEqualTo(root.get("timestamp"), position.timestamp()));
+                predicates.add(cb.or(
+                    cb.lessThan(root.get("timestamp"), position.timestamp()),
+                    cb.lessThan(root.<UUID>get("id"), position.id())));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+    
+    /**
+     * Streams all audit entries matching the filters, newest first, to the given consumer.
+     * Rows are read through a database cursor and detached once mapped, so memory use
+     * stays constant regardless of the number of exported entries.
+     * 
+     * @param userId filter by user ID (optional)
+     * @param action filter by action (optional)
+     * @param entityType filter by entity type (optional)
+     * @param severity filter by severity (optional)
+     * @param category filter by category (optional)
+     * @param startDate filter by start date (optional)
+     * @param endDate filter by end date (optional)
+     * @param consumer receives each exported entry
+     * @return the number of exported entries
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @Transactional(readOnly = true)
+    @ReportingQuery
+    public long exportAuditEntries(String userId, String action, String entityType, AuditSeverity severity,
+            AuditCategory category, LocalDateTime startDate, LocalDateTime endDate, Consumer<AuditDTO> consumer) {
+        
+        logger.info("Exporting audit entries - userId: {}, action: {}, entityType: {}, severity: {}, category: {}", 
+                    userId, action, entityType, severity, category);
+        
+        long exported = 0;
+        try (Stream<Audit> audits = auditRepository.streamWithFilters(
+                userId, action, entityType, severity, category, startDate, endDate)) {
+            for (Audit audit : (Iterable<Audit>) audits::iterator) {
+                AuditDTO dto = mapToDTO(audit);
+                entityManager.detach(audit);
+                consumer.accept(dto);
+                exported++;
+            }
+        }
+        
+        logger.info("Exported {} audit entries", exported);
+        return exported;
+    }
+    
     /**
      * Retrieves audit entries for a specific user
      * 
@@ -223,42 +375,59 @@ public class AuditService {
         logger.info("Deleting audit entries older than: {}", cutoffDate);
         
         int deletedCount = auditRepository.deleteByTimestampBefore(cutoffDate);
+        auditRollupService.rebuildAfterDeletion(cutoffDate);
         
         logger.info("Deleted {} old audit entries", deletedCount);
         return deletedCount;
     }
     
     /**
-     * Gets count statistics for audit entries
+     * Gets count statistics for audit entries.
+     * Whole days are read from the daily rollups; only the partial days at the edges of
+     * each window are counted from the audits table through the timestamp index.
      * 
      * @return statistics about audit entries
      */
     @PreAuthorize("hasRole('ADMIN')")
+    @Transactional(readOnly = true)
+    @ReportingQuery
     public AuditStatisticsDTO getAuditStatistics() {
         logger.debug("Calculating audit statistics");
         
-        long totalEntries = auditRepository.count();
-        
-        // Calculate entries from last 24 hours
-        LocalDateTime last24Hours = LocalDateTime.now().minusDays(1);
-        long entriesLast24Hours = auditRepository.countByTimestampBetween(last24Hours, LocalDateTime.now());
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate today = now.toLocalDate();
         
-        // Calculate entries from last 7 days
-        LocalDateTime last7Days = LocalDateTime.now().minusDays(7);
-        long entriesLast7Days = auditRepository.countByTimestampBetween(last7Days, LocalDateTime.now());
-        
-        // Calculate entries from last 30 days
-        LocalDateTime last30Days = LocalDateTime.now().minusDays(30);
-        long entriesLast30Days = auditRepository.countByTimestampBetween(last30Days, LocalDateTime.now());
+        long totalEntries = auditRollupService.countAll();
+        long entriesLast24Hours = countEntriesSince(now.minusDays(1), now);
+        long entriesLast7Days = countEntriesSince(now.minusDays(7), now);
+        long entriesLast30Days = countEntriesSince(now.minusDays(30), now);
+        Map<AuditCategory, Long> entriesByCategoryLast30Days =
+            auditRollupService.countByCategoryBetween(today.minusDays(30), today);
         
         return AuditStatisticsDTO.builder()
             .totalEntries(totalEntries)
             .entriesLast24Hours(entriesLast24Hours)
             .entriesLast7Days(entriesLast7Days)
             .entriesLast30Days(entriesLast30Days)
+            .entriesByCategoryLast30Days(entriesByCategoryLast30Days)
             .build();
     }
     
+    private long countEntriesSince(LocalDateTime start, LocalDateTime now) {
+        LocalDate startDay = start.toLocalDate();
+        LocalDateTime todayStart = now.toLocalDate().atStartOfDay();
+        
+        if (!start.isBefore(todayStart)) {
+            return auditRepository.countByTimestampRange(start, now);
+        }
+        
+        LocalDateTime firstFullDayStart = startDay.plusDays(1).atStartOfDay();
+        long head = auditRepository.countByTimestampRange(start, firstFullDayStart);
+        long fullDays = auditRollupService.countBetween(startDay.plusDays(1), now.toLocalDate().minusDays(1));
+        long tail = auditRepository.countByTimestampRange(todayStart, now);
+        return head + fullDays + tail;
+    }
+    
     /**
      * Maps an Audit entity to AuditDTO
      * 
@@ -296,5 +465,32 @@ public class AuditService {
         private long entriesLast24Hours;
         private long entriesLast7Days;
         private long entriesLast30Days;
+        private Map<AuditCategory, Long> entriesByCategoryLast30Days;
+    }
+    
+    /**
+     * Position of the last entry of a keyset slice, encoded as an opaque URL-safe token
+     */
+    private record AuditCursor(LocalDateTime timestamp, UUID id) {
+        
+        String encode() {
+            String raw = timestamp + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+        
+        static AuditCursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.indexOf('|');
+                if (separator < 0) {
+                    throw new IllegalArgumentException("Invalid audit cursor");
+                }
+                return new AuditCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid audit cursor");
+            }
+        }
     }
 } 
\ No newline at end of file
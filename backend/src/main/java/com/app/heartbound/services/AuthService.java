@@ -154,15 +154,15 @@ public class AuthService {
      */
     public OAuthTokenResponse refreshToken(String refreshToken) {
         try {
-            // Check if the token has been used before
-            if (jwtTokenProvider.isRefreshTokenUsed(refreshToken)) {
+            // Validate and decode the refresh token
+            String userId = jwtTokenProvider.getUserIdFromRefreshToken(refreshToken);
+            
+            // Mark the token as used; this fails if it was used before, including by a concurrent refresh
+            if (!jwtTokenProvider.invalidateRefreshToken(refreshToken)) {
                 logger.error("Attempted reuse of refresh token");
                 throw new InvalidTokenException("Token has already been used");
             }
             
-            // Validate and decode the refresh token
-            String userId = jwtTokenProvider.getUserIdFromRefreshToken(refreshToken);
-            
             // Fetch the user to get their current roles and credits
             User user = userService.getUserById(userId);
             if (user == null) {
@@ -170,9 +170,6 @@ public class AuthService {
                 throw new AuthenticationException("User not found");
             }
             
-            // Mark the old token as used to prevent reuse
-            jwtTokenProvider.invalidateRefreshToken(refreshToken);
-            
             // Get user's roles and credits
             Set<Role> roles = user.getRoles() != null ? 
                     user.getRoles() : Collections.singleton(Role.USER);
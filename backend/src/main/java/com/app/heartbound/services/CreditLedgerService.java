@@ -0,0 +1,77 @@
+package com.app.heartbound.services;
+
+import com.app.heartbound.config.ReportingQuery;
+import com.app.heartbound.dto.CreditFlowDTO;
+import com.app.heartbound.entities.CreditLedgerEntry;
+import com.app.heartbound.enums.CreditSource;
+import com.app.heartbound.repositories.CreditLedgerRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Appends credit changes to the {@code credit_ledger} table.
+ *
+ * Code that changes a balance records the delta together with the balance the change left,
+ * which it already has from the update itself. The entry is persisted in the transaction that
+ * changes the balance, so an entry exists exactly when its change committed. Each change costs
+ * one INSERT at flush; ids come from a pooled sequence, so a transaction that changes several
+ * balances sends its entries in one JDBC batch.
+ */
+@Service
+public class CreditLedgerService {
+
+    private final CreditLedgerRepository ledgerRepository;
+    private final EconomyStatsService economyStatsService;
+
+    public CreditLedgerService(CreditLedgerRepository ledgerRepository,
+                               EconomyStatsService economyStatsService) {
+        this.ledgerRepository = ledgerRepository;
+        this.economyStatsService = economyStatsService;
+    }
+
+    /**
+     * Record a change to a user's credits as part of the current transaction.
+     *
+     * @param userId the user whose balance changed
+     * @param delta the change, negative when credits were taken
+     * @param balanceAfter the user's balance after the change
+     * @param source what the change was for
+     */
+    public void record(String userId, int delta, int balanceAfter, CreditSource source) {
+        if (delta == 0) {
+            return;
+        }
+        economyStatsService.creditsChanged(delta);
+        ledgerRepository.save(CreditLedgerEntry.builder()
+                .userId(userId)
+                .delta(delta)
+                .balanceAfter(balanceAfter)
+                .source(source)
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    /**
+     * Credits minted and burned per hour and source between two instants.
+     */
+    @Transactional(readOnly = true)
+    @ReportingQuery
+    public List<CreditFlowDTO> getHourlyFlow(LocalDateTime from, LocalDateTime to) {
+        List<CreditFlowDTO> flow = new ArrayList<>();
+        for (Object[] row : ledgerRepository.sumHourlyFlowBetween(from, to)) {
+            flow.add(CreditFlowDTO.builder()
+                    .hour(row[0] instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) row[0])
+                    .source(CreditSource.valueOf((String) row[1]))
+                    .minted(((Number) row[2]).longValue())
+                    .burned(((Number) row[3]).longValue())
+                    .entries(((Number) row[4]).longValue())
+                    .build());
+        }
+        return flow;
+    }
+}
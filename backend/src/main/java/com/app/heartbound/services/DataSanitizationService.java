@@ -1,10 +1,12 @@
 package com.app.heartbound.services;
 
 import com.app.heartbound.entities.Shop;
+import com.app.heartbound.events.DomainEvent.ShopItemChanged;
 import com.app.heartbound.repositories.shop.ShopRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -31,6 +33,9 @@ public class DataSanitizationService {
     @Autowired
     private HtmlSanitizationService htmlSanitizationService;
     
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
     /**
      * Sanitize all existing shop items
      * This is a comprehensive migration that cleans all shop data
@@ -82,6 +87,10 @@ public class DataSanitizationService {
                 "Shop data sanitization completed successfully"
             );
             
+            if (totalModified.get() > 0) {
+                eventPublisher.publishEvent(new ShopItemChanged(null));
+            }
+            
             logger.info("Shop data sanitization migration completed. Processed: {}, Modified: {}, Errors: {}",
                        result.getProcessedCount(), result.getModifiedCount(), result.getErrorCount());
             
@@ -0,0 +1,38 @@
+package com.app.heartbound.services;
+
+import com.app.heartbound.dto.UserDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+/**
+ * Applies Discord profile data (username, discriminator, avatar) fetched during OAuth login
+ * as a deferred background task, keeping the login response independent of these writes.
+ */
+@Service
+public class DiscordProfileSyncService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DiscordProfileSyncService.class);
+
+    private final UserService userService;
+
+    public DiscordProfileSyncService(UserService userService) {
+        this.userService = userService;
+    }
+
+    /**
+     * Sync the user's Discord profile fields in the background.
+     *
+     * @param userDTO the Discord profile data fetched during login
+     */
+    @Async
+    public void syncProfileAsync(UserDTO userDTO) {
+        try {
+            userService.syncDiscordProfile(userDTO);
+        } catch (Exception e) {
+            // A failed sync is repaired on the user's next login
+            logger.error("Deferred Discord profile sync failed for user {}: {}", userDTO.getId(), e.getMessage(), e);
+        }
+    }
+}
@@ -1,39 +1,38 @@
 package com.app.heartbound.services;
 
+import com.app.heartbound.dto.CreditFlowDTO;
+import com.app.heartbound.dto.EconomySnapshotDTO;
 import com.app.heartbound.dto.EconomyStatsDTO;
 import com.app.heartbound.enums.ItemRarity;
-import com.app.heartbound.repositories.ItemInstanceRepository;
-import com.app.heartbound.repositories.UserRepository;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @Service
 public class EconomyService {
 
-    private final UserRepository userRepository;
-    private final ItemInstanceRepository itemInstanceRepository;
+    private final EconomyStatsService economyStatsService;
+    private final CreditLedgerService creditLedgerService;
 
-    public EconomyService(UserRepository userRepository, ItemInstanceRepository itemInstanceRepository) {
-        this.userRepository = userRepository;
-        this.itemInstanceRepository = itemInstanceRepository;
+    public EconomyService(EconomyStatsService economyStatsService, CreditLedgerService creditLedgerService) {
+        this.economyStatsService = economyStatsService;
+        this.creditLedgerService = creditLedgerService;
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Economy statistics from the counters kept by {@link EconomyStatsService}; no queries are run.
+     */
     public EconomyStatsDTO getEconomyStats() {
-        long totalCredits = userRepository.getTotalCredits();
-        long totalUsers = userRepository.count();
-        long itemsInCirculation = itemInstanceRepository.countTotalInstances();
+        EconomyStatsService.Totals totals = economyStatsService.getTotals();
+        long totalCredits = totals.totalCredits();
+        long totalUsers = totals.totalUsers();
+        long itemsInCirculation = totals.itemsInCirculation();
         double averageCreditsPerUser = (totalUsers > 0) ? (double) totalCredits / totalUsers : 0;
 
-        Map<ItemRarity, Long> itemsByRarity = itemInstanceRepository.countByRarity().stream()
-                .collect(Collectors.toMap(
-                        row -> (ItemRarity) row[0],
-                        row -> (Long) row[1]
-                ));
+        Map<ItemRarity, Long> itemsByRarity = totals.itemsByRarity();
 
         Map<ItemRarity, String> recommendedPriceRanges = calculateRecommendedPrices(averageCreditsPerUser, itemsInCirculation, itemsByRarity);
 
@@ -47,6 +46,20 @@ public class EconomyService {
                 .build();
     }
 
+    /**
+     * Credits minted and burned per hour and source, from the credit ledger.
+     */
+    public List<CreditFlowDTO> getCreditFlow(LocalDateTime from, LocalDateTime to) {
+        return creditLedgerService.getHourlyFlow(from, to);
+    }
+
+    /**
+     * Hourly snapshots of the economy, for charts.
+     */
+    public List<EconomySnapshotDTO> getSnapshots(LocalDateTime from, LocalDateTime to) {
+        return economyStatsService.getSnapshots(from, to);
+    }
+
     private Map<ItemRarity, String> calculateRecommendedPrices(double averageCreditsPerUser, long totalItemsInCirculation, Map<ItemRarity, Long> itemsByRarity) {
         Map<ItemRarity, String> priceRanges = new EnumMap<>(ItemRarity.class);
         Map<ItemRarity, Double> basePrices = getBasePrices();
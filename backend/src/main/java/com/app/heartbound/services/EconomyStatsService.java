@@ -0,0 +1,269 @@
+package com.app.heartbound.services;
+
+import com.app.heartbound.config.ReportingQueries;
+import com.app.heartbound.config.ReportingQuery;
+import com.app.heartbound.dto.EconomySnapshotDTO;
+import com.app.heartbound.entities.EconomyRaritySnapshot;
+import com.app.heartbound.entities.EconomySnapshot;
+import com.app.heartbound.enums.ItemRarity;
+import com.app.heartbound.repositories.EconomyRaritySnapshotRepository;
+import com.app.heartbound.repositories.EconomySnapshotRepository;
+import com.app.heartbound.repositories.ItemInstanceRepository;
+import com.app.heartbound.repositories.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Money supply, user and item counts of the economy, kept in memory.
+ *
+ * The counters are adjusted as credits change (through {@link CreditLedgerService}) and as
+ * users and item instances are created and deleted (through their entity listeners), once
+ * the change has committed, so reading them costs nothing. A periodic full recompute from
+ * the database corrects any drift, e.g. from changes made by another instance or directly
+ * in the database. Once an hour the counters are written to {@code economy_snapshots} and
+ * {@code economy_rarity_snapshots} for trend charts.
+ */
+@Service
+public class EconomyStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EconomyStatsService.class);
+
+    private final UserRepository userRepository;
+    private final ItemInstanceRepository itemInstanceRepository;
+    private final EconomySnapshotRepository snapshotRepository;
+    private final EconomyRaritySnapshotRepository raritySnapshotRepository;
+    private final ReportingQueries reportingQueries;
+
+    private final AtomicLong totalCredits = new AtomicLong();
+    private final AtomicLong totalUsers = new AtomicLong();
+    private final AtomicLong itemsInCirculation = new AtomicLong();
+    private final Map<ItemRarity, AtomicLong> itemsByRarity = counterPerRarity();
+    // Items minted since the last snapshot was written
+    private final Map<ItemRarity, AtomicLong> itemsMinted = counterPerRarity();
+    private volatile boolean reconciled;
+
+    public EconomyStatsService(UserRepository userRepository,
+                               ItemInstanceRepository itemInstanceRepository,
+                               EconomySnapshotRepository snapshotRepository,
+                               EconomyRaritySnapshotRepository raritySnapshotRepository,
+                               ReportingQueries reportingQueries) {
+        this.userRepository = userRepository;
+        this.itemInstanceRepository = itemInstanceRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.raritySnapshotRepository = raritySnapshotRepository;
+        this.reportingQueries = reportingQueries;
+    }
+
+    /**
+     * Current totals of the economy.
+     */
+    public record Totals(long totalCredits, long totalUsers, long itemsInCirculation, Map<ItemRarity, Long> itemsByRarity) {
+    }
+
+    public Totals getTotals() {
+        if (!reconciled) {
+            reconcile();
+        }
+        return new Totals(totalCredits.get(), totalUsers.get(), itemsInCirculation.get(), current(itemsByRarity));
+    }
+
+    /**
+     * Count a change to a user's credits once the current transaction commits.
+     */
+    public void creditsChanged(long delta) {
+        if (delta != 0) {
+            afterCommit(() -> totalCredits.addAndGet(delta));
+        }
+    }
+
+    /**
+     * Count a new user, with the credits it starts with, once the current transaction commits.
+     */
+    public void userCreated(long credits) {
+        afterCommit(() -> {
+            totalUsers.incrementAndGet();
+            totalCredits.addAndGet(credits);
+        });
+    }
+
+    /**
+     * Count a deleted user, and the credits it held, once the current transaction commits.
+     */
+    public void userDeleted(long credits) {
+        afterCommit(() -> {
+            totalUsers.decrementAndGet();
+            totalCredits.addAndGet(-credits);
+        });
+    }
+
+    /**
+     * Count a new item instance once the current transaction commits.
+     *
+     * @param rarity the rarity of its base item, or null when it has none
+     */
+    public void itemMinted(ItemRarity rarity) {
+        afterCommit(() -> {
+            itemsInCirculation.incrementAndGet();
+            if (rarity != null) {
+                itemsByRarity.get(rarity).incrementAndGet();
+                itemsMinted.get(rarity).incrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * Count a deleted item instance once the current transaction commits.
+     *
+     * @param rarity the rarity of its base item, or null when it has none or it is unknown
+     */
+    public void itemRemoved(ItemRarity rarity) {
+        afterCommit(() -> {
+            itemsInCirculation.decrementAndGet();
+            if (rarity != null) {
+                itemsByRarity.get(rarity).decrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * Recompute the counters from the database. Changes counted while the queries run are kept:
+     * each counter is corrected by the difference between the database and the counter as it
+     * was before its query. The queries scan the users and item instances tables, so they run as
+     * a report, in one read-only transaction on the reporting pool.
+     */
+    @Scheduled(fixedDelayString = "${economy.stats.reconcile-interval-ms:900000}",
+               initialDelayString = "${economy.stats.reconcile-initial-delay-ms:30000}")
+    public synchronized void reconcile() {
+        long startTime = System.currentTimeMillis();
+        try {
+            long[] drift = reportingQueries.execute(status -> {
+                long creditsDrift = correct(totalCredits, userRepository::getTotalCredits);
+                long usersDrift = correct(totalUsers, userRepository::count);
+                long itemsDrift = correct(itemsInCirculation, itemInstanceRepository::countTotalInstances);
+
+                Map<ItemRarity, Long> counted = new EnumMap<>(ItemRarity.class);
+                Map<ItemRarity, Long> before = current(itemsByRarity);
+                for (Object[] row : itemInstanceRepository.countByRarity()) {
+                    counted.put((ItemRarity) row[0], (Long) row[1]);
+                }
+                for (ItemRarity rarity : ItemRarity.values()) {
+                    itemsByRarity.get(rarity).addAndGet(counted.getOrDefault(rarity, 0L) - before.get(rarity));
+                }
+                return new long[]{creditsDrift, usersDrift, itemsDrift};
+            });
+
+            // A change committing while its query runs can be counted twice or missed until the
+            // next run, so small corrections are expected under load
+            reconciled = true;
+            logger.debug("Economy stats reconciled in {}ms, corrected by {} credits, {} users and {} items",
+                    System.currentTimeMillis() - startTime, drift[0], drift[1], drift[2]);
+        } catch (Exception e) {
+            logger.error("Failed to reconcile economy stats: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Write the counters, freshly reconciled, as the snapshot of the current hour.
+     */
+    @Scheduled(cron = "${economy.stats.snapshot-cron:0 0 * * * *}")
+    public void writeHourlySnapshot() {
+        reconcile();
+        if (!reconciled) {
+            return;
+        }
+        LocalDateTime hour = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        Map<ItemRarity, Long> minted = new EnumMap<>(ItemRarity.class);
+        for (ItemRarity rarity : ItemRarity.values()) {
+            minted.put(rarity, itemsMinted.get(rarity).getAndSet(0));
+        }
+
+        try {
+            snapshotRepository.upsert(hour, totalCredits.get(), totalUsers.get(), itemsInCirculation.get());
+            for (ItemRarity rarity : ItemRarity.values()) {
+                raritySnapshotRepository.upsert(hour, rarity.name(), itemsByRarity.get(rarity).get(), minted.get(rarity));
+            }
+            logger.info("Economy snapshot written for {}", hour);
+        } catch (Exception e) {
+            // Keep the mints for the next snapshot
+            minted.forEach((rarity, count) -> itemsMinted.get(rarity).addAndGet(count));
+            logger.error("Failed to write economy snapshot for {}: {}", hour, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Hourly snapshots between two instants, oldest first.
+     */
+    @Transactional(readOnly = true)
+    @ReportingQuery
+    public List<EconomySnapshotDTO> getSnapshots(LocalDateTime from, LocalDateTime to) {
+        Map<LocalDateTime, EconomySnapshotDTO> byHour = new LinkedHashMap<>();
+        for (EconomySnapshot snapshot : snapshotRepository.findByHourGreaterThanEqualAndHourLessThanOrderByHourAsc(from, to)) {
+            byHour.put(snapshot.getHour(), EconomySnapshotDTO.builder()
+                    .hour(snapshot.getHour())
+                    .totalCredits(snapshot.getTotalCredits())
+                    .totalUsers(snapshot.getTotalUsers())
+                    .itemsInCirculation(snapshot.getItemsInCirculation())
+                    .itemsByRarity(new EnumMap<>(ItemRarity.class))
+                    .itemsMinted(new EnumMap<>(ItemRarity.class))
+                    .build());
+        }
+        for (EconomyRaritySnapshot snapshot : raritySnapshotRepository.findByHourGreaterThanEqualAndHourLessThanOrderByHourAsc(from, to)) {
+            EconomySnapshotDTO dto = byHour.get(snapshot.getHour());
+            if (dto != null) {
+                dto.getItemsByRarity().put(snapshot.getRarity(), snapshot.getItemsInCirculation());
+                dto.getItemsMinted().put(snapshot.getRarity(), snapshot.getItemsMinted());
+            }
+        }
+        return new ArrayList<>(byHour.values());
+    }
+
+    private static long correct(AtomicLong counter, LongSupplier query) {
+        long before = counter.get();
+        long drift = query.getAsLong() - before;
+        counter.addAndGet(drift);
+        return drift;
+    }
+
+    private static Map<ItemRarity, AtomicLong> counterPerRarity() {
+        Map<ItemRarity, AtomicLong> counters = new EnumMap<>(ItemRarity.class);
+        for (ItemRarity rarity : ItemRarity.values()) {
+            counters.put(rarity, new AtomicLong());
+        }
+        return Collections.unmodifiableMap(counters);
+    }
+
+    private static Map<ItemRarity, Long> current(Map<ItemRarity, AtomicLong> counters) {
+        Map<ItemRarity, Long> values = new EnumMap<>(ItemRarity.class);
+        counters.forEach((rarity, counter) -> values.put(rarity, counter.get()));
+        return values;
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+}
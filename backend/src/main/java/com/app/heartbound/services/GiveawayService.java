@@ -6,11 +6,14 @@ import com.app.heartbound.entities.GiveawayEntry;
 import com.app.heartbound.entities.User;
 import com.app.heartbound.repositories.GiveawayRepository;
 import com.app.heartbound.repositories.GiveawayEntryRepository;
+import com.app.heartbound.repositories.UserRepository;
 import com.app.heartbound.services.discord.DiscordBotSettingsService;
 import com.app.heartbound.services.discord.DiscordService;
+import com.app.heartbound.services.scheduler.DeadlineSchedulerService;
 import com.app.heartbound.exceptions.ResourceNotFoundException;
 import com.app.heartbound.exceptions.UnauthorizedOperationException;
 import com.app.heartbound.config.CacheConfig;
+import com.app.heartbound.enums.CreditSource;
 import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.entities.channel.concrete.TextChannel;
 import net.dv8tion.jda.api.entities.MessageEmbed;
@@ -18,19 +21,13 @@ import net.dv8tion.jda.api.EmbedBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Lazy;
-import org.springframework.scheduling.TaskScheduler;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import jakarta.annotation.PostConstruct;
-import jakarta.annotation.PreDestroy;
 import java.time.LocalDateTime;
-import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ScheduledFuture;
 import java.util.stream.Collectors;
 import java.awt.Color;
 
@@ -42,96 +39,38 @@ public class GiveawayService {
     private final GiveawayRepository giveawayRepository;
     private final GiveawayEntryRepository giveawayEntryRepository;
     private final UserService userService;
+    private final UserRepository userRepository;
     private final CacheConfig cacheConfig;
     private final DiscordService discordService;
     
-    // TaskScheduler for individual giveaway completion tasks
-    private final TaskScheduler taskScheduler;
+    private final DeadlineSchedulerService deadlineSchedulerService;
     
-    // Track scheduled tasks for cancellation when needed
-    private final Map<UUID, ScheduledFuture<?>> scheduledTasks = new ConcurrentHashMap<>();
+    static final String JOB_TYPE = "GIVEAWAY_COMPLETION";
 
     public GiveawayService(GiveawayRepository giveawayRepository,
                           GiveawayEntryRepository giveawayEntryRepository,
                           UserService userService,
+                          UserRepository userRepository,
                           DiscordBotSettingsService discordBotSettingsService,
                           CacheConfig cacheConfig,
-                          @Lazy DiscordService discordService) {
+                          @Lazy DiscordService discordService,
+                          DeadlineSchedulerService deadlineSchedulerService) {
         this.giveawayRepository = giveawayRepository;
         this.giveawayEntryRepository = giveawayEntryRepository;
         this.userService = userService;
+        this.userRepository = userRepository;
         this.cacheConfig = cacheConfig;
         this.discordService = discordService;
-        
-        // Initialize TaskScheduler for precise giveaway completion scheduling
-        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
-        scheduler.setPoolSize(2); // Small pool for giveaway completion tasks
-        scheduler.setThreadNamePrefix("giveaway-scheduler-");
-        scheduler.setWaitForTasksToCompleteOnShutdown(true);
-        scheduler.setAwaitTerminationSeconds(30);
-        scheduler.initialize();
-        this.taskScheduler = scheduler;
-        
-        logger.info("GiveawayService initialized with TaskScheduler for precise completion timing");
+        this.deadlineSchedulerService = deadlineSchedulerService;
     }
 
     /**
-     * Initialize service after all dependencies are injected
-     * Schedule completion tasks for any existing active giveaways
+     * Register the completion handler with the durable scheduler.
+     * Completion jobs survive restarts, so active giveaways no longer need rescheduling on startup.
      */
     @PostConstruct
-    public void initializeExistingGiveaways() {
-        try {
-            // Schedule completion tasks for any active giveaways that might have been running during restart
-            List<Giveaway> activeGiveaways = giveawayRepository.findActiveGiveaways(LocalDateTime.now());
-            
-            for (Giveaway giveaway : activeGiveaways) {
-                if (giveaway.getEndDate().isAfter(LocalDateTime.now())) {
-                    scheduleGiveawayCompletion(giveaway);
-                    logger.info("Rescheduled completion task for giveaway {} (Prize: {})", 
-                               giveaway.getId(), giveaway.getPrize());
-                } else {
-                    // Giveaway should have completed already, complete it now
-                    logger.info("Found expired giveaway {} during startup, completing immediately", giveaway.getId());
-                    try {
-                        completeGiveaway(giveaway.getId());
-                    } catch (Exception e) {
-                        logger.error("Error completing expired giveaway {} during startup: {}", 
-                                   giveaway.getId(), e.getMessage(), e);
-                    }
-                }
-            }
-            
-            logger.info("Initialized {} existing active giveaway tasks", activeGiveaways.size());
-        } catch (Exception e) {
-            logger.error("Error initializing existing giveaway tasks: {}", e.getMessage(), e);
-        }
-    }
-
-    /**
-     * Cleanup method called before bean destruction
-     * Cancels all scheduled tasks and shuts down the task scheduler
-     */
-    @PreDestroy
-    public void cleanup() {
-        try {
-            // Cancel all scheduled tasks
-            scheduledTasks.values().forEach(task -> {
-                if (!task.isDone()) {
-                    task.cancel(false);
-                }
-            });
-            scheduledTasks.clear();
-            
-            // Shutdown the task scheduler
-            if (taskScheduler instanceof ThreadPoolTaskScheduler) {
-                ((ThreadPoolTaskScheduler) taskScheduler).shutdown();
-            }
-            
-            logger.info("GiveawayService cleanup completed - cancelled {} scheduled tasks", scheduledTasks.size());
-        } catch (Exception e) {
-            logger.error("Error during GiveawayService cleanup: {}", e.getMessage(), e);
-        }
+    public void registerCompletionHandler() {
+        deadlineSchedulerService.registerHandler(JOB_TYPE, (giveawayId, payload) -> handleDueCompletion(UUID.fromString(giveawayId)));
     }
 
     /**
@@ -223,7 +162,7 @@ public class GiveawayService {
             if (user.getCredits() < giveaway.getEntryPrice()) {
                 throw new IllegalStateException("You don't have enough credits to enter!");
             }
-            user.setCredits(user.getCredits() - giveaway.getEntryPrice());
+            userService.adjustCredits(user, -giveaway.getEntryPrice(), CreditSource.GIVEAWAY_ENTRY);
             userService.updateUser(user);
             logger.debug("Deducted {} credits from user {} for giveaway entry", giveaway.getEntryPrice(), userId);
         }
@@ -360,7 +299,7 @@ public class GiveawayService {
         cancelScheduledTask(giveawayId);
         
         // Invalidate giveaway cache
-        cacheConfig.invalidateGiveawayCache();
+        cacheConfig.getGiveawayCache().invalidateAll();
         
         logger.info("Cancelled giveaway {} by admin {}", giveawayId, adminUserId);
     }
@@ -368,7 +307,7 @@ public class GiveawayService {
     /**
      * Find and process expired giveaways
      * Note: This method is now primarily used for manual cleanup or emergency situations
-     * since TaskScheduler handles automatic completion
+     * since the deadline scheduler handles automatic completion
      */
     @Transactional
     public List<Giveaway> processExpiredGiveaways() {
@@ -376,7 +315,7 @@ public class GiveawayService {
         
         if (!expiredGiveaways.isEmpty()) {
             boolean discordReady = isDiscordReady();
-            logger.info("Processing {} expired giveaways (Discord ready: {}) - Note: These should have been handled by TaskScheduler", 
+            logger.info("Processing {} expired giveaways (Discord ready: {}) - Note: These should have been handled by the deadline scheduler", 
                        expiredGiveaways.size(), discordReady);
         }
         
@@ -412,7 +351,7 @@ public class GiveawayService {
         cancelScheduledTask(giveawayId);
         
         // Invalidate giveaway cache
-        cacheConfig.invalidateGiveawayCache();
+        cacheConfig.getGiveawayCache().invalidateAll();
         
         logger.info("Deleted completed giveaway {} by admin {}", giveawayId, adminUserId);
     }
@@ -449,7 +388,7 @@ public class GiveawayService {
         cancelScheduledTask(giveawayId);
         
         // Invalidate giveaway cache
-        cacheConfig.invalidateGiveawayCache();
+        cacheConfig.getGiveawayCache().invalidateAll();
         
         logger.info("Successfully deleted giveaway {} by admin {}", giveawayId, adminUserId);
     }
@@ -635,19 +574,17 @@ public class GiveawayService {
                     GiveawayEntry::getUserId,
                     Collectors.summingInt(GiveawayEntry::getCreditsPaid)
                 ));
-        
-        for (Map.Entry<String, Integer> refund : refundsByUser.entrySet()) {
-            String userId = refund.getKey();
-            Integer refundAmount = refund.getValue();
-            
-            if (refundAmount > 0) {
-                User user = userService.getUserById(userId);
-                if (user != null) {
-                    user.setCredits(user.getCredits() + refundAmount);
-                    userService.updateUser(user);
-                    logger.debug("Refunded {} credits to user {}", refundAmount, userId);
-                }
-            }
+        refundsByUser.values().removeIf(refundAmount -> refundAmount <= 0);
+        if (refundsByUser.isEmpty()) {
+            return;
+        }
+
+        // Load every refunded user in one query; the updates are flushed as JDBC batches
+        for (User user : userRepository.findAllById(refundsByUser.keySet())) {
+            Integer refundAmount = refundsByUser.get(user.getId());
+            userService.adjustCredits(user, refundAmount, CreditSource.GIVEAWAY_REFUND);
+            userService.updateUser(user);
+            logger.debug("Refunded {} credits to user {}", refundAmount, user.getId());
         }
     }
 
@@ -751,61 +688,39 @@ public class GiveawayService {
     }
 
     /**
-     * Schedule a giveaway completion task for the exact end time
+     * Schedule the durable completion job for the giveaway end time
      * @param giveaway The giveaway to schedule completion for
      */
     private void scheduleGiveawayCompletion(Giveaway giveaway) {
-        try {
-            // Convert LocalDateTime to Instant for scheduling
-            java.time.Instant executionTime = giveaway.getEndDate()
-                .atZone(ZoneId.systemDefault())
-                .toInstant();
-            
-            // Only schedule if the end time is in the future
-            if (executionTime.isAfter(java.time.Instant.now())) {
-                ScheduledFuture<?> task = taskScheduler.schedule(() -> {
-                    try {
-                        logger.info("TaskScheduler executing completion for giveaway {} (Prize: {})", 
-                                   giveaway.getId(), giveaway.getPrize());
-                        completeGiveaway(giveaway.getId());
-                        
-                        // Remove from scheduled tasks map after completion
-                        scheduledTasks.remove(giveaway.getId());
-                    } catch (Exception e) {
-                        logger.error("Error in scheduled completion of giveaway {}: {}", 
-                                   giveaway.getId(), e.getMessage(), e);
-                    }
-                }, executionTime);
-                
-                // Store the scheduled task for potential cancellation
-                scheduledTasks.put(giveaway.getId(), task);
-                
-                logger.info("Scheduled completion task for giveaway {} at {}", 
-                           giveaway.getId(), giveaway.getEndDate());
-            } else {
-                logger.debug("Giveaway {} end time is in the past, not scheduling", giveaway.getId());
-            }
-        } catch (Exception e) {
-            logger.error("Error scheduling completion for giveaway {}: {}", giveaway.getId(), e.getMessage(), e);
+        deadlineSchedulerService.schedule(JOB_TYPE, giveaway.getId().toString(), giveaway.getEndDate());
+        logger.info("Scheduled completion job for giveaway {} at {}", giveaway.getId(), giveaway.getEndDate());
+    }
+
+    /**
+     * Runs when a completion job comes due. Jobs may run more than once, so giveaways that
+     * are no longer active are skipped.
+     * @param giveawayId The giveaway to complete
+     */
+    private void handleDueCompletion(UUID giveawayId) {
+        Optional<Giveaway> giveaway = giveawayRepository.findById(giveawayId);
+        if (giveaway.isEmpty() || giveaway.get().getStatus() != Giveaway.GiveawayStatus.ACTIVE) {
+            logger.debug("Skipping completion job for giveaway {}: no longer active", giveawayId);
+            return;
         }
+        logger.info("Scheduler executing completion for giveaway {} (Prize: {})", 
+                   giveawayId, giveaway.get().getPrize());
+        completeGiveaway(giveawayId);
     }
 
     /**
-     * Cancel a scheduled completion task for a giveaway
-     * @param giveawayId The giveaway ID whose task should be cancelled
+     * Cancel the scheduled completion job for a giveaway
+     * @param giveawayId The giveaway ID whose job should be cancelled
      */
     private void cancelScheduledTask(UUID giveawayId) {
         try {
-            ScheduledFuture<?> task = scheduledTasks.remove(giveawayId);
-            if (task != null && !task.isDone()) {
-                boolean cancelled = task.cancel(false);
-                logger.info("Cancelled scheduled completion task for giveaway {} (success: {})", 
-                           giveawayId, cancelled);
-            } else {
-                logger.debug("No active scheduled task found for giveaway {}", giveawayId);
-            }
+            deadlineSchedulerService.cancel(JOB_TYPE, giveawayId.toString());
         } catch (Exception e) {
-            logger.error("Error cancelling scheduled task for giveaway {}: {}", giveawayId, e.getMessage(), e);
+            logger.error("Error cancelling scheduled completion for giveaway {}: {}", giveawayId, e.getMessage(), e);
         }
     }
 
@@ -814,9 +729,7 @@ public class GiveawayService {
      * @return Number of active scheduled tasks
      */
     public int getActiveScheduledTasksCount() {
-        return (int) scheduledTasks.values().stream()
-            .filter(task -> !task.isDone())
-            .count();
+        return (int) deadlineSchedulerService.countPending(JOB_TYPE);
     }
 
     /**
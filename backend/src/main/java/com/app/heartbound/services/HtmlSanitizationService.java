@@ -7,6 +7,8 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
+import java.util.Locale;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Pattern;
@@ -17,6 +19,13 @@ import java.util.regex.Pattern;
  * Centralized service for HTML sanitization using OWASP Java HTML Sanitizer.
  * Provides different sanitization policies for different content types.
  * 
+ * STRICT and BASIC text is handled by a single-pass scanner that produces exactly what the
+ * OWASP policies and the cleanup after them produce for plain text: it encodes the characters
+ * the sanitizer encodes, drops the ones it drops, strips simple formatting tags and applies the
+ * policy's character filter and whitespace rules as it goes. Input with anything else that
+ * looks like markup (tags with attributes, other elements, entity references) is handed to the
+ * OWASP policies, which are also used for all RICH text.
+ * 
  * Security Features:
  * - Prevents all XSS attacks by stripping dangerous HTML
  * - Configurable policies for different content types
@@ -41,6 +50,16 @@ public class HtmlSanitizationService {
     private static final Pattern DANGEROUS_PATTERNS = Pattern.compile(
         "(?i)(javascript:|data:|vbscript:|on\\w+\\s*=|<\\s*script|<\\s*iframe|<\\s*object|<\\s*embed|<\\s*link|<\\s*meta|<\\s*style)"
     );
+    // DANGEROUS_PATTERNS as the scanner checks them, lower case
+    private static final String[] DANGEROUS_PREFIXES = {"javascript:", "data:", "vbscript:"};
+    private static final String[] DANGEROUS_TAGS = {"script", "iframe", "object", "embed", "link", "meta", "style"};
+    
+    // Elements the scanner strips itself: their text is kept as is when no tags are allowed.
+    // Elements whose content the sanitizer drops or reads as raw text are left to OWASP.
+    private static final Set<String> STRIPPED_TAGS = Set.of(
+        "a", "b", "i", "u", "s", "em", "strong", "small", "mark", "code", "sub", "sup", "span", "div",
+        "p", "br", "hr", "h1", "h2", "h3", "h4", "h5", "h6", "ul", "ol", "li", "blockquote", "del", "ins"
+    );
     
     public HtmlSanitizationService() {
         this.strictPolicy = createStrictPolicy();
@@ -91,8 +110,15 @@ public class HtmlSanitizationService {
         String originalInput = input;
         
         try {
+            // STRICT and BASIC text is scanned in one pass unless it needs the HTML parser
+            TextScanner scanner = policy == SanitizationPolicy.RICH ? null : new TextScanner(input, policy);
+            if (scanner != null && !scanner.scan()) {
+                incrementMetric("markup_fallbacks");
+                scanner = null;
+            }
+            
             // Step 1: Pre-validation for obvious attacks
-            if (containsDangerousPatterns(input)) {
+            if (scanner != null ? scanner.dangerous : containsDangerousPatterns(input)) {
                 logSecurityEvent("DANGEROUS_PATTERN_DETECTED", originalInput, policy);
                 incrementMetric("dangerous_patterns_blocked");
                 // For strict security, reject completely
@@ -101,15 +127,20 @@ public class HtmlSanitizationService {
                 }
             }
             
-            // Step 2: Apply appropriate sanitization policy
-            String sanitized = switch (policy) {
-                case STRICT -> applyStrictSanitization(input);
-                case BASIC -> applyBasicSanitization(input);
-                case RICH -> applyRichSanitization(input);
-            };
-            
-            // Step 3: Final validation and cleanup
-            sanitized = finalCleanup(sanitized);
+            String sanitized;
+            if (scanner != null) {
+                sanitized = scanner.result();
+            } else {
+                // Step 2: Apply appropriate sanitization policy
+                sanitized = switch (policy) {
+                    case STRICT -> applyStrictSanitization(input);
+                    case BASIC -> applyBasicSanitization(input);
+                    case RICH -> applyRichSanitization(input);
+                };
+                
+                // Step 3: Final validation and cleanup
+                sanitized = finalCleanup(sanitized);
+            }
             
             // Step 4: Security audit logging
             if (!originalInput.equals(sanitized)) {
@@ -198,6 +229,297 @@ public class HtmlSanitizationService {
         return input.trim();
     }
     
+    /**
+     * Whether one of DANGEROUS_PATTERNS matches at {@code i}. Like the pattern, letters are
+     * compared case-insensitively in ASCII only.
+     */
+    private static boolean dangerousAt(String input, int i) {
+        switch (input.charAt(i)) {
+            case 'j', 'J', 'd', 'D', 'v', 'V' -> {
+                for (String prefix : DANGEROUS_PREFIXES) {
+                    if (startsWithIgnoreCase(input, i, prefix)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            case 'o', 'O' -> {
+                // on\w+\s*=
+                int j = i + 1;
+                if (j >= input.length() || (input.charAt(j) | 0x20) != 'n') {
+                    return false;
+                }
+                j++;
+                int handlerStart = j;
+                while (j < input.length() && isWordChar(input.charAt(j))) {
+                    j++;
+                }
+                if (j == handlerStart) {
+                    return false;
+                }
+                while (j < input.length() && isPatternSpace(input.charAt(j))) {
+                    j++;
+                }
+                return j < input.length() && input.charAt(j) == '=';
+            }
+            case '<' -> {
+                int j = i + 1;
+                while (j < input.length() && isPatternSpace(input.charAt(j))) {
+                    j++;
+                }
+                for (String tag : DANGEROUS_TAGS) {
+                    if (startsWithIgnoreCase(input, j, tag)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            default -> {
+                return false;
+            }
+        }
+    }
+    
+    private static boolean startsWithIgnoreCase(String input, int offset, String lowerCase) {
+        if (offset + lowerCase.length() > input.length()) {
+            return false;
+        }
+        for (int k = 0; k < lowerCase.length(); k++) {
+            char c = input.charAt(offset + k);
+            if (c >= 'A' && c <= 'Z') {
+                c += 'a' - 'A';
+            }
+            if (c != lowerCase.charAt(k)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * The end of the STRIPPED_TAGS start, end or self-closing tag without attributes at
+     * {@code i}, or -1 if there is none.
+     */
+    private static int strippedTagEnd(String input, int i) {
+        int j = i + 1;
+        boolean endTag = j < input.length() && input.charAt(j) == '/';
+        if (endTag) {
+            j++;
+        }
+        int nameStart = j;
+        while (j < input.length() && isAsciiLetterOrDigit(input.charAt(j))) {
+            j++;
+        }
+        if (j == nameStart || !isAsciiLetter(input.charAt(nameStart))
+                || !STRIPPED_TAGS.contains(input.substring(nameStart, j).toLowerCase(Locale.ROOT))) {
+            return -1;
+        }
+        if (j < input.length() && input.charAt(j) == '>') {
+            return j + 1;
+        }
+        if (!endTag && j + 1 < input.length() && input.charAt(j) == '/' && input.charAt(j + 1) == '>') {
+            return j + 2;
+        }
+        return -1;
+    }
+    
+    /**
+     * Characters the OWASP sanitizer removes from text
+     */
+    private static boolean isDropped(char c) {
+        return (c < 0x20 && c != '\t' && c != '\n' && c != '\r') || c == '\uFFFE' || c == '\uFFFF';
+    }
+    
+    // \s and \w as DANGEROUS_PATTERNS and the cleanup patterns use them
+    private static boolean isPatternSpace(char c) {
+        return c == ' ' || (c >= '\t' && c <= '\r');
+    }
+    
+    private static boolean isWordChar(char c) {
+        return isAsciiLetterOrDigit(c) || c == '_';
+    }
+    
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+    
+    private static boolean isAsciiLetterOrDigit(char c) {
+        return isAsciiLetter(c) || (c >= '0' && c <= '9');
+    }
+    
+    /**
+     * One pass over STRICT or BASIC input. Each character is turned into what the OWASP
+     * sanitizer would output for it and that is fed straight into the policy's cleanup:
+     * 
+     * - STRICT keeps ALPHANUMERIC_WITH_PUNCTUATION characters only (so of an encoded character
+     *   only the letters and digits of its entity remain), collapses whitespace and trims
+     * - BASIC collapses whitespace and trims, then removes DEL, which may leave spaces behind
+     *   that are trimmed again
+     * 
+     * Like the sanitizer, a '{' that ends a run of text or is followed by another is closed
+     * with an empty comment, so that no template expression can be formed. DANGEROUS_PATTERNS
+     * is checked at every position on the way.
+     */
+    private static final class TextScanner {
+        
+        private static final char DELETE = '\u007F';
+        private static final String BRACE_BREAK = "<!-- -->";
+        
+        private final String input;
+        private final boolean strict;
+        private final StringBuilder out;
+        private boolean dangerous;
+        private boolean pendingSpace;
+        private boolean started;
+        private boolean openBrace;
+        
+        TextScanner(String input, SanitizationPolicy policy) {
+            this.input = input;
+            this.strict = policy == SanitizationPolicy.STRICT;
+            this.out = new StringBuilder(input.length() + 16);
+        }
+        
+        /**
+         * Scan the input; false if it contains markup the scanner does not handle. STRICT
+         * input stops at the first dangerous pattern, as it is rejected anyway.
+         */
+        boolean scan() {
+            int length = input.length();
+            int skipTo = 0;
+            for (int i = 0; i < length; i++) {
+                if (!dangerous && dangerousAt(input, i)) {
+                    dangerous = true;
+                    if (strict) {
+                        return true;
+                    }
+                }
+                if (i < skipTo) {
+                    continue;
+                }
+                char c = input.charAt(i);
+                char next = i + 1 < length ? input.charAt(i + 1) : 0;
+                switch (c) {
+                    case '\t', '\n', '\r', ' ', '{' -> emit(c);
+                    case '"' -> text("&#34;");
+                    case '\'' -> text("&#39;");
+                    case '+' -> text("&#43;");
+                    case '=' -> text("&#61;");
+                    case '@' -> text("&#64;");
+                    case '`' -> text("&#96;");
+                    case '>' -> text("&gt;");
+                    case '\u1FEF' -> text("&#8175;");
+                    case '<' -> {
+                        int tagEnd = strippedTagEnd(input, i);
+                        if (tagEnd > 0) {
+                            endOfText();
+                            skipTo = tagEnd;
+                        } else if (i + 1 == length || !(isAsciiLetter(next) || next == '/' || next == '!'
+                                || next == '?' || next == '%' || isDropped(next) || Character.isSurrogate(next))) {
+                            text("&lt;");
+                        } else {
+                            return false;
+                        }
+                    }
+                    case '&' -> {
+                        if (i + 1 == length || !(isAsciiLetterOrDigit(next) || next == '#'
+                                || isDropped(next) || Character.isSurrogate(next))) {
+                            text("&amp;");
+                        } else {
+                            return false;
+                        }
+                    }
+                    default -> {
+                        if (Character.isHighSurrogate(c) && Character.isLowSurrogate(next)) {
+                            text("&#x" + Integer.toHexString(Character.toCodePoint(c, next)) + ";");
+                            skipTo = i + 2;
+                        } else if (c >= '\uFE60' && c <= '\uFFFD') {
+                            text("&#x" + Integer.toHexString(c) + ";");
+                        } else if (!isDropped(c) && !Character.isSurrogate(c)) {
+                            emit(c);
+                        }
+                    }
+                }
+            }
+            endOfText();
+            return true;
+        }
+        
+        String result() {
+            if (strict) {
+                return out.toString();
+            }
+            int start = 0;
+            int end = out.length();
+            while (start < end && out.charAt(start) == ' ') {
+                start++;
+            }
+            while (end > start && out.charAt(end - 1) == ' ') {
+                end--;
+            }
+            return out.substring(start, end);
+        }
+        
+        private void text(String encoded) {
+            for (int k = 0; k < encoded.length(); k++) {
+                emit(encoded.charAt(k));
+            }
+        }
+        
+        /**
+         * A character of the sanitizer's output
+         */
+        private void emit(char c) {
+            if (openBrace) {
+                openBrace = false;
+                if (c == '{') {
+                    append(BRACE_BREAK);
+                }
+            }
+            append(c);
+            openBrace = c == '{';
+        }
+        
+        private void endOfText() {
+            if (openBrace) {
+                openBrace = false;
+                append(BRACE_BREAK);
+            }
+        }
+        
+        private void append(String text) {
+            for (int k = 0; k < text.length(); k++) {
+                append(text.charAt(k));
+            }
+        }
+        
+        /**
+         * The policy's cleanup of the sanitizer's output, one character at a time
+         */
+        private void append(char c) {
+            if (isPatternSpace(c)) {
+                if (strict ? out.length() > 0 : started) {
+                    pendingSpace = true;
+                }
+                return;
+            }
+            if (strict) {
+                if (!isAsciiLetterOrDigit(c) && "-_.,'!?():/".indexOf(c) < 0) {
+                    // Removed before whitespace is collapsed, so the spaces around it merge
+                    return;
+                }
+            } else {
+                started = true;
+            }
+            if (pendingSpace) {
+                out.append(' ');
+                pendingSpace = false;
+            }
+            if (strict || c != DELETE) {
+                out.append(c);
+            }
+        }
+    }
+    
     /**
      * Create STRICT sanitization policy
      */
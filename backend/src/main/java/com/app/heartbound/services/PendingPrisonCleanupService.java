@@ -44,7 +44,7 @@ public class PendingPrisonCleanupService {
                 repository.deleteAllById(idsToDelete);
 
                 for (String id : idsToDelete) {
-                    cacheConfig.invalidatePendingPrisonCache(id);
+                    cacheConfig.getPendingPrisonCache().invalidate(id);
                 }
 
                 log.info("Cleaned up {} old pending prison records (older than 30 days)", oldSelections.size());
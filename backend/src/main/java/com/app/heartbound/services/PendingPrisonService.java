@@ -33,7 +33,7 @@ public class PendingPrisonService {
     public Optional<PendingPrison> findByDiscordUserId(String discordUserId) {
         log.debug("Fetching pending prison for Discord user: {}", discordUserId);
         // Attempt to get from cache first
-        PendingPrison cached = (PendingPrison) cacheConfig.getPendingPrisonCache().getIfPresent(discordUserId);
+        PendingPrison cached = cacheConfig.getPendingPrisonCache().getIfPresent(discordUserId);
         if (cached != null) {
             log.debug("Found pending prison for user {} in cache.", discordUserId);
             return Optional.of(cached);
@@ -79,7 +79,7 @@ public class PendingPrisonService {
     public void releaseUser(String userId) {
         log.debug("Releasing user {} from pending prison", userId);
         repository.deleteById(userId);
-        cacheConfig.invalidatePendingPrisonCache(userId);
+        cacheConfig.getPendingPrisonCache().invalidate(userId);
         log.info("User {} has been released from pending prison. Record deleted.", userId);
     }
 
@@ -93,7 +93,7 @@ public class PendingPrisonService {
     public void deleteByDiscordUserId(String discordUserId) {
         log.debug("Deleting pending prison record for Discord user: {}", discordUserId);
         repository.deleteById(discordUserId);
-        cacheConfig.invalidatePendingPrisonCache(discordUserId);
+        cacheConfig.getPendingPrisonCache().invalidate(discordUserId);
         log.info("Deleted pending prison record for Discord user: {}", discordUserId);
     }
 } 
\ No newline at end of file
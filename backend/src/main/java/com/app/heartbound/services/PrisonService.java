@@ -1,11 +1,12 @@
 package com.app.heartbound.services;
 
-import com.app.heartbound.config.CacheConfig;
 import com.app.heartbound.entities.User;
+import com.app.heartbound.events.DomainEvent.UserChanged;
 import com.app.heartbound.exceptions.ResourceNotFoundException;
 import com.app.heartbound.repositories.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,11 +19,11 @@ public class PrisonService {
     private static final Logger logger = LoggerFactory.getLogger(PrisonService.class);
 
     private final UserRepository userRepository;
-    private final CacheConfig cacheConfig;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public PrisonService(UserRepository userRepository, CacheConfig cacheConfig) {
+    public PrisonService(UserRepository userRepository, ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
-        this.cacheConfig = cacheConfig;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -41,7 +42,7 @@ public class PrisonService {
         user.setPrisonedAt(LocalDateTime.now());
         user.setPrisonReleaseAt(releaseAt);
         User savedUser = userRepository.save(user);
-        cacheConfig.invalidateUserProfileCache(userId);
+        eventPublisher.publishEvent(new UserChanged(userId));
         logger.info("User {} has been imprisoned in the database. Roles stored.", userId);
         return savedUser;
     }
@@ -66,7 +67,7 @@ public class PrisonService {
         user.setPrisonedAt(null);
         user.setPrisonReleaseAt(null);
         User savedUser = userRepository.save(user);
-        cacheConfig.invalidateUserProfileCache(userId);
+        eventPublisher.publishEvent(new UserChanged(userId));
         logger.info("User {} has been released from prison in the database. Stored roles cleared.", userId);
         return savedUser;
     }
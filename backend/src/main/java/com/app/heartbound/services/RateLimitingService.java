@@ -1,61 +1,90 @@
 package com.app.heartbound.services;
 
+import com.app.heartbound.config.cluster.ClusterState;
 import com.app.heartbound.config.security.RateLimited;
 import com.app.heartbound.enums.RateLimitKeyType;
 import com.app.heartbound.exceptions.RateLimitExceededException;
+import com.app.heartbound.utils.TopKSketch;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import io.github.bucket4j.Bandwidth;
 import io.github.bucket4j.Bucket;
 import io.github.bucket4j.ConsumptionProbe;
 import io.github.bucket4j.Refill;
+import io.github.bucket4j.local.LocalBucket;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
+import java.net.InetAddress;
+import java.net.UnknownHostException;
 import java.time.Duration;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Single rate limiter behind both {@link com.app.heartbound.config.security.RateLimitingFilter}
+ * and {@code @RateLimited} endpoints.
+ *
+ * Buckets are keyed by a compact {@link RateLimitKey} (interned prefix id, key type, numeric user
+ * id and packed client address) instead of concatenated strings, and each key has one bucket
+ * carrying both its minute and hour bandwidths so a request is checked with a single lookup and
+ * a single consumption. Rejections are counted in a bounded top-K sketch for monitoring.
+ *
+ * Buckets stay local to the instance. With several replicas behind the load balancer each one
+ * enforces its share of a limit, the configured rate divided by the live instance count at the
+ * time the bucket is created, so a client spread evenly across replicas sees the configured limit.
+ */
 @Service
 public class RateLimitingService {
-    
+
     private static final Logger logger = LoggerFactory.getLogger(RateLimitingService.class);
-    
-    // Separate caches for different rate limit types
-    private final Cache<String, Bucket> userMinuteBuckets;
-    private final Cache<String, Bucket> userHourBuckets;
-    private final Cache<String, Bucket> ipMinuteBuckets;
-    private final Cache<String, Bucket> ipHourBuckets;
-    
-    // Metrics tracking
-    private final ConcurrentHashMap<String, Long> rateLimitHits = new ConcurrentHashMap<>();
-    
-    public RateLimitingService() {
-        // Configure caches with appropriate expiration times
-        this.userMinuteBuckets = Caffeine.newBuilder()
-                .maximumSize(50000)
-                .expireAfterAccess(Duration.ofMinutes(5))
-                .build();
-                
-        this.userHourBuckets = Caffeine.newBuilder()
-                .maximumSize(50000)
-                .expireAfterAccess(Duration.ofHours(2))
-                .build();
-                
-        this.ipMinuteBuckets = Caffeine.newBuilder()
-                .maximumSize(100000)
-                .expireAfterAccess(Duration.ofMinutes(5))
-                .build();
-                
-        this.ipHourBuckets = Caffeine.newBuilder()
-                .maximumSize(100000)
+
+    /**
+     * Prefix under which the filter's global per-IP limit is kept
+     */
+    public static final String GLOBAL_PREFIX = "global";
+
+    private static final long ONE_MINUTE_NANOS = Duration.ofMinutes(1).toNanos();
+
+    private final ClusterState clusterState;
+    private final Cache<RateLimitKey, LocalBucket> buckets;
+    private final TopKSketch<LimitHit> rateLimitHits;
+
+    private final Map<String, Integer> prefixIds = new ConcurrentHashMap<>();
+    private final Map<Integer, String> prefixNames = new ConcurrentHashMap<>();
+    private final AtomicInteger nextPrefixId = new AtomicInteger();
+
+    private final int globalMaxRequests;
+    private final int globalWindowMinutes;
+    private final int globalBurstCapacity;
+    private final int globalPrefixId;
+
+    public RateLimitingService(ClusterState clusterState,
+                               @Value("${rate.limit.max-requests:100}") int globalMaxRequests,
+                               @Value("${rate.limit.window-minutes:1}") int globalWindowMinutes,
+                               @Value("${rate.limit.burst-capacity:120}") int globalBurstCapacity,
+                               @Value("${rate.limit.cache-maximum-size:100000}") int cacheMaximumSize,
+                               @Value("${rate.limit.top-hits-capacity:100}") int topHitsCapacity) {
+        this.clusterState = clusterState;
+        this.globalMaxRequests = globalMaxRequests;
+        this.globalWindowMinutes = globalWindowMinutes;
+        this.globalBurstCapacity = globalBurstCapacity;
+
+        // Hour bandwidths need their bucket to survive at least the hour they cover
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(cacheMaximumSize)
                 .expireAfterAccess(Duration.ofHours(2))
                 .build();
+        this.rateLimitHits = new TopKSketch<>(topHitsCapacity);
+        this.globalPrefixId = prefixId(GLOBAL_PREFIX);
     }
-    
+
     /**
      * Check rate limits for an endpoint with custom configuration
      */
@@ -63,153 +92,297 @@ public class RateLimitingService {
         if (!rateLimitConfig.enabled()) {
             return;
         }
-        
-        String limitKey = generateRateLimitKey(rateLimitConfig, request);
-        
-        // Check minute-based limit
-        checkSpecificLimit(
-            limitKey + ":minute", 
-            rateLimitConfig.requestsPerMinute(),
-            rateLimitConfig.burstCapacity() > 0 ? rateLimitConfig.burstCapacity() : (int)(rateLimitConfig.requestsPerMinute() * 1.2),
-            Duration.ofMinutes(1),
-            getMinuteBucketCache(rateLimitConfig.keyType()),
-            "per minute"
-        );
-        
-        // Check hour-based limit
-        checkSpecificLimit(
-            limitKey + ":hour", 
-            rateLimitConfig.requestsPerHour(),
-            Math.max(rateLimitConfig.requestsPerHour(), rateLimitConfig.requestsPerMinute() * 2),
-            Duration.ofHours(1),
-            getHourBucketCache(rateLimitConfig.keyType()),
-            "per hour"
-        );
-        
-        logger.debug("Rate limit check passed for key: {}", limitKey);
-    }
-    
+
+        RateLimitKey key = generateRateLimitKey(rateLimitConfig, request);
+
+        LocalBucket bucket = buckets.getIfPresent(key);
+        if (bucket == null) {
+            bucket = buckets.get(key, k -> createBucket(rateLimitConfig));
+        }
+
+        ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
+        if (!probe.isConsumed()) {
+            // A wait longer than the minute window means the hour bandwidth is the one exhausted
+            boolean hourly = probe.getNanosToWaitForRefill() > ONE_MINUTE_NANOS;
+            rateLimitHits.add(new LimitHit(key, hourly));
+
+            long waitSeconds = probe.getNanosToWaitForRefill() / 1_000_000_000;
+            String message = String.format("Rate limit exceeded: %d requests %s. Please try again in %d seconds.",
+                                         hourly ? rateLimitConfig.requestsPerHour() : rateLimitConfig.requestsPerMinute(),
+                                         hourly ? "per hour" : "per minute", waitSeconds);
+
+            logger.warn("Rate limit exceeded for key: {} ({})", key, hourly ? "per hour" : "per minute");
+            throw new RateLimitExceededException(message);
+        }
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("Rate limit check passed for key: {}. Remaining: {}", key, probe.getRemainingTokens());
+        }
+    }
+
+    /**
+     * Outcome of a request against the global limit
+     *
+     * @param limit requests per window this instance enforces for the caller, i.e. its share of
+     *              the configured limit when the caller's bucket was created
+     */
+    public record GlobalConsumption(ConsumptionProbe probe, long limit) {
+    }
+
+    /**
+     * Consume one token from the global per-IP limit applied by the request filter
+     */
+    public GlobalConsumption tryConsumeGlobal(HttpServletRequest request) {
+        RateLimitKey key = addressKey(globalPrefixId, RateLimitKeyType.IP, 0L, request);
+        LocalBucket bucket = buckets.getIfPresent(key);
+        if (bucket == null) {
+            bucket = buckets.get(key, k -> createGlobalBucket());
+        }
+        ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
+        if (!probe.isConsumed()) {
+            rateLimitHits.add(new LimitHit(key, false));
+        }
+        return new GlobalConsumption(probe, bucket.getConfiguration().getBandwidths()[0].getRefillTokens());
+    }
+
     /**
      * Generate a rate limiting key based on the configuration
      */
-    private String generateRateLimitKey(RateLimited rateLimitConfig, HttpServletRequest request) {
-        String prefix = rateLimitConfig.keyPrefix().isEmpty() ? "endpoint" : rateLimitConfig.keyPrefix();
-        
+    private RateLimitKey generateRateLimitKey(RateLimited rateLimitConfig, HttpServletRequest request) {
+        int prefixId = prefixId(rateLimitConfig.keyPrefix().isEmpty() ? "endpoint" : rateLimitConfig.keyPrefix());
+
         switch (rateLimitConfig.keyType()) {
             case USER:
                 String userId = getCurrentUserId();
                 if (userId == null) {
                     // Fall back to IP if user is not authenticated
                     logger.debug("User not authenticated, falling back to IP-based rate limiting");
-                    return prefix + ":ip:" + getClientIpAddress(request);
+                    return addressKey(prefixId, RateLimitKeyType.IP, 0L, request);
                 }
-                return prefix + ":user:" + userId;
-                
+                return new RateLimitKey(prefixId, RateLimitKeyType.USER, packUserId(userId), 0L, 0L);
+
             case USER_IP:
                 String userIdForCombo = getCurrentUserId();
-                String clientIp = getClientIpAddress(request);
                 if (userIdForCombo == null) {
-                    return prefix + ":ip:" + clientIp;
+                    return addressKey(prefixId, RateLimitKeyType.IP, 0L, request);
                 }
-                return prefix + ":user_ip:" + userIdForCombo + ":" + clientIp;
-                
+                return addressKey(prefixId, RateLimitKeyType.USER_IP, packUserId(userIdForCombo), request);
+
             case IP:
             default:
-                return prefix + ":ip:" + getClientIpAddress(request);
+                return addressKey(prefixId, RateLimitKeyType.IP, 0L, request);
         }
     }
-    
+
+    private int prefixId(String prefix) {
+        Integer id = prefixIds.get(prefix);
+        if (id != null) {
+            return id;
+        }
+        return prefixIds.computeIfAbsent(prefix, p -> {
+            int newId = nextPrefixId.getAndIncrement();
+            prefixNames.put(newId, p);
+            return newId;
+        });
+    }
+
     /**
-     * Check a specific rate limit with given parameters
+     * Create a bucket holding both the minute and the hour limit of an endpoint
      */
-    private void checkSpecificLimit(String key, int maxRequests, int burstCapacity, Duration refillPeriod, 
-                                  Cache<String, Bucket> cache, String limitType) {
-        
-        Bucket bucket = cache.get(key, k -> createBucket(maxRequests, burstCapacity, refillPeriod));
-        
-        ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
-        
-        if (!probe.isConsumed()) {
-            // Record rate limit hit for monitoring
-            rateLimitHits.merge(key, 1L, Long::sum);
-            
-            long waitSeconds = probe.getNanosToWaitForRefill() / 1_000_000_000;
-            String message = String.format("Rate limit exceeded: %d requests %s. Please try again in %d seconds.", 
-                                         maxRequests, limitType, waitSeconds);
-            
-            logger.warn("Rate limit exceeded for key: {} ({})", key, limitType);
-            throw new RateLimitExceededException(message);
-        }
-        
-        logger.debug("Rate limit check passed for key: {} ({}). Remaining: {}", 
-                   key, limitType, probe.getRemainingTokens());
+    private LocalBucket createBucket(RateLimited rateLimitConfig) {
+        int instances = clusterState.instanceCount();
+        int minuteCapacity = rateLimitConfig.burstCapacity() > 0
+            ? rateLimitConfig.burstCapacity() : (int) (rateLimitConfig.requestsPerMinute() * 1.2);
+        int hourCapacity = Math.max(rateLimitConfig.requestsPerHour(), rateLimitConfig.requestsPerMinute() * 2);
+
+        return Bucket.builder()
+            .addLimit(Bandwidth.classic(share(minuteCapacity, instances),
+                Refill.intervally(share(rateLimitConfig.requestsPerMinute(), instances), Duration.ofMinutes(1))))
+            .addLimit(Bandwidth.classic(share(hourCapacity, instances),
+                Refill.intervally(share(rateLimitConfig.requestsPerHour(), instances), Duration.ofHours(1))))
+            .build();
     }
-    
+
+    private LocalBucket createGlobalBucket() {
+        int instances = clusterState.instanceCount();
+        return Bucket.builder()
+            .addLimit(Bandwidth.classic(share(globalBurstCapacity, instances),
+                Refill.intervally(share(globalMaxRequests, instances), Duration.ofMinutes(globalWindowMinutes))))
+            .build();
+    }
+
     /**
-     * Create a bucket with specified parameters
+     * This instance's part of a limit, rounded up so that no limit drops to zero
      */
-    private Bucket createBucket(int maxRequests, int burstCapacity, Duration refillPeriod) {
-        Bandwidth limit = Bandwidth.classic(burstCapacity, Refill.intervally(maxRequests, refillPeriod));
-        return Bucket.builder().addLimit(limit).build();
+    private static int share(int limit, int instances) {
+        return instances <= 1 ? limit : (limit + instances - 1) / instances;
     }
-    
+
     /**
      * Get current authenticated user ID
      */
     private String getCurrentUserId() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication != null && authentication.isAuthenticated() && 
+        if (authentication != null && authentication.isAuthenticated() &&
             !"anonymousUser".equals(authentication.getPrincipal())) {
             return authentication.getName();
         }
         return null;
     }
-    
+
     /**
-     * Extract client IP address from request
+     * User ids are Discord snowflakes and parse to a positive long. Anything else is hashed into
+     * the negative range so it can never collide with a real id.
      */
-    private String getClientIpAddress(HttpServletRequest request) {
-        String xForwardedFor = request.getHeader("X-Forwarded-For");
-        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-            return xForwardedFor.split(",")[0].trim();
+    static long packUserId(String userId) {
+        int length = userId.length();
+        if (length > 0 && length <= 18) {
+            long value = 0;
+            int i = 0;
+            while (i < length) {
+                char c = userId.charAt(i);
+                if (c < '0' || c > '9') {
+                    break;
+                }
+                value = value * 10 + (c - '0');
+                i++;
+            }
+            if (i == length) {
+                return value;
+            }
         }
-        return request.getRemoteAddr();
+        return fnv1a(userId, 0, length) | Long.MIN_VALUE;
     }
-    
+
     /**
-     * Get appropriate minute bucket cache based on key type
+     * Build a key for the client address of the request: the first X-Forwarded-For entry if
+     * present, otherwise the remote address. The address is parsed in place without splitting.
      */
-    private Cache<String, Bucket> getMinuteBucketCache(RateLimitKeyType keyType) {
-        return keyType == RateLimitKeyType.USER || keyType == RateLimitKeyType.USER_IP ? 
-               userMinuteBuckets : ipMinuteBuckets;
+    static RateLimitKey addressKey(int prefixId, RateLimitKeyType keyType, long userId, HttpServletRequest request) {
+        String address = request.getHeader("X-Forwarded-For");
+        int start = 0;
+        int end;
+        if (address != null && !address.isEmpty()) {
+            int comma = address.indexOf(',');
+            end = comma >= 0 ? comma : address.length();
+        } else {
+            address = request.getRemoteAddr();
+            end = address != null ? address.length() : 0;
+        }
+        if (address == null) {
+            return new RateLimitKey(prefixId, keyType, userId, RateLimitKey.UNPARSED_ADDRESS, 0L);
+        }
+        while (start < end && Character.isWhitespace(address.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(address.charAt(end - 1))) {
+            end--;
+        }
+
+        long ipv4 = parseIpv4(address, start, end);
+        if (ipv4 >= 0) {
+            return new RateLimitKey(prefixId, keyType, userId, 0L, RateLimitKey.IPV4_MAPPED | ipv4);
+        }
+        if (address.indexOf(':', start) >= 0 && address.indexOf(':', start) < end) {
+            RateLimitKey ipv6 = parseIpv6(prefixId, keyType, userId, address, start, end);
+            if (ipv6 != null) {
+                return ipv6;
+            }
+        }
+        return new RateLimitKey(prefixId, keyType, userId, RateLimitKey.UNPARSED_ADDRESS, fnv1a(address, start, end));
     }
-    
+
     /**
-     * Get appropriate hour bucket cache based on key type
+     * @return the address as an unsigned 32-bit value, or -1 if it is not a dotted IPv4 literal
      */
-    private Cache<String, Bucket> getHourBucketCache(RateLimitKeyType keyType) {
-        return keyType == RateLimitKeyType.USER || keyType == RateLimitKeyType.USER_IP ? 
-               userHourBuckets : ipHourBuckets;
+    private static long parseIpv4(String address, int start, int end) {
+        long result = 0;
+        int octets = 0;
+        int octet = -1;
+        for (int i = start; i < end; i++) {
+            char c = address.charAt(i);
+            if (c >= '0' && c <= '9') {
+                octet = (octet < 0 ? 0 : octet * 10) + (c - '0');
+                if (octet > 255) {
+                    return -1;
+                }
+            } else if (c == '.' && octet >= 0 && octets < 3) {
+                result = (result << 8) | octet;
+                octets++;
+                octet = -1;
+            } else {
+                return -1;
+            }
+        }
+        if (octets != 3 || octet < 0) {
+            return -1;
+        }
+        return (result << 8) | octet;
     }
-    
+
+    private static RateLimitKey parseIpv6(int prefixId, RateLimitKeyType keyType, long userId, String address, int start, int end) {
+        if (address.charAt(start) == '[' && address.charAt(end - 1) == ']') {
+            start++;
+            end--;
+        }
+        // Only hex digits, ':' and '.' (for an embedded IPv4 tail) are accepted, so zone ids and
+        // host names from a forged X-Forwarded-For never reach InetAddress
+        for (int i = start; i < end; i++) {
+            char c = address.charAt(i);
+            if (Character.digit(c, 16) < 0 && c != ':' && c != '.') {
+                return null;
+            }
+        }
+        try {
+            // A bracketed host is parsed as an IPv6 literal and rejected if it is not one, never resolved
+            byte[] bytes = InetAddress.getByName("[" + address.substring(start, end) + "]").getAddress();
+            if (bytes.length == 4) {
+                long ipv4 = ((bytes[0] & 0xFFL) << 24) | ((bytes[1] & 0xFFL) << 16) | ((bytes[2] & 0xFFL) << 8) | (bytes[3] & 0xFFL);
+                return new RateLimitKey(prefixId, keyType, userId, 0L, RateLimitKey.IPV4_MAPPED | ipv4);
+            }
+            long high = 0;
+            long low = 0;
+            for (int i = 0; i < 8; i++) {
+                high = (high << 8) | (bytes[i] & 0xFFL);
+                low = (low << 8) | (bytes[i + 8] & 0xFFL);
+            }
+            return new RateLimitKey(prefixId, keyType, userId, high, low);
+        } catch (UnknownHostException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static long fnv1a(String value, int start, int end) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = start; i < end; i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
     /**
      * Clean up all rate limiting caches
      */
     public void cleanupCaches() {
-        userMinuteBuckets.cleanUp();
-        userHourBuckets.cleanUp();
-        ipMinuteBuckets.cleanUp();
-        ipHourBuckets.cleanUp();
+        buckets.cleanUp();
         logger.info("Cleaned up rate limiting caches");
     }
-    
+
     /**
-     * Get rate limiting metrics for monitoring
+     * Get the most frequently rate limited keys for monitoring, highest first
      */
-    public ConcurrentHashMap<String, Long> getRateLimitHits() {
-        return new ConcurrentHashMap<>(rateLimitHits);
+    public Map<String, Long> getRateLimitHits() {
+        return rateLimitHits.snapshot(this::describe);
     }
-    
+
+    /**
+     * Exact number of rejected requests since metrics were last cleared
+     */
+    public long getTotalRateLimitHits() {
+        return rateLimitHits.total();
+    }
+
     /**
      * Clear rate limiting metrics
      */
@@ -217,4 +390,51 @@ public class RateLimitingService {
         rateLimitHits.clear();
         logger.info("Cleared rate limiting metrics");
     }
-} 
\ No newline at end of file
+
+    /**
+     * Human readable form of a hit, in the same shape as the former string keys
+     */
+    private String describe(LimitHit hit) {
+        RateLimitKey key = hit.key();
+        StringBuilder description = new StringBuilder(prefixNames.getOrDefault(key.prefixId(), "unknown"));
+        switch (key.keyType()) {
+            case USER -> description.append(":user:").append(key.userId());
+            case USER_IP -> description.append(":user_ip:").append(key.userId()).append(':').append(key.formatAddress());
+            default -> description.append(":ip:").append(key.formatAddress());
+        }
+        return description.append(hit.hourly() ? ":hour" : ":minute").toString();
+    }
+
+    /**
+     * Compact bucket key. IPv4 addresses are stored IPv4-mapped in the low word so both
+     * families share one representation; unparseable addresses are hashed.
+     */
+    public record RateLimitKey(int prefixId, RateLimitKeyType keyType, long userId, long addressHigh, long addressLow) {
+
+        static final long IPV4_MAPPED = 0x0000_FFFF_0000_0000L;
+        static final long UNPARSED_ADDRESS = -1L;
+
+        String formatAddress() {
+            if (addressHigh == 0L && (addressLow & 0xFFFF_FFFF_0000_0000L) == IPV4_MAPPED) {
+                return ((addressLow >>> 24) & 0xFF) + "." + ((addressLow >>> 16) & 0xFF) + "."
+                    + ((addressLow >>> 8) & 0xFF) + "." + (addressLow & 0xFF);
+            }
+            if (addressHigh == UNPARSED_ADDRESS) {
+                return "unparsed#" + Long.toHexString(addressLow);
+            }
+            byte[] bytes = new byte[16];
+            for (int i = 0; i < 8; i++) {
+                bytes[i] = (byte) (addressHigh >>> (56 - 8 * i));
+                bytes[i + 8] = (byte) (addressLow >>> (56 - 8 * i));
+            }
+            try {
+                return InetAddress.getByAddress(bytes).getHostAddress();
+            } catch (UnknownHostException e) {
+                return "invalid";
+            }
+        }
+    }
+
+    private record LimitHit(RateLimitKey key, boolean hourly) {
+    }
+}
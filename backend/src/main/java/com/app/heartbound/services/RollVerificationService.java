@@ -1,5 +1,6 @@
 package com.app.heartbound.services;
 
+import com.app.heartbound.config.ReportingQuery;
 import com.app.heartbound.entities.RollAudit;
 import com.app.heartbound.repositories.RollAuditRepository;
 import org.slf4j.Logger;
@@ -8,6 +9,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
@@ -46,6 +48,8 @@ public class RollVerificationService {
      * Perform comprehensive verification of roll fairness
      */
     @Async
+    @Transactional(readOnly = true)
+    @ReportingQuery
     public CompletableFuture<VerificationResult> performFairnessVerification(LocalDateTime startTime, LocalDateTime endTime) {
         logger.info("Starting fairness verification for period: {} to {}", startTime, endTime);
         
@@ -1,5 +1,6 @@
 package com.app.heartbound.services;
 
+import com.app.heartbound.config.MonitoredExecutors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -11,7 +12,6 @@ import java.security.NoSuchProviderException;
 import java.security.SecureRandom;
 import java.util.List;
 import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
@@ -41,7 +41,7 @@ public class SecureRandomService {
     
     private SecureRandom secureRandom;
     private final ConcurrentLinkedQueue<Integer> randomPool = new ConcurrentLinkedQueue<>();
-    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
+    private final ScheduledExecutorService scheduler = MonitoredExecutors.newScheduledThreadPool("secure-random-refresh", 1);
     private final AtomicLong operationsCount = new AtomicLong(0);
     private final AtomicLong poolRefreshCount = new AtomicLong(0);
     
@@ -0,0 +1,111 @@
+package com.app.heartbound.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * StaticAssetService
+ *
+ * Holds the images under {@code static/images} in memory, read once at startup, so that rank
+ * images and the default avatar are served without touching the classpath per request.
+ *
+ * Each asset carries a strong ETag derived from a SHA-256 of its content. Responses built by
+ * {@link #respond(String)} are cacheable for {@code static.assets.max-age-days} and marked
+ * immutable; conditional GETs with a matching {@code If-None-Match} are answered with 304 by
+ * Spring MVC's handling of {@link ResponseEntity} ETags.
+ */
+@Service
+public class StaticAssetService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StaticAssetService.class);
+
+    private static final String ROOT = "static/images/";
+
+    private record Asset(byte[] content, String etag, MediaType mediaType) {
+    }
+
+    private final Map<String, Asset> assets;
+    private final CacheControl cacheControl;
+
+    public StaticAssetService(@Value("${static.assets.max-age-days:365}") long maxAgeDays) {
+        this.cacheControl = CacheControl.maxAge(Duration.ofDays(maxAgeDays)).cachePublic().immutable();
+        this.assets = load(new PathMatchingResourcePatternResolver());
+        long bytes = assets.values().stream().mapToLong(asset -> asset.content().length).sum();
+        logger.info("Loaded {} static assets ({} bytes) from classpath:{}", assets.size(), bytes, ROOT);
+    }
+
+    /**
+     * The response for the asset at {@code path} below {@code static/images}, e.g.
+     * {@code ranks/gold.png}, or 404 when there is none at {@code path}. The content array is
+     * shared, so it must not be modified.
+     */
+    public ResponseEntity<byte[]> respond(String path) {
+        Asset asset = assets.get(path);
+        if (asset == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .eTag(asset.etag())
+                .cacheControl(cacheControl)
+                .contentType(asset.mediaType())
+                .contentLength(asset.content().length)
+                .body(asset.content());
+    }
+
+    private static Map<String, Asset> load(ResourcePatternResolver resolver) {
+        Map<String, Asset> loaded = new HashMap<>();
+        try {
+            for (Resource resource : resolver.getResources("classpath*:" + ROOT + "**")) {
+                if (!resource.isReadable()) {
+                    // Directories
+                    continue;
+                }
+                String url = resource.getURL().toString();
+                int root = url.lastIndexOf(ROOT);
+                if (root < 0) {
+                    continue;
+                }
+                String path = url.substring(root + ROOT.length());
+                byte[] content;
+                try (InputStream in = resource.getInputStream()) {
+                    content = StreamUtils.copyToByteArray(in);
+                }
+                MediaType mediaType = MediaTypeFactory.getMediaType(path).orElse(MediaType.APPLICATION_OCTET_STREAM);
+                // The first classpath entry wins, as it does for a plain classpath lookup
+                loaded.putIfAbsent(path, new Asset(content, etag(content), mediaType));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load static assets from classpath:" + ROOT, e);
+        }
+        return Map.copyOf(loaded);
+    }
+
+    private static String etag(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.app.heartbound.services;
 
 import com.app.heartbound.dto.CreateTradeDto;
 import com.app.heartbound.entities.*;
+import com.app.heartbound.events.DomainEvent.UserChanged;
 import com.app.heartbound.enums.ShopCategory;
 import com.app.heartbound.enums.TradeStatus;
 import com.app.heartbound.exceptions.InvalidTradeActionException;
@@ -12,13 +13,21 @@ import com.app.heartbound.repositories.ItemInstanceRepository;
 import com.app.heartbound.repositories.TradeRepository;
 import com.app.heartbound.repositories.UserRepository;
 import com.app.heartbound.services.shop.ShopService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class TradeService {
@@ -26,14 +35,15 @@ public class TradeService {
     private final TradeRepository tradeRepository;
     private final UserRepository userRepository;
     private final ItemInstanceRepository itemInstanceRepository;
-    private final UserInventoryService userInventoryService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public TradeService(TradeRepository tradeRepository, UserRepository userRepository,
-                        ItemInstanceRepository itemInstanceRepository, ShopService shopService, UserInventoryService userInventoryService) {
+                        ItemInstanceRepository itemInstanceRepository, ShopService shopService,
+                        ApplicationEventPublisher eventPublisher) {
         this.tradeRepository = tradeRepository;
         this.userRepository = userRepository;
         this.itemInstanceRepository = itemInstanceRepository;
-        this.userInventoryService = userInventoryService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -66,9 +76,15 @@ public class TradeService {
                 .expiresAt(Instant.now().plus(5, ChronoUnit.MINUTES))
                 .build();
 
+        // Load every offered instance in one query; their base items are batch fetched
+        Map<UUID, ItemInstance> offeredInstances = itemInstanceRepository.findAllById(tradeDto.getOfferedItemInstanceIds()).stream()
+                .collect(Collectors.toMap(ItemInstance::getId, Function.identity()));
+
         for (UUID itemInstanceId : tradeDto.getOfferedItemInstanceIds()) {
-            ItemInstance instance = itemInstanceRepository.findById(itemInstanceId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Item instance with id " + itemInstanceId + " not found"));
+            ItemInstance instance = offeredInstances.get(itemInstanceId);
+            if (instance == null) {
+                throw new ResourceNotFoundException("Item instance with id " + itemInstanceId + " not found");
+            }
 
             if (!instance.getOwner().getId().equals(initiatorId)) {
                 throw new InvalidTradeActionException("You do not own the item instance " + itemInstanceId);
@@ -274,27 +290,81 @@ public class TradeService {
             throw new InvalidTradeActionException("This trade is no longer pending.");
         }
 
-        User initiator = userRepository.findByIdWithLock(trade.getInitiator().getId())
-                .orElseThrow(() -> new ResourceNotFoundException("Initiator not found"));
-        User receiver = userRepository.findByIdWithLock(trade.getReceiver().getId())
-                .orElseThrow(() -> new ResourceNotFoundException("Receiver not found"));
+        String initiatorId = trade.getInitiator().getId();
+        String receiverId = trade.getReceiver().getId();
 
+        // Lock both participants in id order without loading their inventories
+        Map<String, User> participants = userRepository.findAllByIdInWithLockOrdered(List.of(initiatorId, receiverId)).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        User initiator = participants.get(initiatorId);
+        if (initiator == null) {
+            throw new ResourceNotFoundException("Initiator not found");
+        }
+        User receiver = participants.get(receiverId);
+        if (receiver == null) {
+            throw new ResourceNotFoundException("Receiver not found");
+        }
 
-        // Atomically transfer items
-        for (TradeItem item : trade.getItems()) {
-            ItemInstance instance = item.getItemInstance();
-            
-            // Re-fetch and lock the item instance to ensure it hasn't been traded/sold
-            itemInstanceRepository.findByIdWithLock(instance.getId())
-                .orElseThrow(() -> new InvalidTradeActionException("An item in the trade no longer exists."));
+        Set<UUID> instanceIds = trade.getItems().stream()
+                .map(item -> item.getItemInstance().getId())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        if (!instanceIds.isEmpty()) {
+            // Re-fetch and lock every traded instance in one statement to ensure none has been traded/sold
+            List<ItemInstance> instances = itemInstanceRepository.findAllByIdInWithLockOrdered(instanceIds);
+            if (instances.size() != instanceIds.size()) {
+                throw new InvalidTradeActionException("An item in the trade no longer exists.");
+            }
+
+            verifyTransferable(instances, initiator, receiver, instanceIds);
+
+            // Status is flushed before the bulk update clears the persistence context
+            trade.setStatus(TradeStatus.ACCEPTED);
+            tradeRepository.save(trade);
+
+            // Transfer ownership
+            int transferred = itemInstanceRepository.swapOwners(instanceIds, initiatorId, receiverId);
+            if (transferred != instanceIds.size()) {
+                throw new InvalidTradeActionException("Trade failed: item ownership changed while the trade was being processed.");
+            }
+            // Both inventories changed, so cached views of either user (e.g. owned flags) are stale
+            eventPublisher.publishEvent(new UserChanged(initiatorId));
+            eventPublisher.publishEvent(new UserChanged(receiverId));
+
+            return tradeRepository.findByIdWithItems(tradeId)
+                    .orElseThrow(() -> new TradeNotFoundException("Trade not found"));
+        }
+
+        trade.setStatus(TradeStatus.ACCEPTED);
+        return tradeRepository.save(trade);
+    }
 
-            User fromUser = instance.getOwner();
+    /**
+     * Verify ownership, equip state and unique-item constraints for all traded instances
+     * using set-based lookups instead of per-item queries.
+     */
+    private void verifyTransferable(List<ItemInstance> instances, User initiator, User receiver, Set<UUID> instanceIds) {
+        List<UUID> partIds = instances.stream()
+                .filter(instance -> instance.getBaseItem().getCategory() == ShopCategory.FISHING_ROD_PART)
+                .map(ItemInstance::getId)
+                .toList();
+        Set<UUID> equippedPartIds = partIds.isEmpty()
+                ? Set.of()
+                : new HashSet<>(itemInstanceRepository.findEquippedPartIds(partIds));
+
+        Map<String, Map<UUID, Shop>> uniqueItemsByRecipient = new HashMap<>();
+
+        for (ItemInstance instance : instances) {
+            String ownerId = instance.getOwner().getId();
+            User fromUser;
             User toUser;
-            
+
             // Determine who is receiving the item and verify ownership one last time
-            if (fromUser.getId().equals(initiator.getId())) {
+            if (ownerId.equals(initiator.getId())) {
+                fromUser = initiator;
                 toUser = receiver;
-            } else if (fromUser.getId().equals(receiver.getId())) {
+            } else if (ownerId.equals(receiver.getId())) {
+                fromUser = receiver;
                 toUser = initiator;
             } else {
                 throw new InvalidTradeActionException("An item in the trade does not belong to either participant.");
@@ -309,30 +379,34 @@ public class TradeService {
                     throw new InvalidTradeActionException("Trade failed: The item '" + shopItem.getName() + "' is currently equipped by " + fromUser.getUsername() + " and cannot be traded.");
                 }
             } else if (category == ShopCategory.FISHING_ROD_PART) {
-                if (itemInstanceRepository.isPartAlreadyEquipped(instance.getId())) {
+                if (equippedPartIds.contains(instance.getId())) {
                     throw new InvalidTradeActionException("Trade failed: The item '" + shopItem.getName() + "' is currently equipped on a rod by " + fromUser.getUsername() + " and cannot be traded.");
                 }
             } else if (category.isEquippable()) {
                 UUID equippedItemId = fromUser.getEquippedItemIdByCategory(category);
-                if (equippedItemId != null && equippedItemId.equals(instance.getBaseItem().getId())) {
+                if (equippedItemId != null && equippedItemId.equals(shopItem.getId())) {
                     throw new InvalidTradeActionException("Trade failed: The item '" + shopItem.getName() + "' is currently equipped by " + fromUser.getUsername() + " and cannot be traded.");
                 }
             }
 
-            // Check for unique item ownership
-            if (!shopItem.getCategory().isStackable()) {
-                if (userInventoryService.getItemQuantity(toUser.getId(), shopItem.getId()) > 0) {
-                    throw new InvalidTradeActionException("Trade failed: " + toUser.getUsername() + " already owns the unique item '" + shopItem.getName() + "'.");
+            if (!category.isStackable()) {
+                Map<UUID, Shop> incoming = uniqueItemsByRecipient.computeIfAbsent(toUser.getId(), id -> new HashMap<>());
+                if (incoming.putIfAbsent(shopItem.getId(), shopItem) != null) {
+                    throw new InvalidTradeActionException("Trade failed: " + toUser.getUsername() + " cannot receive more than one copy of the unique item '" + shopItem.getName() + "'.");
                 }
             }
-
-            // Transfer ownership
-            instance.setOwner(toUser);
-            itemInstanceRepository.save(instance);
         }
 
-        trade.setStatus(TradeStatus.ACCEPTED);
-        return tradeRepository.save(trade);
+        // Check for unique item ownership, ignoring instances that leave the recipient in this trade
+        for (Map.Entry<String, Map<UUID, Shop>> entry : uniqueItemsByRecipient.entrySet()) {
+            User toUser = entry.getKey().equals(initiator.getId()) ? initiator : receiver;
+            Map<UUID, Shop> incoming = entry.getValue();
+            List<UUID> alreadyOwned = itemInstanceRepository.findOwnedBaseItemIds(toUser.getId(), incoming.keySet(), instanceIds);
+            if (!alreadyOwned.isEmpty()) {
+                Shop shopItem = incoming.get(alreadyOwned.get(0));
+                throw new InvalidTradeActionException("Trade failed: " + toUser.getUsername() + " already owns the unique item '" + shopItem.getName() + "'.");
+            }
+        }
     }
 
     @Transactional
@@ -5,12 +5,14 @@ import com.app.heartbound.entities.ItemInstance;
 import com.app.heartbound.entities.Shop;
 import com.app.heartbound.entities.User;
 import com.app.heartbound.enums.ShopCategory;
+import com.app.heartbound.events.DomainEvent.UserChanged;
 import com.app.heartbound.exceptions.ResourceNotFoundException;
 import com.app.heartbound.repositories.ItemInstanceRepository;
 import com.app.heartbound.repositories.UserRepository;
 import com.app.heartbound.utils.LevelingUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -35,10 +37,10 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Optional;
 
-import com.app.heartbound.config.CacheConfig;
 import com.app.heartbound.dto.CreateAuditDTO;
 import com.app.heartbound.enums.AuditSeverity;
 import com.app.heartbound.enums.AuditCategory;
+import com.app.heartbound.enums.CreditSource;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -60,10 +62,10 @@ public class UserInventoryService {
     private final DiscordService discordService;
     private final ShopMapper shopMapper;
     private final AuditService auditService;
-    private final CacheConfig cacheConfig;
+    private final ApplicationEventPublisher eventPublisher;
     private final ObjectMapper objectMapper;
 
-    public UserInventoryService(ItemInstanceRepository itemInstanceRepository, UserRepository userRepository, UserService userService, ShopRepository shopRepository, @Lazy DiscordService discordService, ShopMapper shopMapper, AuditService auditService, CacheConfig cacheConfig, ObjectMapper objectMapper) {
+    public UserInventoryService(ItemInstanceRepository itemInstanceRepository, UserRepository userRepository, UserService userService, ShopRepository shopRepository, @Lazy DiscordService discordService, ShopMapper shopMapper, AuditService auditService, ApplicationEventPublisher eventPublisher, ObjectMapper objectMapper) {
         this.itemInstanceRepository = itemInstanceRepository;
         this.userRepository = userRepository;
         this.userService = userService;
@@ -71,7 +73,7 @@ public class UserInventoryService {
         this.discordService = discordService;
         this.shopMapper = shopMapper;
         this.auditService = auditService;
-        this.cacheConfig = cacheConfig;
+        this.eventPublisher = eventPublisher;
         this.objectMapper = objectMapper;
     }
 
@@ -97,6 +99,7 @@ public class UserInventoryService {
 
         user.getItemInstances().add(newInstance);
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserChanged(userId));
 
         logger.info("Gave item '{}' (instance {}) to user {}", item.getName(), newInstance.getId(), userId);
         return item.getName();
@@ -177,7 +180,7 @@ public class UserInventoryService {
 
         int cost = getRepairCost(userId, rodInstanceId);
 
-        boolean success = userService.deductCreditsIfSufficient(user, cost);
+        boolean success = userService.deductCreditsIfSufficient(user, cost, CreditSource.FISHING_ROD);
         if (!success) {
             throw new InsufficientCreditsException("You do not have enough credits to repair this rod. Required: " + cost + " credits.");
         }
@@ -234,7 +237,7 @@ public class UserInventoryService {
 
         int cost = getPartRepairCost(partInstanceId);
 
-        boolean success = userService.deductCreditsIfSufficient(user, cost);
+        boolean success = userService.deductCreditsIfSufficient(user, cost, CreditSource.FISHING_ROD);
         if (!success) {
             throw new InsufficientCreditsException("You do not have enough credits to repair this part. Required: " + cost + " credits.");
         }
@@ -347,6 +350,8 @@ public class UserInventoryService {
 
         itemInstance.setOwner(toUser);
         itemInstanceRepository.save(itemInstance);
+        eventPublisher.publishEvent(new UserChanged(fromUserId));
+        eventPublisher.publishEvent(new UserChanged(toUserId));
 
         logger.info("Successfully transferred item instance '{}' from {} to {}", itemInstance.getBaseItem().getName(), fromUserId, toUserId);
     }
@@ -403,7 +408,7 @@ public class UserInventoryService {
 
         int cost = getPartUpgradeCost(partBaseItem.getRarity());
         if (cost > 0) {
-            boolean success = userService.deductCreditsIfSufficient(user, cost);
+            boolean success = userService.deductCreditsIfSufficient(user, cost, CreditSource.FISHING_ROD);
             if (!success) {
                 throw new InsufficientCreditsException("You do not have enough credits to apply this part. Required: " + cost + " credits.");
             }
@@ -1415,7 +1420,7 @@ public class UserInventoryService {
         
         // Use atomic credit operation for refund instead of direct assignment
         if (refundAmount > 0) {
-            boolean refundSuccess = userService.updateCreditsAtomic(userId, refundAmount);
+            boolean refundSuccess = userService.updateCreditsAtomic(userId, refundAmount, CreditSource.INVENTORY_REFUND).isPresent();
             if (refundSuccess) {
                 logger.info("Refunded {} credits to user {} for removed item {}", refundAmount, userId, itemId);
             } else {
@@ -1427,8 +1432,7 @@ public class UserInventoryService {
         
         createInventoryRemovalAuditEntry(adminId, userId, itemId, itemName, refundAmount, wasEquipped);
         
-        cacheConfig.invalidateUserProfileCache(userId);
-        cacheConfig.invalidateLeaderboardCache();
+        eventPublisher.publishEvent(new UserChanged(userId));
         
         logger.info("ADMIN INVENTORY REMOVAL - Admin: {}, User: {}, Item: {} ({}), Refund: {} credits, Was Equipped: {}", 
                 adminId, userId, itemId, itemName, refundAmount, wasEquipped);
@@ -1,7 +1,9 @@
 package com.app.heartbound.services;
 
+import com.app.heartbound.config.ReportingQuery;
 import com.app.heartbound.dto.UserDTO;
 import com.app.heartbound.dto.UpdateProfileDTO;
+import com.app.heartbound.dto.UserHotState;
 import com.app.heartbound.dto.UserProfileDTO;
 import com.app.heartbound.dto.PublicUserProfileDTO;
 import com.app.heartbound.dto.DailyActivityDataDTO;
@@ -9,12 +11,18 @@ import com.app.heartbound.dto.CreateAuditDTO;
 import com.app.heartbound.enums.Role;
 import com.app.heartbound.enums.AuditSeverity;
 import com.app.heartbound.enums.AuditCategory;
+import com.app.heartbound.enums.CreditSource;
 import com.app.heartbound.entities.User;
 import com.app.heartbound.entities.Shop;
 import com.app.heartbound.entities.DailyMessageStat;
 import com.app.heartbound.entities.DailyVoiceActivityStat;
+import com.app.heartbound.events.DomainEvent.BalanceChanged;
+import com.app.heartbound.events.DomainEvent.UserChanged;
 import com.app.heartbound.repositories.UserRepository;
+import com.app.heartbound.repositories.UserRepository.BalanceRow;
 import com.app.heartbound.repositories.shop.ShopRepository;
+import com.app.heartbound.services.shop.ShopCatalogService;
+import com.app.heartbound.services.discord.DiscordBanIndexService;
 import com.app.heartbound.repositories.DailyMessageStatRepository;
 import com.app.heartbound.repositories.DailyVoiceActivityStatRepository;
 import com.app.heartbound.repositories.ItemInstanceRepository;
@@ -31,6 +39,7 @@ import net.dv8tion.jda.api.requests.ErrorResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -50,6 +59,7 @@ import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.Map;
+import java.util.OptionalInt;
 import java.util.UUID;
 import java.util.HashMap;
 import java.util.ArrayList;
@@ -76,10 +86,14 @@ public class UserService {
     private final DailyVoiceActivityStatRepository dailyVoiceActivityStatRepository;
     private final PendingPrisonService pendingPrisonService;
     private final CacheConfig cacheConfig;
+    private final ApplicationEventPublisher eventPublisher;
     private final AuditService auditService;
     private final ObjectMapper objectMapper;
     private final JDA jda;
     private final TradeRepository tradeRepository;
+    private final ShopCatalogService shopCatalogService;
+    private final DiscordBanIndexService discordBanIndexService;
+    private final CreditLedgerService creditLedgerService;
     private static final Logger logger = LoggerFactory.getLogger(UserService.class);
 
     // Read admin Discord ID from environment variables
@@ -103,7 +117,7 @@ public class UserService {
     private int levelFactor;
 
     // Constructor-based dependency injection
-    public UserService(UserRepository userRepository, ShopRepository shopRepository, ItemInstanceRepository itemInstanceRepository, DailyMessageStatRepository dailyMessageStatRepository, DailyVoiceActivityStatRepository dailyVoiceActivityStatRepository, PendingPrisonService pendingPrisonService, CacheConfig cacheConfig, AuditService auditService, ObjectMapper objectMapper, @Lazy JDA jda, TradeRepository tradeRepository) {
+    public UserService(UserRepository userRepository, ShopRepository shopRepository, ItemInstanceRepository itemInstanceRepository, DailyMessageStatRepository dailyMessageStatRepository, DailyVoiceActivityStatRepository dailyVoiceActivityStatRepository, PendingPrisonService pendingPrisonService, CacheConfig cacheConfig, ApplicationEventPublisher eventPublisher, AuditService auditService, ObjectMapper objectMapper, @Lazy JDA jda, TradeRepository tradeRepository, ShopCatalogService shopCatalogService, DiscordBanIndexService discordBanIndexService, CreditLedgerService creditLedgerService) {
         this.userRepository = userRepository;
         this.shopRepository = shopRepository;
         this.itemInstanceRepository = itemInstanceRepository;
@@ -111,10 +125,14 @@ public class UserService {
         this.dailyVoiceActivityStatRepository = dailyVoiceActivityStatRepository;
         this.pendingPrisonService = pendingPrisonService;
         this.cacheConfig = cacheConfig;
+        this.eventPublisher = eventPublisher;
         this.auditService = auditService;
         this.objectMapper = objectMapper;
         this.jda = jda;
         this.tradeRepository = tradeRepository;
+        this.shopCatalogService = shopCatalogService;
+        this.discordBanIndexService = discordBanIndexService;
+        this.creditLedgerService = creditLedgerService;
     }
 
     public Optional<User> findByUsername(String username) {
@@ -156,6 +174,11 @@ public class UserService {
 
     /**
      * Creates a new user or updates an existing one based on the provided DTO.
+     *
+     * Only what the login itself depends on runs inline: account creation, role enforcement,
+     * the ban check (a lookup in {@link DiscordBanIndexService}) and pending prison sync.
+     * Avatar and Discord profile fields of existing users are synced afterwards by
+     * {@link DiscordProfileSyncService}.
      */
     @Transactional
     public User createOrUpdateUser(UserDTO userDTO) {
@@ -212,66 +235,15 @@ public class UserService {
             // Set other new user defaults as needed (e.g., displayName, pronouns, etc.)
             user.setDisplayName(username); // Default display name to username for new users
 
+            user.setUsername(username);
+            user.setDiscriminator(discriminator);
+
         } else {
-            // Existing User Logic
+            // Existing User Logic - profile fields are synced in the background after login
             user = userOpt.get(); // User cannot be null here
-            logger.debug("Found existing user with ID: {}. Current primary avatar: '{}', current Discord cache: '{}'",
-                    id, user.getAvatar(), user.getDiscordAvatarUrl());
-
-            // 1. Always update the dedicated Discord avatar URL cache
-            if (discordAvatarFetched != null) {
-                if (!discordAvatarFetched.equals(user.getDiscordAvatarUrl())) {
-                    user.setDiscordAvatarUrl(discordAvatarFetched);
-                    logger.debug("Existing user {}: Updated discordAvatarUrl from '{}' to '{}'", id, user.getDiscordAvatarUrl(), discordAvatarFetched);
-                }
-            } else if (user.getDiscordAvatarUrl() != null) { 
-                // If Discord API returns no avatar (null), clear our cache of it.
-                user.setDiscordAvatarUrl(null);
-                logger.debug("Existing user {}: Cleared discordAvatarUrl as DTO avatar was null.", id);
-            }
-
-            // 2. Conditionally update the primary avatar
-            String currentPrimaryAvatar = user.getAvatar();
-            if (discordAvatarFetched != null) {
-                // The primary avatar should be updated if:
-                // a) It's blank, null, or the special "USE_DISCORD_AVATAR" marker.
-                // b) It's an existing Discord CDN URL (which may be stale).
-                // This preserves custom non-Discord avatars while keeping Discord ones synced.
-                boolean shouldUpdatePrimaryAvatar = currentPrimaryAvatar == null || currentPrimaryAvatar.isEmpty()
-                        || "USE_DISCORD_AVATAR".equals(currentPrimaryAvatar)
-                        || currentPrimaryAvatar.contains("cdn.discordapp.com");
-
-                if (shouldUpdatePrimaryAvatar) {
-                    if (!discordAvatarFetched.equals(currentPrimaryAvatar)) {
-                        user.setAvatar(discordAvatarFetched);
-                        logger.debug("Existing user {}: Updated primary avatar to fresh Discord avatar '{}'. Old: '{}'", id, discordAvatarFetched, currentPrimaryAvatar);
-                    } else {
-                        logger.debug("Existing user {}: Primary avatar ('{}') already matches fresh Discord avatar. No change.", id, currentPrimaryAvatar);
-                    }
-                } else {
-                    // User has a custom primary avatar (e.g., Cloudinary URL). Preserve it.
-                    logger.debug("Existing user {}: Preserved custom primary avatar '{}'. (New Discord avatar from DTO was '{}')", id, currentPrimaryAvatar, discordAvatarFetched);
-                }
-            } else { // discordAvatarFetched is null
-                // If Discord provides no avatar, and the user was previously using a Discord avatar for their primary,
-                // we should reset it to sync with their new (lack of) Discord avatar.
-                boolean wasUsingDiscordAvatar = currentPrimaryAvatar != null
-                    && (currentPrimaryAvatar.contains("cdn.discordapp.com") || "USE_DISCORD_AVATAR".equals(currentPrimaryAvatar));
-
-                if (wasUsingDiscordAvatar) {
-                    // Setting to USE_DISCORD_AVATAR is safer. mapToProfileDTO will handle the fallback.
-                    user.setAvatar("USE_DISCORD_AVATAR");
-                    logger.debug("Existing user {}: Reset primary avatar to USE_DISCORD_AVATAR as DTO avatar was null. Old: '{}'", id, currentPrimaryAvatar);
-                } else {
-                    logger.debug("Existing user {}: DTO avatar is null. Preserving custom primary avatar '{}'.", id, currentPrimaryAvatar);
-                }
-            }
+            logger.debug("Found existing user with ID: {}. Deferring Discord profile sync.", id);
         }
 
-        // Update common fields for both new and existing users from DTO
-        // (Username, discriminator might change on Discord)
-        user.setUsername(username);
-        user.setDiscriminator(discriminator);
         // Note: Email is no longer requested from Discord OAuth, so it remains null
         
         // Ensure admin role for the configured admin ID (applies to existing users too if role was removed)
@@ -308,6 +280,38 @@ public class UserService {
                 id, user.getAvatar(), user.getDiscordAvatarUrl(), user.getRoles(), user.getCredits(), user.getLevel(), user.getExperience());
         
         // Sync ban status with Discord as the source of truth
+        syncBanStatus(user);
+        
+        // Sync pending data before saving the user with user-level locking to prevent race conditions
+        User savedUser;
+        synchronized(user.getId().intern()) {
+            syncPendingPrison(user);
+                    
+            savedUser = userRepository.save(user);
+        }
+
+        // Invalidate user profile cache to ensure data consistency after login sync
+        eventPublisher.publishEvent(new UserChanged(id));
+        logger.debug("Invalidated user profile cache for user {} after create/update.", id);
+
+        return savedUser;
+    }
+
+    /**
+     * Syncs the user's ban flag from the local Discord ban index.
+     * Falls back to a direct Discord lookup only while the index has not completed its first sweep.
+     */
+    private void syncBanStatus(User user) {
+        String id = user.getId();
+        Boolean indexedBan = discordBanIndexService.isBanned(id);
+        if (indexedBan != null) {
+            if (indexedBan != Boolean.TRUE.equals(user.getBanned())) {
+                user.setBanned(indexedBan);
+                logger.info("User {} ban status synced from Discord ban index: banned={}", id, indexedBan);
+            }
+            return;
+        }
+
         try {
             Guild guild = jda.getGuildById(guildId);
             if (guild != null) {
@@ -336,20 +340,82 @@ public class UserService {
             // Catch any other exceptions during the process.
             logger.error("An unexpected error occurred while syncing ban status for user {}: {}", id, e.getMessage(), e);
         }
-        
-        // Sync pending data before saving the user with user-level locking to prevent race conditions
-        User savedUser;
-        synchronized(user.getId().intern()) {
-            syncPendingPrison(user);
-                    
-            savedUser = userRepository.save(user);
+    }
+
+    /**
+     * Syncs Discord profile fields (username, discriminator and avatar) for an existing user.
+     * Runs as a background task after login so Discord-side profile changes never delay the OAuth flow.
+     *
+     * @param userDTO the Discord profile data fetched during login
+     */
+    @Transactional
+    public void syncDiscordProfile(UserDTO userDTO) {
+        String id = userDTO.getId();
+        // This is the avatar URL fetched fresh from Discord via the DTO
+        String discordAvatarFetched = userDTO.getAvatar();
+
+        User user = userRepository.findById(id).orElse(null);
+        if (user == null) {
+            logger.warn("Skipping Discord profile sync for unknown user {}", id);
+            return;
         }
 
-        // Invalidate user profile cache to ensure data consistency after login sync
-        cacheConfig.invalidateUserProfileCache(id);
-        logger.debug("Invalidated user profile cache for user {} after create/update.", id);
+        // 1. Always update the dedicated Discord avatar URL cache
+        if (discordAvatarFetched != null) {
+            if (!discordAvatarFetched.equals(user.getDiscordAvatarUrl())) {
+                user.setDiscordAvatarUrl(discordAvatarFetched);
+                logger.debug("Existing user {}: Updated discordAvatarUrl from '{}' to '{}'", id, user.getDiscordAvatarUrl(), discordAvatarFetched);
+            }
+        } else if (user.getDiscordAvatarUrl() != null) { 
+            // If Discord API returns no avatar (null), clear our cache of it.
+            user.setDiscordAvatarUrl(null);
+            logger.debug("Existing user {}: Cleared discordAvatarUrl as DTO avatar was null.", id);
+        }
+
+        // 2. Conditionally update the primary avatar
+        String currentPrimaryAvatar = user.getAvatar();
+        if (discordAvatarFetched != null) {
+            // The primary avatar should be updated if:
+            // a) It's blank, null, or the special "USE_DISCORD_AVATAR" marker.
+            // b) It's an existing Discord CDN URL (which may be stale).
+            // This preserves custom non-Discord avatars while keeping Discord ones synced.
+            boolean shouldUpdatePrimaryAvatar = currentPrimaryAvatar == null || currentPrimaryAvatar.isEmpty()
+                    || "USE_DISCORD_AVATAR".equals(currentPrimaryAvatar)
+                    || currentPrimaryAvatar.contains("cdn.discordapp.com");
+
+            if (shouldUpdatePrimaryAvatar) {
+                if (!discordAvatarFetched.equals(currentPrimaryAvatar)) {
+                    user.setAvatar(discordAvatarFetched);
+                    logger.debug("Existing user {}: Updated primary avatar to fresh Discord avatar '{}'. Old: '{}'", id, discordAvatarFetched, currentPrimaryAvatar);
+                } else {
+                    logger.debug("Existing user {}: Primary avatar ('{}') already matches fresh Discord avatar. No change.", id, currentPrimaryAvatar);
+                }
+            } else {
+                // User has a custom primary avatar (e.g., Cloudinary URL). Preserve it.
+                logger.debug("Existing user {}: Preserved custom primary avatar '{}'. (New Discord avatar from DTO was '{}')", id, currentPrimaryAvatar, discordAvatarFetched);
+            }
+        } else { // discordAvatarFetched is null
+            // If Discord provides no avatar, and the user was previously using a Discord avatar for their primary,
+            // we should reset it to sync with their new (lack of) Discord avatar.
+            boolean wasUsingDiscordAvatar = currentPrimaryAvatar != null
+                && (currentPrimaryAvatar.contains("cdn.discordapp.com") || "USE_DISCORD_AVATAR".equals(currentPrimaryAvatar));
+
+            if (wasUsingDiscordAvatar) {
+                // Setting to USE_DISCORD_AVATAR is safer. mapToProfileDTO will handle the fallback.
+                user.setAvatar("USE_DISCORD_AVATAR");
+                logger.debug("Existing user {}: Reset primary avatar to USE_DISCORD_AVATAR as DTO avatar was null. Old: '{}'", id, currentPrimaryAvatar);
+            } else {
+                logger.debug("Existing user {}: DTO avatar is null. Preserving custom primary avatar '{}'.", id, currentPrimaryAvatar);
+            }
+        }
 
-        return savedUser;
+        // Username, discriminator might change on Discord
+        user.setUsername(userDTO.getUsername());
+        user.setDiscriminator(userDTO.getDiscriminator());
+
+        userRepository.save(user);
+        eventPublisher.publishEvent(new UserChanged(id));
+        logger.debug("Synced Discord profile for user {}", id);
     }
 
     /**
@@ -362,6 +428,23 @@ public class UserService {
         return userRepository.findById(id).orElse(null);
     }
 
+    /**
+     * Retrieves the cached hot state of a user (balance, level, counters, equipped items,
+     * roles and status), loading it on a miss. Prefer this to {@link #getUserById(String)}
+     * wherever the user is only read.
+     *
+     * @param id the user identifier
+     * @return the user's hot state if found, otherwise null
+     */
+    public UserHotState getUserHotState(String id) {
+        if (id == null) {
+            return null;
+        }
+        // Unknown users are not cached, so registering later is seen immediately
+        return cacheConfig.getUserHotState(id,
+                key -> userRepository.findById(key).map(UserHotState::from).orElse(null));
+    }
+
     /**
      * Retrieves a user by their ID with a pessimistic write lock to prevent race conditions.
      *
@@ -456,7 +539,7 @@ public class UserService {
         logger.info("Updated profile for user: {}", updatedUser.getUsername());
         
         // Invalidate user profile cache to ensure fresh data is served
-        cacheConfig.invalidateUserProfileCache(userId);
+        eventPublisher.publishEvent(new UserChanged(userId));
         logger.debug("Invalidated user profile cache for user: {}", userId);
         
         // Convert to DTO and return
@@ -495,7 +578,7 @@ public class UserService {
         logger.info("Admin updated profile for user: {}", updatedUser.getUsername());
 
         // Invalidate user profile cache
-        cacheConfig.invalidateUserProfileCache(userId);
+        eventPublisher.publishEvent(new UserChanged(userId));
         logger.debug("Invalidated user profile cache for user: {}", userId);
 
         // Create audit entry for this sensitive operation
@@ -578,7 +661,7 @@ public class UserService {
         
         // If user has an equipped badge, fetch its details
         if (badgeId != null) {
-            Optional<Shop> badgeOpt = shopRepository.findById(badgeId);
+            Optional<Shop> badgeOpt = shopCatalogService.findById(badgeId);
             if (badgeOpt.isPresent()) {
                 Shop badge = badgeOpt.get();
                 badgeUrl = badge.getThumbnailUrl();
@@ -592,7 +675,7 @@ public class UserService {
         UUID equippedUserColorId = user.getEquippedUserColorId();
         if (equippedUserColorId != null) {
             try {
-                Optional<Shop> userColorItemOpt = shopRepository.findById(equippedUserColorId);
+                Optional<Shop> userColorItemOpt = shopCatalogService.findById(equippedUserColorId);
                 if (userColorItemOpt.isPresent()) {
                     Shop userColorItem = userColorItemOpt.get();
                     nameplateColor = userColorItem.getImageUrl();
@@ -660,7 +743,7 @@ public class UserService {
         User updatedUser = userRepository.save(user);
         
         // Invalidate user profile cache to ensure data consistency across the app
-        cacheConfig.invalidateUserProfileCache(user.getId());
+        eventPublisher.publishEvent(new UserChanged(user.getId()));
         
         return updatedUser;
     }
@@ -694,6 +777,7 @@ public class UserService {
             
             user.addRole(role);
             user = userRepository.save(user);
+            eventPublisher.publishEvent(new UserChanged(userId));
             successful = true;
             
             logger.info("Successfully assigned role {} to user {} by admin {}", role, userId, adminId);
@@ -738,6 +822,7 @@ public class UserService {
             
             user.removeRole(role);
             user = userRepository.save(user);
+            eventPublisher.publishEvent(new UserChanged(userId));
             successful = true;
             
             logger.info("Successfully removed role {} from user {} by admin {}", role, userId, adminId);
@@ -767,7 +852,9 @@ public class UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + userId));
         
         user.addRole(Role.MONARCH);
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChanged(userId));
+        return savedUser;
     }
     
     /**
@@ -842,7 +929,9 @@ public class UserService {
         
         // Replace all roles with the new set
         user.setRoles(roles);
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChanged(userId));
+        return savedUser;
     }
 
     /**
@@ -873,13 +962,13 @@ public class UserService {
         }
         
         user.setCredits(credits);
+        creditLedgerService.record(userId, credits - previousCredits, credits, CreditSource.ADMIN);
         
         // Create audit trail for credit update
         createCreditUpdateAuditEntry(adminId, userId, previousCredits, credits);
         
         // Invalidate caches since credits affect ranking and user profile
-        cacheConfig.invalidateLeaderboardCache();
-        cacheConfig.invalidateUserProfileCache(userId);
+        eventPublisher.publishEvent(new UserChanged(userId));
         
         logger.info("Updated credits for user {} from {} to {} by admin {}", userId, previousCredits, credits, adminId);
         
@@ -894,42 +983,62 @@ public class UserService {
      * @param userId The ID of the user to update.
      * @param credits The amount of credits to add (can be negative).
      * @param xp The amount of experience (XP) to add.
+     * @param source what the credits are for, for the credit ledger
+     * @return the new balance, or empty if the user was not found or has too few credits
      */
     @Transactional
-    public void incrementCreditsAndXp(String userId, int credits, int xp) {
+    public OptionalInt incrementCreditsAndXp(String userId, int credits, int xp, CreditSource source) {
         if (credits == 0 && xp == 0) {
-            return; // No operation needed
+            return OptionalInt.empty(); // No operation needed
+        }
+        BalanceRow balance = userRepository.incrementCreditsAndXp(userId, credits, xp);
+        if (balance != null) {
+            creditLedgerService.record(userId, credits, balance.getCredits(), source);
+            publishBalanceChanged(userId, balance);
+            logger.debug("Atomically updated credits by {} and xp by {} for user {}", credits, xp, userId);
+            return OptionalInt.of(balance.getCredits());
+        } else {
+            logger.warn("Failed to update credits by {} and xp by {} for user {} - user not found or insufficient credits", credits, xp, userId);
+            return OptionalInt.empty();
         }
-        userRepository.incrementCreditsAndXp(userId, credits, xp);
-        cacheConfig.invalidateUserProfileCache(userId);
-        logger.debug("Atomically updated credits by {} and xp by {} for user {}", credits, xp, userId);
     }
 
     /**
      * Atomically increment user credits - prevents race conditions
      * @param userId the user ID
      * @param amount the amount to add (can be negative for deduction)
-     * @return true if operation succeeded, false if user not found or insufficient credits
+     * @param source what the credits are for, for the credit ledger
+     * @return the new balance, or empty if the user was not found or has a negative balance
      */
     @Transactional
-    public boolean updateCreditsAtomic(String userId, int amount) {
+    public OptionalInt updateCreditsAtomic(String userId, int amount, CreditSource source) {
         logger.debug("Atomically updating credits for user {} by amount {}", userId, amount);
         
-        int rowsAffected;
+        BalanceRow balance;
+        int applied = amount;
         if (amount >= 0) {
-            rowsAffected = userRepository.incrementCredits(userId, amount);
+            balance = userRepository.incrementCredits(userId, amount);
         } else {
-            // For negative amounts, use deduction with floor to prevent negative balances
-            rowsAffected = userRepository.deductCreditsWithFloor(userId, Math.abs(amount));
+            balance = userRepository.deductCredits(userId, -amount);
+            if (balance == null) {
+                // Not enough credits: deduct with floor to prevent negative balances. The row is
+                // locked first so the amount actually taken is known for the ledger.
+                Integer previous = userRepository.findCreditsForUpdate(userId);
+                if (previous != null) {
+                    balance = userRepository.deductCreditsWithFloor(userId, -amount);
+                    applied = balance.getCredits() - previous;
+                }
+            }
         }
         
-        if (rowsAffected > 0) {
-            cacheConfig.invalidateUserProfileCache(userId);
-            logger.debug("Successfully updated credits for user {} by amount {}", userId, amount);
-            return true;
+        if (balance != null) {
+            creditLedgerService.record(userId, applied, balance.getCredits(), source);
+            publishBalanceChanged(userId, balance);
+            logger.debug("Successfully updated credits for user {} by amount {}", userId, applied);
+            return OptionalInt.of(balance.getCredits());
         } else {
             logger.warn("Failed to update credits for user {} by amount {} - user not found or insufficient credits", userId, amount);
-            return false;
+            return OptionalInt.empty();
         }
     }
 
@@ -937,21 +1046,39 @@ public class UserService {
      * Atomically deduct credits with validation - ensures sufficient balance
      * @param userId the user ID
      * @param amount the amount to deduct (positive value)
-     * @return true if deduction succeeded, false if insufficient credits or user not found
+     * @param source what the credits are for, for the credit ledger
+     * @return the new balance, or empty if the balance is insufficient
+     * @throws ResourceNotFoundException if the user is not found
      */
     @Transactional
-    public boolean deductCreditsIfSufficient(String userId, int amount) {
+    public OptionalInt deductCreditsIfSufficient(String userId, int amount, CreditSource source) {
         logger.debug("Attempting to deduct {} credits from user {}", amount, userId);
         
         if (amount <= 0) {
             logger.warn("Invalid deduction amount: {} for user {}", amount, userId);
-            return false;
+            return OptionalInt.empty();
         }
 
-        User user = userRepository.findByIdWithLock(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
+        BalanceRow balance = userRepository.deductCredits(userId, amount);
+        if (balance == null) {
+            if (!userRepository.existsById(userId)) {
+                throw new ResourceNotFoundException("User not found with id: " + userId);
+            }
+            logger.warn("Failed to deduct {} credits from user {} - insufficient balance.", amount, userId);
+            return OptionalInt.empty();
+        }
+
+        creditLedgerService.record(userId, -amount, balance.getCredits(), source);
+        publishBalanceChanged(userId, balance);
+        logger.debug("Successfully deducted {} credits from user {}", amount, userId);
+        return OptionalInt.of(balance.getCredits());
+    }
 
-        return deductCreditsIfSufficient(user, amount);
+    private void publishBalanceChanged(String userId, BalanceRow balance) {
+        eventPublisher.publishEvent(new BalanceChanged(userId, balance.getCredits(),
+                balance.getExperience() != null ? balance.getExperience() : 0,
+                balance.getLevel() != null ? balance.getLevel() : 1,
+                balance.getVersion()));
     }
 
     /**
@@ -959,10 +1086,11 @@ public class UserService {
      * This is the core logic that should be used within larger transactions.
      * @param user the locked User entity
      * @param amount the amount to deduct
+     * @param source what the credits are for, for the credit ledger
      * @return true if deduction succeeded, false otherwise
      */
     @Transactional
-    public boolean deductCreditsIfSufficient(User user, int amount) {
+    public boolean deductCreditsIfSufficient(User user, int amount, CreditSource source) {
         if (user == null) {
             logger.warn("User object is null, cannot deduct credits.");
             return false;
@@ -977,14 +1105,54 @@ public class UserService {
             return false;
         }
 
-        user.setCredits(user.getCredits() - amount);
+        adjustCredits(user, -amount, source);
         userRepository.save(user);
 
-        cacheConfig.invalidateUserProfileCache(user.getId());
+        eventPublisher.publishEvent(new UserChanged(user.getId()));
         logger.debug("Successfully deducted {} credits from user {}", amount, user.getId());
         return true;
     }
 
+    /**
+     * Settle a bet between two users in one transaction: the loser pays the winner the stake.
+     * Both users are locked in id order, so concurrent settlements cannot deadlock.
+     * @param winnerId the user receiving the stake
+     * @param loserId the user paying the stake
+     * @param amount the stake
+     * @param source what the bet was, for the credit ledger
+     */
+    @Transactional
+    public void settleBet(String winnerId, String loserId, int amount, CreditSource source) {
+        Map<String, User> players = userRepository.findAllByIdInWithLockOrdered(List.of(winnerId, loserId)).stream()
+                .collect(Collectors.toMap(User::getId, user -> user));
+        User winner = players.get(winnerId);
+        User loser = players.get(loserId);
+        if (winner == null || loser == null) {
+            throw new ResourceNotFoundException("User not found while settling a bet between " + winnerId + " and " + loserId);
+        }
+
+        adjustCredits(winner, amount, source);
+        adjustCredits(loser, -amount, source);
+        userRepository.saveAll(List.of(winner, loser));
+
+        eventPublisher.publishEvent(new UserChanged(winnerId));
+        eventPublisher.publishEvent(new UserChanged(loserId));
+    }
+
+    /**
+     * Change the credits of a loaded (usually locked) User entity as part of a larger
+     * transaction and record the change in the credit ledger. The caller saves the user and
+     * publishes the change, as it does for its other changes to the user.
+     * @param user the User entity
+     * @param delta the amount to add (negative to deduct)
+     * @param source what the credits are for, for the credit ledger
+     */
+    public void adjustCredits(User user, int delta, CreditSource source) {
+        int balance = (user.getCredits() != null ? user.getCredits() : 0) + delta;
+        user.setCredits(balance);
+        creditLedgerService.record(user.getId(), delta, balance, source);
+    }
+
     /**
      * Utility method to get the current admin's ID from the security context
      */
@@ -1014,6 +1182,8 @@ public class UserService {
      * @param sortBy Sorting criterion: "credits", "level", "messages", "voice", or "fish"
      * @return List of sorted LeaderboardEntryDTOs with calculated ranks
      */
+    @Transactional(readOnly = true)
+    @ReportingQuery
     public List<LeaderboardEntryDTO> getLeaderboardUsers(String sortBy) {
         Sort sort;
         switch (sortBy.toLowerCase()) {
@@ -1081,6 +1251,7 @@ public class UserService {
      * @param days the number of days to fetch (starting from today going back)
      * @return list of daily activity data
      */
+    @Transactional(readOnly = true)
     public List<DailyActivityDataDTO> getUserDailyActivity(String userId, int days) {
         User user = userRepository.findById(userId).orElse(null);
         if (user == null) {
@@ -1185,7 +1356,7 @@ public class UserService {
         
         // The transaction will handle saving the updated user entity.
         // We still need to invalidate cache.
-        cacheConfig.invalidateUserProfileCache(user.getId());
+        eventPublisher.publishEvent(new UserChanged(user.getId()));
         
         logger.debug("Updated voice time for user {} - added {} minutes (total: {})", 
             user.getId(), sessionMinutes, user.getVoiceTimeMinutesTotal());
@@ -1255,7 +1426,7 @@ public class UserService {
                     userRepository.save(user);
                     
                     // Invalidate user profile cache
-                    cacheConfig.invalidateUserProfileCache(user.getId());
+                    eventPublisher.publishEvent(new UserChanged(user.getId()));
                 }
             }
             
@@ -1281,7 +1452,7 @@ public class UserService {
             dailyMessageStatRepository.incrementMessageCount(userId, today);
             
             // Invalidate cache to ensure next request gets fresh data
-            cacheConfig.invalidateDailyMessageActivityCache(userId);
+            cacheConfig.getDailyMessageActivityCache().invalidate("activity_stats_" + userId);
             
             logger.debug("[DAILY STATS] Incremented daily message count for user {} on {} and invalidated cache", userId, today);
         } catch (Exception e) {
@@ -1306,7 +1477,7 @@ public class UserService {
             dailyVoiceActivityStatRepository.incrementVoiceMinutes(userId, today, voiceMinutes);
             
             // Invalidate voice activity cache to ensure next request gets fresh data
-            cacheConfig.invalidateDailyVoiceActivityCache(userId);
+            cacheConfig.getDailyMessageActivityCache().invalidate("voice_activity_stats_" + userId);
             
             logger.debug("[DAILY VOICE STATS] Incremented daily voice minutes for user {} by {} minutes on {} and invalidated cache", userId, voiceMinutes, today);
         } catch (Exception e) {
@@ -1715,7 +1886,7 @@ public class UserService {
         if (user.getBanned() == null || !user.getBanned()) {
             user.setBanned(true);
             userRepository.save(user);
-            cacheConfig.invalidateUserProfileCache(userId);
+            eventPublisher.publishEvent(new UserChanged(userId));
             logger.info("User {} has been banned.", userId);
         } else {
             logger.info("User {} was already banned.", userId);
@@ -1733,7 +1904,7 @@ public class UserService {
         if (user.getBanned() != null && user.getBanned()) {
             user.setBanned(false);
             userRepository.save(user);
-            cacheConfig.invalidateUserProfileCache(userId);
+            eventPublisher.publishEvent(new UserChanged(userId));
             logger.info("User {} has been unbanned.", userId);
         } else {
             logger.info("User {} was not banned.", userId);
@@ -1756,15 +1927,9 @@ public class UserService {
         UUID badgeId = user.getEquippedBadgeId();
         String badgeUrl = null;
         String badgeName = null;
-        if (badgeId != null) {
-            shopRepository.findById(badgeId).ifPresent(badge -> {
-                // This is not ideal, need to assign to outer scope variables.
-            });
-        }
-        
         Shop equippedBadge = null;
         if (badgeId != null) {
-            equippedBadge = shopRepository.findById(badgeId).orElse(null);
+            equippedBadge = shopCatalogService.findById(badgeId).orElse(null);
         }
         if (equippedBadge != null) {
             badgeUrl = equippedBadge.getThumbnailUrl();
@@ -1776,7 +1941,7 @@ public class UserService {
         UUID equippedUserColorId = user.getEquippedUserColorId();
         if (equippedUserColorId != null) {
             try {
-                Optional<Shop> userColorItemOpt = shopRepository.findById(equippedUserColorId);
+                Optional<Shop> userColorItemOpt = shopCatalogService.findById(equippedUserColorId);
                 if (userColorItemOpt.isPresent()) {
                     Shop userColorItem = userColorItemOpt.get();
                     nameplateColor = userColorItem.getImageUrl();
@@ -1931,8 +2096,7 @@ public class UserService {
         createDeletionAuditEntry(adminId, userId, user.getUsername());
 
         // Invalidate any caches related to this user
-        cacheConfig.invalidateUserProfileCache(userId);
-        cacheConfig.invalidateLeaderboardCache();
+        eventPublisher.publishEvent(new UserChanged(userId));
 
         logger.warn("ADMIN USER DELETION - Admin: {} permanently deleted user: {} (Username: {})",
                 adminId, userId, user.getUsername());
@@ -2058,7 +2222,7 @@ public class UserService {
         User savedUser = userRepository.save(newUser);
         
         // Invalidate cache to ensure fresh data
-        cacheConfig.invalidateUserProfileCache(userId);
+        eventPublisher.publishEvent(new UserChanged(userId));
         
         logger.info("Successfully created new user from Discord: {} (username: {})", userId, discordUser.getName());
         return savedUser;
@@ -0,0 +1,236 @@
+package com.app.heartbound.services;
+
+import com.app.heartbound.config.MonitoredExecutors;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.converter.MessageConverter;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * WebSocketFanoutService
+ *
+ * Buffers outbound STOMP messages per destination and sends them on a short flush window, so a
+ * burst of updates for the same pairing reaches its users as one frame instead of one per event.
+ *
+ * State snapshots (activity counters, XP totals) are sent with a key and the latest one for a key
+ * replaces any still pending, keeping the position of the newest. Notifications (level ups,
+ * achievements, party events) are all delivered, in the order they were sent. Every payload is
+ * serialised once per flush and the bytes are shared by all destinations it was sent to.
+ *
+ * A destination holding more than {@code realtime.fanout.max-pending-per-destination} messages
+ * within one window is handled by {@code realtime.fanout.overflow-policy}; sessions that cannot
+ * keep up with what is flushed are closed by the transport limits in
+ * {@link com.app.heartbound.config.WebSocketConfig}.
+ */
+@Service
+public class WebSocketFanoutService {
+
+    private static final Logger logger = LoggerFactory.getLogger(WebSocketFanoutService.class);
+
+    public enum OverflowPolicy {
+        /** Discard the oldest pending message for the destination. */
+        DROP_OLDEST,
+        /** Discard the message being sent. */
+        DROP_NEWEST,
+        /** Discard everything pending for the destination. */
+        DROP_DESTINATION
+    }
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final int maxPendingPerDestination;
+    private final OverflowPolicy overflowPolicy;
+    private final Map<String, Outbound> pending = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final ScheduledExecutorService flusher;
+    private final Timer delayTimer;
+    private final Timer sendTimer;
+    private final Counter coalescedCounter;
+    private final Counter droppedCounter;
+    private final Counter serializedCounter;
+
+    public WebSocketFanoutService(SimpMessagingTemplate messagingTemplate,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${realtime.fanout.window-ms:250}") long windowMs,
+                                  @Value("${realtime.fanout.max-pending-per-destination:100}") int maxPendingPerDestination,
+                                  @Value("${realtime.fanout.overflow-policy:DROP_OLDEST}") OverflowPolicy overflowPolicy) {
+        this.messagingTemplate = messagingTemplate;
+        this.maxPendingPerDestination = maxPendingPerDestination;
+        this.overflowPolicy = overflowPolicy;
+
+        Gauge.builder("websocket.fanout.pending", pendingCount, AtomicInteger::get)
+                .description("Messages waiting for the next fan-out flush")
+                .register(meterRegistry);
+        this.delayTimer = Timer.builder("websocket.fanout.delay")
+                .description("Time from sending a message to flushing it to the broker")
+                .register(meterRegistry);
+        this.sendTimer = Timer.builder("websocket.fanout.send")
+                .description("Time spent handing a flushed message to the broker")
+                .register(meterRegistry);
+        this.coalescedCounter = Counter.builder("websocket.fanout.coalesced")
+                .description("State snapshots replaced by a newer one before being flushed")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("websocket.fanout.dropped")
+                .description("Messages discarded because their destination overflowed")
+                .tag("policy", overflowPolicy.name())
+                .register(meterRegistry);
+        this.serializedCounter = Counter.builder("websocket.fanout.serialized")
+                .description("Payloads serialised by the fan-out flush")
+                .register(meterRegistry);
+
+        this.flusher = MonitoredExecutors.newScheduledThreadPool("websocket-fanout", 1);
+        flusher.scheduleWithFixedDelay(this::flush, windowMs, windowMs, TimeUnit.MILLISECONDS);
+        logger.info("WebSocket fan-out flushing every {}ms, at most {} messages per destination ({})",
+                windowMs, maxPendingPerDestination, overflowPolicy);
+    }
+
+    /**
+     * Send a state snapshot. A snapshot with the same key still pending for the destination is
+     * replaced, so only the latest state is delivered.
+     */
+    public void sendState(String destination, String key, Object payload) {
+        enqueue(destination, key, payload);
+    }
+
+    /**
+     * Send a notification. Notifications are never coalesced and are delivered in order.
+     */
+    public void sendNotification(String destination, Object payload) {
+        enqueue(destination, new Object(), payload);
+    }
+
+    private void enqueue(String destination, Object key, Object payload) {
+        long now = System.nanoTime();
+        pending.compute(destination, (d, outbound) -> {
+            if (outbound == null) {
+                outbound = new Outbound();
+            }
+            outbound.add(key, payload, now);
+            return outbound;
+        });
+    }
+
+    /**
+     * Send everything pending. Destinations are taken off the map atomically, so anything sent
+     * while a flush runs waits for the next one.
+     */
+    void flush() {
+        try {
+            Map<Object, Message<?>> serialized = new IdentityHashMap<>();
+            for (String destination : pending.keySet()) {
+                List<Pending> messages = new ArrayList<>();
+                pending.computeIfPresent(destination, (d, outbound) -> {
+                    messages.addAll(outbound.entries.values());
+                    pendingCount.addAndGet(-outbound.entries.size());
+                    return null;
+                });
+                for (Pending message : messages) {
+                    send(destination, message, serialized);
+                }
+            }
+        } catch (Exception e) {
+            logger.error("WebSocket fan-out flush failed", e);
+        }
+    }
+
+    private void send(String destination, Pending message, Map<Object, Message<?>> serialized) {
+        long started = System.nanoTime();
+        delayTimer.record(started - message.enqueuedAt, TimeUnit.NANOSECONDS);
+        try {
+            Message<?> frame = serialized.computeIfAbsent(message.payload, this::serialize);
+            if (frame == null) {
+                return;
+            }
+            // The frame carries no destination, so the template wraps its shared payload per send
+            messagingTemplate.send(destination, frame);
+        } catch (Exception e) {
+            logger.error("Failed to send WebSocket message to {}: {}", destination, e.getMessage());
+        } finally {
+            sendTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Message<?> serialize(Object payload) {
+        MessageConverter converter = messagingTemplate.getMessageConverter();
+        Message<?> frame = converter.toMessage(payload, null);
+        if (frame == null) {
+            logger.error("No message converter for WebSocket payload of type {}", payload.getClass().getName());
+        } else {
+            serializedCounter.increment();
+        }
+        return frame;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    private record Pending(Object payload, long enqueuedAt) {
+    }
+
+    /**
+     * Messages pending for one destination, in send order. Only touched inside the map's
+     * compute for its destination.
+     */
+    private final class Outbound {
+
+        private final LinkedHashMap<Object, Pending> entries = new LinkedHashMap<>();
+
+        void add(Object key, Object payload, long now) {
+            Pending replaced = entries.remove(key);
+            if (replaced != null) {
+                // Keep how long the key has been waiting, not just its newest snapshot
+                entries.put(key, new Pending(payload, replaced.enqueuedAt));
+                coalescedCounter.increment();
+                return;
+            }
+            if (entries.size() >= maxPendingPerDestination) {
+                switch (overflowPolicy) {
+                    case DROP_NEWEST -> {
+                        droppedCounter.increment();
+                        return;
+                    }
+                    case DROP_OLDEST -> {
+                        Iterator<Pending> oldest = entries.values().iterator();
+                        oldest.next();
+                        oldest.remove();
+                        pendingCount.decrementAndGet();
+                        droppedCounter.increment();
+                    }
+                    case DROP_DESTINATION -> {
+                        pendingCount.addAndGet(-entries.size());
+                        droppedCounter.increment(entries.size());
+                        entries.clear();
+                    }
+                }
+            }
+            entries.put(key, new Pending(payload, now));
+            pendingCount.incrementAndGet();
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package com.app.heartbound.services.discord;
 
 import com.app.heartbound.entities.DiscordBotSettings;
-import com.app.heartbound.repositories.DiscordBotSettingsRepository;
 import com.app.heartbound.config.CacheConfig;
 import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.Permission;
@@ -26,11 +25,11 @@ import javax.annotation.Nonnull;
  * applying slowmode when activity thresholds are exceeded.
  */
 @Service
+@EventOrdering(key = EventOrdering.Key.CHANNEL, overflow = EventOrdering.Overflow.DROP)
 public class AutoSlowmodeService extends ListenerAdapter {
 
     private static final Logger logger = LoggerFactory.getLogger(AutoSlowmodeService.class);
 
-    private final DiscordBotSettingsRepository discordBotSettingsRepository;
     private final CacheConfig cacheConfig;
 
     // JDA instance obtained from first event
@@ -45,8 +44,7 @@ public class AutoSlowmodeService extends ListenerAdapter {
     // Track current slowmode status to avoid unnecessary API calls
     private final Map<String, Integer> currentSlowmodeStatus = new ConcurrentHashMap<>();
 
-    public AutoSlowmodeService(DiscordBotSettingsRepository discordBotSettingsRepository, CacheConfig cacheConfig) {
-        this.discordBotSettingsRepository = discordBotSettingsRepository;
+    public AutoSlowmodeService(CacheConfig cacheConfig) {
         this.cacheConfig = cacheConfig;
     }
 
@@ -267,22 +265,12 @@ public class AutoSlowmodeService extends ListenerAdapter {
 
     private DiscordBotSettings getDiscordBotSettings() {
         try {
-            // Check cache first
-            DiscordBotSettings cachedSettings = (DiscordBotSettings) cacheConfig.getDiscordBotSettingsCache().getIfPresent(1L);
-            if (cachedSettings != null) {
-                return cachedSettings;
+            // Loaded from the database on a miss and refreshed in the background afterwards
+            DiscordBotSettings settings = cacheConfig.getDiscordBotSettingsCache().get(1L);
+            if (settings == null) {
+                logger.warn("Discord bot settings not found in database");
             }
-
-            // Fetch from database
-            Optional<DiscordBotSettings> settingsOpt = discordBotSettingsRepository.findById(1L);
-            if (settingsOpt.isPresent()) {
-                DiscordBotSettings settings = settingsOpt.get();
-                cacheConfig.getDiscordBotSettingsCache().put(1L, settings);
-                return settings;
-            }
-
-            logger.warn("Discord bot settings not found in database");
-            return null;
+            return settings;
         } catch (Exception e) {
             logger.error("Error fetching Discord bot settings: {}", e.getMessage(), e);
             return null;
@@ -10,6 +10,7 @@ import com.app.heartbound.services.AuditService;
 import com.app.heartbound.dto.CreateAuditDTO;
 import com.app.heartbound.enums.AuditSeverity;
 import com.app.heartbound.enums.AuditCategory;
+import com.app.heartbound.enums.CreditSource;
 import com.app.heartbound.entities.DiscordBotSettings;
 import net.dv8tion.jda.api.EmbedBuilder;
 import net.dv8tion.jda.api.entities.Guild;
@@ -34,6 +35,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.List;
 
 @Component
+@InteractionRoute(commands = "blackjack", componentPrefixes = "blackjack_")
 public class BlackjackCommandListener extends ListenerAdapter {
     
     private static final Logger logger = LoggerFactory.getLogger(BlackjackCommandListener.class);
@@ -184,7 +186,7 @@ public class BlackjackCommandListener extends ListenerAdapter {
             }
             
             // Only deduct credits after successful game creation and insertion
-            boolean betDeducted = userService.deductCreditsIfSufficient(userId, betAmount);
+            boolean betDeducted = userService.deductCreditsIfSufficient(userId, betAmount, CreditSource.BLACKJACK).isPresent();
             if (!betDeducted) {
                 // Remove the game since credit deduction failed
                 activeGames.remove(userId);
@@ -219,7 +221,7 @@ public class BlackjackCommandListener extends ListenerAdapter {
             if (failedGame != null) {
                 // Refund the bet since game creation/initialization failed
                 try {
-                    userService.updateCreditsAtomic(userId, failedGame.getBetAmount());
+                    userService.updateCreditsAtomic(userId, failedGame.getBetAmount(), CreditSource.BLACKJACK);
                     logger.info("Refunded {} credits to user {} due to game creation failure", failedGame.getBetAmount(), userId);
                 } catch (Exception refundException) {
                     logger.error("Failed to refund credits to user {} after game creation failure: {}", userId, refundException.getMessage());
@@ -429,7 +431,7 @@ public class BlackjackCommandListener extends ListenerAdapter {
         }
         
         // Deduct additional credits for double down
-        boolean creditDeducted = userService.deductCreditsIfSufficient(game.getUserId(), additionalBet);
+        boolean creditDeducted = userService.deductCreditsIfSufficient(game.getUserId(), additionalBet, CreditSource.BLACKJACK).isPresent();
         if (!creditDeducted) {
             event.getHook().sendMessage("Credit deduction failed for double down.")
                     .setEphemeral(true)
@@ -478,7 +480,7 @@ public class BlackjackCommandListener extends ListenerAdapter {
             logger.error("Error during double down for user {}", game.getUserId(), e);
             // Refund the additional bet on error
             try {
-                userService.updateCreditsAtomic(game.getUserId(), additionalBet);
+                userService.updateCreditsAtomic(game.getUserId(), additionalBet, CreditSource.BLACKJACK);
                 logger.info("Refunded {} credits to user {} due to double down failure", additionalBet, game.getUserId());
             } catch (Exception refundException) {
                 logger.error("Failed to refund double down credits to user {}: {}", game.getUserId(), refundException.getMessage());
@@ -520,7 +522,7 @@ public class BlackjackCommandListener extends ListenerAdapter {
         }
         
         // Deduct additional credits for split
-        boolean creditDeducted = userService.deductCreditsIfSufficient(game.getUserId(), additionalBet);
+        boolean creditDeducted = userService.deductCreditsIfSufficient(game.getUserId(), additionalBet, CreditSource.BLACKJACK).isPresent();
         if (!creditDeducted) {
             event.getHook().sendMessage("Credit deduction failed for split.")
                     .setEphemeral(true)
@@ -552,7 +554,7 @@ public class BlackjackCommandListener extends ListenerAdapter {
             logger.error("Error during split for user {}", game.getUserId(), e);
             // Refund the additional bet on error
             try {
-                userService.updateCreditsAtomic(game.getUserId(), additionalBet);
+                userService.updateCreditsAtomic(game.getUserId(), additionalBet, CreditSource.BLACKJACK);
                 logger.info("Refunded {} credits to user {} due to split failure", additionalBet, game.getUserId());
             } catch (Exception refundException) {
                 logger.error("Failed to refund split credits to user {}: {}", game.getUserId(), refundException.getMessage());
@@ -658,7 +660,7 @@ public class BlackjackCommandListener extends ListenerAdapter {
             
             // The total bet was already deducted. This call adds back any returns and winnings.
             if (creditChange > 0) {
-                userService.updateCreditsAtomic(user.getId(), creditChange);
+                userService.updateCreditsAtomic(user.getId(), creditChange, CreditSource.BLACKJACK);
             }
             
             // Fetch updated user for accurate balance
@@ -714,7 +716,7 @@ public class BlackjackCommandListener extends ListenerAdapter {
             
             // The initial bet was already deducted. This call adds back the bet and any winnings.
             if (creditChange > 0) {
-                userService.updateCreditsAtomic(user.getId(), creditChange);
+                userService.updateCreditsAtomic(user.getId(), creditChange, CreditSource.BLACKJACK);
             }
             
             // Fetch updated user for accurate balance in logs and embeds
@@ -42,6 +42,7 @@ import java.util.Optional;
  * - Provides rich embed responses with pairing statistics
  */
 @Component
+@InteractionRoute(commands = "breakup", modalPrefixes = "breakup-modal-")
 public class BreakupCommandListener extends ListenerAdapter {
     
     private static final Logger logger = LoggerFactory.getLogger(BreakupCommandListener.class);
@@ -1,5 +1,7 @@
 package com.app.heartbound.services.discord;
 
+import com.app.heartbound.config.MonitoredExecutors;
+import com.app.heartbound.dto.UserHotState;
 import com.app.heartbound.entities.User;
 import com.app.heartbound.services.UserService;
 import com.app.heartbound.repositories.pairing.PairingRepository;
@@ -28,18 +30,20 @@ import java.util.List;
 import java.util.Set;
 import java.util.HashSet;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.OptionalInt;
 import com.app.heartbound.services.AuditService;
 import com.app.heartbound.dto.CreateAuditDTO;
 import com.app.heartbound.enums.AuditSeverity;
 import com.app.heartbound.enums.AuditCategory;
+import com.app.heartbound.enums.CreditSource;
 
 @Component
 @Slf4j
+@EventOrdering(key = EventOrdering.Key.USER, overflow = EventOrdering.Overflow.DROP)
 public class ChatActivityListener extends ListenerAdapter {
     
     private static final String PRISON_LOG_CHANNEL_ID = "1387934477929549844";
@@ -120,7 +124,7 @@ public class ChatActivityListener extends ListenerAdapter {
     @PostConstruct
     public void init() {
         // Schedule periodic cleanup of stale activity data
-        cleanupScheduler = Executors.newSingleThreadScheduledExecutor();
+        cleanupScheduler = MonitoredExecutors.newScheduledThreadPool("chat-activity-cleanup", 1);
         cleanupScheduler.scheduleAtFixedRate(this::cleanupStaleActivity, 
                 timeWindowMinutes, timeWindowMinutes, TimeUnit.MINUTES);
         log.info("Discord chat activity monitoring initialized");
@@ -248,13 +252,13 @@ public class ChatActivityListener extends ListenerAdapter {
         return (int) (baseXp + (levelMultiplier * Math.pow(level, levelExponent) / levelFactor));
     }
     
-    private void checkAndProcessLevelUp(User user, String userId, MessageChannel channel, double roleMultiplier) {
+    private void checkAndProcessLevelUp(UserHotState user, String userId, MessageChannel channel, double roleMultiplier) {
         if (!levelingEnabled) {
             return;
         }
         
-        int currentLevel = (user.getLevel() != null) ? user.getLevel() : 1;
-        int currentXp = user.getExperience() != null ? user.getExperience() : 0;
+        int currentLevel = user.level();
+        int currentXp = user.experience();
         int requiredXp = calculateRequiredXp(currentLevel);
         
         log.debug("[XP DEBUG] Level check: User={}, Level={}, Current XP={}, Required XP={}", 
@@ -272,7 +276,7 @@ public class ChatActivityListener extends ListenerAdapter {
             // - Decrement XP by the required amount for the level up.
             // - Award credits for leveling up.
             // The level itself is not stored in the DB, it's derived. But we update the core stats.
-            userService.incrementCreditsAndXp(userId, multipliedCredits, -requiredXp);
+            userService.incrementCreditsAndXp(userId, multipliedCredits, -requiredXp, CreditSource.LEVEL_UP);
             
             // After the atomic update, we need to refresh the user object to get the latest state
             User updatedUser = userService.getUserById(userId);
@@ -368,7 +372,7 @@ public class ChatActivityListener extends ListenerAdapter {
                 
                 // Check for additional level ups
                 log.debug("[XP DEBUG] Checking for additional level ups");
-                checkAndProcessLevelUp(updatedUser, userId, channel, roleMultiplier);
+                checkAndProcessLevelUp(UserHotState.from(updatedUser), userId, channel, roleMultiplier);
                 
             } catch (Exception e) {
                 log.error("Error updating user level for {}: {}", userId, e.getMessage(), e);
@@ -575,17 +579,13 @@ public class ChatActivityListener extends ListenerAdapter {
                 return;
             }
             
-            boolean userUpdated = false; // Flag to track if user needs saving
-            
             // Increment user's global message count (tracks all valid messages)
             Long currentMessageCount = user.getMessageCount() != null ? user.getMessageCount() : 0L;
             user.setMessageCount(currentMessageCount + 1);
-            userUpdated = true; // Mark user for update
             log.debug("[MESSAGE COUNT DEBUG] Incremented message count for user {}. New count: {}", userId, user.getMessageCount());
             
             // Increment time-based message counts
             incrementTimeBasedCounters(user);
-            userUpdated = true; // Ensure user is marked for update
             
             // 📊 NEW: Track daily message stats for chart display
             userService.trackDailyMessageStat(userId);
@@ -593,11 +593,19 @@ public class ChatActivityListener extends ListenerAdapter {
             // Initialize user level if null
             if (user.getLevel() == null) {
                 user.setLevel(1);
-                userUpdated = true;
             }
             if (user.getExperience() == null) {
                 user.setExperience(0);
-                userUpdated = true;
+            }
+            
+            // Persist the message counters now, while the entity is fresh. Credits and XP are then
+            // changed atomically and everything after this reads the cached hot state, so the
+            // entity is not loaded again unless the user levels up.
+            try {
+                userService.updateUser(user);
+                log.debug("Persisted user {} non-atomic state (e.g., message counts) before activity rewards.", userId);
+            } catch (Exception e) {
+                log.error("Error saving user state for {} before activity processing: {}", userId, e.getMessage(), e);
             }
             
             
@@ -621,18 +629,16 @@ public class ChatActivityListener extends ListenerAdapter {
             }
 
             // Perform atomic update for XP and credits from message activity
+            OptionalInt balance = OptionalInt.empty();
             if (xpToAwardAtomic > 0 || creditsToAwardAtomic > 0) {
-                userService.incrementCreditsAndXp(userId, creditsToAwardAtomic, xpToAwardAtomic);
+                balance = userService.incrementCreditsAndXp(userId, creditsToAwardAtomic, xpToAwardAtomic, CreditSource.CHAT);
                 log.debug("[ATOMIC UPDATE] Awarded {} XP and {} credits to user {}.", xpToAwardAtomic, creditsToAwardAtomic, userId);
-                userUpdated = true;
             }
             
             // Create audit entry for chat activity credits
             if (creditsToAwardAtomic > 0) {
                 try {
-                    // We need the new balance for the audit log, so we have to fetch the user again.
-                    User updatedUserForAudit = userService.getUserById(userId);
-                    int newBalance = updatedUserForAudit != null ? (updatedUserForAudit.getCredits() != null ? updatedUserForAudit.getCredits() : 0) : 0;
+                    int newBalance = balance.orElse(0);
 
                     CreateAuditDTO auditEntry = CreateAuditDTO.builder()
                         .userId(userId)
@@ -653,8 +659,8 @@ public class ChatActivityListener extends ListenerAdapter {
                 }
             }
 
-            // Fetch the latest user state to check for level up
-            User updatedUser = userService.getUserById(userId);
+            // Check the latest state for a level up
+            UserHotState updatedUser = userService.getUserHotState(userId);
             if (updatedUser == null) {
                 log.error("User {} not found after activity update. Aborting level up check.", userId);
                 return;
@@ -662,7 +668,7 @@ public class ChatActivityListener extends ListenerAdapter {
 
             // Add right before calling checkAndProcessLevelUp method
             log.debug("[XP DEBUG] Checking for level up: User={}, Level={}, XP={}",
-                userId, updatedUser.getLevel(), updatedUser.getExperience());
+                userId, updatedUser.level(), updatedUser.experience());
             checkAndProcessLevelUp(updatedUser, userId, event.getChannel(), roleMultiplier); // Note: checkAndProcessLevelUp calls updateUser internally on level up
             
             // XP notifications removed to reduce chat spam - only level-up notifications are shown
@@ -682,30 +688,6 @@ public class ChatActivityListener extends ListenerAdapter {
                             userId, userMessages.size(), timeWindowMinutes);
             }
             
-            // Persist changes if user was updated (e.g., message count) but no level up happened
-            // and no atomic update was performed.
-            // The atomic update handles its own persistence. Level-up handles its own.
-            // This now primarily saves message count updates.
-            if (userUpdated) {
-                try {
-                    // Fetch the latest state again to avoid overwriting level-up changes
-                    User finalUser = userService.getUserById(userId);
-                    if(finalUser != null) {
-                        finalUser.setMessageCount(user.getMessageCount());
-                        finalUser.setMessagesToday(user.getMessagesToday());
-                        finalUser.setMessagesThisWeek(user.getMessagesThisWeek());
-                        finalUser.setMessagesThisTwoWeeks(user.getMessagesThisTwoWeeks());
-                        finalUser.setLastDailyReset(user.getLastDailyReset());
-                        finalUser.setLastWeeklyReset(user.getLastWeeklyReset());
-                        finalUser.setLastBiWeeklyReset(user.getLastBiWeeklyReset());
-                        userService.updateUser(finalUser);
-                        log.debug("Persisted user {} non-atomic state (e.g., message counts) after activity processing.", userId);
-                    }
-                } catch (Exception e) {
-                    log.error("Error saving user state for {} after activity processing: {}", userId, e.getMessage(), e);
-                }
-            }
-            
         } catch (Exception e) {
             log.error("Error processing message from user {}: {}", userId, e.getMessage(), e);
         }
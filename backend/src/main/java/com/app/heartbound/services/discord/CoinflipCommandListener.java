@@ -1,13 +1,14 @@
 package com.app.heartbound.services.discord;
 
 import com.app.heartbound.entities.User;
+import com.app.heartbound.events.DomainEvent.UserChanged;
 import com.app.heartbound.services.UserService;
 import com.app.heartbound.services.SecureRandomService;
 import com.app.heartbound.services.AuditService;
 import com.app.heartbound.dto.CreateAuditDTO;
 import com.app.heartbound.enums.AuditSeverity;
 import com.app.heartbound.enums.AuditCategory;
-import com.app.heartbound.config.CacheConfig;
+import com.app.heartbound.enums.CreditSource;
 import net.dv8tion.jda.api.EmbedBuilder;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
@@ -16,14 +17,17 @@ import net.dv8tion.jda.api.interactions.commands.OptionMapping;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
 import javax.annotation.Nonnull;
 import java.awt.Color;
+import java.util.OptionalInt;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 @Component
+@InteractionRoute(commands = "coinflip")
 public class CoinflipCommandListener extends ListenerAdapter {
     
     private static final Logger logger = LoggerFactory.getLogger(CoinflipCommandListener.class);
@@ -32,7 +36,7 @@ public class CoinflipCommandListener extends ListenerAdapter {
     private static final Color FAILURE_COLOR = new Color(220, 53, 69); // Bootstrap danger red
     
     private final UserService userService;
-    private final CacheConfig cacheConfig;
+    private final ApplicationEventPublisher eventPublisher;
     private final SecureRandomService secureRandomService;
     private final AuditService auditService;
     private final TermsOfServiceService termsOfServiceService;
@@ -40,9 +44,9 @@ public class CoinflipCommandListener extends ListenerAdapter {
     @Value("${discord.main.guild.id}")
     private String mainGuildId;
 
-    public CoinflipCommandListener(UserService userService, CacheConfig cacheConfig, SecureRandomService secureRandomService, AuditService auditService, TermsOfServiceService termsOfServiceService) {
+    public CoinflipCommandListener(UserService userService, ApplicationEventPublisher eventPublisher, SecureRandomService secureRandomService, AuditService auditService, TermsOfServiceService termsOfServiceService) {
         this.userService = userService;
-        this.cacheConfig = cacheConfig;
+        this.eventPublisher = eventPublisher;
         this.secureRandomService = secureRandomService;
         this.auditService = auditService;
         this.termsOfServiceService = termsOfServiceService;
@@ -151,17 +155,15 @@ public class CoinflipCommandListener extends ListenerAdapter {
                     int creditChange = userWon ? betAmount : -betAmount;
                     
                     // Atomically update user's credits
-                    boolean success = userService.updateCreditsAtomic(userId, creditChange);
+                    OptionalInt balance = userService.updateCreditsAtomic(userId, creditChange, CreditSource.COINFLIP);
                     
-                    if (!success) {
+                    if (balance.isEmpty()) {
                         logger.error("Failed to atomically update credits for user {} in coinflip. Amount: {}", userId, creditChange);
                         event.getHook().editOriginal("An error occurred while updating your credits. Please contact support.").queue();
                         return;
                     }
 
-                    // Fetch the updated user to get the new balance for the embed
-                    User updatedUser = userService.getUserById(userId);
-                    int newCredits = (updatedUser != null && updatedUser.getCredits() != null) ? updatedUser.getCredits() : 0;
+                    int newCredits = balance.getAsInt();
                     
                     EmbedBuilder resultEmbed = new EmbedBuilder();
                     
@@ -228,7 +230,7 @@ public class CoinflipCommandListener extends ListenerAdapter {
                     }
                     
                     // Invalidate user profile cache to ensure fresh data
-                    cacheConfig.invalidateUserProfileCache(userId);
+                    eventPublisher.publishEvent(new UserChanged(userId));
                     
                     // Update the embed with the result
                     event.getHook().editOriginalEmbeds(resultEmbed.build()).queue(
@@ -21,6 +21,8 @@ import java.awt.Color;
 @Component
 @RequiredArgsConstructor
 @Slf4j
+@EventOrdering(key = EventOrdering.Key.CHANNEL)
+@InteractionRoute(componentPrefixes = "save_count")
 public class CountingGameListener extends ListenerAdapter {
     
     private final CountingGameService countingGameService;
@@ -1,5 +1,6 @@
 package com.app.heartbound.services.discord;
 
+import com.app.heartbound.dto.UserHotState;
 import com.app.heartbound.entities.CountingGameState;
 import com.app.heartbound.entities.CountingUserData;
 import com.app.heartbound.entities.User;
@@ -7,10 +8,12 @@ import com.app.heartbound.repositories.CountingGameStateRepository;
 import com.app.heartbound.repositories.CountingUserDataRepository;
 import com.app.heartbound.services.UserService;
 import com.app.heartbound.config.CacheConfig;
+import com.app.heartbound.config.MonitoredExecutors;
 import com.app.heartbound.services.AuditService;
 import com.app.heartbound.dto.CreateAuditDTO;
 import com.app.heartbound.enums.AuditSeverity;
 import com.app.heartbound.enums.AuditCategory;
+import com.app.heartbound.enums.CreditSource;
 import lombok.extern.slf4j.Slf4j;
 import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.entities.channel.concrete.TextChannel;
@@ -25,8 +28,8 @@ import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.OptionalInt;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 @Service
@@ -67,7 +70,7 @@ public class CountingGameService {
     @PostConstruct
     public void init() {
         // Initialize timeout scheduler for removing timeout roles
-        timeoutScheduler = Executors.newSingleThreadScheduledExecutor();
+        timeoutScheduler = MonitoredExecutors.newScheduledThreadPool("counting-game-timeouts", 1);
         timeoutScheduler.scheduleAtFixedRate(this::processExpiredTimeouts, 
                 1, 1, TimeUnit.MINUTES); // Check every minute
         
@@ -219,9 +222,8 @@ public class CountingGameService {
         }
         
         // Check if user exists in database - EARLY validation to prevent non-database users from participating
-        User user;
         try {
-            user = userService.getUserById(userId);
+            UserHotState user = userService.getUserHotState(userId);
             if (user == null) {
                 log.debug("User {} not found in database, denying participation", userId);
                 return CountingResult.USER_NOT_FOUND;
@@ -296,7 +298,7 @@ public class CountingGameService {
         awardCredits(userId, creditsPerCount != null ? creditsPerCount : 1);
         
         // Invalidate cache
-        cacheConfig.invalidateCountingGameCache();
+        cacheConfig.getCountingGameCache().invalidateAll();
         
         log.debug("User {} successfully counted {}", userId, number);
         return CountingResult.CORRECT;
@@ -333,7 +335,7 @@ public class CountingGameService {
             gameStateRepository.save(gameState);
 
             // Invalidate cache
-            cacheConfig.invalidateCountingGameCache();
+            cacheConfig.getCountingGameCache().invalidateAll();
             
             return CountingResult.GRIEFER_PUNISHED.withGrieferData(failedCount);
         }
@@ -372,7 +374,7 @@ public class CountingGameService {
         userDataRepository.save(userData);
         
         // Invalidate cache
-        cacheConfig.invalidateCountingGameCache();
+        cacheConfig.getCountingGameCache().invalidateAll();
         
         log.info("User {} made mistake at count {} (attempted {}), type: {}, lives remaining: {}", 
                 userData.getUserId(), failedCount, attemptedNumber, mistakeType, livesToShow);
@@ -401,15 +403,13 @@ public class CountingGameService {
     protected void awardCredits(String userId, int credits) {
         if (credits <= 0) return;
         try {
-            boolean success = userService.updateCreditsAtomic(userId, credits);
-            if (!success) {
+            OptionalInt balance = userService.updateCreditsAtomic(userId, credits, CreditSource.COUNTING);
+            if (balance.isEmpty()) {
                 log.error("Failed to award {} credits to user {} in counting game.", credits, userId);
                 return;
             }
             
-            // For audit log, we need the new balance.
-            User user = userService.getUserById(userId);
-            int newBalance = (user != null && user.getCredits() != null) ? user.getCredits() : 0;
+            int newBalance = balance.getAsInt();
             
             // Create audit entry for counting credits
             try {
@@ -537,7 +537,7 @@ public class CountingGameService {
             gameStateRepository.save(gameState);
             
             // Invalidate cache to reflect the change
-            cacheConfig.invalidateCountingGameCache();
+            cacheConfig.getCountingGameCache().invalidateAll();
         }
     }
 
@@ -666,9 +666,8 @@ public class CountingGameService {
         }
         
         // Check if user exists in database
-        User user;
         try {
-            user = userService.getUserById(userId);
+            UserHotState user = userService.getUserHotState(userId);
             if (user == null) {
                 return SaveCountResult.USER_NOT_FOUND;
             }
@@ -692,22 +691,20 @@ public class CountingGameService {
         int saveCost = gameState.getSaveCost();
         
         // Atomically deduct credits for the save cost
-        boolean success = userService.updateCreditsAtomic(userId, -saveCost);
+        OptionalInt balance = userService.updateCreditsAtomic(userId, -saveCost, CreditSource.COUNTING);
 
-        if (!success) {
+        if (balance.isEmpty()) {
             // This can happen if the user doesn't have enough credits.
             // Refetch user to get current balance for the error message.
-            User latestUser = userService.getUserById(userId);
-            int currentCredits = (latestUser != null && latestUser.getCredits() != null) ? latestUser.getCredits() : 0;
+            UserHotState latestUser = userService.getUserHotState(userId);
+            int currentCredits = latestUser != null ? latestUser.credits() : 0;
             return SaveCountResult.INSUFFICIENT_CREDITS.withCreditData(currentCredits, saveCost);
         }
         
         // Get the count that was lost
         int savedCount = gameState.getLastFailedCount();
 
-        // Fetch user again to get the new balance for logging and auditing
-        User updatedUser = userService.getUserById(userId);
-        int newBalance = (updatedUser != null && updatedUser.getCredits() != null) ? updatedUser.getCredits() : 0;
+        int newBalance = balance.getAsInt();
         
         // Create audit entry for save cost
         try {
@@ -743,7 +740,7 @@ public class CountingGameService {
         gameStateRepository.save(gameState);
         
         // Invalidate cache
-        cacheConfig.invalidateCountingGameCache();
+        cacheConfig.getCountingGameCache().invalidateAll();
         
         log.info("User {} saved count at {} for {} credits (new save cost: {})", 
                 userId, savedCount, saveCost, gameState.getSaveCost());
@@ -1,5 +1,6 @@
 package com.app.heartbound.services.discord;
 
+import com.app.heartbound.config.MonitoredExecutors;
 import com.app.heartbound.entities.DiscordBotSettings;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -11,7 +12,6 @@ import org.springframework.stereotype.Service;
 
 import java.awt.Color;
 import java.util.Random;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
@@ -27,7 +27,7 @@ public class CreditDropSchedulerService {
     private final JDA jda;
     private final Random random = new Random();
     private final ReentrantLock creditDropLock = new ReentrantLock();
-    private final ScheduledExecutorService expirationScheduler = Executors.newSingleThreadScheduledExecutor();
+    private final ScheduledExecutorService expirationScheduler = MonitoredExecutors.newScheduledThreadPool("credit-drop-expiration", 1);
 
     @Scheduled(fixedRate = 60000) // Runs every minute
     public void scheduledCreditDrop() {
@@ -14,6 +14,7 @@ import org.springframework.stereotype.Component;
 import java.awt.Color;
 
 @Component
+@InteractionRoute(commands = "credits")
 public class CreditsCommandListener extends ListenerAdapter {
     
     private static final Logger logger = LoggerFactory.getLogger(CreditsCommandListener.class);
@@ -1,11 +1,13 @@
 package com.app.heartbound.services.discord;
 
 import com.app.heartbound.entities.User;
+import com.app.heartbound.events.DomainEvent.UserChanged;
 import com.app.heartbound.services.UserService;
 import com.app.heartbound.services.AuditService;
 import com.app.heartbound.dto.CreateAuditDTO;
 import com.app.heartbound.enums.AuditSeverity;
 import com.app.heartbound.enums.AuditCategory;
+import com.app.heartbound.enums.CreditSource;
 import com.app.heartbound.config.CacheConfig;
 import net.dv8tion.jda.api.EmbedBuilder;
 import net.dv8tion.jda.api.entities.Guild;
@@ -14,6 +16,7 @@ import net.dv8tion.jda.api.hooks.ListenerAdapter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,6 +26,7 @@ import java.time.LocalDateTime;
 import java.time.Duration;
 
 @Component
+@InteractionRoute(commands = "daily")
 public class DailyCommandListener extends ListenerAdapter {
     
     private static final Logger logger = LoggerFactory.getLogger(DailyCommandListener.class);
@@ -33,15 +37,17 @@ public class DailyCommandListener extends ListenerAdapter {
     
     private final UserService userService;
     private final CacheConfig cacheConfig;
+    private final ApplicationEventPublisher eventPublisher;
     private final AuditService auditService;
     private final TermsOfServiceService termsOfServiceService;
     
     @Value("${discord.main.guild.id}")
     private String mainGuildId;
 
-    public DailyCommandListener(UserService userService, CacheConfig cacheConfig, AuditService auditService, TermsOfServiceService termsOfServiceService) {
+    public DailyCommandListener(UserService userService, CacheConfig cacheConfig, ApplicationEventPublisher eventPublisher, AuditService auditService, TermsOfServiceService termsOfServiceService) {
         this.userService = userService;
         this.cacheConfig = cacheConfig;
+        this.eventPublisher = eventPublisher;
         this.auditService = auditService;
         this.termsOfServiceService = termsOfServiceService;
         logger.info("DailyCommandListener initialized with audit service and Terms of Service service");
@@ -112,7 +118,7 @@ public class DailyCommandListener extends ListenerAdapter {
             int creditsToAward = DAILY_REWARDS[(newStreak - 1) % DAILY_REWARDS.length]; // Use modulo for cycling
             
             // Update user data: Atomically update credits first.
-            boolean creditsAwardedSuccess = userService.updateCreditsAtomic(userId, creditsToAward);
+            boolean creditsAwardedSuccess = userService.updateCreditsAtomic(userId, creditsToAward, CreditSource.DAILY).isPresent();
             
             if (!creditsAwardedSuccess) {
                 event.getHook().editOriginal("An error occurred while awarding your daily credits. Please try again.").queue();
@@ -160,8 +166,7 @@ public class DailyCommandListener extends ListenerAdapter {
             }
             
             // Invalidate caches to ensure fresh data
-            cacheConfig.invalidateDailyClaimCache(userId);
-            cacheConfig.invalidateUserProfileCache(userId);
+            eventPublisher.publishEvent(new UserChanged(userId));
             
             // Send success embed
             sendSuccessEmbed(event, newStreak, creditsToAward, now, event.getUser().getEffectiveName());
@@ -1,13 +1,15 @@
 package com.app.heartbound.services.discord;
 
 import com.app.heartbound.entities.User;
+import com.app.heartbound.events.DomainEvent.UserChanged;
 import com.app.heartbound.services.UserService;
 import com.app.heartbound.services.SecureRandomService;
 import com.app.heartbound.services.AuditService;
 import com.app.heartbound.dto.CreateAuditDTO;
 import com.app.heartbound.enums.AuditSeverity;
 import com.app.heartbound.enums.AuditCategory;
-import com.app.heartbound.config.CacheConfig;
+import com.app.heartbound.enums.CreditSource;
+import com.app.heartbound.config.MonitoredExecutors;
 import net.dv8tion.jda.api.EmbedBuilder;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.Member;
@@ -19,6 +21,7 @@ import net.dv8tion.jda.api.interactions.components.buttons.Button;
 import net.dv8tion.jda.api.interactions.components.ActionRow;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.beans.factory.annotation.Value;
@@ -33,11 +36,12 @@ import java.util.HashSet;
 import java.util.Arrays;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.OptionalInt;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.Executors;
 
 @Component
+@InteractionRoute(commands = "defuse", componentPrefixes = {"defuse_", "tos-defuse-agree:", "tos-defuse-disagree:"})
 public class DefuseCommandListener extends ListenerAdapter {
     
     private static final Logger logger = LoggerFactory.getLogger(DefuseCommandListener.class);
@@ -47,11 +51,11 @@ public class DefuseCommandListener extends ListenerAdapter {
     private static final Color WARNING_COLOR = new Color(255, 193, 7); // Bootstrap warning yellow
     
     private final UserService userService;
-    private final CacheConfig cacheConfig;
+    private final ApplicationEventPublisher eventPublisher;
     private final SecureRandomService secureRandomService;
     private final AuditService auditService;
     private final TermsOfServiceService termsOfServiceService;
-    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(10);
+    private final ScheduledExecutorService scheduler = MonitoredExecutors.newScheduledThreadPool("defuse-timers", 10);
     
     @Value("${discord.main.guild.id}")
     private String mainGuildId;
@@ -63,9 +67,9 @@ public class DefuseCommandListener extends ListenerAdapter {
     // Store active games to prevent duplicates and manage state
     private final ConcurrentHashMap<String, DefuseGame> activeGames = new ConcurrentHashMap<>();
     
-    public DefuseCommandListener(UserService userService, CacheConfig cacheConfig, SecureRandomService secureRandomService, AuditService auditService, TermsOfServiceService termsOfServiceService) {
+    public DefuseCommandListener(UserService userService, ApplicationEventPublisher eventPublisher, SecureRandomService secureRandomService, AuditService auditService, TermsOfServiceService termsOfServiceService) {
         this.userService = userService;
-        this.cacheConfig = cacheConfig;
+        this.eventPublisher = eventPublisher;
         this.secureRandomService = secureRandomService;
         this.auditService = auditService;
         this.termsOfServiceService = termsOfServiceService;
@@ -994,8 +998,10 @@ public class DefuseCommandListener extends ListenerAdapter {
             logger.debug("Loser user: {} ({})", loserUser.getId(), loserUser.getUsername());
             
             // Atomically update credits for both winner and loser
-            boolean winnerSuccess = userService.updateCreditsAtomic(winnerUser.getId(), game.getBetAmount());
-            boolean loserSuccess = userService.updateCreditsAtomic(loserUser.getId(), -game.getBetAmount());
+            OptionalInt winnerBalance = userService.updateCreditsAtomic(winnerUser.getId(), game.getBetAmount(), CreditSource.DEFUSE);
+            OptionalInt loserBalance = userService.updateCreditsAtomic(loserUser.getId(), -game.getBetAmount(), CreditSource.DEFUSE);
+            boolean winnerSuccess = winnerBalance.isPresent();
+            boolean loserSuccess = loserBalance.isPresent();
 
             if (!winnerSuccess || !loserSuccess) {
                 logger.error("Critical error during credit transfer in Defuse game {}. Winner success: {}, Loser success: {}. Manual intervention may be required.",
@@ -1022,11 +1028,8 @@ public class DefuseCommandListener extends ListenerAdapter {
                 return; // Stop further processing
             }
             
-            // Fetch updated balances for audit logging
-            User updatedWinner = userService.getUserById(winnerUser.getId());
-            User updatedLoser = userService.getUserById(loserUser.getId());
-            int winnerNewBalance = (updatedWinner != null && updatedWinner.getCredits() != null) ? updatedWinner.getCredits() : 0;
-            int loserNewBalance = (updatedLoser != null && updatedLoser.getCredits() != null) ? updatedLoser.getCredits() : 0;
+            int winnerNewBalance = winnerBalance.getAsInt();
+            int loserNewBalance = loserBalance.getAsInt();
 
             logger.debug("Users saved successfully");
             
@@ -1070,8 +1073,8 @@ public class DefuseCommandListener extends ListenerAdapter {
             }
             
             // Invalidate caches
-            cacheConfig.invalidateUserProfileCache(winnerId);
-            cacheConfig.invalidateUserProfileCache(loserId);
+            eventPublisher.publishEvent(new UserChanged(winnerId));
+            eventPublisher.publishEvent(new UserChanged(loserId));
             
             logger.debug("Caches invalidated");
             
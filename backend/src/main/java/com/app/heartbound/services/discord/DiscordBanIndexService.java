@@ -0,0 +1,147 @@
+package com.app.heartbound.services.discord;
+
+import lombok.extern.slf4j.Slf4j;
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.Guild;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local index of users banned from the Discord guild.
+ *
+ * The index is seeded and periodically reconciled from the guild ban list and kept
+ * current between sweeps by {@link GuildEventListener} ban/unban events, so the login
+ * flow can check ban status with a memory lookup instead of a blocking REST call.
+ */
+@Service
+@Slf4j
+public class DiscordBanIndexService {
+
+    private final JDA jda;
+
+    @Value("${discord.guild.id}")
+    private String guildId;
+
+    private volatile Set<String> bannedUserIds = ConcurrentHashMap.newKeySet();
+    private volatile boolean ready = false;
+
+    // Guards sweepInProgress and eventsDuringSweep, so that no event falls between starting a
+    // sweep, replaying the events over its result and publishing it
+    private final Object sweepLock = new Object();
+    private boolean sweepInProgress = false;
+
+    // Ban/unban events received while a sweep is running; replayed over the sweep result
+    private final Map<String, Boolean> eventsDuringSweep = new HashMap<>();
+
+    public DiscordBanIndexService(@Lazy JDA jda) {
+        this.jda = jda;
+    }
+
+    /**
+     * Check whether a user is banned according to the local index.
+     *
+     * @param userId the Discord user ID
+     * @return the ban status, or null if the index has not completed its first sweep yet
+     */
+    public Boolean isBanned(String userId) {
+        if (!ready) {
+            return null;
+        }
+        return bannedUserIds.contains(userId);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return bannedUserIds.size();
+    }
+
+    public void recordBan(String userId) {
+        synchronized (sweepLock) {
+            bannedUserIds.add(userId);
+            if (sweepInProgress) {
+                eventsDuringSweep.put(userId, Boolean.TRUE);
+            }
+        }
+    }
+
+    public void recordUnban(String userId) {
+        synchronized (sweepLock) {
+            bannedUserIds.remove(userId);
+            if (sweepInProgress) {
+                eventsDuringSweep.put(userId, Boolean.FALSE);
+            }
+        }
+    }
+
+    /**
+     * Periodically rebuild the index from the guild ban list to repair any missed events.
+     */
+    @Scheduled(initialDelayString = "${discord.ban-index.initial-delay-ms:15000}",
+               fixedDelayString = "${discord.ban-index.reconcile-interval-ms:3600000}")
+    public void reconcile() {
+        Guild guild;
+        try {
+            guild = jda.getGuildById(guildId);
+        } catch (Exception e) {
+            log.warn("Ban index reconciliation skipped, JDA not available: {}", e.getMessage());
+            return;
+        }
+        if (guild == null) {
+            log.warn("Ban index reconciliation skipped, guild {} not found.", guildId);
+            return;
+        }
+        synchronized (sweepLock) {
+            if (sweepInProgress) {
+                log.debug("Ban index reconciliation already in progress. Skipping.");
+                return;
+            }
+            eventsDuringSweep.clear();
+            sweepInProgress = true;
+        }
+
+        long startTime = System.currentTimeMillis();
+        Set<String> rebuilt = ConcurrentHashMap.newKeySet();
+
+        guild.retrieveBanList()
+            .forEachAsync(ban -> {
+                rebuilt.add(ban.getUser().getId());
+                return true;
+            })
+            .whenComplete((ignored, error) -> {
+                synchronized (sweepLock) {
+                    try {
+                        if (error != null) {
+                            log.error("Failed to reconcile Discord ban index: {}", error.getMessage());
+                            return;
+                        }
+                        eventsDuringSweep.forEach((userId, banned) -> {
+                            if (banned) {
+                                rebuilt.add(userId);
+                            } else {
+                                rebuilt.remove(userId);
+                            }
+                        });
+                        bannedUserIds = rebuilt;
+                        ready = true;
+                    } finally {
+                        eventsDuringSweep.clear();
+                        sweepInProgress = false;
+                    }
+                }
+                if (error == null) {
+                    log.info("Discord ban index reconciled: {} banned users in {}ms",
+                        rebuilt.size(), System.currentTimeMillis() - startTime);
+                }
+            });
+    }
+}
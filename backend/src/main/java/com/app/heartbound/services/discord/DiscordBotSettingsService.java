@@ -2,6 +2,7 @@ package com.app.heartbound.services.discord;
 
 import com.app.heartbound.dto.discord.DiscordBotSettingsDTO;
 import com.app.heartbound.entities.DiscordBotSettings;
+import com.app.heartbound.events.DomainEvent.SettingsChanged;
 import com.app.heartbound.repositories.DiscordBotSettingsRepository;
 import com.app.heartbound.config.CacheConfig;
 import jakarta.annotation.PostConstruct;
@@ -9,8 +10,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -27,6 +27,7 @@ public class DiscordBotSettingsService {
     private final UserVoiceActivityService userVoiceActivityService;
     private final CountingGameService countingGameService;
     private final CacheConfig cacheConfig;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Autowired
     @Lazy
@@ -154,10 +155,12 @@ public class DiscordBotSettingsService {
         applyCurrentSettings();
     }
     
-    @Transactional(readOnly = true)
-    @Cacheable(value = "discordBotSettings", key = "#root.methodName")
+    /**
+     * The settings row, served from the refresh-ahead settings cache.
+     */
     public DiscordBotSettings getDiscordBotSettings() {
-        return repository.findById(1L).orElse(new DiscordBotSettings());
+        DiscordBotSettings settings = cacheConfig.getDiscordBotSettingsCache().get(1L);
+        return settings != null ? settings : new DiscordBotSettings();
     }
 
     @Transactional(readOnly = true)
@@ -270,7 +273,6 @@ public class DiscordBotSettingsService {
     }
     
     @Transactional
-    @CacheEvict(value = "discordBotSettings", allEntries = true)
     public DiscordBotSettingsDTO updateSettings(DiscordBotSettingsDTO dto) {
         DiscordBotSettings settings = repository.findById(1L)
                 .orElseThrow(() -> new RuntimeException("Discord bot settings not found"));
@@ -377,8 +379,8 @@ public class DiscordBotSettingsService {
 
         repository.save(settings);
         
-        // Invalidate related caches after successful save
-        cacheConfig.invalidateFishingSettingsCache();
+        // Settings and fishing settings caches are cleared once this commits
+        eventPublisher.publishEvent(new SettingsChanged());
         
         TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
             @Override
@@ -488,7 +490,7 @@ public class DiscordBotSettingsService {
     public FishingSettings getCachedFishingSettings() {
         // Try to get from cache first
         String cacheKey = "fishing_settings";
-        FishingSettings cachedSettings = (FishingSettings) cacheConfig.getFishingSettingsCache().getIfPresent(cacheKey);
+        FishingSettings cachedSettings = cacheConfig.getFishingSettingsCache().getIfPresent(cacheKey);
         
         if (cachedSettings != null) {
             log.debug("Retrieved fishing settings from cache");
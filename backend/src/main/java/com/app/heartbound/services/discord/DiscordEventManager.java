@@ -0,0 +1,379 @@
+package com.app.heartbound.services.discord;
+
+import com.app.heartbound.config.StatementMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import net.dv8tion.jda.api.events.GenericEvent;
+import net.dv8tion.jda.api.events.guild.GuildBanEvent;
+import net.dv8tion.jda.api.events.guild.GuildUnbanEvent;
+import net.dv8tion.jda.api.events.guild.member.GenericGuildMemberEvent;
+import net.dv8tion.jda.api.events.guild.voice.GenericGuildVoiceEvent;
+import net.dv8tion.jda.api.events.interaction.GenericInteractionCreateEvent;
+import net.dv8tion.jda.api.events.message.GenericMessageEvent;
+import net.dv8tion.jda.api.events.message.MessageReceivedEvent;
+import net.dv8tion.jda.api.hooks.EventListener;
+import net.dv8tion.jda.api.hooks.IEventManager;
+import net.dv8tion.jda.api.hooks.ListenerAdapter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import javax.annotation.Nonnull;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * JDA event manager that runs listeners on virtual threads instead of the gateway thread.
+ *
+ * Each registered listener only receives the event types it overrides. Events for a listener
+ * are serialized per ordering key (channel, user or global, see {@link EventOrdering}) so that
+ * e.g. counting stays in channel order while unrelated channels and users proceed in parallel.
+ * Every listener has a bounded queue; when it is full the event is either dropped or the
+ * gateway thread waits a bounded time for space. Interaction events are always admitted, since
+ * dropping them would leave the user with a failed interaction.
+ *
+ * Interactions with a route in {@link DiscordInteractionRouter} go to their owning listener only;
+ * everything else is fanned out as described above.
+ *
+ * Handler latency, queue wait, drops and Hibernate statements are recorded per listener in Micrometer.
+ */
+@Component
+@Slf4j
+public class DiscordEventManager implements IEventManager {
+
+    private static final long GLOBAL_KEY = 0L;
+
+    private final MeterRegistry meterRegistry;
+    private final StatementMetrics statementMetrics;
+    private final DiscordInteractionRouter interactionRouter;
+    private final int defaultQueueCapacity;
+    private final long blockTimeoutMs;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final List<ListenerHandle> handles = new CopyOnWriteArrayList<>();
+
+    public DiscordEventManager(MeterRegistry meterRegistry,
+                               StatementMetrics statementMetrics,
+                               DiscordInteractionRouter interactionRouter,
+                               @Value("${discord.events.queue-capacity:1000}") int defaultQueueCapacity,
+                               @Value("${discord.events.block-timeout-ms:250}") long blockTimeoutMs) {
+        this.meterRegistry = meterRegistry;
+        this.statementMetrics = statementMetrics;
+        this.interactionRouter = interactionRouter;
+        this.defaultQueueCapacity = defaultQueueCapacity;
+        this.blockTimeoutMs = blockTimeoutMs;
+    }
+
+    @Override
+    public void register(@Nonnull Object listener) {
+        if (!(listener instanceof EventListener eventListener)) {
+            throw new IllegalArgumentException("Listener must implement EventListener");
+        }
+        handles.add(new ListenerHandle(eventListener));
+    }
+
+    @Override
+    public void unregister(@Nonnull Object listener) {
+        handles.removeIf(handle -> handle.listener == listener);
+    }
+
+    @Nonnull
+    @Override
+    public List<Object> getRegisteredListeners() {
+        List<Object> listeners = new ArrayList<>(handles.size());
+        for (ListenerHandle handle : handles) {
+            listeners.add(handle.listener);
+        }
+        return listeners;
+    }
+
+    @Override
+    public void handle(@Nonnull GenericEvent event) {
+        boolean interaction = event instanceof GenericInteractionCreateEvent;
+        if (interaction && interactionRouter.route((GenericInteractionCreateEvent) event)) {
+            return;
+        }
+        for (ListenerHandle handle : handles) {
+            if (handle.accepts(event.getClass())) {
+                handle.submit(event, interaction);
+            }
+        }
+    }
+
+    /**
+     * Number of events currently queued or running across all listeners.
+     */
+    public int getQueuedEventCount() {
+        int total = 0;
+        for (ListenerHandle handle : handles) {
+            total += handle.queued();
+        }
+        return total;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                log.warn("Discord event dispatch did not drain within 10s, {} events abandoned", getQueuedEventCount());
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static long orderingKey(GenericEvent event, EventOrdering.Key key) {
+        if (key == EventOrdering.Key.GLOBAL) {
+            return GLOBAL_KEY;
+        }
+        if (event instanceof GenericMessageEvent messageEvent) {
+            if (key == EventOrdering.Key.USER && messageEvent instanceof MessageReceivedEvent received) {
+                return received.getAuthor().getIdLong();
+            }
+            return messageEvent.getChannel().getIdLong();
+        }
+        if (event instanceof GenericInteractionCreateEvent interaction) {
+            return key == EventOrdering.Key.CHANNEL && interaction.getChannel() != null
+                ? interaction.getChannel().getIdLong()
+                : interaction.getUser().getIdLong();
+        }
+        if (event instanceof GenericGuildVoiceEvent voiceEvent) {
+            return voiceEvent.getMember().getIdLong();
+        }
+        if (event instanceof GenericGuildMemberEvent memberEvent) {
+            return memberEvent.getUser().getIdLong();
+        }
+        if (event instanceof GuildBanEvent banEvent) {
+            return banEvent.getUser().getIdLong();
+        }
+        if (event instanceof GuildUnbanEvent unbanEvent) {
+            return unbanEvent.getUser().getIdLong();
+        }
+        return GLOBAL_KEY;
+    }
+
+    /**
+     * Event types a listener actually handles. For {@link ListenerAdapter} subclasses these are
+     * the parameter types of the overridden {@code on*} methods; plain listeners receive everything.
+     */
+    private static Set<Class<?>> subscribedEventTypes(Class<?> listenerClass) {
+        Set<Class<?>> types = new HashSet<>();
+        if (!ListenerAdapter.class.isAssignableFrom(listenerClass)) {
+            types.add(GenericEvent.class);
+            return types;
+        }
+        for (Class<?> type = listenerClass; type != ListenerAdapter.class; type = type.getSuperclass()) {
+            for (Method method : type.getDeclaredMethods()) {
+                if (method.getName().equals("onEvent")) {
+                    types.add(GenericEvent.class);
+                } else if (method.getName().startsWith("on") && method.getParameterCount() == 1
+                        && GenericEvent.class.isAssignableFrom(method.getParameterTypes()[0])
+                        && !Modifier.isStatic(method.getModifiers())) {
+                    types.add(method.getParameterTypes()[0]);
+                }
+            }
+        }
+        return types;
+    }
+
+    private final class ListenerHandle {
+
+        private final EventListener listener;
+        private final String name;
+        private final EventOrdering.Key key;
+        private final EventOrdering.Overflow overflow;
+        private final int capacity;
+        private final Semaphore permits;
+        private final Set<Class<?>> subscribedTypes;
+        private final Map<Class<?>, Boolean> acceptsCache = new ConcurrentHashMap<>();
+        private final Map<Long, Lane> lanes = new ConcurrentHashMap<>();
+        private final Timer handlerTimer;
+        private final Timer queueWaitTimer;
+        private final Counter droppedCounter;
+        private final DistributionSummary statementSummary;
+
+        ListenerHandle(EventListener listener) {
+            Class<?> listenerClass = ClassUtils.getUserClass(listener);
+            EventOrdering ordering = AnnotationUtils.findAnnotation(listenerClass, EventOrdering.class);
+
+            this.listener = listener;
+            this.name = listenerClass.getSimpleName();
+            this.key = ordering != null ? ordering.key() : EventOrdering.Key.USER;
+            this.overflow = ordering != null ? ordering.overflow() : EventOrdering.Overflow.BLOCK;
+            this.capacity = ordering != null && ordering.queueCapacity() > 0 ? ordering.queueCapacity() : defaultQueueCapacity;
+            this.permits = new Semaphore(capacity);
+            this.subscribedTypes = subscribedEventTypes(listenerClass);
+
+            this.handlerTimer = Timer.builder("discord.events.handler")
+                .description("Time spent in a listener handling one event")
+                .tag("listener", name)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+            this.queueWaitTimer = Timer.builder("discord.events.queue.wait")
+                .description("Time an event waited in a listener queue before handling")
+                .tag("listener", name)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+            this.droppedCounter = Counter.builder("discord.events.dropped")
+                .description("Events dropped because the listener queue was full")
+                .tag("listener", name)
+                .register(meterRegistry);
+            this.statementSummary = statementMetrics.summary("discord.listener", name);
+            Gauge.builder("discord.events.queued", this, ListenerHandle::queued)
+                .description("Events queued or running for a listener")
+                .tag("listener", name)
+                .register(meterRegistry);
+
+            log.debug("Registered Discord listener {} (key={}, overflow={}, capacity={}, events={})",
+                name, key, overflow, capacity, subscribedTypes.size());
+        }
+
+        boolean accepts(Class<?> eventType) {
+            return acceptsCache.computeIfAbsent(eventType, type -> {
+                for (Class<?> subscribed : subscribedTypes) {
+                    if (subscribed.isAssignableFrom(type)) {
+                        return true;
+                    }
+                }
+                return false;
+            });
+        }
+
+        int queued() {
+            return capacity - permits.availablePermits();
+        }
+
+        void submit(GenericEvent event, boolean mustAdmit) {
+            boolean admitted;
+            if (permits.tryAcquire()) {
+                admitted = true;
+            } else if (mustAdmit) {
+                // Interactions bypass the bound rather than expire unacknowledged
+                enqueue(event, false);
+                return;
+            } else if (overflow == EventOrdering.Overflow.DROP) {
+                admitted = false;
+            } else {
+                try {
+                    admitted = permits.tryAcquire(blockTimeoutMs, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    admitted = false;
+                }
+            }
+            if (!admitted) {
+                droppedCounter.increment();
+                // Log the first drop of a burst and then every 100th; the counter has the full picture
+                if ((long) droppedCounter.count() % 100 == 1) {
+                    log.warn("Dropped {} for listener {}: queue full ({} events, {} dropped so far)",
+                        event.getClass().getSimpleName(), name, capacity, (long) droppedCounter.count());
+                }
+                return;
+            }
+            enqueue(event, true);
+        }
+
+        private void enqueue(GenericEvent event, boolean holdsPermit) {
+            long laneKey = orderingKey(event, key);
+            QueuedEvent queued = new QueuedEvent(event, System.nanoTime(), holdsPermit);
+            Lane lane = lanes.compute(laneKey, (k, existing) -> {
+                Lane target = existing != null ? existing : new Lane(k);
+                target.events.add(queued);
+                return target;
+            });
+            lane.schedule();
+        }
+
+        private void run(QueuedEvent queued) {
+            long started = System.nanoTime();
+            queueWaitTimer.record(started - queued.enqueuedAt, TimeUnit.NANOSECONDS);
+            StatementMetrics.Scope statements = statementMetrics.open();
+            try {
+                listener.onEvent(queued.event);
+            } catch (Throwable t) {
+                log.error("Listener {} threw an uncaught exception handling {}",
+                    name, queued.event.getClass().getSimpleName(), t);
+            } finally {
+                handlerTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                statements.close(statementSummary);
+                if (queued.holdsPermit) {
+                    permits.release();
+                }
+            }
+        }
+
+        /**
+         * Serial queue for one ordering key. At most one virtual thread drains a lane at a time;
+         * idle lanes remove themselves so the map only holds keys with pending work.
+         */
+        private final class Lane {
+
+            private final long laneKey;
+            private final ConcurrentLinkedQueue<QueuedEvent> events = new ConcurrentLinkedQueue<>();
+            private final AtomicBoolean running = new AtomicBoolean(false);
+
+            Lane(long laneKey) {
+                this.laneKey = laneKey;
+            }
+
+            void schedule() {
+                if (running.compareAndSet(false, true)) {
+                    try {
+                        executor.execute(this::drain);
+                    } catch (RuntimeException e) {
+                        // Executor is shutting down; release what this lane was holding
+                        running.set(false);
+                        QueuedEvent dropped;
+                        while ((dropped = events.poll()) != null) {
+                            if (dropped.holdsPermit) {
+                                permits.release();
+                            }
+                            droppedCounter.increment();
+                        }
+                        log.debug("Discarded events for listener {}: dispatcher is shut down", name);
+                    }
+                }
+            }
+
+            private void drain() {
+                while (true) {
+                    QueuedEvent queued;
+                    while ((queued = events.poll()) != null) {
+                        run(queued);
+                    }
+                    running.set(false);
+                    // An event added after the last poll must not be stranded
+                    if (events.isEmpty() || !running.compareAndSet(false, true)) {
+                        break;
+                    }
+                }
+                lanes.computeIfPresent(laneKey, (k, lane) ->
+                    lane == this && events.isEmpty() && !running.get() ? null : lane);
+            }
+        }
+    }
+
+    private record QueuedEvent(GenericEvent event, long enqueuedAt, boolean holdsPermit) {
+    }
+}
@@ -0,0 +1,295 @@
+package com.app.heartbound.services.discord;
+
+import com.app.heartbound.config.StatementMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import net.dv8tion.jda.api.events.interaction.GenericInteractionCreateEvent;
+import net.dv8tion.jda.api.events.interaction.ModalInteractionEvent;
+import net.dv8tion.jda.api.events.interaction.command.CommandAutoCompleteInteractionEvent;
+import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
+import net.dv8tion.jda.api.events.interaction.component.GenericComponentInteractionCreateEvent;
+import net.dv8tion.jda.api.hooks.EventListener;
+import net.dv8tion.jda.api.hooks.ListenerAdapter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Routes Discord interactions to the single listener that owns them.
+ *
+ * The dispatch table is built once from the {@link InteractionRoute} declarations of the
+ * registered listeners when {@code DiscordConfig} has finished registering them, and is
+ * immutable afterwards. Slash commands and autocomplete are looked up by command name,
+ * buttons/select menus and modals by longest id prefix. Interactions without a route fall
+ * back to the regular fan-out in {@link DiscordEventManager}.
+ *
+ * Handlers run on a dedicated virtual-thread executor, serialized per user so a double click
+ * cannot race a game's state. Latency, errors and Hibernate statements are recorded per route;
+ * routes that opted in via {@link InteractionRoute#autoDefer()} get their reply deferred up
+ * front while their p99 is above {@code discord.interactions.auto-defer-threshold-ms}.
+ */
+@Component
+@Slf4j
+public class DiscordInteractionRouter {
+
+    private static final double AUTO_DEFER_PERCENTILE = 0.99;
+
+    private final MeterRegistry meterRegistry;
+    private final StatementMetrics statementMetrics;
+    private final long autoDeferThresholdMs;
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+        Thread.ofVirtual().name("discord-interaction-", 0).factory());
+    private final Map<Long, CompletableFuture<Void>> userTails = new ConcurrentHashMap<>();
+
+    private volatile DispatchTable dispatchTable;
+
+    public DiscordInteractionRouter(MeterRegistry meterRegistry,
+                                    StatementMetrics statementMetrics,
+                                    @Value("${discord.interactions.auto-defer-threshold-ms:2500}") long autoDeferThresholdMs) {
+        this.meterRegistry = meterRegistry;
+        this.statementMetrics = statementMetrics;
+        this.autoDeferThresholdMs = autoDeferThresholdMs;
+        Gauge.builder("discord.interactions.busy.users", userTails, Map::size)
+            .description("Users with an interaction queued or running")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Build and publish the dispatch table from the given listeners.
+     *
+     * @throws IllegalStateException if two listeners claim the same command name or id prefix
+     */
+    public void buildDispatchTable(Collection<Object> listeners) {
+        Map<String, Route> commands = new HashMap<>();
+        Map<String, Route> autocompletes = new HashMap<>();
+        Map<String, Route> componentPrefixes = new HashMap<>();
+        Map<String, Route> modalPrefixes = new HashMap<>();
+
+        for (Object candidate : listeners) {
+            if (!(candidate instanceof EventListener listener)) {
+                continue;
+            }
+            Class<?> listenerClass = ClassUtils.getUserClass(listener);
+            InteractionRoute declaration = AnnotationUtils.findAnnotation(listenerClass, InteractionRoute.class);
+            if (declaration == null) {
+                continue;
+            }
+            boolean handlesAutocomplete = overridesAutocomplete(listenerClass);
+            for (String command : declaration.commands()) {
+                claim(commands, command, new Route(command, "command", listener, declaration.autoDefer()), listenerClass);
+                if (handlesAutocomplete) {
+                    claim(autocompletes, command, new Route(command, "autocomplete", listener, false), listenerClass);
+                }
+            }
+            for (String prefix : declaration.componentPrefixes()) {
+                claim(componentPrefixes, prefix, new Route(prefix, "component", listener, false), listenerClass);
+            }
+            for (String prefix : declaration.modalPrefixes()) {
+                claim(modalPrefixes, prefix, new Route(prefix, "modal", listener, false), listenerClass);
+            }
+        }
+
+        dispatchTable = new DispatchTable(Map.copyOf(commands), Map.copyOf(autocompletes),
+            byLongestPrefix(componentPrefixes), byLongestPrefix(modalPrefixes));
+        log.info("Discord interaction routes built: {} commands, {} component prefixes, {} modal prefixes",
+            commands.size(), componentPrefixes.size(), modalPrefixes.size());
+    }
+
+    /**
+     * Dispatch an interaction to its owning listener.
+     *
+     * @return false if no route matched and the caller should deliver the event itself
+     */
+    public boolean route(GenericInteractionCreateEvent event) {
+        DispatchTable table = dispatchTable;
+        if (table == null) {
+            return false;
+        }
+
+        Route route;
+        boolean autocomplete = false;
+        if (event instanceof SlashCommandInteractionEvent slashEvent) {
+            route = table.commands.get(slashEvent.getName());
+        } else if (event instanceof CommandAutoCompleteInteractionEvent autoCompleteEvent) {
+            route = table.autocompletes.get(autoCompleteEvent.getName());
+            autocomplete = true;
+        } else if (event instanceof GenericComponentInteractionCreateEvent componentEvent) {
+            route = matchPrefix(table.componentPrefixes, componentEvent.getComponentId());
+        } else if (event instanceof ModalInteractionEvent modalEvent) {
+            route = matchPrefix(table.modalPrefixes, modalEvent.getModalId());
+        } else {
+            route = null;
+        }
+        if (route == null) {
+            return false;
+        }
+
+        if (route.autoDefer && route.slow && event instanceof SlashCommandInteractionEvent slashEvent) {
+            slashEvent.deferReply().queue();
+        }
+
+        Route target = route;
+        Runnable task = () -> invoke(target, event);
+        try {
+            if (autocomplete) {
+                // Autocomplete has no side effects and must not queue behind a running command
+                executor.execute(task);
+            } else {
+                long userId = event.getUser().getIdLong();
+                CompletableFuture<Void> tail = userTails.compute(userId, (key, previous) ->
+                    previous == null ? CompletableFuture.runAsync(task, executor) : previous.thenRunAsync(task, executor));
+                tail.whenComplete((ignored, error) -> userTails.remove(userId, tail));
+            }
+        } catch (RejectedExecutionException e) {
+            log.debug("Interaction router is shut down, dropping {} for route {}", event.getClass().getSimpleName(), route.name);
+        }
+        return true;
+    }
+
+    /**
+     * Number of users with an interaction queued or running.
+     */
+    public int getBusyUserCount() {
+        return userTails.size();
+    }
+
+    /**
+     * Re-evaluate which auto-defer routes are currently too slow to reply within Discord's window.
+     */
+    @Scheduled(fixedDelayString = "${discord.interactions.auto-defer-check-ms:30000}")
+    public void evaluateAutoDefer() {
+        DispatchTable table = dispatchTable;
+        if (table == null) {
+            return;
+        }
+        for (Route route : table.commands.values()) {
+            if (!route.autoDefer) {
+                continue;
+            }
+            boolean slow = false;
+            for (ValueAtPercentile percentile : route.latency.takeSnapshot().percentileValues()) {
+                if (percentile.percentile() == AUTO_DEFER_PERCENTILE) {
+                    slow = percentile.value(TimeUnit.MILLISECONDS) > autoDeferThresholdMs;
+                }
+            }
+            if (slow != route.slow) {
+                route.slow = slow;
+                log.info("Auto-defer {} for /{} (p99 threshold {}ms)", slow ? "enabled" : "disabled", route.name, autoDeferThresholdMs);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void invoke(Route route, GenericInteractionCreateEvent event) {
+        long started = System.nanoTime();
+        StatementMetrics.Scope statements = statementMetrics.open();
+        try {
+            route.listener.onEvent(event);
+        } catch (Throwable t) {
+            route.errors.increment();
+            log.error("Interaction handler for {} '{}' threw an uncaught exception", route.type, route.name, t);
+        } finally {
+            route.latency.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            statements.close(route.statements);
+        }
+    }
+
+    private static Route matchPrefix(List<Route> routes, String id) {
+        for (Route route : routes) {
+            if (id.startsWith(route.name)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private static List<Route> byLongestPrefix(Map<String, Route> routes) {
+        List<Route> sorted = new ArrayList<>(routes.values());
+        sorted.sort(Comparator.comparingInt((Route route) -> route.name.length()).reversed());
+        return List.copyOf(sorted);
+    }
+
+    private static void claim(Map<String, Route> table, String key, Route route, Class<?> listenerClass) {
+        Route existing = table.putIfAbsent(key, route);
+        if (existing != null) {
+            throw new IllegalStateException(String.format("Interaction %s '%s' is claimed by both %s and %s",
+                route.type, key, ClassUtils.getUserClass(existing.listener).getSimpleName(), listenerClass.getSimpleName()));
+        }
+    }
+
+    private static boolean overridesAutocomplete(Class<?> listenerClass) {
+        Method method = ReflectionUtils.findMethod(listenerClass, "onCommandAutoCompleteInteraction",
+            CommandAutoCompleteInteractionEvent.class);
+        return method != null && method.getDeclaringClass() != ListenerAdapter.class;
+    }
+
+    private record DispatchTable(Map<String, Route> commands, Map<String, Route> autocompletes, List<Route> componentPrefixes, List<Route> modalPrefixes) {
+    }
+
+    private final class Route {
+
+        private final String name;
+        private final String type;
+        private final EventListener listener;
+        private final boolean autoDefer;
+        private final Timer latency;
+        private final Counter errors;
+        private final DistributionSummary statements;
+        private volatile boolean slow;
+
+        Route(String name, String type, EventListener listener, boolean autoDefer) {
+            this.name = name;
+            this.type = type;
+            this.listener = listener;
+            this.autoDefer = autoDefer;
+            this.latency = Timer.builder("discord.interactions")
+                .description("Time spent in an interaction handler")
+                .tag("route", name)
+                .tag("type", type)
+                .publishPercentiles(AUTO_DEFER_PERCENTILE)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+            this.errors = Counter.builder("discord.interactions.errors")
+                .description("Interaction handlers that threw an uncaught exception")
+                .tag("route", name)
+                .tag("type", type)
+                .register(meterRegistry);
+            this.statements = statementMetrics.summary("discord.interaction", type + " " + name);
+        }
+    }
+}
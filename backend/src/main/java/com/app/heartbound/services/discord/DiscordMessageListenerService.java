@@ -1,8 +1,11 @@
 package com.app.heartbound.services.discord;
 
+import com.app.heartbound.config.MonitoredExecutors;
 import com.app.heartbound.entities.Pairing;
 import com.app.heartbound.entities.PairLevel;
+import com.app.heartbound.enums.AchievementType;
 import com.app.heartbound.repositories.pairing.PairingRepository;
+import com.app.heartbound.services.WebSocketFanoutService;
 import com.app.heartbound.services.pairing.PairLevelService;
 import com.app.heartbound.services.pairing.AchievementService;
 import lombok.RequiredArgsConstructor;
@@ -12,7 +15,6 @@ import net.dv8tion.jda.api.entities.channel.middleman.MessageChannel;
 import net.dv8tion.jda.api.events.message.MessageReceivedEvent;
 import net.dv8tion.jda.api.hooks.ListenerAdapter;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,7 +29,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
@@ -49,12 +50,13 @@ import java.util.function.Consumer;
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@EventOrdering(key = EventOrdering.Key.CHANNEL)
 public class DiscordMessageListenerService extends ListenerAdapter {
 
     private final PairingRepository pairingRepository;
     private final PairLevelService pairLevelService;
     private final AchievementService achievementService;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final WebSocketFanoutService fanoutService;
     
     // Callback for Discord leaderboard refresh (set by PairingService to avoid circular dependency)
     private Consumer<Long> discordLeaderboardRefreshCallback;
@@ -135,7 +137,7 @@ public class DiscordMessageListenerService extends ListenerAdapter {
     public void initializeValidation() {
         if (validationEnabled) {
             // Schedule periodic cleanup of stale validation data
-            validationCleanupScheduler = Executors.newSingleThreadScheduledExecutor();
+            validationCleanupScheduler = MonitoredExecutors.newScheduledThreadPool("pairing-validation-cleanup", 1);
             validationCleanupScheduler.scheduleAtFixedRate(this::cleanupStaleValidationData, 
                     timeWindowMinutes, timeWindowMinutes, TimeUnit.MINUTES);
             log.info("Discord pairing message validation initialized - cooldown: {}s, minLength: {}, timeWindow: {}min", 
@@ -493,7 +495,9 @@ public class DiscordMessageListenerService extends ListenerAdapter {
                 // Update total message count
                 pairing.setMessageCount(pairing.getUser1MessageCount() + pairing.getUser2MessageCount());
                 
-                // Save the updated pairing
+                // Save the updated pairing. No PairingChanged here: the leaderboard does not rank on
+                // message counts and clients get them from the activity broadcast below. XP awarded
+                // for the message publishes it through PairLevelService.
                 pairingRepository.save(pairing);
                 
                 // 🎉 NEW: Award XP to pair for message activity (before other XP system updates)
@@ -506,10 +510,9 @@ public class DiscordMessageListenerService extends ListenerAdapter {
                     // Update pair level based on new message count (milestone-based XP)
                     pairLevelService.updatePairLevelFromActivity(pairing.getId());
                     
-                    // Check for new achievements (every 100 messages to avoid spam)
-                    if (pairing.getMessageCount() % 100 == 0) {
-                        achievementService.checkAndUnlockAchievements(pairing.getId());
-                    }
+                    // Unlock message milestones the moment this message crosses their threshold
+                    achievementService.onCounterAdvanced(pairing, AchievementType.MESSAGE_MILESTONE,
+                        pairing.getMessageCount() - 1, pairing.getMessageCount());
                     
                     log.debug("Updated XP system for pairing {} after Discord message", pairing.getId());
                 } catch (Exception e) {
@@ -564,8 +567,9 @@ public class DiscordMessageListenerService extends ListenerAdapter {
             );
 
             // Send to both users
-            messagingTemplate.convertAndSend("/user/" + pairing.getUser1Id() + "/topic/pairings", activityUpdate);
-            messagingTemplate.convertAndSend("/user/" + pairing.getUser2Id() + "/topic/pairings", activityUpdate);
+            String key = "pairing-messages:" + pairing.getId();
+            fanoutService.sendState("/user/" + pairing.getUser1Id() + "/topic/pairings", key, activityUpdate);
+            fanoutService.sendState("/user/" + pairing.getUser2Id() + "/topic/pairings", key, activityUpdate);
 
             log.debug("Broadcasted message activity update for pairing {} to users {} and {}", 
                     pairing.getId(), pairing.getUser1Id(), pairing.getUser2Id());
@@ -1,7 +1,11 @@
 package com.app.heartbound.services.discord;
 
 import com.app.heartbound.entities.Pairing;
+import com.app.heartbound.enums.AchievementType;
+import com.app.heartbound.events.DomainEvent.PairingChanged;
 import com.app.heartbound.repositories.pairing.PairingRepository;
+import com.app.heartbound.services.WebSocketFanoutService;
+import com.app.heartbound.services.pairing.AchievementService;
 import com.app.heartbound.services.pairing.VoiceStreakService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -9,7 +13,7 @@ import net.dv8tion.jda.api.entities.Member;
 import net.dv8tion.jda.api.entities.channel.unions.AudioChannelUnion;
 import net.dv8tion.jda.api.events.guild.voice.GuildVoiceUpdateEvent;
 import net.dv8tion.jda.api.hooks.ListenerAdapter;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -36,7 +40,9 @@ public class DiscordVoiceTimeTrackerService extends ListenerAdapter {
 
     private final PairingRepository pairingRepository;
     private final VoiceStreakService voiceStreakService;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final AchievementService achievementService;
+    private final WebSocketFanoutService fanoutService;
+    private final ApplicationEventPublisher eventPublisher;
     
     // Track active voice sessions: channelId -> pairingId
     private final ConcurrentHashMap<String, Long> activeVoiceSessions = new ConcurrentHashMap<>();
@@ -165,7 +171,8 @@ public class DiscordVoiceTimeTrackerService extends ListenerAdapter {
                     // Only count sessions longer than 1 minute to avoid spam
                     if (sessionMinutes >= 1) {
                         // Add to total voice time
-                        int newTotalMinutes = pairing.getVoiceTimeMinutes() + (int) sessionMinutes;
+                        int previousTotalMinutes = pairing.getVoiceTimeMinutes();
+                        int newTotalMinutes = previousTotalMinutes + (int) sessionMinutes;
                         pairing.setVoiceTimeMinutes(newTotalMinutes);
                         
                         // 🚀 XP SYSTEM: Update voice streak for today
@@ -181,6 +188,15 @@ public class DiscordVoiceTimeTrackerService extends ListenerAdapter {
                         // Clear session start time
                         pairing.setCurrentVoiceSessionStart(null);
                         pairingRepository.save(pairing);
+                        eventPublisher.publishEvent(new PairingChanged(pairing.getId()));
+                        
+                        // Unlock voice time achievements (counted in hours) crossed by this session
+                        try {
+                            achievementService.onCounterAdvanced(pairing, AchievementType.VOICE_TIME,
+                                previousTotalMinutes / 60, newTotalMinutes / 60);
+                        } catch (Exception e) {
+                            log.error("Failed to check voice time achievements for pairing {}: {}", pairing.getId(), e.getMessage());
+                        }
                         
                         // 🔥 REAL-TIME UPDATES: Broadcast voice time update via WebSocket
                         try {
@@ -225,8 +241,9 @@ public class DiscordVoiceTimeTrackerService extends ListenerAdapter {
             );
 
             // Send to both users
-            messagingTemplate.convertAndSend("/user/" + pairing.getUser1Id() + "/topic/pairings", activityUpdate);
-            messagingTemplate.convertAndSend("/user/" + pairing.getUser2Id() + "/topic/pairings", activityUpdate);
+            String key = "pairing-voice:" + pairing.getId();
+            fanoutService.sendState("/user/" + pairing.getUser1Id() + "/topic/pairings", key, activityUpdate);
+            fanoutService.sendState("/user/" + pairing.getUser2Id() + "/topic/pairings", key, activityUpdate);
 
             log.debug("Broadcasted voice time update for pairing {} to users {} and {}", 
                     pairing.getId(), pairing.getUser1Id(), pairing.getUser2Id());
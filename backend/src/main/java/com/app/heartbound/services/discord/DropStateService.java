@@ -1,12 +1,12 @@
 package com.app.heartbound.services.discord;
 
+import com.app.heartbound.config.MonitoredExecutors;
 import lombok.Getter;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
@@ -35,7 +35,7 @@ public class DropStateService {
 
     private final ConcurrentHashMap<String, ActiveDrop> activeDrops = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<String, Long> recentlyExpiredChannels = new ConcurrentHashMap<>();
-    private final ScheduledExecutorService cleanupScheduler = Executors.newSingleThreadScheduledExecutor();
+    private final ScheduledExecutorService cleanupScheduler = MonitoredExecutors.newScheduledThreadPool("drop-state-cleanup", 1);
 
     public void startDrop(String channelId, String messageId, DropType type, Object value, ScheduledFuture<?> expirationTask) {
         activeDrops.put(channelId, new ActiveDrop(messageId, type, value, expirationTask));
@@ -0,0 +1,48 @@
+package com.app.heartbound.services.discord;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Configures how {@link DiscordEventManager} dispatches events to a listener.
+ * Listeners without this annotation are dispatched per user with blocking backpressure.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface EventOrdering {
+
+    /**
+     * Events sharing a key are delivered to the listener one at a time, in gateway order.
+     */
+    Key key() default Key.USER;
+
+    /**
+     * What to do when the listener's queue is full
+     */
+    Overflow overflow() default Overflow.BLOCK;
+
+    /**
+     * Maximum number of queued events for this listener, or -1 for the configured default
+     */
+    int queueCapacity() default -1;
+
+    enum Key {
+        /** Serialize per channel (counting, slowmode) */
+        CHANNEL,
+        /** Serialize per user (rewards, games) */
+        USER,
+        /** Serialize everything for this listener */
+        GLOBAL
+    }
+
+    enum Overflow {
+        /** Hold the gateway thread for a bounded time, then drop */
+        BLOCK,
+        /** Drop immediately */
+        DROP
+    }
+}
@@ -0,0 +1,651 @@
+package com.app.heartbound.services.discord;
+
+import com.app.heartbound.dto.CreateAuditDTO;
+import com.app.heartbound.entities.ItemInstance;
+import com.app.heartbound.entities.Shop;
+import com.app.heartbound.enums.AuditCategory;
+import com.app.heartbound.enums.AuditSeverity;
+import com.app.heartbound.enums.CreditSource;
+import com.app.heartbound.events.DomainEvent.UserChanged;
+import com.app.heartbound.repositories.ItemInstanceRepository;
+import com.app.heartbound.repositories.UserRepository;
+import com.app.heartbound.services.AuditService;
+import com.app.heartbound.services.SecureRandomService;
+import com.app.heartbound.services.UserService;
+import com.app.heartbound.utils.LevelingUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.text.DecimalFormat;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fishing engine behind the /fish command.
+ *
+ * A cast only locks what it touches: the user's row (read as plain columns, without the
+ * inventory join) and the equipped rod plus its parts, locked together in id order. Credits,
+ * durability, rod progress and fishing stats are written with targeted UPDATE statements
+ * instead of flushing whole entities, so trades and equips on other items are never blocked.
+ *
+ * Settings come from {@link DiscordBotSettingsService#getCachedFishingSettings()} and active
+ * limit cooldowns are remembered in memory, so a user spamming /fish during their cooldown
+ * only costs one conditional credit deduction per attempt.
+ */
+@Service
+public class FishingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FishingService.class);
+
+    private static final double SUCCESS_CHANCE = 0.8; // 80% total success rate
+    private static final double RARE_FISH_CHANCE = 0.05; // 5% chance for rare fish
+    private static final double ROD_XP_CHANCE = 0.25;
+    private static final int MIN_CREDITS_TO_FISH = 5;
+
+    // Rare catches that give bonus credits
+    private static final List<String> RARE_CATCHES = Arrays.asList(
+            "🦈", // :shark:
+            "🦦", // :otter:
+            "🪼"  // :jellyfish:
+    );
+
+    // Regular fish (excluding rare catches)
+    private static final List<String> REGULAR_FISH = Arrays.asList(
+            "🐟", // :fish:
+            "🐠", // :tropical_fish:
+            "🐡", // :blowfish:
+            "🦐"  // :shrimp:
+    );
+
+    private final UserRepository userRepository;
+    private final ItemInstanceRepository itemInstanceRepository;
+    private final UserService userService;
+    private final SecureRandomService secureRandomService;
+    private final AuditService auditService;
+    private final DiscordBotSettingsService discordBotSettingsService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Users currently serving a limit cooldown
+    private final Map<String, FishingCooldown> activeCooldowns = new ConcurrentHashMap<>();
+
+    public FishingService(UserRepository userRepository, ItemInstanceRepository itemInstanceRepository,
+                          UserService userService, SecureRandomService secureRandomService, AuditService auditService,
+                          DiscordBotSettingsService discordBotSettingsService, ApplicationEventPublisher eventPublisher) {
+        this.userRepository = userRepository;
+        this.itemInstanceRepository = itemInstanceRepository;
+        this.userService = userService;
+        this.secureRandomService = secureRandomService;
+        this.auditService = auditService;
+        this.discordBotSettingsService = discordBotSettingsService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Outcome of a cast. {@code message} is the public reply; the warning and broken part
+     * names are sent as ephemeral follow-ups.
+     */
+    public record FishingResult(String message, String warningMessage, List<String> brokenParts) {
+
+        static FishingResult of(String message) {
+            return new FishingResult(message, null, List.of());
+        }
+    }
+
+    private record FishingCooldown(LocalDateTime until, int catches, int limit) {
+    }
+
+    /**
+     * Per-user fishing columns as read under the row lock. Mutations are tracked so the
+     * stats UPDATE is only issued when something changed.
+     */
+    private static final class FishingState {
+        int credits;
+        int fishCaughtCount;
+        int fishCaughtSinceLimit;
+        Integer currentFishingLimit;
+        LocalDateTime cooldownUntil;
+        UUID equippedRodInstanceId;
+        boolean dirty;
+    }
+
+    private static final class PartBonuses {
+        double totalBonusLootChance = 0.0;
+        double totalRarityChanceIncrease = 0.0;
+        double totalMultiplierIncrease = 0.0;
+        double totalNegationChance = 0.0;
+    }
+
+    /**
+     * Perform one cast for a user who has already accepted the Terms of Service.
+     */
+    @Transactional
+    public FishingResult fish(String userId) {
+        DiscordBotSettingsService.FishingSettings settings = discordBotSettingsService.getCachedFishingSettings();
+
+        // Cooldown spam is answered from memory plus one atomic deduction, without row locks
+        FishingCooldown cooldown = activeCooldowns.get(userId);
+        if (cooldown != null) {
+            if (LocalDateTime.now().isBefore(cooldown.until())) {
+                return applyCooldownPenalty(userId, settings, cooldown);
+            }
+            activeCooldowns.remove(userId, cooldown);
+        }
+
+        FishingState state = lockFishingState(userId);
+
+        // Lock and load the equipped rod and its parts only
+        ItemInstance rod = null;
+        List<ItemInstance> parts = List.of();
+        if (state.equippedRodInstanceId != null) {
+            Map<UUID, ItemInstance> locked = lockRodAndParts(state.equippedRodInstanceId);
+            rod = locked.get(state.equippedRodInstanceId);
+            if (rod == null) {
+                logger.warn("User {} has an equipped rod instance ID ({}) that does not exist. Unequipping.", userId, state.equippedRodInstanceId);
+                userRepository.unequipFishingRod(userId, state.equippedRodInstanceId);
+                eventPublisher.publishEvent(new UserChanged(userId));
+            } else {
+                parts = equippedParts(rod, locked);
+            }
+        }
+
+        Integer rodDurability = null;
+        Map<UUID, Integer> partDurabilities = new HashMap<>();
+        if (rod != null) {
+            // Backward Compatibility: Initialize durability for legacy rods and parts
+            rodDurability = initializeLegacyDurability(rod, userId);
+            for (ItemInstance part : parts) {
+                partDurabilities.put(part.getId(), initializeLegacyDurability(part, userId));
+            }
+
+            // Durability Check
+            if (rodDurability != null && rodDurability <= 0) {
+                return FishingResult.of("🎣 | Your equipped fishing rod is broken and needs to be repaired before you can fish again.");
+            }
+        }
+
+        PartBonuses bonuses = getPartBonuses(parts, partDurabilities);
+
+        // Check fishing limit and cooldown using cached settings
+        FishingCooldown limitCooldown = checkFishingLimit(userId, state, settings);
+        if (limitCooldown != null) {
+            persistStateIfDirty(userId, state);
+            activeCooldowns.put(userId, limitCooldown);
+            return applyCooldownPenalty(userId, settings, limitCooldown);
+        }
+
+        if (state.credits < MIN_CREDITS_TO_FISH) {
+            persistStateIfDirty(userId, state);
+            return FishingResult.of("You need at least 5 credits to go fishing!");
+        }
+
+        // Determine success or failure
+        double roll = secureRandomService.getSecureDouble();
+        double multiplier = rodMultiplier(rod) + bonuses.totalMultiplierIncrease;
+        double effectiveRareFishChance = RARE_FISH_CHANCE + (bonuses.totalRarityChanceIncrease / 100.0);
+
+        FishingResult result;
+        if (roll <= effectiveRareFishChance) {
+            result = landCatch(userId, state, settings, rod, rodDurability, parts, partDurabilities, bonuses, multiplier, true);
+        } else if (roll <= SUCCESS_CHANCE) {
+            result = landCatch(userId, state, settings, rod, rodDurability, parts, partDurabilities, bonuses, multiplier, false);
+        } else {
+            result = handleFailure(userId, state, bonuses);
+        }
+
+        persistStateIfDirty(userId, state);
+        return result;
+    }
+
+    /**
+     * Drop remembered cooldowns that have run out.
+     */
+    @Scheduled(fixedDelay = 600000)
+    public void evictExpiredCooldowns() {
+        LocalDateTime now = LocalDateTime.now();
+        activeCooldowns.values().removeIf(cooldown -> !now.isBefore(cooldown.until()));
+    }
+
+    private FishingResult landCatch(String userId, FishingState state, DiscordBotSettingsService.FishingSettings settings,
+                                    ItemInstance rod, Integer rodDurability, List<ItemInstance> parts,
+                                    Map<UUID, Integer> partDurabilities, PartBonuses bonuses, double multiplier, boolean rare) {
+        StringBuilder message = new StringBuilder();
+        List<String> brokenParts = new ArrayList<>();
+        String warningMessage = null;
+
+        String fishEmoji;
+        int baseCreditChange;
+        if (rare) {
+            fishEmoji = RARE_CATCHES.get(secureRandomService.getSecureInt(RARE_CATCHES.size()));
+            baseCreditChange = 50 + secureRandomService.getSecureInt(21); // 50-70 range for rare catches
+        } else {
+            fishEmoji = REGULAR_FISH.get(secureRandomService.getSecureInt(REGULAR_FISH.size()));
+            baseCreditChange = secureRandomService.getSecureInt(20) + 1;
+        }
+
+        int finalCreditChange = (int) Math.round(baseCreditChange * multiplier);
+        if (multiplier > 1.0) {
+            logger.info("Applied {}x fishing rod multiplier for user {}. Original credits: {}, New credits: {}", multiplier, userId, baseCreditChange, finalCreditChange);
+        }
+
+        message.append("🎣 ");
+        if (multiplier > 1.0) {
+            DecimalFormat df = new DecimalFormat("0.#");
+            message.append("**").append(df.format(multiplier)).append("x** | ");
+        } else {
+            message.append("| ");
+        }
+        if (rare) {
+            message.append("**WOW!** You caught a rare ").append(fishEmoji);
+        } else {
+            message.append("You caught ").append(fishEmoji);
+        }
+        message.append("! +").append(finalCreditChange).append(" 🪙");
+
+        // Bonus Loot Chance
+        int bonusCredits = 0;
+        if (bonuses.totalBonusLootChance > 0 && secureRandomService.getSecureDouble() <= (bonuses.totalBonusLootChance / 100.0)) {
+            bonusCredits = 5 + secureRandomService.getSecureInt(11); // 5-15 bonus credits
+            message.append(" Your reel snagged some extra loot! +").append(bonusCredits).append(" 🪙");
+        }
+
+        // Catch and bonus are credited in a single atomic update
+        userService.updateCreditsAtomic(userId, finalCreditChange + bonusCredits, CreditSource.FISHING);
+        state.credits += finalCreditChange + bonusCredits;
+
+        // Durability and XP Logic
+        if (rod != null && rodDurability != null && rodDurability > 0) {
+            List<UUID> wornIds = new ArrayList<>();
+            wornIds.add(rod.getId());
+            for (ItemInstance part : parts) {
+                Integer partDurability = partDurabilities.get(part.getId());
+                if (partDurability != null && partDurability > 0) {
+                    wornIds.add(part.getId());
+                    if (partDurability == 1) {
+                        brokenParts.add(part.getBaseItem().getName());
+                    }
+                }
+            }
+            itemInstanceRepository.decrementDurability(wornIds);
+
+            // XP Gain Logic (25% chance)
+            if (secureRandomService.getSecureDouble() <= ROD_XP_CHANCE) {
+                long xpGained = secureRandomService.getSecureInt(5) + 1; // 1-5 XP
+                applyRodXp(rod, xpGained, userId);
+                message.append(" +").append(xpGained).append(" XP");
+            }
+
+            if (rodDurability - 1 <= 0) {
+                userRepository.unequipFishingRod(userId, rod.getId());
+                eventPublisher.publishEvent(new UserChanged(userId));
+                message.append("\n\n**Oh no!** Your fishing rod broke and has been unequipped. You'll need to repair it.");
+                logger.info("Fishing rod instance {} broke for user {}", rod.getId(), userId);
+            }
+        }
+
+        // Update non-credit user stats
+        int oldFishSinceLimit = state.fishCaughtSinceLimit;
+        state.fishCaughtCount++;
+        state.fishCaughtSinceLimit++;
+        state.dirty = true;
+        int newFishSinceLimit = state.fishCaughtSinceLimit;
+
+        // Check if user has reached the fishing limit
+        int maxCatches = state.currentFishingLimit;
+        int cooldownHours = settings.getCooldownHours();
+
+        if (newFishSinceLimit >= maxCatches && state.cooldownUntil == null) {
+            state.cooldownUntil = LocalDateTime.now().plusHours(cooldownHours);
+            rememberCooldownAfterCommit(userId, new FishingCooldown(state.cooldownUntil, newFishSinceLimit, maxCatches));
+            logger.info("Set fishing limit cooldown for user {} until {}", userId, state.cooldownUntil);
+
+            // Improved grammar for the cooldown message
+            String hourText = cooldownHours == 1 ? "hour" : "hours";
+            message.append(String.format("\n\n🎯 **Fishing Limit Reached!** You've caught %d/%d fish and must wait **%d %s** before fishing again.",
+                newFishSinceLimit, maxCatches, cooldownHours, hourText));
+            logger.info("User {} reached fishing limit of {} catches. Cooldown set for {} hours.", userId, maxCatches, cooldownHours);
+        } else {
+            int warningMark = (int) (maxCatches * settings.getLimitWarningThreshold());
+            if (oldFishSinceLimit < warningMark && newFishSinceLimit >= warningMark) {
+                // Prepare a warning to be sent as a followup message
+                warningMessage = String.format("You are approaching the fishing limit! **%d/%d**", newFishSinceLimit, maxCatches);
+            }
+        }
+
+        CreateAuditDTO auditEntry = CreateAuditDTO.builder()
+            .userId(userId)
+            .action(rare ? "FISHING_RARE_CATCH" : "FISHING_CATCH")
+            .entityType("USER_CREDITS")
+            .entityId(userId)
+            .description(String.format(rare ? "Caught rare fish %s and earned %d credits" : "Caught fish %s and earned %d credits",
+                fishEmoji, finalCreditChange))
+            .severity(AuditSeverity.INFO)
+            .category(AuditCategory.FINANCIAL)
+            .details(String.format("{\"game\":\"fishing\",\"catchType\":\"%s\",\"fish\":\"%s\",\"won\":%d,\"newBalance\":%d,\"fishCaughtCount\":%d,\"multiplier\":%.2f}",
+                rare ? "rare" : "regular", fishEmoji, finalCreditChange, state.credits, state.fishCaughtCount, multiplier))
+            .source("DISCORD_BOT")
+            .build();
+        createAuditEntry(auditEntry);
+
+        logger.debug("User {} fished successfully: +{} credits. New balance: {}", userId, finalCreditChange, state.credits);
+        return new FishingResult(message.toString(), warningMessage, brokenParts);
+    }
+
+    private FishingResult handleFailure(String userId, FishingState state, PartBonuses bonuses) {
+        double negationRoll = secureRandomService.getSecureDouble();
+        if (bonuses.totalNegationChance > 0 && negationRoll <= (bonuses.totalNegationChance / 100.0)) {
+            CreateAuditDTO auditEntry = CreateAuditDTO.builder()
+                .userId(userId)
+                .action("FISHING_FAILURE_NEGATED")
+                .entityType("USER_CREDITS")
+                .entityId(userId)
+                .description("Fishing failure was negated by equipped gear.")
+                .severity(AuditSeverity.INFO)
+                .category(AuditCategory.SYSTEM)
+                .details(String.format("{\"game\":\"fishing\",\"catchType\":\"negated_failure\",\"negationChance\":%.2f}", bonuses.totalNegationChance))
+                .source("DISCORD_BOT")
+                .build();
+            createAuditEntry(auditEntry);
+            logger.debug("User {}'s fishing failure was negated.", userId);
+            return FishingResult.of("🎣 | A crab tried to snip you, but your grip helped you get away safely!");
+        }
+
+        // 20% chance: failure - lose 1-50 credits, never below 0
+        int creditChange = Math.min(secureRandomService.getSecureInt(50) + 1, state.credits);
+        if (creditChange <= 0) {
+            // Special message for users with 0 credits
+            return FishingResult.of("🎣 | You got caught 🦀 but it had mercy on you since you have no credits!");
+        }
+
+        userService.updateCreditsAtomic(userId, -creditChange, CreditSource.FISHING);
+        state.credits -= creditChange;
+
+        CreateAuditDTO auditEntry = CreateAuditDTO.builder()
+            .userId(userId)
+            .action("FISHING_FAILURE")
+            .entityType("USER_CREDITS")
+            .entityId(userId)
+            .description(String.format("Got caught by crab and lost %d credits", creditChange))
+            .severity(AuditSeverity.INFO)
+            .category(AuditCategory.FINANCIAL)
+            .details(String.format("{\"game\":\"fishing\",\"catchType\":\"failure\",\"lost\":%d,\"newBalance\":%d}",
+                creditChange, state.credits))
+            .source("DISCORD_BOT")
+            .build();
+        createAuditEntry(auditEntry);
+
+        logger.debug("User {} failed fishing: -{} credits. New balance: {}", userId, creditChange, state.credits);
+        return FishingResult.of("🎣 | You got caught 🦀 and it snipped you! -" + creditChange + " 🪙");
+    }
+
+    /**
+     * Silent penalty: atomically deduct credits from a user attempting to fish on cooldown.
+     */
+    private FishingResult applyCooldownPenalty(String userId, DiscordBotSettingsService.FishingSettings settings, FishingCooldown cooldown) {
+        long remainingMinutes = Math.max(0, ChronoUnit.MINUTES.between(LocalDateTime.now(), cooldown.until()));
+        int penaltyCredits = settings.getPenaltyCredits();
+
+        if (penaltyCredits > 0 && userService.deductCreditsIfSufficient(userId, penaltyCredits, CreditSource.FISHING).isPresent()) {
+            CreateAuditDTO auditEntry = CreateAuditDTO.builder()
+                .userId(userId)
+                .action("FISHING_LIMIT_PENALTY")
+                .entityType("USER_CREDITS")
+                .entityId(userId)
+                .description("Silent credit penalty applied for fishing during cooldown")
+                .severity(AuditSeverity.WARNING)
+                .category(AuditCategory.FINANCIAL)
+                .details(String.format("{\"penalty\":%d,\"cooldownMinutes\":%d}", penaltyCredits, remainingMinutes))
+                .source("DISCORD_BOT")
+                .build();
+            createAuditEntry(auditEntry);
+            logger.info("Applied silent penalty of {} credits to user {} for fishing on cooldown", penaltyCredits, userId);
+        }
+
+        long hoursRemaining = remainingMinutes / 60;
+        long minutesRemaining = remainingMinutes % 60;
+        String timeMessage = hoursRemaining > 0
+            ? String.format("%d hours and %d minutes", hoursRemaining, minutesRemaining)
+            : String.format("%d minutes", minutesRemaining);
+
+        logger.info("User {} attempted to fish while on limit cooldown. Remaining: {} minutes", userId, remainingMinutes);
+        return FishingResult.of(String.format("🎣 | **Fishing Limit Reached!** You've caught %d/%d fish and must wait **%s** before fishing again.",
+            cooldown.catches(), cooldown.limit(), timeMessage));
+    }
+
+    /**
+     * Validate the user's limit session, starting a new one where needed.
+     *
+     * @return the active cooldown, or null if the user may fish
+     */
+    private FishingCooldown checkFishingLimit(String userId, FishingState state, DiscordBotSettingsService.FishingSettings settings) {
+        int min = settings.getMinCatches();
+        int max = settings.getMaxCatches();
+        Integer currentFishingLimit = state.currentFishingLimit;
+
+        // A user's limit is invalid if it's null or falls outside the admin-configured range.
+        if (currentFishingLimit == null || currentFishingLimit < min || currentFishingLimit > max) {
+            int newLimit;
+            if (min > 0 && max >= min) {
+                newLimit = secureRandomService.getSecureInt(max - min + 1) + min;
+                logger.info("User {} limit was invalid or null. Assigned new random limit: {}.", userId, newLimit);
+            } else {
+                newLimit = settings.getDefaultMaxCatches();
+                logger.warn("Invalid min/max fishing settings (min: {}, max: {}). Assigning fallback limit {} to user {}.", min, max, newLimit, userId);
+            }
+            startNewSession(state, newLimit);
+            return null;
+        }
+
+        // Below the limit, or a legacy user over the limit without a cooldown: allowed to fish
+        if (state.fishCaughtSinceLimit < currentFishingLimit || state.cooldownUntil == null) {
+            return null;
+        }
+
+        if (LocalDateTime.now().isBefore(state.cooldownUntil)) {
+            return new FishingCooldown(state.cooldownUntil, state.fishCaughtSinceLimit, currentFishingLimit);
+        }
+
+        // Cooldown has expired: start a new session with a fresh random limit
+        int newLimit = secureRandomService.getSecureInt(max - min + 1) + min;
+        startNewSession(state, newLimit);
+        logger.info("Fishing cooldown expired for user {}. Resetting cooldown and fish-since-limit count. New limit: {}", userId, newLimit);
+        return null;
+    }
+
+    private static void startNewSession(FishingState state, int newLimit) {
+        state.currentFishingLimit = newLimit;
+        state.fishCaughtSinceLimit = 0;
+        state.cooldownUntil = null;
+        state.dirty = true;
+    }
+
+    private FishingState lockFishingState(String userId) {
+        List<Object[]> rows = userRepository.findFishingStateForUpdate(userId);
+        if (rows.isEmpty()) {
+            throw new IllegalStateException("User " + userId + " not found");
+        }
+        Object[] row = rows.get(0);
+        FishingState state = new FishingState();
+        state.credits = row[0] == null ? 0 : ((Number) row[0]).intValue();
+        state.fishCaughtCount = row[1] == null ? 0 : ((Number) row[1]).intValue();
+        state.fishCaughtSinceLimit = row[2] == null ? 0 : ((Number) row[2]).intValue();
+        state.currentFishingLimit = row[3] == null ? null : ((Number) row[3]).intValue();
+        state.cooldownUntil = row[4] instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) row[4];
+        state.equippedRodInstanceId = (UUID) row[5];
+        return state;
+    }
+
+    private void persistStateIfDirty(String userId, FishingState state) {
+        if (state.dirty) {
+            userRepository.updateFishingState(userId, state.fishCaughtCount, state.fishCaughtSinceLimit,
+                state.currentFishingLimit, state.cooldownUntil);
+            eventPublisher.publishEvent(new UserChanged(userId));
+            state.dirty = false;
+        }
+    }
+
+    /**
+     * Lock the rod and its currently equipped parts in one id-ordered statement, the same
+     * order trades use, so the two can never deadlock.
+     */
+    private Map<UUID, ItemInstance> lockRodAndParts(UUID rodInstanceId) {
+        Set<UUID> ids = new LinkedHashSet<>();
+        ids.add(rodInstanceId);
+        for (Object[] row : itemInstanceRepository.findEquippedPartIdsOfRod(rodInstanceId)) {
+            for (Object partId : row) {
+                if (partId != null) {
+                    ids.add((UUID) partId);
+                }
+            }
+        }
+
+        Map<UUID, ItemInstance> locked = new HashMap<>();
+        for (ItemInstance instance : itemInstanceRepository.findAllByIdInWithLockOrdered(ids)) {
+            locked.put(instance.getId(), instance);
+        }
+
+        // A part equipped between the unlocked read and the lock is locked separately
+        ItemInstance rod = locked.get(rodInstanceId);
+        if (rod != null) {
+            Set<UUID> missing = new LinkedHashSet<>();
+            for (ItemInstance part : partReferences(rod)) {
+                if (!locked.containsKey(part.getId())) {
+                    missing.add(part.getId());
+                }
+            }
+            if (!missing.isEmpty()) {
+                for (ItemInstance instance : itemInstanceRepository.findAllByIdInWithLockOrdered(missing)) {
+                    locked.put(instance.getId(), instance);
+                }
+            }
+        }
+        return locked;
+    }
+
+    private static List<ItemInstance> partReferences(ItemInstance rod) {
+        List<ItemInstance> references = new ArrayList<>(5);
+        for (ItemInstance part : Arrays.asList(rod.getEquippedRodShaft(), rod.getEquippedReel(), rod.getEquippedHook(),
+                rod.getEquippedFishingLine(), rod.getEquippedGrip())) {
+            if (part != null) {
+                references.add(part);
+            }
+        }
+        return references;
+    }
+
+    private static List<ItemInstance> equippedParts(ItemInstance rod, Map<UUID, ItemInstance> locked) {
+        List<ItemInstance> parts = new ArrayList<>(5);
+        for (ItemInstance reference : partReferences(rod)) {
+            ItemInstance part = locked.get(reference.getId());
+            if (part != null) {
+                parts.add(part);
+            }
+        }
+        return parts;
+    }
+
+    /**
+     * @return the instance's effective durability, backfilling it for legacy instances
+     */
+    private Integer initializeLegacyDurability(ItemInstance instance, String userId) {
+        if (instance.getDurability() != null) {
+            return instance.getDurability();
+        }
+        Integer maxDurability = instance.getBaseItem().getMaxDurability();
+        if (maxDurability == null) {
+            return null;
+        }
+        itemInstanceRepository.initializeDurability(instance.getId(), maxDurability);
+        logger.info("Initialized durability for legacy instance {} for user {}", instance.getId(), userId);
+        return maxDurability;
+    }
+
+    private static PartBonuses getPartBonuses(List<ItemInstance> parts, Map<UUID, Integer> partDurabilities) {
+        PartBonuses bonuses = new PartBonuses();
+        for (ItemInstance partInstance : parts) {
+            Integer durability = partDurabilities.get(partInstance.getId());
+            if (durability == null || durability <= 0) {
+                continue;
+            }
+            Shop part = partInstance.getBaseItem();
+            if (part.getBonusLootChance() != null) {
+                bonuses.totalBonusLootChance += part.getBonusLootChance();
+            }
+            if (part.getRarityChanceIncrease() != null) {
+                bonuses.totalRarityChanceIncrease += part.getRarityChanceIncrease();
+            }
+            if (part.getMultiplierIncrease() != null) {
+                bonuses.totalMultiplierIncrease += part.getMultiplierIncrease();
+            }
+            if (part.getNegationChance() != null) {
+                bonuses.totalNegationChance += part.getNegationChance();
+            }
+        }
+        return bonuses;
+    }
+
+    private static double rodMultiplier(ItemInstance rod) {
+        if (rod != null) {
+            Double rodMultiplier = rod.getBaseItem().getFishingRodMultiplier();
+            if (rodMultiplier != null && rodMultiplier > 1.0) {
+                return rodMultiplier;
+            }
+        }
+        return 1.0;
+    }
+
+    /**
+     * Add XP to the rod and apply any level-ups, mirroring {@code UserInventoryService.handleRodLevelUp}.
+     */
+    private void applyRodXp(ItemInstance rod, long xpGained, String userId) {
+        int level = rod.getLevel() == null ? 1 : rod.getLevel();
+        long experience = (rod.getExperience() == null ? 0L : rod.getExperience()) + xpGained;
+
+        if (level < LevelingUtil.MAX_ROD_LEVEL) {
+            long xpForNextLevel = LevelingUtil.calculateXpForRodLevel(level);
+            while (experience >= xpForNextLevel && level < LevelingUtil.MAX_ROD_LEVEL) {
+                level++;
+                experience -= xpForNextLevel;
+                logger.info("Fishing rod instance {} leveled up to {} for user {}. Remaining XP: {}", rod.getId(), level, userId, experience);
+                xpForNextLevel = LevelingUtil.calculateXpForRodLevel(level);
+            }
+        }
+        itemInstanceRepository.updateRodProgress(rod.getId(), experience, level);
+    }
+
+    private void rememberCooldownAfterCommit(String userId, FishingCooldown cooldown) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    activeCooldowns.put(userId, cooldown);
+                }
+            });
+        } else {
+            activeCooldowns.put(userId, cooldown);
+        }
+    }
+
+    private void createAuditEntry(CreateAuditDTO auditEntry) {
+        try {
+            auditService.createSystemAuditEntry(auditEntry);
+        } catch (Exception e) {
+            logger.error("Failed to create audit entry for action {}: {}", auditEntry.getAction(), e.getMessage());
+        }
+    }
+}
@@ -1,12 +1,13 @@
 package com.app.heartbound.services.discord;
 
 import com.app.heartbound.entities.User;
+import com.app.heartbound.events.DomainEvent.UserChanged;
 import com.app.heartbound.services.UserService;
 import com.app.heartbound.services.AuditService;
 import com.app.heartbound.dto.CreateAuditDTO;
 import com.app.heartbound.enums.AuditSeverity;
 import com.app.heartbound.enums.AuditCategory;
-import com.app.heartbound.config.CacheConfig;
+import com.app.heartbound.enums.CreditSource;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
 import net.dv8tion.jda.api.hooks.ListenerAdapter;
@@ -14,6 +15,7 @@ import net.dv8tion.jda.api.interactions.commands.OptionMapping;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,6 +25,7 @@ import java.time.temporal.ChronoUnit;
 import java.util.concurrent.ConcurrentHashMap;
 
 @Component
+@InteractionRoute(commands = "give")
 public class GiveCommandListener extends ListenerAdapter {
     
     private static final Logger logger = LoggerFactory.getLogger(GiveCommandListener.class);
@@ -32,16 +35,16 @@ public class GiveCommandListener extends ListenerAdapter {
     private final ConcurrentHashMap<String, Instant> userCooldowns = new ConcurrentHashMap<>();
     
     private final UserService userService;
-    private final CacheConfig cacheConfig;
+    private final ApplicationEventPublisher eventPublisher;
     private final AuditService auditService;
     private final TermsOfServiceService termsOfServiceService;
     
     @Value("${discord.main.guild.id}")
     private String mainGuildId;
 
-    public GiveCommandListener(UserService userService, CacheConfig cacheConfig, AuditService auditService, TermsOfServiceService termsOfServiceService) {
+    public GiveCommandListener(UserService userService, ApplicationEventPublisher eventPublisher, AuditService auditService, TermsOfServiceService termsOfServiceService) {
         this.userService = userService;
-        this.cacheConfig = cacheConfig;
+        this.eventPublisher = eventPublisher;
         this.auditService = auditService;
         this.termsOfServiceService = termsOfServiceService;
         logger.info("GiveCommandListener initialized with audit service and Terms of Service service");
@@ -149,8 +152,8 @@ public class GiveCommandListener extends ListenerAdapter {
             int newRecipientCredits = (currentRecipientCredits != null ? currentRecipientCredits : 0) + amount;
             
             // Atomically update both users' credits
-            boolean giverSuccess = userService.updateCreditsAtomic(giverUserId, -amount);
-            boolean recipientSuccess = userService.updateCreditsAtomic(targetUserId, amount);
+            boolean giverSuccess = userService.updateCreditsAtomic(giverUserId, -amount, CreditSource.GIVE).isPresent();
+            boolean recipientSuccess = userService.updateCreditsAtomic(targetUserId, amount, CreditSource.GIVE).isPresent();
 
             if (!giverSuccess || !recipientSuccess) {
                 logger.error("Critical error during credit transfer from {} to {}. Giver success: {}, Recipient success: {}. Manual intervention may be required.",
@@ -200,8 +203,8 @@ public class GiveCommandListener extends ListenerAdapter {
             }
             
             // Invalidate both users' profile caches to ensure fresh data
-            cacheConfig.invalidateUserProfileCache(giverUserId);
-            cacheConfig.invalidateUserProfileCache(targetUserId);
+            eventPublisher.publishEvent(new UserChanged(giverUserId));
+            eventPublisher.publishEvent(new UserChanged(targetUserId));
             
             // Update cooldown timestamp for successful command
             userCooldowns.put(giverUserId, now);
@@ -57,6 +57,7 @@ import java.util.stream.Collectors;
  * - Security validation (admin permissions, ownership checks)
  */
 @Component
+@InteractionRoute(commands = {"gcreate", "gdelete"}, componentPrefixes = "giveaway-enter:", modalPrefixes = "giveaway-create-modal")
 public class GiveawayCommandListener extends ListenerAdapter {
 
     private static final Logger logger = LoggerFactory.getLogger(GiveawayCommandListener.class);
@@ -253,9 +254,9 @@ public class GiveawayCommandListener extends ListenerAdapter {
             
             if (entry.getCreditsPaid() > 0) {
                 // Get user's current credits after deduction
-                var updatedUser = userService.getUserById(userId);
+                var updatedUser = userService.getUserHotState(userId);
                 if (updatedUser != null) {
-                                         entryMessage += String.format("\nYou now have **🪙 %d credits.**", updatedUser.getCredits());
+                                         entryMessage += String.format("\nYou now have **🪙 %d credits.**", updatedUser.credits());
                 }
             }
 
@@ -4,6 +4,7 @@ import com.app.heartbound.entities.DiscordBotSettings;
 import com.app.heartbound.entities.User;
 import com.app.heartbound.services.UserInventoryService;
 import com.app.heartbound.services.UserService;
+import com.app.heartbound.enums.CreditSource;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.dv8tion.jda.api.EmbedBuilder;
@@ -18,6 +19,7 @@ import java.util.UUID;
 @Component
 @RequiredArgsConstructor
 @Slf4j
+@EventOrdering(key = EventOrdering.Key.CHANNEL)
 public class GrabCommandListener extends ListenerAdapter {
 
     private final DropStateService dropStateService;
@@ -81,7 +83,7 @@ public class GrabCommandListener extends ListenerAdapter {
 
     private void handleCreditDrop(MessageReceivedEvent event, User user, DropStateService.ActiveDrop activeDrop) {
         int amount = (Integer) activeDrop.getValue();
-        boolean success = userService.updateCreditsAtomic(user.getId(), amount);
+        boolean success = userService.updateCreditsAtomic(user.getId(), amount, CreditSource.GRAB).isPresent();
 
         if (!success) {
             event.getMessage().reply("An error occurred while adding credits to your account.").queue();
@@ -16,15 +16,18 @@ public class GuildEventListener extends ListenerAdapter {
     private static final Logger logger = LoggerFactory.getLogger(GuildEventListener.class);
 
     private final UserService userService;
+    private final DiscordBanIndexService discordBanIndexService;
 
-    public GuildEventListener(UserService userService) {
+    public GuildEventListener(UserService userService, DiscordBanIndexService discordBanIndexService) {
         this.userService = userService;
+        this.discordBanIndexService = discordBanIndexService;
     }
 
     @Override
     public void onGuildBan(@Nonnull GuildBanEvent event) {
         String userId = event.getUser().getId();
         logger.info("User {} was banned from the Discord server. Syncing ban status.", userId);
+        discordBanIndexService.recordBan(userId);
         try {
             if (userService.userExists(userId)) {
                 userService.banUser(userId);
@@ -40,6 +43,7 @@ public class GuildEventListener extends ListenerAdapter {
     public void onGuildUnban(@Nonnull GuildUnbanEvent event) {
         String userId = event.getUser().getId();
         logger.info("User {} was unbanned from the Discord server. Syncing ban status.", userId);
+        discordBanIndexService.recordUnban(userId);
         try {
             if (userService.userExists(userId)) {
                 userService.unbanUser(userId);
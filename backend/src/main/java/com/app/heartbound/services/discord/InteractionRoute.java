@@ -0,0 +1,39 @@
+package com.app.heartbound.services.discord;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares which interactions a listener owns so that {@link DiscordInteractionRouter} can
+ * deliver each interaction to exactly one listener instead of fanning it out to all of them.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface InteractionRoute {
+
+    /**
+     * Slash command names (also used for their autocomplete interactions)
+     */
+    String[] commands() default {};
+
+    /**
+     * Component id prefixes for buttons and select menus; the longest matching prefix wins
+     */
+    String[] componentPrefixes() default {};
+
+    /**
+     * Modal id prefixes; the longest matching prefix wins
+     */
+    String[] modalPrefixes() default {};
+
+    /**
+     * Let the router defer slash command replies once the command's p99 latency approaches
+     * Discord's 3 second acknowledgement window. Only enable this for handlers that check
+     * {@code isAcknowledged()} before acknowledging themselves.
+     */
+    boolean autoDefer() default false;
+}
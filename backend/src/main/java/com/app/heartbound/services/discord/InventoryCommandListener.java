@@ -27,6 +27,7 @@ import java.util.Map;
 import java.util.HashMap;
 
 @Component
+@InteractionRoute(commands = "inventory", componentPrefixes = "inventory_")
 public class InventoryCommandListener extends ListenerAdapter {
 
     private static final Logger logger = LoggerFactory.getLogger(InventoryCommandListener.class);
@@ -27,6 +27,7 @@ import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 @Component
+@InteractionRoute(commands = "leaderboard", componentPrefixes = "leaderboard_", autoDefer = true)
 public class LeaderboardCommandListener extends ListenerAdapter {
     
     private static final Logger logger = LoggerFactory.getLogger(LeaderboardCommandListener.class);
@@ -113,8 +114,10 @@ public class LeaderboardCommandListener extends ListenerAdapter {
         // Get the guild for Discord display name resolution
         Guild guild = event.getGuild();
         
-        // Acknowledge the interaction quickly to prevent timeout
-        event.deferReply().queue();
+        // Acknowledge the interaction quickly to prevent timeout, unless the router already deferred it
+        if (!event.isAcknowledged()) {
+            event.deferReply().queue();
+        }
         
         try {
             // Fetch the full leaderboard from UserService
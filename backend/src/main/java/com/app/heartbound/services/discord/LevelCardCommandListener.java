@@ -27,6 +27,7 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 @Service
+@InteractionRoute(commands = "me")
 public class LevelCardCommandListener extends ListenerAdapter {
     
     private static final Logger logger = LoggerFactory.getLogger(LevelCardCommandListener.class);
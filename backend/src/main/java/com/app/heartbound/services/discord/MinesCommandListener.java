@@ -1,8 +1,11 @@
 package com.app.heartbound.services.discord;
 
+import com.app.heartbound.config.MonitoredExecutors;
+import com.app.heartbound.dto.UserHotState;
 import com.app.heartbound.entities.User;
 import com.app.heartbound.services.UserService;
 import com.app.heartbound.services.SecureRandomService;
+import com.app.heartbound.enums.CreditSource;
 
 import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
@@ -24,7 +27,6 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -33,6 +35,7 @@ import java.util.concurrent.ScheduledFuture;
 
 @Service
 @RequiredArgsConstructor
+@InteractionRoute(commands = "mines", componentPrefixes = "mines_")
 public class MinesCommandListener extends ListenerAdapter {
 
     private static final Logger logger = LoggerFactory.getLogger(MinesCommandListener.class);
@@ -41,7 +44,7 @@ public class MinesCommandListener extends ListenerAdapter {
     private static final Color LOSE_COLOR = new Color(220, 53, 69);
     private static final Color TIMEOUT_COLOR = Color.ORANGE;
     private final Map<String, MinesGame> activeGames = new ConcurrentHashMap<>();
-    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
+    private final ScheduledExecutorService scheduler = MonitoredExecutors.newScheduledThreadPool("mines-timers", 1);
 
     private final UserService userService;
     private final SecureRandomService secureRandomService;
@@ -102,15 +105,15 @@ public class MinesCommandListener extends ListenerAdapter {
         }
 
         // Atomically check for and deduct credits. This also implicitly checks if the user exists.
-        boolean sufficientCredits = userService.deductCreditsIfSufficient(userId, bet);
+        boolean sufficientCredits = userService.deductCreditsIfSufficient(userId, bet, CreditSource.MINES).isPresent();
 
         if (!sufficientCredits) {
             // Since deduction failed, we fetch the user to give a more specific error message.
-            User userForBalance = userService.getUserById(userId);
+            UserHotState userForBalance = userService.getUserHotState(userId);
             if (userForBalance == null) {
                 event.reply("You must be registered with the bot to use this command. Please log in to the web application first.").setEphemeral(true).queue();
             } else {
-                int currentCredits = userForBalance.getCredits() != null ? userForBalance.getCredits() : 0;
+                int currentCredits = userForBalance.credits();
                 event.reply(String.format("You do not have enough credits to place this bet. You tried to bet **🪙 %d** but only have **🪙 %d** credits.", bet, currentCredits))
                      .setEphemeral(true).queue();
             }
@@ -232,11 +235,7 @@ public class MinesCommandListener extends ListenerAdapter {
             int profit = totalPayout - game.getBetAmount();
 
             // Atomically increment credits for the payout.
-            userService.updateCreditsAtomic(game.getUserId(), totalPayout);
-
-            // Re-fetch the user to get the updated balance for the embed.
-            User user = userService.getUserById(game.getUserId());
-            int newBalance = user != null && user.getCredits() != null ? user.getCredits() : 0;
+            int newBalance = userService.updateCreditsAtomic(game.getUserId(), totalPayout, CreditSource.MINES).orElse(0);
 
             EmbedBuilder embed = new EmbedBuilder()
                     .setTitle("🎉 You Won!")
@@ -260,8 +259,8 @@ public class MinesCommandListener extends ListenerAdapter {
             }
             
             // Re-fetch user to display the correct balance after the initial bet was deducted.
-            User user = userService.getUserById(game.getUserId());
-            int newBalance = user != null && user.getCredits() != null ? user.getCredits() : 0;
+            UserHotState user = userService.getUserHotState(game.getUserId());
+            int newBalance = user != null ? user.credits() : 0;
 
             EmbedBuilder embed = new EmbedBuilder()
                     .setTitle("💔 You Lost!")
@@ -390,7 +389,7 @@ public class MinesCommandListener extends ListenerAdapter {
                 logger.info("Mines game for user {} timed out with no moves. Refunding bet.", userId);
                 
                 // Atomically refund the bet amount.
-                userService.updateCreditsAtomic(userId, game.getBetAmount());
+                userService.updateCreditsAtomic(userId, game.getBetAmount(), CreditSource.MINES);
 
                 EmbedBuilder embed = new EmbedBuilder()
                         .setTitle("⏳ Mines Timed Out")
@@ -407,11 +406,7 @@ public class MinesCommandListener extends ListenerAdapter {
                 int profit = totalPayout - game.getBetAmount();
 
                 // Atomically process the cashout.
-                userService.updateCreditsAtomic(userId, totalPayout);
-
-                // Re-fetch the user to get the updated balance for the embed.
-                User user = userService.getUserById(userId);
-                int newBalance = user != null && user.getCredits() != null ? user.getCredits() : 0;
+                int newBalance = userService.updateCreditsAtomic(userId, totalPayout, CreditSource.MINES).orElse(0);
 
                 EmbedBuilder embed = new EmbedBuilder()
                         .setTitle("🎉 Auto Cashed Out!")
@@ -58,6 +58,7 @@ import net.dv8tion.jda.api.interactions.commands.OptionMapping;
  * - Button interaction restrictions to command executor only
  */
 @Component
+@InteractionRoute(commands = "open", componentPrefixes = "open_")
 public class OpenCaseCommandListener extends ListenerAdapter {
     
     private static final Logger logger = LoggerFactory.getLogger(OpenCaseCommandListener.class);
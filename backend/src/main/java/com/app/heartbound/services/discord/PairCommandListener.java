@@ -24,6 +24,7 @@ import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 @Slf4j
+@InteractionRoute(commands = "pair", componentPrefixes = "pair_")
 public class PairCommandListener extends ListenerAdapter {
 
     private static final Color WARNING_COLOR = new Color(255, 193, 7); // Bootstrap warning yellow
@@ -1,5 +1,6 @@
 package com.app.heartbound.services.discord;
 
+import com.app.heartbound.config.MonitoredExecutors;
 import com.app.heartbound.entities.DiscordBotSettings;
 import com.app.heartbound.entities.Shop;
 import com.app.heartbound.enums.ShopCategory;
@@ -15,7 +16,6 @@ import org.springframework.stereotype.Service;
 import java.awt.Color;
 import java.util.List;
 import java.util.Random;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
@@ -32,7 +32,7 @@ public class PartDropSchedulerService {
     private final JDA jda;
     private final Random random = new Random();
     private final ReentrantLock partDropLock = new ReentrantLock();
-    private final ScheduledExecutorService expirationScheduler = Executors.newSingleThreadScheduledExecutor();
+    private final ScheduledExecutorService expirationScheduler = MonitoredExecutors.newScheduledThreadPool("part-drop-expiration", 1);
 
     @Scheduled(fixedRate = 60000) // Runs every minute
     public void scheduledPartDrop() {
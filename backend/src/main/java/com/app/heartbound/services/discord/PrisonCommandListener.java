@@ -44,6 +44,7 @@ import java.util.Objects;
  * - Notifies the user via DM with an embed containing the reason and duration.
  */
 @Service
+@InteractionRoute(commands = "prison")
 public class PrisonCommandListener extends ListenerAdapter {
     
     private static final Logger logger = LoggerFactory.getLogger(PrisonCommandListener.class);
@@ -251,6 +252,7 @@ public class PrisonCommandListener extends ListenerAdapter {
                     } else {
                         pendingPrisonService.releaseUser(userId);
                     }
+                    prisonReleaseService.cancelRelease(userId);
                     event.getHook().editOriginal("Failed to modify user roles: " + error.getMessage()).queue();
                 }
             );
@@ -409,6 +411,7 @@ public class PrisonCommandListener extends ListenerAdapter {
                         prisonService.releaseUser(userId);
                         logger.debug("Cleared main prison record for user {}", userId);
                     }
+                    prisonReleaseService.cancelRelease(userId);
 
                     if (finalMessage.length() > 0) {
                         event.getHook().editOriginal(finalMessage.toString()).queue();
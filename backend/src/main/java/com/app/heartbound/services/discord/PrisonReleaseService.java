@@ -4,7 +4,6 @@ import com.app.heartbound.entities.User;
 import com.app.heartbound.repositories.UserRepository;
 import com.app.heartbound.services.PrisonService;
 import jakarta.annotation.PostConstruct;
-import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.entities.Guild;
@@ -12,16 +11,13 @@ import net.dv8tion.jda.api.entities.Role;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
-import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import com.app.heartbound.repositories.PendingPrisonRepository;
 import com.app.heartbound.entities.PendingPrison;
 import com.app.heartbound.services.PendingPrisonService;
+import com.app.heartbound.services.scheduler.DeadlineSchedulerService;
 
 @Service
 @Slf4j
@@ -32,51 +28,27 @@ public class PrisonReleaseService {
     private final PrisonService prisonService;
     private final PendingPrisonService pendingPrisonService;
     private final JDA jda;
-    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final DeadlineSchedulerService deadlineSchedulerService;
 
     private static final String PRISON_ROLE_ID = "1387934212216328202";
+    static final String JOB_TYPE = "PRISON_RELEASE";
 
-    public PrisonReleaseService(UserRepository userRepository, PendingPrisonRepository pendingPrisonRepository, PrisonService prisonService, PendingPrisonService pendingPrisonService, @Lazy JDA jda) {
+    public PrisonReleaseService(UserRepository userRepository, PendingPrisonRepository pendingPrisonRepository, PrisonService prisonService, PendingPrisonService pendingPrisonService, @Lazy JDA jda, DeadlineSchedulerService deadlineSchedulerService) {
         this.userRepository = userRepository;
         this.pendingPrisonRepository = pendingPrisonRepository;
         this.prisonService = prisonService;
         this.pendingPrisonService = pendingPrisonService;
         this.jda = jda;
+        this.deadlineSchedulerService = deadlineSchedulerService;
     }
 
+    /**
+     * Releases are durable scheduled jobs keyed by user ID, so they survive restarts without
+     * loading every prisoned user on startup.
+     */
     @PostConstruct
-    public void reconcilePendingReleases() {
-        log.info("Reconciling pending prison releases on startup...");
-        LocalDateTime now = LocalDateTime.now();
-        int releaseCount = 0;
-
-        // Reconcile registered users
-        List<User> usersToRelease = userRepository.findByPrisonReleaseAtIsNotNull();
-        for (User user : usersToRelease) {
-            if (user.getPrisonReleaseAt().isBefore(now) || user.getPrisonReleaseAt().isEqual(now)) {
-                log.info("Found past-due release for registered user {}. Releasing immediately.", user.getId());
-                releaseUser(user.getId());
-            } else {
-                log.info("Found future release for registered user {}. Scheduling release.", user.getId());
-                scheduleRelease(user.getId(), user.getPrisonReleaseAt());
-            }
-            releaseCount++;
-        }
-
-        // Reconcile pending (unregistered) users
-        List<PendingPrison> pendingToRelease = pendingPrisonRepository.findByPrisonReleaseAtIsNotNull();
-        for (PendingPrison pending : pendingToRelease) {
-            if (pending.getPrisonReleaseAt().isBefore(now) || pending.getPrisonReleaseAt().isEqual(now)) {
-                log.info("Found past-due release for pending user {}. Releasing immediately.", pending.getDiscordUserId());
-                releaseUser(pending.getDiscordUserId());
-            } else {
-                log.info("Found future release for pending user {}. Scheduling release.", pending.getDiscordUserId());
-                scheduleRelease(pending.getDiscordUserId(), pending.getPrisonReleaseAt());
-            }
-            releaseCount++;
-        }
-
-        log.info("Finished reconciling {} total pending releases.", releaseCount);
+    public void registerReleaseHandler() {
+        deadlineSchedulerService.registerHandler(JOB_TYPE, (userId, payload) -> handleDueRelease(userId));
     }
 
     public void scheduleRelease(User user) {
@@ -91,15 +63,51 @@ public class PrisonReleaseService {
             return;
         }
 
-        long delay = Duration.between(LocalDateTime.now(), releaseAt).toMillis();
-        if (delay <= 0) {
-            releaseUser(userId);
-        } else {
-            scheduler.schedule(() -> releaseUser(userId), delay, TimeUnit.MILLISECONDS);
-            log.info("Scheduled release for user {} in {} ms.", userId, delay);
+        deadlineSchedulerService.schedule(JOB_TYPE, userId, releaseAt);
+        log.info("Scheduled release for user {} at {}.", userId, releaseAt);
+    }
+
+    /**
+     * Cancel a scheduled automatic release, e.g. after a manual release or a re-prison without duration.
+     */
+    public void cancelRelease(String userId) {
+        if (deadlineSchedulerService.cancel(JOB_TYPE, userId)) {
+            log.info("Cancelled scheduled release for user {}.", userId);
         }
     }
 
+    /**
+     * Runs when a release job comes due. The job may run more than once, so the stored
+     * release time is re-checked before touching roles.
+     */
+    private void handleDueRelease(String userId) {
+        LocalDateTime releaseAt = findReleaseAt(userId);
+        if (releaseAt == null) {
+            log.info("Skipping scheduled release for user {}: no longer prisoned with a release date.", userId);
+            return;
+        }
+        if (releaseAt.isAfter(LocalDateTime.now())) {
+            log.info("Release for user {} was moved to {}; rescheduling.", userId, releaseAt);
+            scheduleRelease(userId, releaseAt);
+            return;
+        }
+        if (jda.getGuilds().isEmpty()) {
+            // Retried by the scheduler once the bot has connected
+            throw new IllegalStateException("Discord guild not available yet");
+        }
+        releaseUser(userId);
+    }
+
+    private LocalDateTime findReleaseAt(String userId) {
+        User user = userRepository.findById(userId).orElse(null);
+        if (user != null && user.getPrisonReleaseAt() != null) {
+            return user.getPrisonReleaseAt();
+        }
+        return pendingPrisonRepository.findById(userId)
+                .map(PendingPrison::getPrisonReleaseAt)
+                .orElse(null);
+    }
+
     private void releaseUser(String userId) {
         log.info("Attempting to automatically release user {}", userId);
         try {
@@ -184,20 +192,4 @@ public class PrisonReleaseService {
                 .map(PendingPrison::getOriginalRoleIds)
                 .orElse(null);
     }
-
-    @PreDestroy
-    public void shutdown() {
-        log.info("Shutting down PrisonReleaseService scheduler.");
-        scheduler.shutdown();
-        try {
-            if (!scheduler.awaitTermination(5, TimeUnit.SECONDS)) {
-                scheduler.shutdownNow();
-                if (!scheduler.awaitTermination(5, TimeUnit.SECONDS))
-                    log.error("Scheduler did not terminate.");
-            }
-        } catch (InterruptedException ie) {
-            scheduler.shutdownNow();
-            Thread.currentThread().interrupt();
-        }
-    }
-} 
\ No newline at end of file
+}
@@ -25,6 +25,7 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 @Service
+@InteractionRoute(commands = "roles", componentPrefixes = {"roles:", "tos-role-agree:", "tos-role-disagree:"})
 public class RolesCommandListener extends ListenerAdapter {
 
     private static final Logger logger = LoggerFactory.getLogger(RolesCommandListener.class);
@@ -2,7 +2,7 @@ package com.app.heartbound.services.discord;
 
 import com.app.heartbound.entities.User;
 import com.app.heartbound.services.UserService;
-import com.app.heartbound.config.CacheConfig;
+import com.app.heartbound.enums.CreditSource;
 import net.dv8tion.jda.api.EmbedBuilder;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.Member;
@@ -25,6 +25,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 @Component
+@InteractionRoute(commands = "rps", componentPrefixes = "rps_")
 public class RpsCommandListener extends ListenerAdapter {
     
     private static final Logger logger = LoggerFactory.getLogger(RpsCommandListener.class);
@@ -34,7 +35,6 @@ public class RpsCommandListener extends ListenerAdapter {
     private static final Color WARNING_COLOR = new Color(255, 193, 7); // Bootstrap warning yellow
     
     private final UserService userService;
-    private final CacheConfig cacheConfig;
     private final TermsOfServiceService termsOfServiceService;
     
     @Value("${discord.main.guild.id}")
@@ -43,9 +43,8 @@ public class RpsCommandListener extends ListenerAdapter {
     // Store active games to prevent duplicates and manage state
     private final ConcurrentHashMap<String, RpsGame> activeGames = new ConcurrentHashMap<>();
     
-    public RpsCommandListener(UserService userService, CacheConfig cacheConfig, TermsOfServiceService termsOfServiceService) {
+    public RpsCommandListener(UserService userService, TermsOfServiceService termsOfServiceService) {
         this.userService = userService;
-        this.cacheConfig = cacheConfig;
         this.termsOfServiceService = termsOfServiceService;
         logger.info("RpsCommandListener initialized");
     }
@@ -468,35 +467,11 @@ public class RpsCommandListener extends ListenerAdapter {
                 return;
             }
             
-            // Process credit transfer
-            User challenger = userService.getUserById(game.getChallengerUserId());
-            User challenged = userService.getUserById(game.getChallengedUserId());
-            
-            if (challenger == null || challenged == null) {
-                logger.error("User not found during RPS result processing");
-                return;
-            }
-            
             String winnerId = winner.equals("challenger") ? game.getChallengerUserId() : game.getChallengedUserId();
             String loserId = winner.equals("challenger") ? game.getChallengedUserId() : game.getChallengerUserId();
             
-            User winnerUser = winnerId.equals(game.getChallengerUserId()) ? challenger : challenged;
-            User loserUser = winnerId.equals(game.getChallengerUserId()) ? challenged : challenger;
-            
-            // Update credits
-            int winnerCredits = (winnerUser.getCredits() == null) ? 0 : winnerUser.getCredits();
-            int loserCredits = (loserUser.getCredits() == null) ? 0 : loserUser.getCredits();
-            
-            winnerUser.setCredits(winnerCredits + game.getBetAmount());
-            loserUser.setCredits(loserCredits - game.getBetAmount());
-            
-            // Save both users
-            userService.updateUser(winnerUser);
-            userService.updateUser(loserUser);
-            
-            // Invalidate caches
-            cacheConfig.invalidateUserProfileCache(winnerId);
-            cacheConfig.invalidateUserProfileCache(loserId);
+            // Move the stake and record it in the credit ledger in one transaction
+            userService.settleBet(winnerId, loserId, game.getBetAmount(), CreditSource.RPS);
             
             // Get winner and loser display names from stored values
             String winnerName = winnerId.equals(game.getChallengerUserId()) ? challengerName : challengedName;
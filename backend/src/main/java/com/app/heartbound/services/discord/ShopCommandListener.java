@@ -30,6 +30,7 @@ import jakarta.annotation.PreDestroy;
 import net.dv8tion.jda.api.JDA;
 
 @Component
+@InteractionRoute(commands = "shop", componentPrefixes = "shop_")
 public class ShopCommandListener extends ListenerAdapter {
     
     private static final Logger logger = LoggerFactory.getLogger(ShopCommandListener.class);
@@ -28,6 +28,7 @@ import java.util.Optional;
  * Allows users to view their current pairing stats if they are actively matched.
  */
 @Component
+@InteractionRoute(commands = "stats", autoDefer = true)
 public class StatsCommandListener extends ListenerAdapter {
     
     private static final Logger logger = LoggerFactory.getLogger(StatsCommandListener.class);
@@ -93,8 +94,10 @@ public class StatsCommandListener extends ListenerAdapter {
 
         logger.debug("Stats command received from user: {}", event.getUser().getId());
         
-        // Acknowledge the interaction immediately
-        event.deferReply().queue();
+        // Acknowledge the interaction immediately, unless the router already deferred it
+        if (!event.isAcknowledged()) {
+            event.deferReply().queue();
+        }
         
         try {
             String discordUserId = event.getUser().getId();
@@ -18,6 +18,7 @@ import javax.annotation.Nonnull;
  * Processes user agreement or disagreement to the Terms of Service.
  */
 @Component
+@InteractionRoute(componentPrefixes = {"tos-agree:", "tos-disagree:"})
 public class TermsOfServiceListener extends ListenerAdapter {
 
     private static final Logger logger = LoggerFactory.getLogger(TermsOfServiceListener.class);
@@ -18,7 +18,6 @@ import net.dv8tion.jda.api.interactions.components.ActionRow;
 import net.dv8tion.jda.api.interactions.components.buttons.Button;
 import net.dv8tion.jda.api.interactions.components.selections.StringSelectMenu;
 import org.springframework.stereotype.Component;
-import net.dv8tion.jda.api.requests.RestAction;
 import net.dv8tion.jda.api.entities.emoji.Emoji;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.channel.middleman.MessageChannel;
@@ -26,13 +25,13 @@ import net.dv8tion.jda.api.entities.channel.middleman.MessageChannel;
 import javax.annotation.Nonnull;
 import java.awt.*;
 import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.CancellationException;
 import java.util.stream.Collectors;
 import java.util.Set;
 import java.util.HashSet;
@@ -41,20 +40,26 @@ import com.app.heartbound.entities.TradeItem;
 import com.app.heartbound.enums.ItemRarity;
 import com.app.heartbound.enums.ShopCategory;
 import com.app.heartbound.exceptions.InvalidTradeActionException;
+import com.app.heartbound.exceptions.ResourceNotFoundException;
+import com.app.heartbound.services.scheduler.DeadlineSchedulerService;
+import jakarta.annotation.PostConstruct;
 
 @Component
 @Slf4j
 @RequiredArgsConstructor
+@InteractionRoute(commands = "trade", componentPrefixes = "trade")
 public class TradeCommandListener extends ListenerAdapter {
 
     private final TradeService tradeService;
     private final UserService userService;
     private final TermsOfServiceService termsOfServiceService;
-    private JDA jdaInstance;
+    private final DeadlineSchedulerService deadlineSchedulerService;
+    private volatile JDA jdaInstance;
+
+    private static final String TRADE_EXPIRATION_JOB_TYPE = "TRADE_EXPIRATION";
 
     // Existing state management
     private final ConcurrentHashMap<String, Long> pendingTradeRequests = new ConcurrentHashMap<>();
-    private final ConcurrentHashMap<Long, ScheduledFuture<?>> tradeExpirationTasks = new ConcurrentHashMap<>();
     
     // New state management for paginated item selection
     private final ConcurrentHashMap<String, Set<UUID>> userItemSelections = new ConcurrentHashMap<>();
@@ -86,6 +91,14 @@ public class TradeCommandListener extends ListenerAdapter {
         return PREFIX_ITEM_SELECT + ID_SEP + tradeId;
     }
 
+    /**
+     * Trade windows expire through the durable scheduler so pending expirations survive restarts.
+     */
+    @PostConstruct
+    public void registerExpirationHandler() {
+        deadlineSchedulerService.registerHandler(TRADE_EXPIRATION_JOB_TYPE, (tradeId, payload) -> handleTradeExpiration(Long.parseLong(tradeId)));
+    }
+
     public void registerWithJDA(JDA jda) {
         if (jda != null) {
             this.jdaInstance = jda;
@@ -416,30 +429,8 @@ public class TradeCommandListener extends ListenerAdapter {
                         .queue(message -> {
                             tradeService.setTradeMessageInfo(tradeId, message.getId(), message.getChannelId(), expiresAt);
 
-                            RestAction<?> editAction = message.editMessageComponents().setComponents()
-                                    .setEmbeds(new EmbedBuilder().setDescription("Trade has expired.").setColor(Color.RED).build());
-
-                            ScheduledFuture<?> expirationTask = editAction.queueAfter(120, TimeUnit.SECONDS,
-                                s -> {
-                                    try {
-                                        tradeService.cancelTrade(tradeId, initiatorId);
-                                        cleanupTradeSelectionState(tradeId);
-                                    } catch (Exception e) {
-                                        log.warn("Trade {} may have already been completed or cancelled.", tradeId);
-                                    } finally {
-                                        tradeExpirationTasks.remove(tradeId);
-                                    }
-                                },
-                                failure -> {
-                                    if (failure instanceof CancellationException) {
-                                        log.info("Trade expiration task for trade {} was successfully cancelled.", tradeId);
-                                    } else {
-                                        log.warn("Failed to expire trade request message {}.", message.getId(), failure);
-                                    }
-                                    tradeExpirationTasks.remove(tradeId);
-                                });
-
-                            tradeExpirationTasks.put(tradeId, expirationTask);
+                            deadlineSchedulerService.schedule(TRADE_EXPIRATION_JOB_TYPE, String.valueOf(tradeId),
+                                    LocalDateTime.ofInstant(expiresAt, ZoneId.systemDefault()));
                         });
             }, failure -> log.error("Could not retrieve receiver user {} for trade {}", receiverId, tradeId, failure));
         }, failure -> log.error("Could not retrieve initiator user {} for trade {}", initiatorId, tradeId, failure));
@@ -658,10 +649,8 @@ public class TradeCommandListener extends ListenerAdapter {
             Trade trade = tradeService.acceptFinalTrade(tradeId, clickerId);
 
             if (trade.getStatus() == TradeStatus.ACCEPTED) {
-                ScheduledFuture<?> task = tradeExpirationTasks.remove(tradeId);
-                if (task != null) {
-                    task.cancel(true);
-                    log.info("Cancelled trade expiration task for completed tradeId: {}", tradeId);
+                if (deadlineSchedulerService.cancel(TRADE_EXPIRATION_JOB_TYPE, String.valueOf(tradeId))) {
+                    log.info("Cancelled trade expiration job for completed tradeId: {}", tradeId);
                 }
                 cleanupTradeSelectionState(tradeId);
 
@@ -719,10 +708,8 @@ public class TradeCommandListener extends ListenerAdapter {
     }
 
     private void handleCancel(ButtonInteractionEvent event, long tradeId, String clickerId) {
-        ScheduledFuture<?> task = tradeExpirationTasks.remove(tradeId);
-        if (task != null) {
-            task.cancel(true);
-            log.info("Cancelled trade expiration task for cancelled tradeId: {}", tradeId);
+        if (deadlineSchedulerService.cancel(TRADE_EXPIRATION_JOB_TYPE, String.valueOf(tradeId))) {
+            log.info("Cancelled trade expiration job for cancelled tradeId: {}", tradeId);
         }
         cleanupTradeSelectionState(tradeId);
         tradeService.cancelTrade(tradeId, clickerId);
@@ -1060,6 +1047,48 @@ public class TradeCommandListener extends ListenerAdapter {
         return tradeId + ":" + userId;
     }
 
+    /**
+     * Expire a trade whose window has passed. Jobs may run more than once, so trades that
+     * are no longer pending are left untouched.
+     */
+    private void handleTradeExpiration(long tradeId) {
+        Trade trade;
+        try {
+            trade = tradeService.getTradeDetails(tradeId);
+        } catch (ResourceNotFoundException e) {
+            log.debug("Trade {} no longer exists, nothing to expire.", tradeId);
+            return;
+        }
+        if (trade.getStatus() != TradeStatus.PENDING) {
+            log.debug("Trade {} is no longer pending, nothing to expire.", tradeId);
+            return;
+        }
+        if (jdaInstance == null) {
+            // Retried by the scheduler once the listener is registered
+            throw new IllegalStateException("JDA not registered yet");
+        }
+
+        try {
+            tradeService.cancelTrade(tradeId, trade.getInitiator().getId());
+        } catch (InvalidTradeActionException e) {
+            log.warn("Trade {} may have already been completed or cancelled.", tradeId);
+            return;
+        } finally {
+            cleanupTradeSelectionState(tradeId);
+        }
+
+        if (trade.getDiscordChannelId() != null && trade.getDiscordMessageId() != null) {
+            MessageChannel channel = jdaInstance.getChannelById(MessageChannel.class, trade.getDiscordChannelId());
+            if (channel != null) {
+                channel.editMessageEmbedsById(trade.getDiscordMessageId(),
+                                new EmbedBuilder().setDescription("Trade has expired.").setColor(Color.RED).build())
+                        .setComponents()
+                        .queue(null, failure -> log.warn("Failed to expire trade message {}.", trade.getDiscordMessageId(), failure));
+            }
+        }
+        log.info("Trade {} expired.", tradeId);
+    }
+
     /**
      * Clean up selection state for a completed or cancelled trade
      */
@@ -1,5 +1,6 @@
 package com.app.heartbound.services.discord;
 
+import com.app.heartbound.config.MonitoredExecutors;
 import com.app.heartbound.services.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -15,7 +16,6 @@ import jakarta.annotation.PreDestroy;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
@@ -44,7 +44,7 @@ public class UserVoiceActivityService extends ListenerAdapter {
     @PostConstruct
     public void init() {
         // Schedule periodic voice rank updates (every 10 minutes)
-        rankUpdateScheduler = Executors.newSingleThreadScheduledExecutor();
+        rankUpdateScheduler = MonitoredExecutors.newScheduledThreadPool("voice-rank-updates", 1);
         rankUpdateScheduler.scheduleAtFixedRate(this::updateVoiceRanks, 
                 10, 10, TimeUnit.MINUTES);
         log.info("User voice activity tracking initialized with rank updates every 10 minutes");
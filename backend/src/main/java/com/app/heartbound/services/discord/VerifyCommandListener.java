@@ -22,6 +22,7 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 @Service
+@InteractionRoute(commands = "verify")
 public class VerifyCommandListener extends ListenerAdapter {
 
     private static final Logger logger = LoggerFactory.getLogger(VerifyCommandListener.class);
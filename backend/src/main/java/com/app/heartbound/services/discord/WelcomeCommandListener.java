@@ -12,6 +12,7 @@ import org.springframework.stereotype.Component;
 import javax.annotation.Nonnull;
 
 @Component
+@InteractionRoute(commands = "welcome")
 public class WelcomeCommandListener extends ListenerAdapter {
     
     private static final Logger logger = LoggerFactory.getLogger(WelcomeCommandListener.class);
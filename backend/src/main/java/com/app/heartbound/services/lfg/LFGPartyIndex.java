@@ -0,0 +1,303 @@
+package com.app.heartbound.services.lfg;
+
+import com.app.heartbound.dto.lfg.LFGPartyResponseDTO;
+import com.app.heartbound.enums.Region;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * LFGPartyIndex
+ *
+ * In-memory copy of the LFG party listings, so that listing and searching parties does not touch
+ * the database. Parties are held as response DTOs and indexed by game, status, region and match
+ * type, with a trigram index over the lower-cased title for substring search.
+ *
+ * The database stays the source of truth: {@link LFGPartyService} loads the index on first use and
+ * re-reads a party after every write to it, here or on another instance. Expired parties are never
+ * indexed, are skipped by searches once their time passes and are dropped by {@link #pruneExpired}.
+ */
+class LFGPartyIndex {
+
+    private static final int GRAM = 3;
+
+    private static final Map<String, Comparator<LFGPartyResponseDTO>> SORTABLE = Map.of(
+            "createdAt", Comparator.comparing(LFGPartyResponseDTO::getCreatedAt, Comparator.nullsLast(Comparator.<Instant>naturalOrder())),
+            "expiresAt", Comparator.comparing(LFGPartyResponseDTO::getExpiresAt, Comparator.nullsLast(Comparator.<Instant>naturalOrder())),
+            "title", Comparator.comparing(LFGPartyResponseDTO::getTitle, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)),
+            "game", Comparator.comparing(LFGPartyResponseDTO::getGame, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)),
+            "status", Comparator.comparing(LFGPartyResponseDTO::getStatus, Comparator.nullsLast(Comparator.<String>naturalOrder())),
+            "maxPlayers", Comparator.comparingInt(LFGPartyResponseDTO::getMaxPlayers));
+
+    private static final Comparator<LFGPartyResponseDTO> DEFAULT_ORDER = SORTABLE.get("createdAt");
+
+    // Removed parties are remembered this long, so a slower refresh cannot bring them back
+    private static final long TOMBSTONE_MILLIS = 60_000;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicLong refreshes = new AtomicLong();
+    private final Map<UUID, LFGPartyResponseDTO> parties = new HashMap<>();
+    private final Map<UUID, Long> appliedRefresh = new HashMap<>();
+    private final Map<UUID, Long> removedAt = new LinkedHashMap<>();
+    private final Map<String, Set<UUID>> byGame = new HashMap<>();
+    private final Map<String, Set<UUID>> byStatus = new HashMap<>();
+    private final Map<Region, Set<UUID>> byRegion = new HashMap<>();
+    private final Map<String, Set<UUID>> byMatchType = new HashMap<>();
+    private final Map<String, Set<UUID>> byTitleGram = new HashMap<>();
+    private volatile boolean loaded;
+
+    boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Start reading one or all parties from the database. The returned stamp orders the read
+     * against every other one: a read that starts after a write commits sees that write, so
+     * applying only reads newer than the last applied one keeps each party at its latest row.
+     */
+    long beginRefresh() {
+        return refreshes.incrementAndGet();
+    }
+
+    /**
+     * Apply the full table read under {@code stamp}, skipping parties a newer refresh already
+     * applied or removed.
+     */
+    void load(long stamp, Collection<LFGPartyResponseDTO> all) {
+        lock.writeLock().lock();
+        try {
+            for (LFGPartyResponseDTO party : all) {
+                if (isNewer(party.getId(), stamp)) {
+                    apply(party.getId(), stamp, party);
+                }
+            }
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Apply the row of one party read under {@code stamp}; {@code party} is null when the row no
+     * longer exists.
+     */
+    void refresh(UUID id, long stamp, LFGPartyResponseDTO party) {
+        lock.writeLock().lock();
+        try {
+            if (isNewer(id, stamp)) {
+                apply(id, stamp, party);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Search the index. Every filter is optional; {@code game}, {@code status} and
+     * {@code matchType} match exactly and {@code title} matches any part of the title, ignoring
+     * case. Results are sorted by the pageable's sort (creation time when unsorted).
+     */
+    Page<LFGPartyResponseDTO> search(String game, String title, String status, Region region,
+                                     String matchType, Pageable pageable) {
+        Comparator<LFGPartyResponseDTO> order = comparator(pageable.getSort());
+        String titleQuery = title != null ? title.toLowerCase(Locale.ROOT) : null;
+        List<LFGPartyResponseDTO> matches = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            Set<UUID> candidates = null;
+            candidates = narrow(candidates, byGame, game);
+            candidates = narrow(candidates, byStatus, status);
+            candidates = narrow(candidates, byRegion, region);
+            candidates = narrow(candidates, byMatchType, matchType);
+            if (titleQuery != null) {
+                for (String gram : grams(titleQuery)) {
+                    candidates = narrow(candidates, byTitleGram, gram);
+                }
+            }
+
+            Collection<LFGPartyResponseDTO> scanned = candidates == null
+                    ? parties.values()
+                    : candidates.stream().map(parties::get).toList();
+            Instant now = Instant.now();
+            for (LFGPartyResponseDTO party : scanned) {
+                if (isExpired(party, now)) {
+                    continue;
+                }
+                // Trigrams only narrow the candidates; the substring check decides
+                if (titleQuery == null || party.getTitle().toLowerCase(Locale.ROOT).contains(titleQuery)) {
+                    matches.add(party);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        matches.sort(order);
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(matches, pageable, matches.size());
+        }
+        int from = (int) Math.min(pageable.getOffset(), matches.size());
+        int to = Math.min(from + pageable.getPageSize(), matches.size());
+        return new PageImpl<>(List.copyOf(matches.subList(from, to)), pageable, matches.size());
+    }
+
+    /**
+     * Drop the parties whose expiry has passed.
+     *
+     * @return the number of parties dropped
+     */
+    int pruneExpired() {
+        Instant now = Instant.now();
+        lock.writeLock().lock();
+        try {
+            List<UUID> expired = parties.values().stream()
+                    .filter(party -> isExpired(party, now))
+                    .map(LFGPartyResponseDTO::getId)
+                    .toList();
+            long nowMillis = now.toEpochMilli();
+            for (UUID id : expired) {
+                unindex(id);
+                removedAt.put(id, nowMillis);
+            }
+            pruneTombstones(nowMillis);
+            return expired.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static boolean isExpired(LFGPartyResponseDTO party, Instant now) {
+        return party.getExpiresAt() != null && !party.getExpiresAt().isAfter(now);
+    }
+
+    private boolean isNewer(UUID id, long stamp) {
+        Long applied = appliedRefresh.get(id);
+        return applied == null || applied < stamp;
+    }
+
+    private void apply(UUID id, long stamp, LFGPartyResponseDTO party) {
+        unindex(id);
+        appliedRefresh.put(id, stamp);
+        removedAt.remove(id);
+        // An expired party is gone for listing purposes, like a deleted one
+        if (party != null && !isExpired(party, Instant.now())) {
+            add(party);
+        } else {
+            long now = System.currentTimeMillis();
+            removedAt.put(id, now);
+            pruneTombstones(now);
+        }
+    }
+
+    private void pruneTombstones(long now) {
+        Iterator<Map.Entry<UUID, Long>> oldest = removedAt.entrySet().iterator();
+        while (oldest.hasNext()) {
+            Map.Entry<UUID, Long> tombstone = oldest.next();
+            if (now - tombstone.getValue() < TOMBSTONE_MILLIS) {
+                break;
+            }
+            appliedRefresh.remove(tombstone.getKey());
+            oldest.remove();
+        }
+    }
+
+    private void add(LFGPartyResponseDTO party) {
+        UUID id = party.getId();
+        parties.put(id, party);
+        post(byGame, party.getGame(), id);
+        post(byStatus, party.getStatus(), id);
+        post(byRegion, region(party), id);
+        post(byMatchType, party.getMatchType(), id);
+        for (String gram : grams(party.getTitle().toLowerCase(Locale.ROOT))) {
+            post(byTitleGram, gram, id);
+        }
+    }
+
+    private void unindex(UUID id) {
+        LFGPartyResponseDTO party = parties.remove(id);
+        if (party == null) {
+            return;
+        }
+        unpost(byGame, party.getGame(), id);
+        unpost(byStatus, party.getStatus(), id);
+        unpost(byRegion, region(party), id);
+        unpost(byMatchType, party.getMatchType(), id);
+        for (String gram : grams(party.getTitle().toLowerCase(Locale.ROOT))) {
+            unpost(byTitleGram, gram, id);
+        }
+    }
+
+    private static Region region(LFGPartyResponseDTO party) {
+        return party.getRequirements() != null ? party.getRequirements().getRegion() : null;
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private static <K> void post(Map<K, Set<UUID>> index, K key, UUID id) {
+        if (key != null) {
+            index.computeIfAbsent(key, k -> new HashSet<>()).add(id);
+        }
+    }
+
+    private static <K> void unpost(Map<K, Set<UUID>> index, K key, UUID id) {
+        if (key != null) {
+            index.computeIfPresent(key, (k, ids) -> ids.remove(id) && ids.isEmpty() ? null : ids);
+        }
+    }
+
+    /**
+     * Intersect the candidates so far with the parties posted under {@code key}; a null key leaves
+     * them unfiltered and a null result means "all parties".
+     */
+    private static <K> Set<UUID> narrow(Set<UUID> candidates, Map<K, Set<UUID>> index, K key) {
+        if (key == null) {
+            return candidates;
+        }
+        Set<UUID> posted = index.getOrDefault(key, Set.of());
+        if (candidates == null) {
+            return new HashSet<>(posted);
+        }
+        candidates.retainAll(posted);
+        return candidates;
+    }
+
+    private static Comparator<LFGPartyResponseDTO> comparator(Sort sort) {
+        Comparator<LFGPartyResponseDTO> comparator = null;
+        for (Sort.Order order : sort) {
+            Comparator<LFGPartyResponseDTO> next = SORTABLE.get(order.getProperty());
+            if (next == null) {
+                throw new IllegalArgumentException("Cannot sort parties by " + order.getProperty());
+            }
+            if (order.isDescending()) {
+                next = next.reversed();
+            }
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        return comparator != null ? comparator : DEFAULT_ORDER;
+    }
+}
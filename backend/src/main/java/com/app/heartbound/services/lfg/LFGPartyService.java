@@ -3,7 +3,9 @@ package com.app.heartbound.services.lfg;
 import com.app.heartbound.dto.lfg.CreatePartyRequestDTO;
 import com.app.heartbound.dto.lfg.LFGPartyResponseDTO;
 import com.app.heartbound.dto.lfg.UpdatePartyRequestDTO;
+import com.app.heartbound.config.cluster.ClusterState;
 import com.app.heartbound.entities.LFGParty;
+import com.app.heartbound.enums.Region;
 import com.app.heartbound.exceptions.ResourceNotFoundException;
 import com.app.heartbound.exceptions.UnauthorizedOperationException;
 import com.app.heartbound.repositories.lfg.LFGPartyRepository;
@@ -12,7 +14,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -20,6 +22,7 @@ import org.springframework.stereotype.Service;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
@@ -35,19 +38,27 @@ import java.util.UUID;
  * - Updating an existing party.
  * - Deleting a party.
  * - Retrieving party details.
- * - Listing parties with dynamic filtering and pagination.
+ * - Listing parties with filtering and pagination, from an in-memory index.
  * - Joining a party.
  */
 @Service
 public class LFGPartyService {
 
+    private static final String PARTY_CHANGED_TOPIC = "lfg-party";
+
     private final LFGPartyRepository lfgPartyRepository;
     private final DiscordChannelService discordChannelService;
+    private final ClusterState clusterState;
+    private final LFGPartyIndex partyIndex = new LFGPartyIndex();
     private static final Logger logger = LoggerFactory.getLogger(LFGPartyService.class);
 
-    public LFGPartyService(LFGPartyRepository lfgPartyRepository, DiscordChannelService discordChannelService) {
+    public LFGPartyService(LFGPartyRepository lfgPartyRepository, DiscordChannelService discordChannelService,
+                           ClusterState clusterState) {
         this.lfgPartyRepository = lfgPartyRepository;
         this.discordChannelService = discordChannelService;
+        this.clusterState = clusterState;
+        // Parties written on other instances are re-read from the database
+        clusterState.subscribe(PARTY_CHANGED_TOPIC, id -> refreshIndexedParty(UUID.fromString(id)));
     }
 
     /**
@@ -157,6 +168,7 @@ public class LFGPartyService {
                         savedParty.getId(), e.getMessage(), e);
         }
         
+        partyChanged(savedParty.getId());
         return mapToResponseDTO(savedParty);
     }
 
@@ -173,15 +185,29 @@ public class LFGPartyService {
     }
 
     /**
-     * Lists parties using dynamic filtering and pagination.
+     * Lists parties with optional filters and pagination, served from the in-memory party index.
      *
-     * @param spec dynamic filtering criteria
-     * @param pageable pagination details
+     * @param game optional exact game name
+     * @param title optional keyword contained in the title (case-insensitive)
+     * @param status optional exact party status
+     * @param region optional required region
+     * @param matchType optional exact match type
+     * @param pageable pagination and sort details
      * @return a paginated list of LFGPartyResponseDTO
      */
-    public Page<LFGPartyResponseDTO> listParties(Specification<LFGParty> spec, Pageable pageable) {
-        Page<LFGParty> parties = lfgPartyRepository.findAll(spec, pageable);
-        return parties.map(this::mapToResponseDTO);
+    public Page<LFGPartyResponseDTO> listParties(String game, String title, String status, Region region,
+                                                 String matchType, Pageable pageable) {
+        if (!partyIndex.isLoaded()) {
+            long stamp = partyIndex.beginRefresh();
+            Instant now = Instant.now();
+            List<LFGPartyResponseDTO> all = lfgPartyRepository.findAll().stream()
+                    .filter(party -> party.getExpiresAt() == null || party.getExpiresAt().isAfter(now))
+                    .map(this::mapToResponseDTO)
+                    .toList();
+            partyIndex.load(stamp, all);
+            logger.info("Loaded {} unexpired LFG parties into the party index", all.size());
+        }
+        return partyIndex.search(game, title, status, region, matchType, pageable);
     }
 
     /**
@@ -253,6 +279,7 @@ public class LFGPartyService {
         }
 
         LFGParty updatedParty = lfgPartyRepository.save(party);
+        partyChanged(id);
         return mapToResponseDTO(updatedParty);
     }
 
@@ -290,6 +317,7 @@ public class LFGPartyService {
         }
         
         lfgPartyRepository.delete(party);
+        partyChanged(id);
     }
 
     /**
@@ -340,6 +368,7 @@ public class LFGPartyService {
         
         // Save the party first
         LFGParty savedParty = lfgPartyRepository.save(party);
+        partyChanged(id);
         
         // Update the Discord embed to reflect the updated participant list
         try {
@@ -393,6 +422,7 @@ public class LFGPartyService {
             
             // Save the party with updated status and participant list
             LFGParty savedParty = lfgPartyRepository.save(party);
+            partyChanged(id);
             
             // Update the Discord embed to reflect the updated participant list
             try {
@@ -461,6 +491,7 @@ public class LFGPartyService {
         
         // Save the party with updated status and participant list
         LFGParty savedParty = lfgPartyRepository.save(party);
+        partyChanged(id);
         
         // Update the Discord embed to reflect the updated participant list
         try {
@@ -518,6 +549,7 @@ public class LFGPartyService {
         }
         
         lfgPartyRepository.save(party);
+        partyChanged(id);
         
         return "User has been invited to the party.";
     }
@@ -565,6 +597,7 @@ public class LFGPartyService {
         }
         
         lfgPartyRepository.save(party);
+        partyChanged(id);
         return "You have accepted the invitation and joined the party.";
     }
 
@@ -616,6 +649,7 @@ public class LFGPartyService {
         // Add user to joinRequests
         party.getJoinRequests().add(userId);
         lfgPartyRepository.save(party);
+        partyChanged(id);
         
         return "Join request sent to party leader";
     }
@@ -673,6 +707,7 @@ public class LFGPartyService {
         
         // Save party first
         lfgPartyRepository.save(party);
+        partyChanged(id);
         
         // Update the Discord embed to reflect the new participant list
         discordChannelService.updatePartyAnnouncementEmbed(party);
@@ -706,9 +741,43 @@ public class LFGPartyService {
         party.getJoinRequests().remove(userId);
         
         lfgPartyRepository.save(party);
+        partyChanged(id);
         return "Join request rejected.";
     }
 
+    /**
+     * Drop expired parties from the party index. Searches already skip them; this frees them.
+     */
+    @Scheduled(fixedDelayString = "${lfg.index.prune-interval-ms:60000}")
+    public void pruneExpiredParties() {
+        int pruned = partyIndex.pruneExpired();
+        if (pruned > 0) {
+            logger.debug("Pruned {} expired LFG parties from the party index", pruned);
+        }
+    }
+
+    /**
+     * Bring the party index up to date after a write to a party, here and on the other instances.
+     */
+    private void partyChanged(UUID id) {
+        refreshIndexedParty(id);
+        clusterState.broadcast(PARTY_CHANGED_TOPIC, id.toString());
+    }
+
+    /**
+     * Re-read a party into the index. The row is read rather than taken from the caller, since
+     * concurrent writes to the same party may finish in a different order than they committed.
+     */
+    private void refreshIndexedParty(UUID id) {
+        try {
+            long stamp = partyIndex.beginRefresh();
+            LFGPartyResponseDTO party = lfgPartyRepository.findById(id).map(this::mapToResponseDTO).orElse(null);
+            partyIndex.refresh(id, stamp, party);
+        } catch (Exception e) {
+            logger.error("Failed to refresh party {} in the party index: {}", id, e.getMessage(), e);
+        }
+    }
+
     // Helper method to check if current user has a role
     private boolean hasRole(String role) {
         // This would be implemented based on your security context architecture
@@ -742,19 +811,24 @@ public class LFGPartyService {
                 .status(party.getStatus())
                 .createdAt(party.getCreatedAt())
                 .expiresAt(party.getExpiresAt())
-                .participants(party.getParticipants())
+                .participants(copyOf(party.getParticipants()))
                 .matchType(party.getMatchType())
                 .gameMode(party.getGameMode())
                 .teamSize(party.getTeamSize())
                 .voicePreference(party.getVoicePreference())
                 .ageRestriction(party.getAgeRestriction())
-                .invitedUsers(party.getInvitedUsers())
-                .joinRequests(party.getJoinRequests())
+                .invitedUsers(copyOf(party.getInvitedUsers()))
+                .joinRequests(copyOf(party.getJoinRequests()))
                 .discordChannelId(party.getDiscordChannelId())
                 .discordInviteUrl(party.getDiscordInviteUrl())
                 .build();
     }
 
+    // Response DTOs are shared by the party index, so they must not alias the entity's collections
+    private static Set<String> copyOf(Set<String> userIds) {
+        return userIds != null ? Set.copyOf(userIds) : Set.of();
+    }
+
     /**
      * Determines if a Discord channel should be created based on the voice preference
      * 
@@ -0,0 +1,60 @@
+package com.app.heartbound.services.oauth;
+
+import com.app.heartbound.config.cluster.ClusterState;
+import org.springframework.stereotype.Component;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Single-use login codes kept in {@link ClusterState}, so the instance that handles the OAuth
+ * callback and the one that receives the code exchange do not have to be the same.
+ */
+@Component
+public class SharedDiscordCodeStore implements DiscordCodeStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(SharedDiscordCodeStore.class);
+    private static final String NAMESPACE = "discord-code";
+    private static final Duration CODE_EXPIRY = Duration.ofMinutes(5); // Code valid for 5 minutes
+
+    private final ClusterState clusterState;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public SharedDiscordCodeStore(ClusterState clusterState) {
+        this.clusterState = clusterState;
+    }
+
+    @Override
+    public void storeCode(String code, String userId) {
+        if (clusterState.putIfAbsent(NAMESPACE, code, userId, CODE_EXPIRY)) {
+            logger.info("SharedDiscordCodeStore: Successfully stored code [{}] for userId [{}]", code, userId);
+        } else {
+            logger.warn("SharedDiscordCodeStore: Code [{}] is already in use, not storing it for userId [{}]", code, userId);
+        }
+    }
+
+    @Override
+    public String consumeCode(String code) {
+        logger.info("SharedDiscordCodeStore: Attempting to consume code [{}]", code); // Log attempt
+        Optional<String> userId = clusterState.take(NAMESPACE, code); // Atomically remove the code
+
+        if (userId.isEmpty()) {
+            logger.warn("SharedDiscordCodeStore: Consume failed - code [{}] not found, expired or already consumed.", code);
+            return null;
+        }
+
+        logger.info("SharedDiscordCodeStore: Successfully consumed code [{}] for user ID: [{}]", code, userId.get());
+        return userId.get(); // Code valid and consumed
+    }
+
+    // Helper to generate secure codes if needed elsewhere, though OAuthController will generate its own
+    public String generateSecureCode() {
+        byte[] randomBytes = new byte[32];
+        secureRandom.nextBytes(randomBytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(randomBytes);
+    }
+}
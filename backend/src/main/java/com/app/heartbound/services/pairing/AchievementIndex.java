@@ -0,0 +1,116 @@
+package com.app.heartbound.services.pairing;
+
+import com.app.heartbound.entities.Achievement;
+import com.app.heartbound.enums.AchievementType;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * AchievementIndex
+ *
+ * Immutable in-memory view of the active achievement definitions. Achievements of each
+ * {@link AchievementType} are kept sorted by requirement value so that the thresholds crossed
+ * between two counter values are found with two binary searches, and every achievement is
+ * assigned a dense bit used by the per-pairing unlocked bitsets.
+ */
+final class AchievementIndex {
+
+    private final Achievement[] byBit;
+    private final Map<Long, Integer> bitsById;
+    private final Map<AchievementType, Tier> tiers = new EnumMap<>(AchievementType.class);
+
+    AchievementIndex(List<Achievement> activeAchievements) {
+        Achievement[] sorted = activeAchievements.toArray(new Achievement[0]);
+        Arrays.sort(sorted, Comparator.comparing(Achievement::getAchievementType)
+            .thenComparingInt(Achievement::getRequirementValue)
+            .thenComparing(Achievement::getId));
+
+        this.byBit = sorted;
+        this.bitsById = new HashMap<>(sorted.length * 2);
+        for (int bit = 0; bit < sorted.length; bit++) {
+            bitsById.put(sorted[bit].getId(), bit);
+        }
+
+        // Bits of one type are contiguous, so each tier is just a slice of byBit
+        int start = 0;
+        while (start < sorted.length) {
+            AchievementType type = sorted[start].getAchievementType();
+            int end = start;
+            while (end < sorted.length && sorted[end].getAchievementType() == type) {
+                end++;
+            }
+            int[] thresholds = new int[end - start];
+            for (int i = 0; i < thresholds.length; i++) {
+                thresholds[i] = sorted[start + i].getRequirementValue();
+            }
+            tiers.put(type, new Tier(start, thresholds));
+            start = end;
+        }
+    }
+
+    int size() {
+        return byBit.length;
+    }
+
+    Achievement achievement(int bit) {
+        return byBit[bit];
+    }
+
+    /**
+     * Visit the bits of every achievement of the given type whose requirement lies in
+     * {@code (previousValue, currentValue]}, in ascending requirement order.
+     */
+    void forEachCrossed(AchievementType type, int previousValue, int currentValue, IntConsumer action) {
+        Tier tier = tiers.get(type);
+        if (tier == null || currentValue <= previousValue) {
+            return;
+        }
+        int from = upperBound(tier.thresholds, previousValue);
+        int to = upperBound(tier.thresholds, currentValue);
+        for (int i = from; i < to; i++) {
+            action.accept(tier.firstBit + i);
+        }
+    }
+
+    /**
+     * Build the unlocked bitset of a pairing from the achievement ids it has unlocked.
+     * Ids of inactive achievements are ignored.
+     */
+    BitSet toBitSet(List<Long> unlockedAchievementIds) {
+        BitSet unlocked = new BitSet(byBit.length);
+        for (Long achievementId : unlockedAchievementIds) {
+            Integer bit = bitsById.get(achievementId);
+            if (bit != null) {
+                unlocked.set(bit);
+            }
+        }
+        return unlocked;
+    }
+
+    /**
+     * Index of the first threshold strictly greater than value
+     */
+    private static int upperBound(int[] thresholds, int value) {
+        int low = 0;
+        int high = thresholds.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (thresholds[mid] <= value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private record Tier(int firstBit, int[] thresholds) {
+    }
+}
@@ -1,5 +1,6 @@
 package com.app.heartbound.services.pairing;
 
+import com.app.heartbound.config.CacheConfig;
 import com.app.heartbound.entities.Achievement;
 import com.app.heartbound.entities.PairAchievement;
 import com.app.heartbound.entities.Pairing;
@@ -8,23 +9,34 @@ import com.app.heartbound.dto.pairing.ManageAchievementDTO;
 import com.app.heartbound.repositories.pairing.AchievementRepository;
 import com.app.heartbound.repositories.pairing.PairAchievementRepository;
 import com.app.heartbound.repositories.pairing.PairingRepository;
+import com.app.heartbound.services.WebSocketFanoutService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
 
 /**
  * AchievementService
  * 
  * Service for managing achievements and their completion logic.
- * Uses strategy pattern for different achievement types.
+ * Achievement definitions are held in an in-memory {@link AchievementIndex} and each pairing's
+ * unlocked achievements in a cached bitset, so counter updates detect crossed thresholds
+ * without querying per achievement.
  */
 @Service
 @RequiredArgsConstructor
@@ -35,7 +47,12 @@ public class AchievementService {
     private final PairAchievementRepository pairAchievementRepository;
     private final PairingRepository pairingRepository;
     private final PairLevelService pairLevelService;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final WebSocketFanoutService fanoutService;
+    private final CacheConfig cacheConfig;
+
+    private volatile AchievementIndex achievementIndex;
+    // Guards loading the index; a lock rather than a monitor, as loading queries the database
+    private final ReentrantLock achievementIndexLock = new ReentrantLock();
     
     // Callback for Discord leaderboard refresh (set by PairingService to avoid circular dependency)
     private Consumer<Long> discordLeaderboardRefreshCallback;
@@ -54,7 +71,9 @@ public class AchievementService {
     }
 
     /**
-     * Check and unlock achievements for a pairing based on current activity
+     * Check and unlock achievements for a pairing based on current activity.
+     * Evaluates every threshold at or below the current counters against the pairing's cached
+     * unlocked bitset, so only achievements that are actually unlocked touch the database.
      */
     @Transactional
     public List<PairAchievement> checkAndUnlockAchievements(Long pairingId) {
@@ -67,36 +86,27 @@ public class AchievementService {
         List<PairAchievement> newAchievements = List.of();
 
         try {
-            // Check all achievement types
-            newAchievements = List.of(
-                checkMessageMilestones(pairing),
-                checkWeeklyActivity(pairing),
-                checkVoiceTime(pairing),
-                checkWordCount(pairing),
-                checkEmojiCount(pairing),
-                checkLongevity(pairing)
-            ).stream()
-            .flatMap(List::stream)
-            .toList();
+            long daysSinceMatching = ChronoUnit.DAYS.between(
+                pairing.getMatchedAt().toLocalDate(),
+                LocalDateTime.now().toLocalDate()
+            );
 
-            // Award XP and broadcast notifications for new achievements
-            for (PairAchievement achievement : newAchievements) {
-                awardAchievementXP(achievement);
-                broadcastAchievementUnlock(achievement);
-            }
+            Map<AchievementType, Integer> currentValues = new EnumMap<>(AchievementType.class);
+            currentValues.put(AchievementType.MESSAGE_MILESTONE, pairing.getMessageCount());
+            currentValues.put(AchievementType.WEEKLY_ACTIVITY, pairing.getActiveDays());
+            currentValues.put(AchievementType.VOICE_TIME, pairing.getVoiceTimeMinutes() / 60);
+            currentValues.put(AchievementType.WORD_COUNT, pairing.getWordCount());
+            currentValues.put(AchievementType.EMOJI_COUNT, pairing.getEmojiCount());
+            currentValues.put(AchievementType.LONGEVITY, (int) daysSinceMatching);
 
-            if (!newAchievements.isEmpty()) {
-                log.info("Unlocked {} achievements for pairing {}", newAchievements.size(), pairingId);
-                
-                // 🚀 NEW: Refresh Discord leaderboard after achievement unlocks
-                if (discordLeaderboardRefreshCallback != null) {
-                    try {
-                        discordLeaderboardRefreshCallback.accept(pairingId);
-                    } catch (Exception e) {
-                        log.error("Failed to refresh Discord leaderboard after achievement unlock for pairing {}: {}", pairingId, e.getMessage());
-                    }
-                }
-            }
+            AchievementIndex index = achievementIndex();
+            BitSet unlocked = unlockedAchievements(pairingId, index);
+            List<PairAchievement> unlockedNow = new ArrayList<>();
+            currentValues.forEach((type, value) ->
+                unlockedNow.addAll(unlockCrossed(pairing, type, Integer.MIN_VALUE, value, index, unlocked)));
+            newAchievements = unlockedNow;
+
+            completeUnlocks(pairingId, newAchievements);
 
         } catch (Exception e) {
             log.error("Error checking achievements for pairing {}: {}", pairingId, e.getMessage(), e);
@@ -106,87 +116,140 @@ public class AchievementService {
     }
 
     /**
-     * Check message milestone achievements
+     * Unlock the achievements whose threshold was crossed by a counter moving from
+     * {@code previousValue} to {@code currentValue}. Returns immediately, without touching the
+     * cache or the database, when no threshold lies in between.
      */
-    private List<PairAchievement> checkMessageMilestones(Pairing pairing) {
-        List<Achievement> messageAchievements = achievementRepository.findEligibleAchievements(
-            AchievementType.MESSAGE_MILESTONE, pairing.getMessageCount());
+    @Transactional
+    public List<PairAchievement> onCounterAdvanced(Pairing pairing, AchievementType type, int previousValue, int currentValue) {
+        AchievementIndex index = achievementIndex();
+        BitSet crossed = new BitSet();
+        index.forEachCrossed(type, previousValue, currentValue, crossed::set);
+        if (crossed.isEmpty()) {
+            return List.of();
+        }
 
-        return messageAchievements.stream()
-            .filter(achievement -> !pairAchievementRepository.existsByPairingAndAchievement(pairing, achievement))
-            .map(achievement -> unlockAchievement(pairing, achievement, pairing.getMessageCount()))
-            .toList();
+        List<PairAchievement> newAchievements = List.of();
+        try {
+            BitSet unlocked = unlockedAchievements(pairing.getId(), index);
+            newAchievements = unlockCrossed(pairing, type, previousValue, currentValue, index, unlocked);
+            completeUnlocks(pairing.getId(), newAchievements);
+        } catch (Exception e) {
+            log.error("Error unlocking {} achievements for pairing {}: {}", type, pairing.getId(), e.getMessage(), e);
+        }
+        return newAchievements;
     }
 
-    /**
-     * Check weekly activity achievements
-     */
-    private List<PairAchievement> checkWeeklyActivity(Pairing pairing) {
-        List<Achievement> weeklyAchievements = achievementRepository.findEligibleAchievements(
-            AchievementType.WEEKLY_ACTIVITY, pairing.getActiveDays());
-
-        return weeklyAchievements.stream()
-            .filter(achievement -> !pairAchievementRepository.existsByPairingAndAchievement(pairing, achievement))
-            .map(achievement -> unlockAchievement(pairing, achievement, pairing.getActiveDays()))
-            .toList();
+    private List<PairAchievement> unlockCrossed(Pairing pairing, AchievementType type, int previousValue, int currentValue,
+                                                AchievementIndex index, BitSet unlocked) {
+        List<PairAchievement> newAchievements = new ArrayList<>();
+        index.forEachCrossed(type, previousValue, currentValue, bit -> {
+            if (!unlocked.get(bit)) {
+                newAchievements.add(unlockAchievement(pairing, index.achievement(bit), currentValue));
+            }
+        });
+        return newAchievements;
     }
 
     /**
-     * Check voice time achievements
+     * Unlock the longevity and weekly activity achievements of every active pairing. These
+     * counters advance with the calendar rather than with a Discord event, so no update site
+     * reports their deltas.
      */
-    private List<PairAchievement> checkVoiceTime(Pairing pairing) {
-        int voiceHours = pairing.getVoiceTimeMinutes() / 60;
-        List<Achievement> voiceAchievements = achievementRepository.findEligibleAchievements(
-            AchievementType.VOICE_TIME, voiceHours);
-
-        return voiceAchievements.stream()
-            .filter(achievement -> !pairAchievementRepository.existsByPairingAndAchievement(pairing, achievement))
-            .map(achievement -> unlockAchievement(pairing, achievement, voiceHours))
-            .toList();
+    @Scheduled(cron = "0 30 0 * * ?") // Every day at 00:30
+    public void unlockCalendarAchievements() {
+        LocalDate today = LocalDate.now();
+        int unlockedCount = 0;
+        for (Pairing pairing : pairingRepository.findByActiveTrue()) {
+            int daysSinceMatching = (int) ChronoUnit.DAYS.between(pairing.getMatchedAt().toLocalDate(), today);
+            unlockedCount += onCounterAdvanced(pairing, AchievementType.LONGEVITY, Integer.MIN_VALUE, daysSinceMatching).size();
+            unlockedCount += onCounterAdvanced(pairing, AchievementType.WEEKLY_ACTIVITY, Integer.MIN_VALUE, pairing.getActiveDays()).size();
+        }
+        log.info("Daily achievement check unlocked {} longevity and weekly activity achievements", unlockedCount);
     }
 
     /**
-     * Check word count achievements
+     * Award XP and broadcast notifications for newly unlocked achievements
      */
-    private List<PairAchievement> checkWordCount(Pairing pairing) {
-        List<Achievement> wordAchievements = achievementRepository.findEligibleAchievements(
-            AchievementType.WORD_COUNT, pairing.getWordCount());
+    private void completeUnlocks(Long pairingId, List<PairAchievement> newAchievements) {
+        for (PairAchievement achievement : newAchievements) {
+            awardAchievementXP(achievement);
+            broadcastAchievementUnlock(achievement);
+        }
 
-        return wordAchievements.stream()
-            .filter(achievement -> !pairAchievementRepository.existsByPairingAndAchievement(pairing, achievement))
-            .map(achievement -> unlockAchievement(pairing, achievement, pairing.getWordCount()))
-            .toList();
+        if (!newAchievements.isEmpty()) {
+            log.info("Unlocked {} achievements for pairing {}", newAchievements.size(), pairingId);
+
+            // 🚀 NEW: Refresh Discord leaderboard after achievement unlocks
+            if (discordLeaderboardRefreshCallback != null) {
+                try {
+                    discordLeaderboardRefreshCallback.accept(pairingId);
+                } catch (Exception e) {
+                    log.error("Failed to refresh Discord leaderboard after achievement unlock for pairing {}: {}", pairingId, e.getMessage());
+                }
+            }
+        }
     }
 
     /**
-     * Check emoji count achievements
+     * Current achievement index, loaded from the active achievements on first use
      */
-    private List<PairAchievement> checkEmojiCount(Pairing pairing) {
-        List<Achievement> emojiAchievements = achievementRepository.findEligibleAchievements(
-            AchievementType.EMOJI_COUNT, pairing.getEmojiCount());
+    private AchievementIndex achievementIndex() {
+        AchievementIndex index = achievementIndex;
+        if (index == null) {
+            achievementIndexLock.lock();
+            try {
+                index = achievementIndex;
+                if (index == null) {
+                    index = new AchievementIndex(achievementRepository.findByActiveTrue());
+                    achievementIndex = index;
+                    log.info("Loaded achievement index with {} active achievements", index.size());
+                }
+            } finally {
+                achievementIndexLock.unlock();
+            }
+        }
+        return index;
+    }
 
-        return emojiAchievements.stream()
-            .filter(achievement -> !pairAchievementRepository.existsByPairingAndAchievement(pairing, achievement))
-            .map(achievement -> unlockAchievement(pairing, achievement, pairing.getEmojiCount()))
-            .toList();
+    /**
+     * Rebuild the achievement index after achievement definitions changed. Bits are reassigned,
+     * so every cached unlocked bitset is dropped as well.
+     */
+    public void reloadAchievementIndex() {
+        achievementIndexLock.lock();
+        try {
+            achievementIndex = null;
+            cacheConfig.getUnlockedAchievementsCache().invalidateAll();
+            achievementIndex();
+        } finally {
+            achievementIndexLock.unlock();
+        }
     }
 
     /**
-     * Check longevity achievements (days since matching)
+     * Unlocked bitset of a pairing, loaded once with a single query and cached
      */
-    private List<PairAchievement> checkLongevity(Pairing pairing) {
-        long daysSinceMatching = java.time.temporal.ChronoUnit.DAYS.between(
-            pairing.getMatchedAt().toLocalDate(), 
-            LocalDateTime.now().toLocalDate()
-        );
+    private BitSet unlockedAchievements(Long pairingId, AchievementIndex index) {
+        return cacheConfig.getUnlockedAchievementsCache().get(pairingId,
+            id -> index.toBitSet(pairAchievementRepository.findAchievementIdsByPairingId(id)));
+    }
 
-        List<Achievement> longevityAchievements = achievementRepository.findEligibleAchievements(
-            AchievementType.LONGEVITY, (int) daysSinceMatching);
+    private void evictUnlockedAchievementsAfterCommit(Long pairingId) {
+        afterCommit(() -> cacheConfig.getUnlockedAchievementsCache().invalidate(pairingId));
+    }
 
-        return longevityAchievements.stream()
-            .filter(achievement -> !pairAchievementRepository.existsByPairingAndAchievement(pairing, achievement))
-            .map(achievement -> unlockAchievement(pairing, achievement, (int) daysSinceMatching))
-            .toList();
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
     }
 
     /**
@@ -209,6 +272,7 @@ public class AchievementService {
             .build();
 
         PairAchievement saved = pairAchievementRepository.save(pairAchievement);
+        evictUnlockedAchievementsAfterCommit(pairing.getId());
         log.info("Unlocked achievement '{}' for pairing {}: {} XP awarded", 
                 achievement.getName(), pairing.getId(), achievement.getXpReward());
 
@@ -257,8 +321,8 @@ public class AchievementService {
             );
 
             // Send to both users
-            messagingTemplate.convertAndSend("/user/" + pairing.getUser1Id() + "/topic/achievements", achievementNotification);
-            messagingTemplate.convertAndSend("/user/" + pairing.getUser2Id() + "/topic/achievements", achievementNotification);
+            fanoutService.sendNotification("/user/" + pairing.getUser1Id() + "/topic/achievements", achievementNotification);
+            fanoutService.sendNotification("/user/" + pairing.getUser2Id() + "/topic/achievements", achievementNotification);
 
             // 🎉 NEW: Send Discord achievement notification to pairing channel using callback
             if (discordAchievementNotificationCallback != null && pairing.getDiscordChannelId() != null) {
@@ -370,6 +434,7 @@ public class AchievementService {
                          AchievementType.VOICE_TIME, 800, 100, "gold");
 
         log.info("Default achievements initialized successfully");
+        reloadAchievementIndex();
     }
 
     private void createAchievement(String key, String name, String description, AchievementType type, 
@@ -442,6 +507,7 @@ public class AchievementService {
             .build();
         
         PairAchievement saved = pairAchievementRepository.save(pairAchievement);
+        evictUnlockedAchievementsAfterCommit(pairing.getId());
         
         // Award XP
         if (xpToAward > 0) {
@@ -500,6 +566,7 @@ public class AchievementService {
         
         // Remove the achievement
         pairAchievementRepository.delete(pairAchievement);
+        evictUnlockedAchievementsAfterCommit(pairing.getId());
         
         // Remove XP
         if (xpToRemove > 0) {
@@ -530,6 +597,7 @@ public class AchievementService {
         List<PairAchievement> achievements = pairAchievementRepository.findByPairingId(pairingId);
         if (!achievements.isEmpty()) {
             pairAchievementRepository.deleteAll(achievements);
+            evictUnlockedAchievementsAfterCommit(pairingId);
             log.info("Successfully deleted {} achievements for pairing {}", achievements.size(), pairingId);
         } else {
             log.info("No achievements found to delete for pairing {}", pairingId);
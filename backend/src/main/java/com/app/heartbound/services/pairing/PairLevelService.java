@@ -1,14 +1,17 @@
 package com.app.heartbound.services.pairing;
 
 import com.app.heartbound.config.CacheConfig;
+import com.app.heartbound.config.ReportingQuery;
 import com.app.heartbound.entities.PairLevel;
 import com.app.heartbound.entities.Pairing;
+import com.app.heartbound.events.DomainEvent.PairingChanged;
 import com.app.heartbound.repositories.pairing.PairLevelRepository;
 import com.app.heartbound.repositories.pairing.PairingRepository;
 import com.app.heartbound.dto.pairing.UpdatePairLevelDTO;
+import com.app.heartbound.services.WebSocketFanoutService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -32,8 +35,9 @@ public class PairLevelService {
 
     private final PairLevelRepository pairLevelRepository;
     private final PairingRepository pairingRepository;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final WebSocketFanoutService fanoutService;
     private final CacheConfig cacheConfig;
+    private final ApplicationEventPublisher eventPublisher;
     
     // Callback for Discord leaderboard refresh (set by PairingService to avoid circular dependency)
     private Consumer<Long> discordLeaderboardRefreshCallback;
@@ -44,7 +48,7 @@ public class PairLevelService {
     @Transactional
     public PairLevel getOrCreatePairLevel(Long pairingId) {
         // Check cache first
-        PairLevel cachedLevel = (PairLevel) cacheConfig.getPairLevelCache().getIfPresent(pairingId);
+        PairLevel cachedLevel = cacheConfig.getPairLevelCache().getIfPresent(pairingId);
         if (cachedLevel != null) {
             log.debug("Pair level cache HIT for pairingId: {}", pairingId);
             return cachedLevel;
@@ -121,7 +125,7 @@ public class PairLevelService {
         PairLevel savedLevel = pairLevelRepository.save(pairLevel);
         
         // Invalidate cache after modification
-        cacheConfig.invalidatePairingCaches(pairingId);
+        eventPublisher.publishEvent(new PairingChanged(pairingId));
         
         // Broadcast XP gain notification
         broadcastXPUpdate(savedLevel, xpToAdd, reason, leveledUp, oldLevel);
@@ -163,7 +167,7 @@ public class PairLevelService {
         PairLevel savedLevel = pairLevelRepository.save(pairLevel);
         
         // Invalidate cache after modification
-        cacheConfig.invalidatePairingCaches(pairingId);
+        eventPublisher.publishEvent(new PairingChanged(pairingId));
         
         // Broadcast XP removal notification
         broadcastXPUpdate(savedLevel, -xpToRemove, reason, savedLevel.getCurrentLevel() < oldLevel, oldLevel);
@@ -279,6 +283,7 @@ public class PairLevelService {
      * Get level statistics
      */
     @Transactional(readOnly = true)
+    @ReportingQuery
     public Map<String, Object> getLevelStatistics() {
         List<Object[]> levelCounts = pairLevelRepository.countPairsByLevel();
         Double averageLevel = pairLevelRepository.getAverageLevelOfActivePairs();
@@ -339,7 +344,7 @@ public class PairLevelService {
         }
         
         // Invalidate cache after modification
-        cacheConfig.invalidatePairingCaches(pairingId);
+        eventPublisher.publishEvent(new PairingChanged(pairingId));
         
         // Save and return
         PairLevel savedLevel = pairLevelRepository.save(pairLevel);
@@ -435,9 +440,17 @@ public class PairLevelService {
                 );
             }
 
-            // Send to both users
-            messagingTemplate.convertAndSend("/user/" + pairing.getUser1Id() + "/topic/xp", xpUpdate);
-            messagingTemplate.convertAndSend("/user/" + pairing.getUser2Id() + "/topic/xp", xpUpdate);
+            // Send to both users; XP totals are a snapshot, a level up is always delivered
+            String user1Destination = "/user/" + pairing.getUser1Id() + "/topic/xp";
+            String user2Destination = "/user/" + pairing.getUser2Id() + "/topic/xp";
+            if (leveledUp) {
+                fanoutService.sendNotification(user1Destination, xpUpdate);
+                fanoutService.sendNotification(user2Destination, xpUpdate);
+            } else {
+                String key = "pairing-xp:" + pairing.getId();
+                fanoutService.sendState(user1Destination, key, xpUpdate);
+                fanoutService.sendState(user2Destination, key, xpUpdate);
+            }
 
             log.info("Broadcasted XP update for pairing {}: {} XP gained, Level: {}", 
                     pairing.getId(), xpGained, pairLevel.getCurrentLevel());
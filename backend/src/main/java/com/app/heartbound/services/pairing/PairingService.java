@@ -1,38 +1,44 @@
 package com.app.heartbound.services.pairing;
 
+import com.app.heartbound.config.ReportingQuery;
 import com.app.heartbound.dto.pairing.*;
-import com.app.heartbound.dto.PublicUserProfileDTO;
 import com.app.heartbound.entities.BlacklistEntry;
 import com.app.heartbound.entities.Pairing;
-import com.app.heartbound.entities.PairLevel;
-import com.app.heartbound.entities.User;
+import com.app.heartbound.events.DomainEvent.PairingChanged;
+import com.app.heartbound.events.DomainEvent.UserChanged;
 import com.app.heartbound.repositories.UserRepository;
 import com.app.heartbound.repositories.pairing.BlacklistEntryRepository;
 
 import com.app.heartbound.config.CacheConfig;
 import com.app.heartbound.repositories.pairing.PairingRepository;
+import com.app.heartbound.services.WebSocketFanoutService;
 import com.app.heartbound.services.discord.DiscordPairingChannelService;
 import com.app.heartbound.services.discord.DiscordVoiceTimeTrackerService;
 import com.app.heartbound.services.discord.DiscordLeaderboardService;
 import com.app.heartbound.services.discord.DiscordMessageListenerService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Lazy;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import jakarta.annotation.PostConstruct;
 
 import java.time.LocalDateTime;
-import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 /**
  * PairingService
@@ -49,18 +55,25 @@ public class PairingService {
     private final BlacklistEntryRepository blacklistEntryRepository;
 
     private final UserRepository userRepository;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final WebSocketFanoutService fanoutService;
     @Lazy
     private final DiscordPairingChannelService discordPairingChannelService;
     private final DiscordVoiceTimeTrackerService discordVoiceTimeTrackerService;
     private final DiscordLeaderboardService discordLeaderboardService;
     private final DiscordMessageListenerService discordMessageListenerService;
     private final CacheConfig cacheConfig;
+    private final ApplicationEventPublisher eventPublisher;
     
     // XP System Services
     private final PairLevelService pairLevelService;
     private final AchievementService achievementService;
     private final VoiceStreakService voiceStreakService;
+
+    // Leaderboard snapshot, replaced whenever its version falls behind the current one
+    private record LeaderboardSnapshot(long version, List<PairingLeaderboardDTO> entries, Set<String> userIds) {}
+
+    private final AtomicLong leaderboardVersion = new AtomicLong();
+    private volatile LeaderboardSnapshot leaderboardSnapshot;
     
     /**
      * Initialize callbacks to avoid circular dependencies
@@ -153,7 +166,7 @@ public class PairingService {
         addPairingToLeaderboard(pairingDTO);
 
         // Invalidate leaderboard cache since new pairing affects rankings
-        cacheConfig.getBatchOperationsCache().invalidate("pairing_leaderboard");
+        eventPublisher.publishEvent(new PairingChanged(savedPairing.getId()));
 
         log.info("Successfully created pairing with ID: {} and blacklisted users", savedPairing.getId());
         return pairingDTO;
@@ -289,7 +302,7 @@ public class PairingService {
         addPairingToLeaderboard(mapToPairingDTO(updatedPairing));
 
         // Invalidate leaderboard cache since activity affects rankings
-        cacheConfig.getBatchOperationsCache().invalidate("pairing_leaderboard");
+        eventPublisher.publishEvent(new PairingChanged(updatedPairing.getId()));
 
         log.info("Successfully updated activity for pairing ID: {}", pairingId);
         return mapToPairingDTO(updatedPairing);
@@ -345,7 +358,7 @@ public class PairingService {
         removePairingFromLeaderboard(pairingId);
 
         // Invalidate leaderboard cache since pairing is now inactive
-        cacheConfig.getBatchOperationsCache().invalidate("pairing_leaderboard");
+        eventPublisher.publishEvent(new PairingChanged(pairingId));
 
         // DON'T create blacklist entry here - it already exists from pairing creation
         // Just update the reason if needed
@@ -480,14 +493,12 @@ public class PairingService {
             
             // 🚀 NEW: Remove pairing from Discord leaderboard
             removePairingFromLeaderboard(pairing.getId());
+            eventPublisher.publishEvent(new PairingChanged(pairing.getId()));
             
             log.info("Deactivated pairing {} between users {} and {}", 
                     pairing.getId(), pairing.getUser1Id(), pairing.getUser2Id());
         }
         
-        // Invalidate leaderboard cache since all pairings are now inactive
-        cacheConfig.getBatchOperationsCache().invalidate("pairing_leaderboard");
-        
         log.info("Admin deleted {} active pairings", deletedCount);
         return deletedCount;
     }
@@ -525,7 +536,7 @@ public class PairingService {
         removePairingFromLeaderboard(pairingId);
         
         // Invalidate leaderboard cache since pairing is now inactive
-        cacheConfig.getBatchOperationsCache().invalidate("pairing_leaderboard");
+        eventPublisher.publishEvent(new PairingChanged(pairingId));
         
         // Update blacklist entry reason (blacklist STAYS - users cannot match again)
         blacklistEntryRepository.findByUserPair(pairing.getUser1Id(), pairing.getUser2Id())
@@ -863,13 +874,13 @@ public class PairingService {
             );
             
             // Send to initiator
-            messagingTemplate.convertAndSend(
+            fanoutService.sendNotification(
                 "/user/" + initiatorId + "/topic/pairings", 
                 initiatorNotification
             );
             
             // Send to partner
-            messagingTemplate.convertAndSend(
+            fanoutService.sendNotification(
                 "/user/" + partnerId + "/topic/pairings", 
                 partnerNotification
             );
@@ -1023,157 +1034,71 @@ public class PairingService {
      * Get pairing leaderboard with embedded user profiles for optimal frontend performance
      */
     @Transactional(readOnly = true)
+    @ReportingQuery
     public List<PairingLeaderboardDTO> getLeaderboardPairings() {
-        log.debug("Fetching pairing leaderboard");
-        
-        // Check cache first for performance optimization
-        Map<String, Object> cachedData = cacheConfig.getBatchOperationsCache()
-                .getIfPresent("pairing_leaderboard");
-        
-        if (cachedData != null && cachedData.containsKey("leaderboard")) {
-            @SuppressWarnings("unchecked")
-            List<PairingLeaderboardDTO> cachedLeaderboard = (List<PairingLeaderboardDTO>) cachedData.get("leaderboard");
-            log.debug("Pairing leaderboard cache HIT - returning {} entries", cachedLeaderboard.size());
-            return cachedLeaderboard;
-        }
-        
-        log.debug("Pairing leaderboard cache MISS - fetching from database");
-        
-        try {
-            // Use existing repository method that orders by level DESC, XP DESC
-            List<Pairing> activePairings = pairingRepository.findActivePairingsOrderedByLevel();
-            
-            if (activePairings.isEmpty()) {
-                log.debug("No active pairings found for leaderboard");
-                return Collections.emptyList();
-            }
-            
-            // Collect all unique user IDs for batch profile fetching
-            Set<String> userIds = activePairings.stream()
-                .flatMap(p -> Stream.of(p.getUser1Id(), p.getUser2Id()))
-                .collect(Collectors.toSet());
-            
-            // Collect all pairing IDs for batch XP and streak fetching
-            List<Long> pairingIds = activePairings.stream()
-                .map(Pairing::getId)
-                .collect(Collectors.toList());
-            
-            // Batch fetch user profiles for performance
-            Map<String, User> userProfileMap = userRepository.findAllById(userIds)
-                .stream()
-                .collect(Collectors.toMap(User::getId, user -> user));
-            
-            // Batch fetch pair levels for performance (eliminates N+1 query problem)
-            Map<Long, PairLevel> pairLevelMap = pairLevelService.getPairLevelsForPairings(pairingIds);
-            log.debug("Batch fetched {} pair level records for {} pairings", pairLevelMap.size(), pairingIds.size());
-            
-            // Batch fetch current streak counts for performance (eliminates N+1 query problem)
-            Map<Long, Integer> streakCountMap = voiceStreakService.getCurrentStreakCountsForPairings(pairingIds);
-            log.debug("Batch fetched {} streak records for {} pairings", streakCountMap.size(), pairingIds.size());
-            
-            // Map to leaderboard DTOs with batch data lookups
-            List<PairingLeaderboardDTO> leaderboard = activePairings.stream()
-                .map(pairing -> mapToPairingLeaderboardDTO(pairing, userProfileMap, pairLevelMap, streakCountMap))
-                .filter(dto -> dto != null) // Filter out any null mappings due to missing user profiles
-                .collect(Collectors.toList());
-            
-            log.debug("Successfully created leaderboard with {} entries", leaderboard.size());
-            
-            // Cache the result wrapped in a Map for type compatibility
-            Map<String, Object> cacheData = Map.of(
-                    "leaderboard", leaderboard,
-                    "count", leaderboard.size(),
-                    "timestamp", System.currentTimeMillis()
-            );
-            cacheConfig.getBatchOperationsCache().put("pairing_leaderboard", cacheData);
-            log.debug("Cached pairing leaderboard with {} entries for improved performance", leaderboard.size());
-            
-            return leaderboard;
-            
-        } catch (Exception e) {
-            log.error("Error creating pairing leaderboard", e);
-            throw new RuntimeException("Failed to generate pairing leaderboard: " + e.getMessage(), e);
-        }
+        return getLeaderboardSnapshot().entries();
     }
-    
+
     /**
-     * Map a Pairing entity to PairingLeaderboardDTO with embedded user profiles
+     * Get one page of the pairing leaderboard. Pages are cut from the same snapshot, so ranks stay
+     * consistent between pages until the leaderboard actually changes.
      */
-    private PairingLeaderboardDTO mapToPairingLeaderboardDTO(Pairing pairing, 
-                                                           Map<String, User> userProfileMap,
-                                                           Map<Long, PairLevel> pairLevelMap,
-                                                           Map<Long, Integer> streakCountMap) {
-        try {
-            // Validate pairing inputs
-            if (pairing == null || pairing.getUser1Id() == null || pairing.getUser2Id() == null) {
-                log.warn("Invalid pairing data: pairing={}, user1Id={}, user2Id={}", 
-                        pairing != null ? pairing.getId() : "null", 
-                        pairing != null ? pairing.getUser1Id() : "null",
-                        pairing != null ? pairing.getUser2Id() : "null");
-                return null;
-            }
-            
-            User user1 = userProfileMap.get(pairing.getUser1Id());
-            User user2 = userProfileMap.get(pairing.getUser2Id());
-            
-            // Skip if either user profile is missing
-            if (user1 == null || user2 == null) {
-                log.warn("Missing user profile for pairing {}: user1={}, user2={}", 
-                        pairing.getId(), user1 != null, user2 != null);
-                return null;
-            }
-            
-            // Get level data from batch-fetched map (optimized - no N+1 query problem)
-            PairLevel pairLevel = pairLevelMap.get(pairing.getId());
-            
-            // Get current streak from batch-fetched map (optimized - no N+1 query problem)
-            int currentStreak = streakCountMap.getOrDefault(pairing.getId(), 0);
-            
-            return PairingLeaderboardDTO.builder()
-                .id(pairing.getId())
-                .user1Id(pairing.getUser1Id())
-                .user2Id(pairing.getUser2Id())
-                .user1Profile(mapToPublicUserProfileDTO(user1))
-                .user2Profile(mapToPublicUserProfileDTO(user2))
-                .discordChannelName(pairing.getDiscordChannelName())
-                .matchedAt(pairing.getMatchedAt())
-                .messageCount(pairing.getMessageCount())
-                .user1MessageCount(pairing.getUser1MessageCount())
-                .user2MessageCount(pairing.getUser2MessageCount())
-                .voiceTimeMinutes(pairing.getVoiceTimeMinutes())
-                .wordCount(pairing.getWordCount())
-                .emojiCount(pairing.getEmojiCount())
-                .activeDays(pairing.getActiveDays())
-                .compatibilityScore(pairing.getCompatibilityScore())
-                .currentLevel(pairLevel != null ? pairLevel.getCurrentLevel() : 1)
-                .totalXP(pairLevel != null ? pairLevel.getTotalXP() : 0)
-                .currentStreak(currentStreak)
-                .active(pairing.isActive())
-                .build();
-                
-        } catch (Exception e) {
-            log.error("Error mapping pairing {} to leaderboard DTO", pairing.getId(), e);
-            return null;
+    @Transactional(readOnly = true)
+    @ReportingQuery
+    public Page<PairingLeaderboardDTO> getLeaderboardPairings(int page, int size) {
+        List<PairingLeaderboardDTO> entries = getLeaderboardSnapshot().entries();
+        Pageable pageable = PageRequest.of(page, size);
+        int from = (int) Math.min(pageable.getOffset(), entries.size());
+        int to = Math.min(from + size, entries.size());
+        return new PageImpl<>(entries.subList(from, to), pageable, entries.size());
+    }
+
+    /**
+     * Invalidate the leaderboard snapshot once a pairing, pair level or voice streak change commits.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPairingChanged(PairingChanged event) {
+        leaderboardVersion.incrementAndGet();
+    }
+
+    /**
+     * Invalidate the leaderboard snapshot when a user shown on it changes, since it embeds their
+     * public profile.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChanged event) {
+        LeaderboardSnapshot snapshot = leaderboardSnapshot;
+        if (snapshot != null && snapshot.userIds().contains(event.userId())) {
+            leaderboardVersion.incrementAndGet();
         }
     }
-    
+
     /**
-     * Map User entity to PublicUserProfileDTO
+     * The current leaderboard snapshot, rebuilt with a single projection query when its version is
+     * behind. A rebuild is stamped with the version read before querying, so if a change commits
+     * while it runs the result is already stale and the next call rebuilds again.
      */
-    private PublicUserProfileDTO mapToPublicUserProfileDTO(User user) {
-        // Note: This is a simplified mapping. In a real implementation, you might want to
-        // move this to a dedicated mapper service or use the existing UserService
-        return PublicUserProfileDTO.builder()
-            .id(user.getId())
-            .username(user.getUsername())
-            .avatar(user.getAvatar())
-            .displayName(user.getDisplayName())
-            .pronouns(user.getPronouns())
-            .about(user.getAbout())
-            .bannerColor(user.getBannerColor())
-            .bannerUrl(user.getBannerUrl())
-            // Roles removed for security - should not be exposed in public leaderboard
-            // Additional fields like badge info would need to be populated based on equipped items
-            .build();
+    private LeaderboardSnapshot getLeaderboardSnapshot() {
+        long version = leaderboardVersion.get();
+        LeaderboardSnapshot snapshot = leaderboardSnapshot;
+        if (snapshot != null && snapshot.version() == version) {
+            log.debug("Pairing leaderboard snapshot HIT - returning {} entries", snapshot.entries().size());
+            return snapshot;
+        }
+
+        log.debug("Pairing leaderboard snapshot at version {} is stale - rebuilding", version);
+        try {
+            List<PairingLeaderboardDTO> entries = List.copyOf(pairingRepository.findLeaderboardEntries());
+            Set<String> userIds = entries.stream()
+                .flatMap(entry -> Stream.of(entry.getUser1Id(), entry.getUser2Id()))
+                .collect(Collectors.toUnmodifiableSet());
+            snapshot = new LeaderboardSnapshot(version, entries, userIds);
+            leaderboardSnapshot = snapshot;
+            log.debug("Rebuilt pairing leaderboard snapshot with {} entries at version {}", entries.size(), version);
+            return snapshot;
+        } catch (Exception e) {
+            log.error("Error creating pairing leaderboard", e);
+            throw new RuntimeException("Failed to generate pairing leaderboard: " + e.getMessage(), e);
+        }
     }
-} 
\ No newline at end of file
+}
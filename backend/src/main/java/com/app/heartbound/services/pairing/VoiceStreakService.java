@@ -1,14 +1,17 @@
 package com.app.heartbound.services.pairing;
 
+import com.app.heartbound.config.ReportingQuery;
 import com.app.heartbound.entities.VoiceStreak;
 import com.app.heartbound.entities.Pairing;
+import com.app.heartbound.events.DomainEvent.PairingChanged;
 import com.app.heartbound.repositories.pairing.VoiceStreakRepository;
 import com.app.heartbound.repositories.pairing.PairingRepository;
 import com.app.heartbound.dto.pairing.UpdateVoiceStreakDTO;
 import com.app.heartbound.dto.pairing.CreateVoiceStreakDTO;
+import com.app.heartbound.services.WebSocketFanoutService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -35,7 +38,8 @@ public class VoiceStreakService {
     private final VoiceStreakRepository voiceStreakRepository;
     private final PairingRepository pairingRepository;
     private final PairLevelService pairLevelService;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final WebSocketFanoutService fanoutService;
+    private final ApplicationEventPublisher eventPublisher;
     
     // Callback for Discord leaderboard refresh (set by PairingService to avoid circular dependency)
     private Consumer<Long> discordLeaderboardRefreshCallback;
@@ -77,6 +81,7 @@ public class VoiceStreakService {
         }
 
         VoiceStreak savedStreak = voiceStreakRepository.save(voiceStreak);
+        eventPublisher.publishEvent(new PairingChanged(pairingId));
         
         // Check for streak milestones and award XP
         if (isNewStreak && savedStreak.meetsMinimumActivity()) {
@@ -171,8 +176,8 @@ public class VoiceStreakService {
             );
 
             // Send to both users
-            messagingTemplate.convertAndSend("/user/" + pairing.getUser1Id() + "/topic/streaks", streakNotification);
-            messagingTemplate.convertAndSend("/user/" + pairing.getUser2Id() + "/topic/streaks", streakNotification);
+            fanoutService.sendNotification("/user/" + pairing.getUser1Id() + "/topic/streaks", streakNotification);
+            fanoutService.sendNotification("/user/" + pairing.getUser2Id() + "/topic/streaks", streakNotification);
 
             log.info("Broadcasted streak milestone for pairing {}: {}", pairing.getId(), message);
 
@@ -262,6 +267,7 @@ public class VoiceStreakService {
             if (streak.getStreakDate().isAfter(missedDate)) {
                 streak.setActive(false);
                 voiceStreakRepository.save(streak);
+                eventPublisher.publishEvent(new PairingChanged(pairingId));
             }
         }
         
@@ -272,6 +278,7 @@ public class VoiceStreakService {
      * Get top streak performers (leaderboard)
      */
     @Transactional(readOnly = true)
+    @ReportingQuery
     public List<Object[]> getTopStreakPerformers(int limit) {
         List<Object[]> topPerformers = voiceStreakRepository.findTopStreakPerformers();
         return topPerformers.stream().limit(limit).toList();
@@ -337,6 +344,7 @@ public class VoiceStreakService {
         }
         
         VoiceStreak saved = voiceStreakRepository.save(voiceStreak);
+        eventPublisher.publishEvent(new PairingChanged(saved.getPairing().getId()));
         
         // 🚀 NEW: Refresh Discord leaderboard after admin voice streak update
         if (discordLeaderboardRefreshCallback != null) {
@@ -380,6 +388,7 @@ public class VoiceStreakService {
             .build();
         
         VoiceStreak saved = voiceStreakRepository.save(voiceStreak);
+        eventPublisher.publishEvent(new PairingChanged(pairingId));
         
         // 🚀 NEW: Refresh Discord leaderboard after admin voice streak creation
         if (discordLeaderboardRefreshCallback != null) {
@@ -409,6 +418,7 @@ public class VoiceStreakService {
         Long pairingId = voiceStreak.getPairing().getId();
         
         voiceStreakRepository.delete(voiceStreak);
+        eventPublisher.publishEvent(new PairingChanged(pairingId));
         
         // 🚀 NEW: Refresh Discord leaderboard after admin voice streak deletion
         if (discordLeaderboardRefreshCallback != null) {
@@ -433,6 +443,7 @@ public class VoiceStreakService {
         List<VoiceStreak> streaks = voiceStreakRepository.findByPairingId(pairingId);
         if (!streaks.isEmpty()) {
             voiceStreakRepository.deleteAll(streaks);
+            eventPublisher.publishEvent(new PairingChanged(pairingId));
             log.info("Successfully deleted {} voice streak records for pairing {}", streaks.size(), pairingId);
         } else {
             log.info("No voice streak records found to delete for pairing {}", pairingId);
@@ -0,0 +1,336 @@
+package com.app.heartbound.services.scheduler;
+
+import com.app.heartbound.config.MonitoredExecutors;
+import com.app.heartbound.entities.ScheduledJob;
+import com.app.heartbound.repositories.ScheduledJobRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Durable deadline scheduler.
+ *
+ * Every deadline is a row in {@code scheduled_jobs}, identified by its job type and key.
+ * Only jobs due within the load horizon are held in memory, in a {@link HierarchicalTimingWheel}
+ * driven by a single ticker thread; later jobs are picked up by a periodic load as they come
+ * due, so a restart loads only due-soon work. Jobs are claimed with a lease before they run and
+ * are executed at least once: handlers must be idempotent.
+ */
+@Service
+public class DeadlineSchedulerService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeadlineSchedulerService.class);
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final ScheduledJobRepository scheduledJobRepository;
+    private final Map<String, ScheduledJobHandler> handlers = new ConcurrentHashMap<>();
+
+    // Guarded by the wheel monitor
+    private final HierarchicalTimingWheel<Long> wheel;
+    private final Map<Long, WheelJob> jobsInWheel = new HashMap<>();
+    private final Map<String, Long> jobIdsByRef = new HashMap<>();
+
+    private final ScheduledExecutorService ticker;
+    private final ExecutorService workers;
+
+    private final Duration loadHorizon;
+    private final Duration lease;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+
+    public DeadlineSchedulerService(ScheduledJobRepository scheduledJobRepository,
+                                    @Value("${scheduler.jobs.tick-ms:100}") long tickMs,
+                                    @Value("${scheduler.jobs.wheel-size:64}") int wheelSize,
+                                    @Value("${scheduler.jobs.wheel-levels:4}") int wheelLevels,
+                                    @Value("${scheduler.jobs.load-horizon-seconds:600}") long loadHorizonSeconds,
+                                    @Value("${scheduler.jobs.lease-seconds:120}") long leaseSeconds,
+                                    @Value("${scheduler.jobs.max-attempts:5}") int maxAttempts,
+                                    @Value("${scheduler.jobs.retry-backoff-seconds:30}") long retryBackoffSeconds,
+                                    @Value("${scheduler.jobs.worker-threads:4}") int workerThreads) {
+        this.scheduledJobRepository = scheduledJobRepository;
+        this.wheel = new HierarchicalTimingWheel<>(tickMs, wheelSize, wheelLevels, System.currentTimeMillis());
+        this.loadHorizon = Duration.ofSeconds(loadHorizonSeconds);
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = Duration.ofSeconds(retryBackoffSeconds);
+        this.ticker = MonitoredExecutors.newScheduledThreadPool("deadline-scheduler-tick", 1, namedThreads("deadline-scheduler-tick-"));
+        this.workers = MonitoredExecutors.newFixedThreadPool("deadline-scheduler-workers", workerThreads, namedThreads("deadline-scheduler-worker-"));
+    }
+
+    @PostConstruct
+    public void start() {
+        ticker.scheduleAtFixedRate(this::tick, wheel.tickMs(), wheel.tickMs(), TimeUnit.MILLISECONDS);
+        logger.info("Deadline scheduler started (tick {}ms, wheel horizon {}ms, load horizon {})",
+            wheel.tickMs(), wheel.horizonMs() - System.currentTimeMillis(), loadHorizon);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        logger.info("Shutting down deadline scheduler.");
+        ticker.shutdownNow();
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(10, TimeUnit.SECONDS)) {
+                // Unfinished jobs keep their lease and are retried after it expires
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Register the handler for a job type. Jobs of a type without a handler stay pending.
+     */
+    public void registerHandler(String jobType, ScheduledJobHandler handler) {
+        handlers.put(jobType, handler);
+        logger.debug("Registered scheduled job handler for type {}", jobType);
+    }
+
+    public void schedule(String jobType, String jobKey, LocalDateTime dueAt) {
+        schedule(jobType, jobKey, dueAt, null);
+    }
+
+    /**
+     * Schedule a job, or reschedule it if one already exists for the type and key.
+     * Joins the caller's transaction; the job only becomes active once it commits.
+     *
+     * @param jobType the job type, selecting the handler
+     * @param jobKey the idempotency key within the type
+     * @param dueAt when the job should run; past times run as soon as possible
+     * @param payload optional handler data
+     */
+    public void schedule(String jobType, String jobKey, LocalDateTime dueAt, String payload) {
+        // Match the database precision so the due time can be used as the claim version
+        LocalDateTime due = dueAt.truncatedTo(ChronoUnit.MICROS);
+        scheduledJobRepository.upsertPending(jobType, jobKey, payload, due);
+        Long jobId = scheduledJobRepository.findIdByJobTypeAndJobKey(jobType, jobKey)
+            .orElseThrow(() -> new IllegalStateException("Scheduled job " + jobType + ":" + jobKey + " was not persisted"));
+
+        WheelJob job = new WheelJob(jobId, jobType, jobKey, due, payload, 0);
+        afterCommit(() -> addToWheel(job));
+        logger.debug("Scheduled {} job {} for {}", jobType, jobKey, due);
+    }
+
+    /**
+     * Cancel a pending job. Joins the caller's transaction.
+     *
+     * @return true if a pending job was cancelled
+     */
+    public boolean cancel(String jobType, String jobKey) {
+        int cancelled = scheduledJobRepository.cancel(jobType, jobKey, LocalDateTime.now());
+        afterCommit(() -> removeFromWheel(ref(jobType, jobKey)));
+        if (cancelled > 0) {
+            logger.debug("Cancelled {} job {}", jobType, jobKey);
+        }
+        return cancelled > 0;
+    }
+
+    public long countPending(String jobType) {
+        return scheduledJobRepository.countPendingByType(jobType);
+    }
+
+    /**
+     * Number of jobs currently held in memory.
+     */
+    public int getLoadedJobCount() {
+        synchronized (wheel) {
+            return wheel.size();
+        }
+    }
+
+    /**
+     * Load jobs that come due within the horizon, including jobs whose worker lease expired.
+     */
+    @Scheduled(initialDelayString = "${scheduler.jobs.initial-load-delay-ms:5000}",
+               fixedDelayString = "${scheduler.jobs.load-interval-ms:60000}")
+    public void loadDueJobs() {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            List<ScheduledJob> dueJobs = scheduledJobRepository.findDueBefore(now.plus(loadHorizon), now);
+            int added = 0;
+            for (ScheduledJob job : dueJobs) {
+                if (addToWheel(new WheelJob(job.getId(), job.getJobType(), job.getJobKey(), job.getDueAt(),
+                        job.getPayload(), job.getAttempts()))) {
+                    added++;
+                }
+            }
+            if (added > 0) {
+                logger.info("Loaded {} due scheduled jobs ({} in memory)", added, getLoadedJobCount());
+            }
+        } catch (Exception e) {
+            logger.error("Failed to load due scheduled jobs: {}", e.getMessage(), e);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${scheduler.jobs.cleanup-initial-delay-ms:600000}",
+               fixedDelayString = "${scheduler.jobs.cleanup-interval-ms:21600000}")
+    public void deleteFinishedJobs() {
+        try {
+            int deleted = scheduledJobRepository.deleteFinishedBefore(LocalDateTime.now().minusDays(7));
+            if (deleted > 0) {
+                logger.info("Deleted {} finished scheduled jobs", deleted);
+            }
+        } catch (Exception e) {
+            logger.error("Failed to delete finished scheduled jobs: {}", e.getMessage(), e);
+        }
+    }
+
+    private void tick() {
+        try {
+            List<WheelJob> expired = new ArrayList<>();
+            synchronized (wheel) {
+                for (Long jobId : wheel.advance(System.currentTimeMillis())) {
+                    WheelJob job = jobsInWheel.remove(jobId);
+                    if (job != null) {
+                        jobIdsByRef.remove(job.ref(), jobId);
+                        expired.add(job);
+                    }
+                }
+            }
+            for (WheelJob job : expired) {
+                workers.execute(() -> run(job));
+            }
+        } catch (RejectedExecutionException e) {
+            logger.debug("Deadline scheduler is shutting down; remaining jobs stay pending.");
+        } catch (Exception e) {
+            // Never let an exception cancel the ticker
+            logger.error("Deadline scheduler tick failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private void run(WheelJob job) {
+        ScheduledJobHandler handler = handlers.get(job.jobType());
+        if (handler == null) {
+            logger.warn("No handler registered for {} job {}; leaving it pending.", job.jobType(), job.jobKey());
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (scheduledJobRepository.claim(job.id(), job.dueAt(), now.plus(lease), now) == 0) {
+            // Cancelled, rescheduled or claimed elsewhere since it was loaded
+            logger.debug("Skipping {} job {}: no longer claimable", job.jobType(), job.jobKey());
+            return;
+        }
+
+        int attempt = job.attempts() + 1;
+        try {
+            handler.execute(job.jobKey(), job.payload());
+            scheduledJobRepository.complete(job.id(), job.dueAt(), LocalDateTime.now());
+            logger.debug("Completed {} job {}", job.jobType(), job.jobKey());
+        } catch (Exception e) {
+            String error = truncate(e.getMessage());
+            if (attempt >= maxAttempts) {
+                scheduledJobRepository.fail(job.id(), job.dueAt(), error, LocalDateTime.now());
+                logger.error("{} job {} failed after {} attempts: {}", job.jobType(), job.jobKey(), attempt, e.getMessage(), e);
+                return;
+            }
+
+            LocalDateTime retryAt = LocalDateTime.now()
+                .plus(retryBackoff.multipliedBy(1L << Math.min(attempt - 1, 10)))
+                .truncatedTo(ChronoUnit.MICROS);
+            if (scheduledJobRepository.retry(job.id(), job.dueAt(), retryAt, error, LocalDateTime.now()) > 0) {
+                addToWheel(new WheelJob(job.id(), job.jobType(), job.jobKey(), retryAt, job.payload(), attempt));
+            }
+            logger.warn("{} job {} failed on attempt {}, retrying at {}: {}",
+                job.jobType(), job.jobKey(), attempt, retryAt, e.getMessage());
+        }
+    }
+
+    /**
+     * @return true if the job was newly added or moved to a different due time
+     */
+    private boolean addToWheel(WheelJob job) {
+        LocalDateTime horizon = LocalDateTime.now().plus(loadHorizon);
+        synchronized (wheel) {
+            WheelJob existing = jobsInWheel.get(job.id());
+            if (existing != null && existing.dueAt().equals(job.dueAt())) {
+                return false;
+            }
+            removeFromWheel(job.ref());
+            if (job.dueAt().isAfter(horizon)) {
+                // Picked up by a later load once it comes due
+                return false;
+            }
+            long deadlineMs = job.dueAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            if (!wheel.schedule(job.id(), deadlineMs)) {
+                return false;
+            }
+            jobsInWheel.put(job.id(), job);
+            jobIdsByRef.put(job.ref(), job.id());
+            return true;
+        }
+    }
+
+    private void removeFromWheel(String ref) {
+        synchronized (wheel) {
+            Long jobId = jobIdsByRef.remove(ref);
+            if (jobId != null) {
+                wheel.cancel(jobId);
+                jobsInWheel.remove(jobId);
+            }
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static String ref(String jobType, String jobKey) {
+        return jobType + ":" + jobKey;
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private record WheelJob(Long id, String jobType, String jobKey, LocalDateTime dueAt, String payload, int attempts) {
+        String ref() {
+            return DeadlineSchedulerService.ref(jobType, jobKey);
+        }
+    }
+}
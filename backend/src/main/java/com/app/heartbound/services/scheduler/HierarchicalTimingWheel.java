@@ -0,0 +1,183 @@
+package com.app.heartbound.services.scheduler;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hierarchical timing wheel holding deadlines that are due soon.
+ *
+ * Level 0 has {@code wheelSize} buckets of {@code tickMs} each; every higher level has
+ * buckets as wide as one full rotation of the level below. Adding, cancelling and firing
+ * a deadline is O(1) per level, and entries in higher levels cascade down as their
+ * bucket comes due. Deadlines beyond the top level are rejected so that far-future
+ * work stays in the database instead of memory.
+ *
+ * The wheel is not thread-safe on its own; {@link DeadlineSchedulerService} serializes access.
+ *
+ * @param <K> the key identifying a deadline
+ */
+final class HierarchicalTimingWheel<K> {
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final List<Level> levels;
+    private final Map<K, Entry<K>> entries = new HashMap<>();
+
+    HierarchicalTimingWheel(long tickMs, int wheelSize, int levelCount, long startMs) {
+        if (tickMs <= 0 || wheelSize <= 1 || levelCount <= 0) {
+            throw new IllegalArgumentException("Invalid timing wheel dimensions");
+        }
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.levels = new ArrayList<>(levelCount);
+        long levelTickMs = tickMs;
+        for (int i = 0; i < levelCount; i++) {
+            levels.add(new Level(levelTickMs, startMs - Math.floorMod(startMs, levelTickMs)));
+            levelTickMs = Math.multiplyExact(levelTickMs, wheelSize);
+        }
+    }
+
+    long tickMs() {
+        return tickMs;
+    }
+
+    /**
+     * Latest deadline (exclusive) the wheel can currently hold.
+     */
+    long horizonMs() {
+        Level top = levels.get(levels.size() - 1);
+        return top.currentTimeMs + top.tickMs * wheelSize;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    boolean contains(K key) {
+        return entries.containsKey(key);
+    }
+
+    /**
+     * Add or replace the deadline for a key.
+     *
+     * @return false if the deadline lies beyond the wheel horizon and was not added
+     */
+    boolean schedule(K key, long deadlineMs) {
+        cancel(key);
+        if (deadlineMs >= horizonMs()) {
+            return false;
+        }
+        Entry<K> entry = new Entry<>(key, deadlineMs);
+        entries.put(key, entry);
+        place(entry);
+        return true;
+    }
+
+    boolean cancel(K key) {
+        Entry<K> entry = entries.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        entry.bucket.remove(key);
+        entry.bucket = null;
+        return true;
+    }
+
+    /**
+     * Advance the wheel to the given time and return the keys whose deadline has passed.
+     */
+    List<K> advance(long nowMs) {
+        // Move every level to the current time first so that drained entries cascade into
+        // lower levels that already cover their deadline
+        List<Map<K, Entry<K>>> due = new ArrayList<>();
+        Level lowest = levels.get(0);
+        // Entries of the current level-0 slot that were not yet due last time
+        due.add(lowest.bucketFor(lowest.currentTimeMs));
+        for (Level level : levels) {
+            long target = nowMs - Math.floorMod(nowMs, level.tickMs);
+            int steps = 0;
+            while (level.currentTimeMs < target && steps < wheelSize) {
+                level.currentTimeMs += level.tickMs;
+                due.add(level.bucketFor(level.currentTimeMs));
+                steps++;
+            }
+            if (level.currentTimeMs < target) {
+                // Fell behind by more than a rotation; every bucket has been collected once already
+                level.currentTimeMs = target;
+            }
+        }
+        // The new current level-0 slot may contain entries due within this tick
+        due.add(lowest.bucketFor(lowest.currentTimeMs));
+
+        List<K> expired = new ArrayList<>();
+        for (Map<K, Entry<K>> bucket : due) {
+            drain(bucket, nowMs, expired);
+        }
+        return expired;
+    }
+
+    private void drain(Map<K, Entry<K>> bucket, long nowMs, List<K> expired) {
+        if (bucket.isEmpty()) {
+            return;
+        }
+        List<Entry<K>> drained = new ArrayList<>(bucket.values());
+        bucket.clear();
+        for (Entry<K> entry : drained) {
+            entry.bucket = null;
+            if (entry.deadlineMs <= nowMs) {
+                entries.remove(entry.key);
+                expired.add(entry.key);
+            } else {
+                place(entry);
+            }
+        }
+    }
+
+    private void place(Entry<K> entry) {
+        for (Level level : levels) {
+            long rotationEnd = level.currentTimeMs + level.tickMs * wheelSize;
+            if (entry.deadlineMs < rotationEnd) {
+                long slotTime = Math.max(entry.deadlineMs, level.currentTimeMs);
+                Map<K, Entry<K>> bucket = level.bucketFor(slotTime - Math.floorMod(slotTime, level.tickMs));
+                bucket.put(entry.key, entry);
+                entry.bucket = bucket;
+                return;
+            }
+        }
+        throw new IllegalStateException("Deadline beyond timing wheel horizon");
+    }
+
+    private final class Level {
+        private final long tickMs;
+        private final Map<K, Entry<K>>[] buckets;
+        private long currentTimeMs;
+
+        @SuppressWarnings("unchecked")
+        Level(long tickMs, long currentTimeMs) {
+            this.tickMs = tickMs;
+            this.currentTimeMs = currentTimeMs;
+            this.buckets = new Map[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                buckets[i] = new LinkedHashMap<>();
+            }
+        }
+
+        Map<K, Entry<K>> bucketFor(long slotStartMs) {
+            return buckets[(int) Math.floorMod(slotStartMs / tickMs, (long) wheelSize)];
+        }
+    }
+
+    private static final class Entry<K> {
+        private final K key;
+        private final long deadlineMs;
+        private Map<K, Entry<K>> bucket;
+
+        Entry(K key, long deadlineMs) {
+            this.key = key;
+            this.deadlineMs = deadlineMs;
+        }
+    }
+}
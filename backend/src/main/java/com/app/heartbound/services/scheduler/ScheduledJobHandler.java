@@ -0,0 +1,18 @@
+package com.app.heartbound.services.scheduler;
+
+/**
+ * Executes durable jobs of one type registered with {@link DeadlineSchedulerService}.
+ *
+ * Jobs run at least once: a handler may be invoked again for the same key after a crash
+ * or a failed attempt, so implementations must check whether the work is still needed.
+ */
+@FunctionalInterface
+public interface ScheduledJobHandler {
+
+    /**
+     * @param jobKey the key the job was scheduled with
+     * @param payload the payload the job was scheduled with, may be null
+     * @throws Exception to have the job retried with backoff
+     */
+    void execute(String jobKey, String payload) throws Exception;
+}
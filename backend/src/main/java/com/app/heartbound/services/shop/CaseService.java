@@ -9,6 +9,8 @@ import com.app.heartbound.entities.CaseItem;
 import com.app.heartbound.entities.ItemInstance;
 import com.app.heartbound.enums.ShopCategory;
 import com.app.heartbound.enums.ItemRarity;
+import com.app.heartbound.events.DomainEvent.ShopItemChanged;
+import com.app.heartbound.events.DomainEvent.UserChanged;
 import com.app.heartbound.exceptions.ResourceNotFoundException;
 import com.app.heartbound.exceptions.shop.CaseNotFoundException;
 import com.app.heartbound.exceptions.shop.CaseNotOwnedException;
@@ -24,16 +26,17 @@ import com.app.heartbound.services.UserService;
 import com.app.heartbound.services.SecureRandomService;
 import com.app.heartbound.services.RollVerificationService;
 import com.app.heartbound.services.AuditService;
-import com.app.heartbound.config.CacheConfig;
 import com.app.heartbound.dto.CreateAuditDTO;
 import com.app.heartbound.enums.AuditSeverity;
 import com.app.heartbound.enums.AuditCategory;
+import com.app.heartbound.enums.CreditSource;
 import com.app.heartbound.mappers.ShopMapper;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.core.JsonProcessingException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -53,12 +56,13 @@ public class CaseService {
     private final UserRepository userRepository;
     private final ItemInstanceRepository itemInstanceRepository;
     private final CaseItemRepository caseItemRepository;
+    private final UserService userService;
     private final SecureRandomService secureRandomService;
     private final RollAuditRepository rollAuditRepository;
     private final RollVerificationService rollVerificationService;
     private final AuditService auditService;
     private final ObjectMapper objectMapper;
-    private final CacheConfig cacheConfig;
+    private final ApplicationEventPublisher eventPublisher;
     private final ShopMapper shopMapper;
     private static final Logger logger = LoggerFactory.getLogger(CaseService.class);
 
@@ -72,18 +76,19 @@ public class CaseService {
         RollAuditRepository rollAuditRepository,
         RollVerificationService rollVerificationService,
         AuditService auditService,
-        CacheConfig cacheConfig,
+        ApplicationEventPublisher eventPublisher,
         ShopMapper shopMapper
     ) {
         this.shopRepository = shopRepository;
         this.userRepository = userRepository;
         this.itemInstanceRepository = itemInstanceRepository;
         this.caseItemRepository = caseItemRepository;
+        this.userService = userService;
         this.secureRandomService = secureRandomService;
         this.rollAuditRepository = rollAuditRepository;
         this.rollVerificationService = rollVerificationService;
         this.auditService = auditService;
-        this.cacheConfig = cacheConfig;
+        this.eventPublisher = eventPublisher;
         this.objectMapper = new ObjectMapper();
         this.shopMapper = shopMapper;
     }
@@ -181,7 +186,7 @@ public class CaseService {
             compensatedXp = calculateCompensationXp(wonItem.getRarity());
             
             // Atomically update credits and XP to prevent race conditions
-            user.setCredits(user.getCredits() + compensatedCredits);
+            userService.adjustCredits(user, compensatedCredits, CreditSource.CASE_COMPENSATION);
             user.setExperience(user.getExperience() + compensatedXp);
             
             compensationAwarded = true;
@@ -207,7 +212,7 @@ public class CaseService {
         int creditsAfter = user.getCredits();
         
         // 15. Invalidate user profile cache within transaction to prevent stale cache issues
-        cacheConfig.invalidateUserProfileCache(userId);
+        eventPublisher.publishEvent(new UserChanged(userId));
         
         // 16. Calculate processing time
         long processingTime = System.currentTimeMillis() - startTime;
@@ -332,6 +337,7 @@ public class CaseService {
             caseItemRepository.save(newCaseItem);
         }
 
+        eventPublisher.publishEvent(new ShopItemChanged(caseId));
         logger.info("Updated case {} with {} items", caseId, caseItems.size());
     }
     
@@ -0,0 +1,169 @@
+package com.app.heartbound.services.shop;
+
+import com.app.heartbound.entities.Shop;
+import com.app.heartbound.enums.ItemRarity;
+import com.app.heartbound.enums.ShopCategory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Immutable, versioned snapshot of the shop catalogue.
+ *
+ * Each snapshot owns detached copies of the {@link Shop} rows it was built from and
+ * pre-computes the secondary indexes used by the read paths (category, rarity,
+ * daily/featured flags and Discord role id). Snapshots are never mutated after
+ * construction; changes produce a new snapshot that is published by {@link ShopCatalogService}.
+ */
+public final class ShopCatalog {
+
+    private static final Comparator<Shop> NEWEST_FIRST = Comparator.comparing(
+            Shop::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()));
+
+    private final long version;
+    private final LocalDateTime builtAt;
+    private final Map<UUID, Shop> itemsById;
+    private final Map<ShopCategory, List<Shop>> itemsByCategory;
+    private final Map<ItemRarity, List<Shop>> itemsByRarity;
+    private final Map<String, List<Shop>> itemsByDiscordRoleId;
+    private final List<Shop> activeDailyItems;
+    private final List<Shop> activeFeaturedItems;
+    private final Map<UUID, Integer> caseContentsCounts;
+
+    private ShopCatalog(long version, Collection<Shop> items, Map<UUID, Integer> caseContentsCounts) {
+        this.version = version;
+        this.builtAt = LocalDateTime.now();
+
+        Map<UUID, Shop> byId = new HashMap<>();
+        Map<ShopCategory, List<Shop>> byCategory = new EnumMap<>(ShopCategory.class);
+        Map<ItemRarity, List<Shop>> byRarity = new EnumMap<>(ItemRarity.class);
+        Map<String, List<Shop>> byDiscordRoleId = new HashMap<>();
+        List<Shop> daily = new ArrayList<>();
+        List<Shop> featured = new ArrayList<>();
+
+        for (Shop item : items) {
+            byId.put(item.getId(), item);
+            if (item.getCategory() != null) {
+                byCategory.computeIfAbsent(item.getCategory(), k -> new ArrayList<>()).add(item);
+            }
+            if (item.getRarity() != null) {
+                byRarity.computeIfAbsent(item.getRarity(), k -> new ArrayList<>()).add(item);
+            }
+            if (item.getDiscordRoleId() != null && !item.getDiscordRoleId().isEmpty()) {
+                byDiscordRoleId.computeIfAbsent(item.getDiscordRoleId(), k -> new ArrayList<>()).add(item);
+            }
+            if (Boolean.TRUE.equals(item.getIsActive())) {
+                if (Boolean.TRUE.equals(item.getIsDaily())) {
+                    daily.add(item);
+                }
+                if (Boolean.TRUE.equals(item.getIsFeatured())) {
+                    featured.add(item);
+                }
+            }
+        }
+        featured.sort(NEWEST_FIRST);
+
+        this.itemsById = Collections.unmodifiableMap(byId);
+        this.itemsByCategory = freezeIndex(byCategory);
+        this.itemsByRarity = freezeIndex(byRarity);
+        this.itemsByDiscordRoleId = freezeIndex(byDiscordRoleId);
+        this.activeDailyItems = List.copyOf(daily);
+        this.activeFeaturedItems = List.copyOf(featured);
+        this.caseContentsCounts = Map.copyOf(caseContentsCounts);
+    }
+
+    /**
+     * Build a snapshot from freshly loaded shop rows. The rows are copied so the
+     * snapshot never shares state with a persistence context.
+     */
+    static ShopCatalog build(long version, Collection<Shop> items, Map<UUID, Integer> caseContentsCounts) {
+        List<Shop> copies = new ArrayList<>(items.size());
+        for (Shop item : items) {
+            copies.add(item.toBuilder().build());
+        }
+        return new ShopCatalog(version, copies, caseContentsCounts);
+    }
+
+    static ShopCatalog empty() {
+        return new ShopCatalog(0L, List.of(), Map.of());
+    }
+
+    /**
+     * Derive the next snapshot with an updated sold-copies count for a single item.
+     * Counts only ever move forward so an out-of-order update cannot roll back stock.
+     */
+    ShopCatalog withCopiesSold(UUID itemId, int copiesSold) {
+        Shop current = itemsById.get(itemId);
+        if (current == null || (current.getCopiesSold() != null && current.getCopiesSold() >= copiesSold)) {
+            return this;
+        }
+        Map<UUID, Shop> items = new HashMap<>(itemsById);
+        items.put(itemId, current.toBuilder().copiesSold(copiesSold).build());
+        return new ShopCatalog(version + 1, items.values(), caseContentsCounts);
+    }
+
+    private static <K> Map<K, List<Shop>> freezeIndex(Map<K, List<Shop>> index) {
+        index.replaceAll((key, value) -> List.copyOf(value));
+        return Collections.unmodifiableMap(index);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public LocalDateTime getBuiltAt() {
+        return builtAt;
+    }
+
+    public int size() {
+        return itemsById.size();
+    }
+
+    public Optional<Shop> findById(UUID itemId) {
+        return itemId == null ? Optional.empty() : Optional.ofNullable(itemsById.get(itemId));
+    }
+
+    public Collection<Shop> getAllItems() {
+        return itemsById.values();
+    }
+
+    public List<Shop> getItemsByCategory(ShopCategory category) {
+        return itemsByCategory.getOrDefault(category, List.of());
+    }
+
+    public List<Shop> getItemsByRarity(ItemRarity rarity) {
+        return itemsByRarity.getOrDefault(rarity, List.of());
+    }
+
+    public List<Shop> getItemsByDiscordRoleId(String discordRoleId) {
+        return discordRoleId == null ? List.of() : itemsByDiscordRoleId.getOrDefault(discordRoleId, List.of());
+    }
+
+    /**
+     * Active items flagged for the daily rotation. Expiry and stock are time/sales
+     * dependent and are therefore checked by the caller.
+     */
+    public List<Shop> getActiveDailyItems() {
+        return activeDailyItems;
+    }
+
+    /**
+     * Active featured items, newest first.
+     */
+    public List<Shop> getActiveFeaturedItems() {
+        return activeFeaturedItems;
+    }
+
+    public int getCaseContentsCount(UUID caseId) {
+        return caseContentsCounts.getOrDefault(caseId, 0);
+    }
+}
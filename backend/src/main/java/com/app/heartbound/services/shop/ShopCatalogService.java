@@ -0,0 +1,128 @@
+package com.app.heartbound.services.shop;
+
+import com.app.heartbound.entities.Shop;
+import com.app.heartbound.events.DomainEvent.ShopItemChanged;
+import com.app.heartbound.repositories.shop.CaseItemRepository;
+import com.app.heartbound.repositories.shop.ShopRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory shop catalogue.
+ *
+ * The catalogue only changes on admin edits, case content edits and hourly expiry runs,
+ * so read paths (shop listings, profile badge/nameplate lookups, DTO mapping) are served
+ * from an immutable {@link ShopCatalog} snapshot published through a copy-on-write
+ * reference. Writers publish a {@link ShopItemChanged} event and the snapshot is rebuilt
+ * once their transaction has committed.
+ *
+ * {@code copiesSold} stays DB-authoritative: purchases lock and increment the row as before,
+ * and the snapshot is only advanced via {@link #recordCopiesSold(UUID, int)} for display and
+ * listing filters.
+ */
+@Service
+public class ShopCatalogService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShopCatalogService.class);
+
+    private final ShopRepository shopRepository;
+    private final CaseItemRepository caseItemRepository;
+    private final AtomicReference<ShopCatalog> catalog = new AtomicReference<>(ShopCatalog.empty());
+
+    public ShopCatalogService(ShopRepository shopRepository, CaseItemRepository caseItemRepository) {
+        this.shopRepository = shopRepository;
+        this.caseItemRepository = caseItemRepository;
+    }
+
+    @PostConstruct
+    public void init() {
+        refresh();
+    }
+
+    /**
+     * Get the currently published snapshot. Callers should grab it once per operation
+     * so that all lookups in that operation see the same version.
+     */
+    public ShopCatalog getCatalog() {
+        return catalog.get();
+    }
+
+    public Optional<Shop> findById(UUID itemId) {
+        return catalog.get().findById(itemId);
+    }
+
+    public long getVersion() {
+        return catalog.get().getVersion();
+    }
+
+    /**
+     * Reload the catalogue from the database and atomically publish a new snapshot.
+     */
+    public void refresh() {
+        long startTime = System.currentTimeMillis();
+        try {
+            List<Shop> items = shopRepository.findAll();
+            Map<UUID, Integer> caseContentsCounts = new HashMap<>();
+            for (Object[] row : caseItemRepository.countItemsGroupedByCase()) {
+                caseContentsCounts.put((UUID) row[0], ((Number) row[1]).intValue());
+            }
+
+            ShopCatalog published = catalog.updateAndGet(previous ->
+                ShopCatalog.build(previous.getVersion() + 1, items, caseContentsCounts));
+
+            logger.info("Shop catalogue v{} published with {} items in {}ms",
+                published.getVersion(), published.size(), System.currentTimeMillis() - startTime);
+        } catch (Exception e) {
+            // Keep serving the previous snapshot rather than an empty shop
+            logger.error("Failed to rebuild shop catalogue, keeping v{}: {}", getVersion(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Rebuild the catalogue once the publishing transaction commits, or immediately when
+     * no transaction is active. Rolled-back edits therefore never become visible.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onShopItemChanged(ShopItemChanged event) {
+        refresh();
+    }
+
+    /**
+     * Advance the sold-copies count of a limited item once the purchase has committed.
+     */
+    public void recordCopiesSold(UUID itemId, int copiesSold) {
+        Runnable apply = () -> catalog.updateAndGet(current -> current.withCopiesSold(itemId, copiesSold));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    /**
+     * Whether an item is currently listable: not expired and not sold out according to the snapshot.
+     * Purchases re-check stock against the locked database row.
+     */
+    public static boolean isListable(Shop item, LocalDateTime now) {
+        return (item.getExpiresAt() == null || item.getExpiresAt().isAfter(now))
+            && (item.getMaxCopies() == null || item.getCopiesSold() == null || item.getCopiesSold() < item.getMaxCopies());
+    }
+}
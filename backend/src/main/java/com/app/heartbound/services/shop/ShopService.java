@@ -9,6 +9,8 @@ import com.app.heartbound.entities.CaseItem;
 import com.app.heartbound.entities.ItemInstance;
 import com.app.heartbound.enums.ShopCategory;
 import com.app.heartbound.enums.ItemRarity;
+import com.app.heartbound.events.DomainEvent.ShopItemChanged;
+import com.app.heartbound.events.DomainEvent.UserChanged;
 import com.app.heartbound.exceptions.ResourceNotFoundException;
 import com.app.heartbound.exceptions.shop.InsufficientCreditsException;
 import com.app.heartbound.exceptions.shop.ItemAlreadyOwnedException;
@@ -28,18 +30,20 @@ import com.app.heartbound.services.AuditService;
 import com.app.heartbound.dto.CreateAuditDTO;
 import com.app.heartbound.enums.AuditSeverity;
 import com.app.heartbound.enums.AuditCategory;
+import com.app.heartbound.enums.CreditSource;
 import com.app.heartbound.mappers.ShopMapper;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import jakarta.persistence.EntityManager;
 
+import org.hibernate.Hibernate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.CacheEvict;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -60,6 +64,8 @@ public class ShopService {
     private final AuditService auditService;
     private final ObjectMapper objectMapper;
     private final ShopMapper shopMapper;
+    private final ShopCatalogService shopCatalogService;
+    private final ApplicationEventPublisher eventPublisher;
     private static final Logger logger = LoggerFactory.getLogger(ShopService.class);
     
     public ShopService(
@@ -72,7 +78,9 @@ public class ShopService {
         HtmlSanitizationService htmlSanitizationService,
         AuditService auditService,
         EntityManager entityManager,
-        ShopMapper shopMapper
+        ShopMapper shopMapper,
+        ShopCatalogService shopCatalogService,
+        ApplicationEventPublisher eventPublisher
     ) {
         this.shopRepository = shopRepository;
         this.userRepository = userRepository;
@@ -84,6 +92,8 @@ public class ShopService {
         this.auditService = auditService;
         this.objectMapper = new ObjectMapper();
         this.shopMapper = shopMapper;
+        this.shopCatalogService = shopCatalogService;
+        this.eventPublisher = eventPublisher;
 
     }
     
@@ -103,10 +113,10 @@ public class ShopService {
             try {
                 ShopCategory category = ShopCategory.valueOf(categoryStr);
                 // Get active items that either have no expiry or haven't expired yet
-                items = shopRepository.findByCategoryAndIsActiveTrueAndIsDailyTrue(category)
+                items = shopCatalogService.getCatalog().getActiveDailyItems()
                     .stream()
-                    .filter(item -> item.getExpiresAt() == null || item.getExpiresAt().isAfter(now))
-                    .filter(item -> item.getMaxCopies() == null || item.getCopiesSold() == null || item.getCopiesSold() < item.getMaxCopies())
+                    .filter(item -> item.getCategory() == category)
+                    .filter(item -> ShopCatalogService.isListable(item, now))
                     .collect(Collectors.toList());
             } catch (IllegalArgumentException e) {
                 // Invalid category string, return empty list
@@ -115,10 +125,9 @@ public class ShopService {
             }
         } else {
             // Get all active items that either have no expiry or haven't expired yet
-            items = shopRepository.findByIsActiveTrueAndIsDailyTrue()
+            items = shopCatalogService.getCatalog().getActiveDailyItems()
                 .stream()
-                .filter(item -> item.getExpiresAt() == null || item.getExpiresAt().isAfter(now))
-                .filter(item -> item.getMaxCopies() == null || item.getCopiesSold() == null || item.getCopiesSold() < item.getMaxCopies())
+                .filter(item -> ShopCatalogService.isListable(item, now))
                 .collect(Collectors.toList());
         }
         
@@ -140,17 +149,16 @@ public class ShopService {
      * @return List of featured shop items
      */
     @Transactional(readOnly = true)
-    @Cacheable(value = "featuredItems", key = "#userId")
+    @Cacheable(value = "featuredItems", key = "#userId", condition = "#userId != null")
     public List<ShopDTO> getFeaturedItems(String userId) {
         logger.debug("Getting featured items for user {}", userId);
         
         LocalDateTime now = LocalDateTime.now();
         
         // Get featured items that are active and not expired
-        List<Shop> items = shopRepository.findByIsFeaturedTrueAndIsActiveTrueOrderByCreatedAtDesc()
+        List<Shop> items = shopCatalogService.getCatalog().getActiveFeaturedItems()
             .stream()
-            .filter(item -> item.getExpiresAt() == null || item.getExpiresAt().isAfter(now))
-            .filter(item -> item.getMaxCopies() == null || item.getCopiesSold() == null || item.getCopiesSold() < item.getMaxCopies())
+            .filter(item -> ShopCatalogService.isListable(item, now))
             .collect(Collectors.toList());
         
         // Get user for ownership checking
@@ -202,10 +210,9 @@ public class ShopService {
         LocalDateTime now = LocalDateTime.now();
 
         // Get all daily items that are active
-        List<Shop> dailyItems = shopRepository.findByIsActiveTrueAndIsDailyTrue()
+        List<Shop> dailyItems = shopCatalogService.getCatalog().getActiveDailyItems()
             .stream()
-            .filter(item -> item.getExpiresAt() == null || item.getExpiresAt().isAfter(now))
-            .filter(item -> item.getMaxCopies() == null || item.getCopiesSold() == null || item.getCopiesSold() < item.getMaxCopies())
+            .filter(item -> ShopCatalogService.isListable(item, now))
             .collect(Collectors.toList());
 
         // Filter out items the user already owns
@@ -318,7 +325,7 @@ public class ShopService {
      * @return ShopDTO
      */
     public ShopDTO getShopItemById(UUID itemId, String userId) {
-        Shop item = shopRepository.findById(itemId)
+        Shop item = shopCatalogService.findById(itemId)
             .orElseThrow(() -> new ResourceNotFoundException("Shop item not found with ID: " + itemId));
         
         User user = null;
@@ -399,7 +406,6 @@ public class ShopService {
      * @return Updated UserProfileDTO
      */
     @Transactional
-    @CacheEvict(value = "featuredItems", allEntries = true)
     public PurchaseResponseDTO purchaseItem(String userId, UUID itemId) {
         return purchaseItem(userId, itemId, 1);
     }
@@ -412,7 +418,6 @@ public class ShopService {
      * @return Updated UserProfileDTO
      */
     @Transactional
-    @CacheEvict(value = "featuredItems", allEntries = true)
     public PurchaseResponseDTO purchaseItem(String userId, UUID itemId, Integer quantity) {
         logger.debug("Processing purchase of item {} for user {} with quantity {}", itemId, userId, quantity);
     
@@ -469,6 +474,11 @@ public class ShopService {
             }
             // Atomically update the copiesSold count before creating instances
             item.setCopiesSold(currentCopiesSold + quantity);
+            shopCatalogService.recordCopiesSold(item.getId(), item.getCopiesSold());
+            if (item.getCopiesSold() >= item.getMaxCopies()) {
+                // Sold out: drop it from every user's featured listing
+                eventPublisher.publishEvent(new ShopItemChanged(item.getId()));
+            }
         }
     
         // Check for non-stackable item ownership
@@ -485,7 +495,7 @@ public class ShopService {
         }
     
         // Process purchase
-        user.setCredits(creditsBeforeTransaction - totalCost);
+        userService.adjustCredits(user, -totalCost, CreditSource.SHOP_PURCHASE);
     
         List<ItemInstance> newInstances = new ArrayList<>();
         int initialCopiesSold = (item.getCopiesSold() != null ? item.getCopiesSold() : quantity) - quantity;
@@ -517,6 +527,7 @@ public class ShopService {
         itemInstanceRepository.saveAll(newInstances);
         shopRepository.save(item);
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserChanged(userId));
     
         int creditsAfterTransaction = user.getCredits();
     
@@ -635,7 +646,6 @@ public class ShopService {
      * @return Created shop item
      */
     @Transactional
-    @CacheEvict(value = "featuredItems", allEntries = true)
     public Shop createShopItem(ShopDTO shopDTO) {
         logger.debug("Creating new shop item: {} with active status: {}", shopDTO.getName(), shopDTO.isActive());
         
@@ -710,7 +720,9 @@ public class ShopService {
         
         logger.debug("Creating new shop item with sanitized content");
         
-        return shopRepository.save(newItem);
+        Shop savedItem = shopRepository.save(newItem);
+        eventPublisher.publishEvent(new ShopItemChanged(savedItem.getId()));
+        return savedItem;
     }
     
     /**
@@ -720,7 +732,6 @@ public class ShopService {
      * @return Updated shop item
      */
     @Transactional
-    @CacheEvict(value = "featuredItems", allEntries = true)
     public Shop updateShopItem(UUID itemId, ShopDTO shopDTO) {
         logger.debug("Updating shop item {}: {} with active status: {}", itemId, shopDTO.getName(), shopDTO.isActive());
         
@@ -797,7 +808,9 @@ public class ShopService {
         
         logger.debug("Updating shop item with ID: {} with sanitized content", existingItem.getId());
         
-        return shopRepository.save(existingItem);
+        Shop savedItem = shopRepository.save(existingItem);
+        eventPublisher.publishEvent(new ShopItemChanged(savedItem.getId()));
+        return savedItem;
     }
 
     /**
@@ -806,7 +819,6 @@ public class ShopService {
      * @param newPrice New price
      */
     @Transactional
-    @CacheEvict(value = "featuredItems", allEntries = true)
     public void updateItemPrice(UUID itemId, int newPrice) {
         if (newPrice < 0) {
             throw new IllegalArgumentException("Price cannot be negative.");
@@ -817,6 +829,7 @@ public class ShopService {
         
         item.setPrice(newPrice);
         shopRepository.save(item);
+        eventPublisher.publishEvent(new ShopItemChanged(itemId));
         logger.info("Updated price for item {} to {}", itemId, newPrice);
     }
 
@@ -826,13 +839,13 @@ public class ShopService {
      * @param newStatus New active status
      */
     @Transactional
-    @CacheEvict(value = "featuredItems", allEntries = true)
     public void updateItemStatus(UUID itemId, boolean newStatus) {
         Shop item = shopRepository.findById(itemId)
             .orElseThrow(() -> new ResourceNotFoundException("Shop item not found with ID: " + itemId));
         
         item.setIsActive(newStatus);
         shopRepository.save(item);
+        eventPublisher.publishEvent(new ShopItemChanged(itemId));
         logger.info("Updated active status for item {} to {}", itemId, newStatus);
     }
     
@@ -843,7 +856,6 @@ public class ShopService {
      * @throws ItemReferencedInCasesException if the item is referenced in cases (with cascade info)
      */
     @Transactional
-    @CacheEvict(value = "featuredItems", allEntries = true)
     public void deleteShopItem(UUID itemId) {
         logger.debug("Attempting to delete shop item {}", itemId);
         
@@ -859,6 +871,7 @@ public class ShopService {
             
             // Step 3: Perform the actual deletion
             shopRepository.delete(item);
+            eventPublisher.publishEvent(new ShopItemChanged(itemId));
             
             logger.info("Successfully deleted shop item {} with cascade cleanup", itemId);
             
@@ -987,7 +1000,7 @@ public class ShopService {
                 // 1. Issue refund if necessary
                 if (needsRefund) {
                     int totalRefund = (int) (refundAmount * ownedCount);
-                    user.setCredits(user.getCredits() + totalRefund);
+                    userService.adjustCredits(user, totalRefund, CreditSource.SHOP_REFUND);
                 }
 
                 // 2. Unequip the item if it was equipped
@@ -1014,17 +1027,20 @@ public class ShopService {
                     }
                 }
                 
-                // 3. Remove the instances from the user's collection to prevent TransientObjectException
-                user.getItemInstances().removeAll(userInstances);
+                // 3. Remove the instances from the user's collection to prevent TransientObjectException.
+                // An uninitialized collection holds nothing to cascade, so it is not loaded just for this.
+                if (Hibernate.isInitialized(user.getItemInstances())) {
+                    user.getItemInstances().removeAll(userInstances);
+                }
             }
 
-            // Save all user changes in a batch.
+            // Save all user changes; the updates are flushed as JDBC batches.
             userRepository.saveAll(affectedUsers);
             logger.info("Processed refunds and unequips for {} users affected by deletion of item '{}'.", affectedUsers.size(), item.getName());
         }
 
-        // Finally, remove all instances of the item from the inventory.
-        itemInstanceRepository.deleteAllInBatch(instancesToDelete);
+        // Finally, remove all instances of the item from the inventory in one statement.
+        itemInstanceRepository.deleteByBaseItem(item);
         logger.info("Removing {} instances of item {} from all user inventories.", instancesToDelete.size(), item.getId());
     }
     
@@ -1055,7 +1071,7 @@ public class ShopService {
      * @return List of all shop items
      */
     public List<ShopDTO> getAllShopItems() {
-        List<Shop> items = shopRepository.findAll();
+        Collection<Shop> items = shopCatalogService.getCatalog().getAllItems();
         LocalDateTime now = LocalDateTime.now();
         
         return items.stream()
@@ -1082,10 +1098,11 @@ public class ShopService {
         logger.debug("Fetching all distinct shop categories");
         
         // Get all active shop items
-        List<Shop> items = shopRepository.findByIsActiveTrue();
+        Collection<Shop> items = shopCatalogService.getCatalog().getAllItems();
         
         // Extract unique categories and convert to strings
         return items.stream()
+            .filter(item -> Boolean.TRUE.equals(item.getIsActive()))
             .map(Shop::getCategory)
             .filter(Objects::nonNull)
             .distinct()
@@ -0,0 +1,152 @@
+package com.app.heartbound.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Bounded heavy-hitter counter using the Space-Saving algorithm.
+ *
+ * At most {@code capacity} keys are tracked. When a new key arrives while the sketch is full,
+ * it replaces the key with the smallest count and inherits that count, so any key whose true
+ * frequency exceeds {@code total / capacity} is guaranteed to be present and reported counts
+ * never underestimate.
+ *
+ * Tracked keys are kept in a min-heap on their count, so both counting a tracked key and
+ * replacing the smallest one cost O(log capacity) while the lock is held.
+ */
+public class TopKSketch<K> {
+
+    private final int capacity;
+    private final Map<K, Entry<K>> entries;
+    // Min-heap on count; each entry knows its own slot
+    private final Entry<K>[] heap;
+    private int size;
+    private long total;
+
+    public TopKSketch(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.entries = new HashMap<>(capacity * 2);
+        @SuppressWarnings("unchecked")
+        Entry<K>[] slots = (Entry<K>[]) new Entry[capacity];
+        this.heap = slots;
+    }
+
+    /**
+     * Count one occurrence of the key
+     */
+    public synchronized void add(K key) {
+        total++;
+        Entry<K> entry = entries.get(key);
+        if (entry != null) {
+            entry.count++;
+            siftDown(entry.slot);
+            return;
+        }
+        if (size < capacity) {
+            entry = new Entry<>(key, 1, size);
+            heap[size++] = entry;
+            entries.put(key, entry);
+            siftUp(entry.slot);
+            return;
+        }
+
+        // The smallest entry is at the root; reuse it for the new key
+        Entry<K> min = heap[0];
+        entries.remove(min.key);
+        min.key = key;
+        min.count++;
+        entries.put(key, min);
+        siftDown(0);
+    }
+
+    private void siftUp(int slot) {
+        Entry<K> entry = heap[slot];
+        while (slot > 0) {
+            int parent = (slot - 1) >>> 1;
+            if (heap[parent].count <= entry.count) {
+                break;
+            }
+            place(heap[parent], slot);
+            slot = parent;
+        }
+        place(entry, slot);
+    }
+
+    private void siftDown(int slot) {
+        Entry<K> entry = heap[slot];
+        while (true) {
+            int child = 2 * slot + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && heap[child + 1].count < heap[child].count) {
+                child++;
+            }
+            if (entry.count <= heap[child].count) {
+                break;
+            }
+            place(heap[child], slot);
+            slot = child;
+        }
+        place(entry, slot);
+    }
+
+    private void place(Entry<K> entry, int slot) {
+        heap[slot] = entry;
+        entry.slot = slot;
+    }
+
+    /**
+     * Tracked keys and their (over-)estimated counts, highest first
+     */
+    public <R> LinkedHashMap<R, Long> snapshot(Function<K, R> keyMapper) {
+        List<Map.Entry<K, Long>> sorted;
+        synchronized (this) {
+            sorted = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                sorted.add(Map.entry(heap[i].key, heap[i].count));
+            }
+        }
+        sorted.sort(Map.Entry.<K, Long>comparingByValue().reversed());
+
+        LinkedHashMap<R, Long> result = new LinkedHashMap<>();
+        for (Map.Entry<K, Long> entry : sorted) {
+            result.merge(keyMapper.apply(entry.getKey()), entry.getValue(), Long::sum);
+        }
+        return result;
+    }
+
+    /**
+     * Exact number of occurrences counted since the last clear
+     */
+    public synchronized long total() {
+        return total;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        Arrays.fill(heap, 0, size, null);
+        size = 0;
+        total = 0;
+    }
+
+    private static final class Entry<K> {
+        private K key;
+        private long count;
+        private int slot;
+
+        private Entry(K key, long count, int slot) {
+            this.key = key;
+            this.count = count;
+            this.slot = slot;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+-- V17: Keyset pagination indexes and daily rollups for audit entries
+-- Audit listings page on ("timestamp", id) instead of offsets, and statistics are served
+-- from per-day/per-category rollup rows instead of scanning the audits table.
+
+-- Composite indexes matching the keyset ordering, with and without the common filters.
+-- They supersede the single-column user_id and timestamp indexes.
+CREATE INDEX IF NOT EXISTS idx_audit_timestamp_id ON public.audits("timestamp" DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_audit_user_timestamp_id ON public.audits(user_id, "timestamp" DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_audit_category_timestamp_id ON public.audits(category, "timestamp" DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_audit_severity_timestamp_id ON public.audits(severity, "timestamp" DESC, id DESC);
+
+DROP INDEX IF EXISTS public.idx_audit_user_id;
+DROP INDEX IF EXISTS public.idx_audit_timestamp;
+
+CREATE TABLE IF NOT EXISTS public.audit_daily_rollups (
+    id BIGSERIAL PRIMARY KEY,
+    day DATE NOT NULL,
+    category VARCHAR(50) NOT NULL,
+    entry_count BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL,
+    CONSTRAINT uk_audit_daily_rollups_day_category UNIQUE (day, category)
+);
+
+-- Seed rollups from the existing audit history
+INSERT INTO public.audit_daily_rollups (day, category, entry_count, updated_at)
+SELECT CAST(a."timestamp" AS DATE), COALESCE(a.category, 'SYSTEM'), COUNT(*), NOW()
+FROM public.audits a
+GROUP BY CAST(a."timestamp" AS DATE), COALESCE(a.category, 'SYSTEM')
+ON CONFLICT (day, category) DO NOTHING;
+
+COMMENT ON TABLE public.audit_daily_rollups IS 'Number of audit entries written per day and category, maintained incrementally by the application';
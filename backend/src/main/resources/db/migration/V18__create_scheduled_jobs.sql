@@ -0,0 +1,41 @@
+-- V18: Durable deadline scheduler
+-- Prison releases, giveaway completions and trade expirations are stored as rows here and
+-- only jobs due soon are held in memory. (job_type, job_key) is the idempotency key.
+
+CREATE TABLE IF NOT EXISTS public.scheduled_jobs (
+    id BIGSERIAL PRIMARY KEY,
+    job_type VARCHAR(50) NOT NULL,
+    job_key VARCHAR(255) NOT NULL,
+    payload TEXT,
+    due_at TIMESTAMP NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INTEGER NOT NULL DEFAULT 0,
+    locked_until TIMESTAMP,
+    last_error TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    CONSTRAINT uk_scheduled_jobs_type_key UNIQUE (job_type, job_key)
+);
+
+CREATE INDEX IF NOT EXISTS idx_scheduled_jobs_status_due_at ON public.scheduled_jobs(status, due_at);
+
+-- Carry over deadlines that were previously rescheduled from their source tables on startup
+INSERT INTO public.scheduled_jobs (job_type, job_key, due_at)
+SELECT 'PRISON_RELEASE', u.id, u.prison_release_at
+FROM public.users u
+WHERE u.prison_release_at IS NOT NULL
+ON CONFLICT (job_type, job_key) DO NOTHING;
+
+INSERT INTO public.scheduled_jobs (job_type, job_key, due_at)
+SELECT 'PRISON_RELEASE', p.discord_user_id, p.prison_release_at
+FROM public.pending_prisons p
+WHERE p.prison_release_at IS NOT NULL
+ON CONFLICT (job_type, job_key) DO NOTHING;
+
+INSERT INTO public.scheduled_jobs (job_type, job_key, due_at)
+SELECT 'GIVEAWAY_COMPLETION', CAST(g.id AS VARCHAR), g.end_date
+FROM public.giveaways g
+WHERE g.status = 'ACTIVE'
+ON CONFLICT (job_type, job_key) DO NOTHING;
+
+COMMENT ON TABLE public.scheduled_jobs IS 'Durable deadlines executed at least once by the application scheduler';
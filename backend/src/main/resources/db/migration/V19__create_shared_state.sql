@@ -0,0 +1,16 @@
+-- V19: State shared between backend instances
+-- Small keyed entries with an expiry (single-use login codes, used refresh tokens, instance
+-- heartbeats), used when cluster.state.provider=postgres. Expired rows are swept by the
+-- instances' heartbeat.
+
+CREATE TABLE IF NOT EXISTS public.shared_state (
+    namespace VARCHAR(50) NOT NULL,
+    state_key VARCHAR(255) NOT NULL,
+    state_value TEXT,
+    expires_at TIMESTAMPTZ NOT NULL,
+    CONSTRAINT pk_shared_state PRIMARY KEY (namespace, state_key)
+);
+
+CREATE INDEX IF NOT EXISTS idx_shared_state_expires_at ON public.shared_state(expires_at);
+
+COMMENT ON TABLE public.shared_state IS 'Expiring key/value entries shared by all backend instances';
@@ -0,0 +1,6 @@
+-- V20: Let Hibernate batch trade item inserts
+-- TradeItem ids now come from the column's sequence with a pooled allocation of 50, so the
+-- items of a new trade no longer need one INSERT ... RETURNING each. The column default
+-- still draws from the same sequence.
+
+ALTER SEQUENCE IF EXISTS public.trade_items_id_seq INCREMENT BY 50;
@@ -0,0 +1,30 @@
+-- V21: Append-only credit ledger
+-- Every change to users.credits is recorded with its source and the balance it left, in the
+-- same transaction as the change. Ids come from a sequence with a pooled allocation of 50, so
+-- the entries of a transaction that changes many balances are inserted in one batch.
+
+CREATE SEQUENCE IF NOT EXISTS public.credit_ledger_id_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS public.credit_ledger (
+    id BIGINT PRIMARY KEY DEFAULT nextval('public.credit_ledger_id_seq'),
+    user_id VARCHAR(255) NOT NULL,
+    delta INTEGER NOT NULL,
+    balance_after INTEGER NOT NULL,
+    source VARCHAR(32) NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+
+ALTER SEQUENCE public.credit_ledger_id_seq OWNED BY public.credit_ledger.id;
+
+-- Per-user history and the hourly minted/burned analytics
+CREATE INDEX IF NOT EXISTS idx_credit_ledger_user_id ON public.credit_ledger(user_id, id);
+CREATE INDEX IF NOT EXISTS idx_credit_ledger_created_at ON public.credit_ledger(created_at);
+
+-- Open the ledger with the balances users already have, so that each user's entries add up
+-- to their balance
+INSERT INTO public.credit_ledger (user_id, delta, balance_after, source, created_at)
+SELECT u.id, u.credits, u.credits, 'OPENING_BALANCE', NOW()
+FROM public.users u
+WHERE u.credits IS NOT NULL AND u.credits <> 0;
+
+COMMENT ON TABLE public.credit_ledger IS 'Append-only history of credit changes; users.credits is the balance snapshot';
@@ -0,0 +1,27 @@
+-- V22: Hourly economy snapshots
+-- Money supply, user and item counts are kept in memory by the application and written here
+-- once an hour, with the items of each rarity in circulation and minted during the hour, so
+-- trends can be charted without scanning users and item_instances.
+
+CREATE TABLE IF NOT EXISTS public.economy_snapshots (
+    id BIGSERIAL PRIMARY KEY,
+    hour TIMESTAMP NOT NULL,
+    total_credits BIGINT NOT NULL,
+    total_users BIGINT NOT NULL,
+    items_in_circulation BIGINT NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    CONSTRAINT uk_economy_snapshots_hour UNIQUE (hour)
+);
+
+CREATE TABLE IF NOT EXISTS public.economy_rarity_snapshots (
+    id BIGSERIAL PRIMARY KEY,
+    hour TIMESTAMP NOT NULL,
+    rarity VARCHAR(20) NOT NULL,
+    items_in_circulation BIGINT NOT NULL,
+    items_minted BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL,
+    CONSTRAINT uk_economy_rarity_snapshots_hour_rarity UNIQUE (hour, rarity)
+);
+
+COMMENT ON TABLE public.economy_snapshots IS 'Money supply, users and items in circulation at the start of each hour';
+COMMENT ON TABLE public.economy_rarity_snapshots IS 'Items of each rarity in circulation at the start of each hour and minted during the hour before';
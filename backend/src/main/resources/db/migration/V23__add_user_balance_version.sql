@@ -0,0 +1,5 @@
+-- V23: Balance version of a user
+-- Moved on by every atomic credit/XP update and returned with the new balance, so the cached
+-- hot state of a user can be updated in place without an older balance replacing a newer one.
+
+ALTER TABLE public.users ADD COLUMN IF NOT EXISTS balance_version BIGINT NOT NULL DEFAULT 0;
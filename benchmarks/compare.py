@@ -0,0 +1,82 @@
+#!/usr/bin/env python3
+"""Compare two JMH JSON result files and flag regressions.
+
+Usage:
+    python3 benchmarks/compare.py benchmarks/baseline/baseline.json current.json [--threshold 10]
+
+Results are matched by benchmark name and parameters. A benchmark regresses when its score
+moves in the "worse" direction by more than the threshold percentage (higher is worse for
+time-per-op modes, lower is worse for throughput). Exits with status 1 if anything regressed.
+"""
+
+import argparse
+import json
+import sys
+
+LOWER_IS_BETTER = {"avgt", "sample", "ss"}
+
+
+def load(path):
+    with open(path, encoding="utf-8") as f:
+        results = json.load(f)
+    by_key = {}
+    for result in results:
+        params = result.get("params") or {}
+        name = ".".join(result["benchmark"].split(".")[-2:])
+        key = (name, tuple(sorted(params.items())))
+        by_key[key] = result
+    return by_key
+
+
+def describe(key):
+    name, params = key
+    if not params:
+        return name
+    return name + " [" + ", ".join(f"{k}={v}" for k, v in params) + "]"
+
+
+def main():
+    parser = argparse.ArgumentParser(description=__doc__.splitlines()[0])
+    parser.add_argument("baseline")
+    parser.add_argument("current")
+    parser.add_argument("--threshold", type=float, default=10.0,
+                        help="allowed slowdown in percent before a result is flagged (default 10)")
+    args = parser.parse_args()
+
+    baseline = load(args.baseline)
+    current = load(args.current)
+
+    regressions = 0
+    for key in sorted(baseline.keys() | current.keys()):
+        if key not in current:
+            print(f"MISSING     {describe(key)}")
+            continue
+        if key not in baseline:
+            print(f"NEW         {describe(key)}")
+            continue
+
+        before = baseline[key]["primaryMetric"]
+        after = current[key]["primaryMetric"]
+        unit = after["scoreUnit"]
+        if before["score"] == 0:
+            continue
+        change = (after["score"] - before["score"]) / before["score"] * 100.0
+        worse = change if baseline[key]["mode"] in LOWER_IS_BETTER else -change
+
+        if worse > args.threshold:
+            status = "REGRESSION"
+            regressions += 1
+        elif worse < -args.threshold:
+            status = "IMPROVED"
+        else:
+            status = "OK"
+        print(f"{status:<11} {describe(key)}: {before['score']:.3f} -> {after['score']:.3f} {unit} ({change:+.1f}%)")
+
+    if regressions:
+        print(f"\n{regressions} benchmark(s) regressed by more than {args.threshold:g}%")
+        return 1
+    return 0
+
+
+if __name__ == "__main__":
+    sys.exit(main())
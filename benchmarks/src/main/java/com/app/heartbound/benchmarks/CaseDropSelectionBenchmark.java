@@ -0,0 +1,105 @@
+package com.app.heartbound.benchmarks;
+
+import com.app.heartbound.entities.CaseItem;
+import com.app.heartbound.entities.Shop;
+import com.app.heartbound.enums.ItemRarity;
+import com.app.heartbound.enums.ShopCategory;
+import com.app.heartbound.services.shop.CaseService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drop selection of {@code CaseService.openCase}: the cumulative walk over a case's contents
+ * with drop rates scaled from {@link BigDecimal} percentages, for a given 0-999,999 roll.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class CaseDropSelectionBenchmark {
+
+    private static final MethodHandle SELECT_ITEM;
+
+    static {
+        try {
+            SELECT_ITEM = MethodHandles.privateLookupIn(CaseService.class, MethodHandles.lookup())
+                .findVirtual(CaseService.class, "selectItemByDropRateSecureWithRoll",
+                    MethodType.methodType(Shop.class, List.class, int.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @Param({"8", "32"})
+    public int caseSize;
+
+    private CaseService caseService;
+    private List<CaseItem> caseItems;
+    private int[] rolls;
+    private int nextRoll;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Drop selection touches none of the collaborators
+        caseService = new CaseService(null, null, null, null, null, null, null, null, null, null, null);
+
+        // Fixed seed; drop rates are 4-decimal percentages summing to exactly 100 like real cases
+        SplittableRandom random = new SplittableRandom(7);
+        int[] weights = new int[caseSize];
+        int weightSum = 0;
+        for (int i = 0; i < caseSize; i++) {
+            weights[i] = 1 + random.nextInt(10_000);
+            weightSum += weights[i];
+        }
+        caseItems = new ArrayList<>(caseSize);
+        BigDecimal remaining = new BigDecimal("100.0000");
+        for (int i = 0; i < caseSize; i++) {
+            BigDecimal dropRate = i == caseSize - 1 ? remaining
+                : BigDecimal.valueOf(weights[i] * 100.0 / weightSum).setScale(4, RoundingMode.HALF_UP);
+            remaining = remaining.subtract(dropRate);
+            Shop item = Shop.builder()
+                .id(UUID.nameUUIDFromBytes(("case-item-" + i).getBytes()))
+                .name("Item " + i)
+                .category(ShopCategory.USER_COLOR)
+                .rarity(ItemRarity.values()[i % ItemRarity.values().length])
+                .price(100)
+                .build();
+            caseItems.add(CaseItem.builder().containedItem(item).dropRate(dropRate).build());
+        }
+
+        rolls = new int[1024];
+        for (int i = 0; i < rolls.length; i++) {
+            rolls[i] = random.nextInt(1_000_000);
+        }
+    }
+
+    @Benchmark
+    public Shop selectItemByDropRate() throws Throwable {
+        int roll = rolls[nextRoll];
+        nextRoll = (nextRoll + 1) & (rolls.length - 1);
+        return (Shop) SELECT_ITEM.invokeExact(caseService, caseItems, roll);
+    }
+}
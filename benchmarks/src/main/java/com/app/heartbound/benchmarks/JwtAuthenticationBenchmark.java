@@ -0,0 +1,73 @@
+package com.app.heartbound.benchmarks;
+
+import com.app.heartbound.config.security.JWTCacheConfig;
+import com.app.heartbound.config.security.JWTTokenProvider;
+import com.app.heartbound.config.security.JWTUserDetails;
+import com.app.heartbound.enums.Role;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JWTTokenProvider#authenticateTokenOptimized} with the JWT caches enabled (the
+ * steady state for a reconnecting WebSocket client) and disabled (full signature check and
+ * claims parsing on every call).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class JwtAuthenticationBenchmark {
+
+    private static final String ACCESS_SECRET = "benchmark-access-secret-0123456789abcdef0123456789abcdef0123456789";
+    private static final String REFRESH_SECRET = "benchmark-refresh-secret-0123456789abcdef0123456789abcdef012345678";
+
+    @Param({"true", "false"})
+    public boolean cacheEnabled;
+
+    private JWTTokenProvider tokenProvider;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        JWTCacheConfig cacheConfig = new JWTCacheConfig();
+        ReflectionTestUtils.setField(cacheConfig, "tokenValidationCacheMaxSize", 10_000L);
+        ReflectionTestUtils.setField(cacheConfig, "tokenValidationCacheExpireMinutes", 10L);
+        ReflectionTestUtils.setField(cacheConfig, "claimsCacheMaxSize", 5_000L);
+        ReflectionTestUtils.setField(cacheConfig, "claimsCacheExpireMinutes", 10L);
+        ReflectionTestUtils.setField(cacheConfig, "userDetailsCacheMaxSize", 5_000L);
+        ReflectionTestUtils.setField(cacheConfig, "userDetailsCacheExpireMinutes", 10L);
+        cacheConfig.initializeCaches();
+
+        tokenProvider = new JWTTokenProvider();
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret", ACCESS_SECRET);
+        ReflectionTestUtils.setField(tokenProvider, "jwtRefreshSecret", REFRESH_SECRET);
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpirationInMs", TimeUnit.HOURS.toMillis(1));
+        ReflectionTestUtils.setField(tokenProvider, "jwtRefreshExpirationInMs", TimeUnit.DAYS.toMillis(7));
+        ReflectionTestUtils.setField(tokenProvider, "cacheEnabled", cacheEnabled);
+        tokenProvider.init();
+        tokenProvider.setJwtCacheConfig(cacheConfig);
+
+        token = tokenProvider.generateToken("123456789012345678", Set.of(Role.USER, Role.MONARCH));
+    }
+
+    @Benchmark
+    public JWTUserDetails authenticateTokenOptimized() {
+        return tokenProvider.authenticateTokenOptimized(token);
+    }
+}
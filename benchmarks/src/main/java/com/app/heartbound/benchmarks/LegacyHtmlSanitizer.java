@@ -0,0 +1,62 @@
+package com.app.heartbound.benchmarks;
+
+import com.app.heartbound.services.HtmlSanitizationService;
+import com.app.heartbound.services.HtmlSanitizationService.SanitizationPolicy;
+import org.owasp.html.HtmlPolicyBuilder;
+import org.owasp.html.PolicyFactory;
+import org.springframework.util.StringUtils;
+
+import java.util.regex.Pattern;
+
+/**
+ * The output of {@link HtmlSanitizationService#sanitize} before STRICT and BASIC text got its own
+ * scanner: every input through the OWASP policies and the regular expressions after them. The
+ * comparison in {@link HtmlSanitizationBenchmark}; the backend's tests keep the same copy as the
+ * reference for their differential fuzz test. Logging and metrics are left out, as they do not
+ * change the output.
+ */
+final class LegacyHtmlSanitizer {
+
+    private static final Pattern ALPHANUMERIC_WITH_PUNCTUATION = Pattern.compile("^[a-zA-Z0-9\\s\\-_.,'!?():/]+$");
+    private static final Pattern DANGEROUS_PATTERNS = Pattern.compile(
+        "(?i)(javascript:|data:|vbscript:|on\\w+\\s*=|<\\s*script|<\\s*iframe|<\\s*object|<\\s*embed|<\\s*link|<\\s*meta|<\\s*style)"
+    );
+
+    private final PolicyFactory strictPolicy = new HtmlPolicyBuilder().toFactory();
+    private final PolicyFactory basicPolicy = new HtmlPolicyBuilder().toFactory();
+    private final PolicyFactory richPolicy = new HtmlPolicyBuilder()
+        .allowElements("b", "i", "u", "br", "p", "strong", "em")
+        .allowAttributes("class")
+            .matching(Pattern.compile("^(text-\\w+|font-\\w+|bg-\\w+)$"))
+            .onElements("p", "span")
+        .toFactory();
+
+    String sanitize(String input, SanitizationPolicy policy) {
+        if (!StringUtils.hasText(input)) {
+            return input;
+        }
+        try {
+            if (DANGEROUS_PATTERNS.matcher(input).find() && policy == SanitizationPolicy.STRICT) {
+                return "";
+            }
+            String sanitized = switch (policy) {
+                case STRICT -> {
+                    String strict = strictPolicy.sanitize(input);
+                    if (!ALPHANUMERIC_WITH_PUNCTUATION.matcher(strict).matches()) {
+                        strict = strict.replaceAll("[^a-zA-Z0-9\\s\\-_.,'!?():/]", "");
+                    }
+                    yield strict.replaceAll("\\s+", " ").trim();
+                }
+                case BASIC -> basicPolicy.sanitize(input)
+                    .replaceAll("\\r?\\n", " ")
+                    .replaceAll("\\s+", " ").trim();
+                case RICH -> richPolicy.sanitize(input).trim();
+            };
+            sanitized = sanitized.replace("\0", "");
+            sanitized = sanitized.replaceAll("[\\x00-\\x08\\x0B\\x0C\\x0E-\\x1F\\x7F]", "");
+            return sanitized.trim();
+        } catch (Exception e) {
+            return "";
+        }
+    }
+}
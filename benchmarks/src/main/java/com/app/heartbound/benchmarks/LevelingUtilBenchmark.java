@@ -0,0 +1,44 @@
+package com.app.heartbound.benchmarks;
+
+import com.app.heartbound.utils.LevelingUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rod XP curve: a single lookup and the full walk from level 1 to the cap, which is what a
+ * large XP grant that levels a rod several times costs.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class LevelingUtilBenchmark {
+
+    // Read from a field so the JIT cannot constant-fold the argument
+    public int level = 17;
+
+    @Benchmark
+    public long calculateXpForRodLevel() {
+        return LevelingUtil.calculateXpForRodLevel(level);
+    }
+
+    @Benchmark
+    public long totalXpToMaxRodLevel() {
+        long total = 0;
+        for (int current = 1; current < LevelingUtil.MAX_ROD_LEVEL; current++) {
+            total += LevelingUtil.calculateXpForRodLevel(current);
+        }
+        return total;
+    }
+}
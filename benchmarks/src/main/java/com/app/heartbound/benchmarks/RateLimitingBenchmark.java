@@ -0,0 +1,141 @@
+package com.app.heartbound.benchmarks;
+
+import com.app.heartbound.config.cluster.InProcessClusterState;
+import com.app.heartbound.config.security.RateLimited;
+import com.app.heartbound.enums.RateLimitKeyType;
+import com.app.heartbound.services.RateLimitingService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.ConsumptionProbe;
+import io.github.bucket4j.Refill;
+import jakarta.servlet.http.HttpServletRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the unified {@link RateLimitingService} against the former aspect path, which built
+ * two string keys per request and consumed from separate minute and hour buckets.
+ * Run with {@code -prof gc} to compare the allocation rate per operation as well.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class RateLimitingBenchmark {
+
+    private static final int CLIENTS = 1024;
+
+    private RateLimited rateLimited;
+    private RateLimitingService unified;
+    private LegacyRateLimiter legacy;
+    private HttpServletRequest[] requests;
+    private int next;
+
+    @RateLimited(requestsPerMinute = Integer.MAX_VALUE / 2, requestsPerHour = Integer.MAX_VALUE / 2,
+                 keyType = RateLimitKeyType.USER_IP, keyPrefix = "purchase")
+    private void annotated() {
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws NoSuchMethodException {
+        rateLimited = RateLimitingBenchmark.class.getDeclaredMethod("annotated").getAnnotation(RateLimited.class);
+        unified = new RateLimitingService(new InProcessClusterState(), 100, 1, 120, 100_000, 100);
+        legacy = new LegacyRateLimiter();
+
+        requests = new HttpServletRequest[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest();
+            request.addHeader("X-Forwarded-For", "10." + (i >> 8) + "." + (i & 0xFF) + ".7, 172.16.0.1");
+            requests[i] = request;
+        }
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+            "123456789012345678", null, List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public void unifiedLimiter() {
+        unified.checkRateLimit(rateLimited, nextRequest());
+    }
+
+    @Benchmark
+    public void legacyAspectPath() {
+        legacy.checkRateLimit(rateLimited, nextRequest());
+    }
+
+    private HttpServletRequest nextRequest() {
+        HttpServletRequest request = requests[next];
+        next = (next + 1) & (CLIENTS - 1);
+        return request;
+    }
+
+    /**
+     * The previous RateLimitingService hot path, kept verbatim for comparison
+     */
+    static final class LegacyRateLimiter {
+
+        private final Cache<String, Bucket> userMinuteBuckets = Caffeine.newBuilder()
+            .maximumSize(50000).expireAfterAccess(Duration.ofMinutes(5)).build();
+        private final Cache<String, Bucket> userHourBuckets = Caffeine.newBuilder()
+            .maximumSize(50000).expireAfterAccess(Duration.ofHours(2)).build();
+
+        void checkRateLimit(RateLimited config, HttpServletRequest request) {
+            String prefix = config.keyPrefix().isEmpty() ? "endpoint" : config.keyPrefix();
+            String userId = SecurityContextHolder.getContext().getAuthentication().getName();
+            String limitKey = prefix + ":user_ip:" + userId + ":" + getClientIpAddress(request);
+
+            checkSpecificLimit(limitKey + ":minute", config.requestsPerMinute(),
+                config.burstCapacity() > 0 ? config.burstCapacity() : (int) (config.requestsPerMinute() * 1.2),
+                Duration.ofMinutes(1), userMinuteBuckets);
+            checkSpecificLimit(limitKey + ":hour", config.requestsPerHour(),
+                Math.max(config.requestsPerHour(), config.requestsPerMinute() * 2),
+                Duration.ofHours(1), userHourBuckets);
+        }
+
+        private void checkSpecificLimit(String key, int maxRequests, int burstCapacity, Duration refillPeriod,
+                                        Cache<String, Bucket> cache) {
+            Bucket bucket = cache.get(key, k -> Bucket.builder()
+                .addLimit(Bandwidth.classic(burstCapacity, Refill.intervally(maxRequests, refillPeriod)))
+                .build());
+            ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
+            if (!probe.isConsumed()) {
+                throw new IllegalStateException("Benchmark limits must never be reached");
+            }
+        }
+
+        private String getClientIpAddress(HttpServletRequest request) {
+            String xForwardedFor = request.getHeader("X-Forwarded-For");
+            if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
+                return xForwardedFor.split(",")[0].trim();
+            }
+            return request.getRemoteAddr();
+        }
+    }
+}
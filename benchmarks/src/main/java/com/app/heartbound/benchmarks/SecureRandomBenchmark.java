@@ -0,0 +1,85 @@
+package com.app.heartbound.benchmarks;
+
+import com.app.heartbound.services.SecureRandomService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SecureRandomService#getSecureInt} and both {@code selectWeightedRandom} overloads.
+ * The pool is refilled once a minute, so after the first thousand calls these measure the
+ * direct-generation path that a busy server sees.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class SecureRandomBenchmark {
+
+    @Param({"10", "100"})
+    public int items;
+
+    private SecureRandomService secureRandomService;
+    private List<int[]> weightedItems;
+    private int totalWeight;
+    private int[] rolls;
+    private int nextRoll;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        secureRandomService = new SecureRandomService();
+        ReflectionTestUtils.setField(secureRandomService, "algorithm", "SHA1PRNG");
+        ReflectionTestUtils.setField(secureRandomService, "provider", "SUN");
+        ReflectionTestUtils.setField(secureRandomService, "seedRefreshInterval", 3_600_000L);
+        ReflectionTestUtils.setField(secureRandomService, "poolSize", 1000);
+        secureRandomService.initialize();
+
+        // Fixed seed so every run selects over the same weight distribution
+        SplittableRandom random = new SplittableRandom(42);
+        weightedItems = new ArrayList<>(items);
+        totalWeight = 0;
+        for (int i = 0; i < items; i++) {
+            int weight = 1 + random.nextInt(1000);
+            weightedItems.add(new int[]{i, weight});
+            totalWeight += weight;
+        }
+        rolls = new int[1024];
+        for (int i = 0; i < rolls.length; i++) {
+            rolls[i] = random.nextInt(totalWeight);
+        }
+    }
+
+    @Benchmark
+    public int getSecureInt() {
+        return secureRandomService.getSecureInt(1_000_000);
+    }
+
+    @Benchmark
+    public int[] selectWeightedRandom() {
+        return secureRandomService.selectWeightedRandom(weightedItems, totalWeight, item -> item[1]);
+    }
+
+    @Benchmark
+    public int[] selectWeightedRandomWithRoll() {
+        int roll = rolls[nextRoll];
+        nextRoll = (nextRoll + 1) & (rolls.length - 1);
+        return secureRandomService.selectWeightedRandom(weightedItems, totalWeight, roll, item -> item[1]);
+    }
+}
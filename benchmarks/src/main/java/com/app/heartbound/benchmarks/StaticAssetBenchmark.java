@@ -0,0 +1,129 @@
+package com.app.heartbound.benchmarks;
+
+import com.app.heartbound.controllers.ResourceController;
+import com.app.heartbound.services.StaticAssetService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Requests per second for rank images through Spring MVC: the in-memory {@link ResourceController}
+ * for a first load and for a revalidation with {@code If-None-Match}, against the former
+ * behaviour of reading the image from the classpath on every request.
+ *
+ * A full response costs about the same either way: writing the body dominates, and a classpath
+ * read of a few tens of KB comes from the page cache. The gain is in {@link #cachedNotModified},
+ * a 304 without a body, which is what browsers send once they hold the image's ETag.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class StaticAssetBenchmark {
+
+    private static final String[] RANKS = {"iron", "bronze", "silver", "gold", "platinum", "diamond",
+            "ascendant", "immortal", "radiant", "unrated"};
+
+    private MockMvc cached;
+    private MockMvc legacy;
+    private String[] etags;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        cached = MockMvcBuilders.standaloneSetup(new ResourceController(new StaticAssetService(365))).build();
+        legacy = MockMvcBuilders.standaloneSetup(new ResourceController(new LegacyStaticAssetService())).build();
+
+        etags = new String[RANKS.length];
+        for (int i = 0; i < RANKS.length; i++) {
+            MvcResult result = cached.perform(get(path(i))).andReturn();
+            etags[i] = result.getResponse().getHeader("ETag");
+            if (result.getResponse().getStatus() != 200 || etags[i] == null) {
+                throw new IllegalStateException("Rank image " + RANKS[i] + " not served from memory");
+            }
+            if (legacy.perform(get(path(i))).andReturn().getResponse().getStatus() != 200) {
+                throw new IllegalStateException("Rank image " + RANKS[i] + " not served from the classpath");
+            }
+        }
+    }
+
+    @Benchmark
+    public int cachedFullResponse(Cursor cursor) throws Exception {
+        return cached.perform(get(path(cursor.next()))).andReturn().getResponse().getContentLength();
+    }
+
+    @Benchmark
+    public int cachedNotModified(Cursor cursor) throws Exception {
+        int rank = cursor.next();
+        return cached.perform(get(path(rank)).header("If-None-Match", etags[rank]))
+                .andReturn().getResponse().getStatus();
+    }
+
+    @Benchmark
+    public int legacyClasspathRead(Cursor cursor) throws Exception {
+        return legacy.perform(get(path(cursor.next()))).andReturn().getResponse().getContentLength();
+    }
+
+    private static String path(int rank) {
+        return "/images/ranks/" + RANKS[rank] + ".png";
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        private int next;
+
+        int next() {
+            int rank = next;
+            next = (next + 1) % RANKS.length;
+            return rank;
+        }
+    }
+
+    /**
+     * The previous ResourceController rank image path behind the current controller: the image
+     * is read from the classpath on every request and sent without cache headers (the former
+     * file system fallback is left out, as the images are always on the benchmark's classpath)
+     */
+    static final class LegacyStaticAssetService extends StaticAssetService {
+
+        LegacyStaticAssetService() {
+            super(365);
+        }
+
+        @Override
+        public ResponseEntity<byte[]> respond(String path) {
+            try {
+                Resource resource = new ClassPathResource("static/images/" + path);
+                if (!resource.exists()) {
+                    return ResponseEntity.notFound().build();
+                }
+                byte[] imageBytes = StreamUtils.copyToByteArray(resource.getInputStream());
+                return ResponseEntity.ok().body(imageBytes);
+            } catch (IOException e) {
+                return ResponseEntity.internalServerError().build();
+            }
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.app.heartbound.benchmarks;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Minimal interface stubs for wiring services outside a Spring context. A dynamic proxy keeps
+ * the per-call overhead far below that of a mocking framework, so the stub does not dominate
+ * the measurement.
+ */
+final class Stubs {
+
+    private static final Map<Class<?>, Object> DEEP_STUBS = new ConcurrentHashMap<>();
+
+    private Stubs() {
+    }
+
+    /**
+     * Stub an interface by method name. An answer may be a constant or a
+     * {@code Function<Object[], Object>} of the call arguments; unstubbed default methods run
+     * their default implementation and any other call fails.
+     */
+    static <T> T stub(Class<T> type, Map<String, Object> answers) {
+        return proxy(type, answers, method -> {
+            throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName() + " is not stubbed");
+        });
+    }
+
+    /**
+     * Like {@link #stub}, but any other call returns an empty value instead of failing: zero,
+     * false, an empty string, collection, stream or optional, a completed future, the first enum
+     * constant, or a shared deep stub for interface types. Chained JDA request builders thus
+     * end in a {@code queue()} that does nothing. Extra interfaces let one stub stand in for a
+     * channel union and its concrete channel type.
+     */
+    static <T> T deepStub(Class<T> type, Map<String, Object> answers, Class<?>... extraInterfaces) {
+        return proxy(type, answers, method -> emptyValue(method.getReturnType()), extraInterfaces);
+    }
+
+    private static <T> T proxy(Class<T> type, Map<String, Object> answers, Function<Method, Object> fallback,
+                               Class<?>... extraInterfaces) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            String name = method.getName();
+            if (answers.containsKey(name)) {
+                Object answer = answers.get(name);
+                if (answer instanceof Function<?, ?> function) {
+                    @SuppressWarnings("unchecked")
+                    Function<Object[], Object> call = (Function<Object[], Object>) function;
+                    return call.apply(args);
+                }
+                return answer;
+            }
+            switch (name) {
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                case "toString":
+                    return type.getSimpleName() + " stub";
+                default:
+                    break;
+            }
+            if (method.isDefault()) {
+                return InvocationHandler.invokeDefault(proxy, method, args);
+            }
+            return fallback.apply(method);
+        };
+        Class<?>[] interfaces = new Class<?>[extraInterfaces.length + 1];
+        interfaces[0] = type;
+        System.arraycopy(extraInterfaces, 0, interfaces, 1, extraInterfaces.length);
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), interfaces, handler));
+    }
+
+    private static Object emptyValue(Class<?> type) {
+        if (type == void.class) {
+            return null;
+        }
+        if (type.isPrimitive()) {
+            return type == boolean.class ? Boolean.FALSE : type == char.class ? (Object) '\0' : zero(type);
+        }
+        if (type == String.class) {
+            return "";
+        }
+        if (type == List.class || type == Collection.class) {
+            return List.of();
+        }
+        if (type == Set.class) {
+            return Set.of();
+        }
+        if (type == Map.class) {
+            return Map.of();
+        }
+        if (type == Optional.class) {
+            return Optional.empty();
+        }
+        if (type == Stream.class) {
+            return Stream.empty();
+        }
+        if (type == CompletableFuture.class) {
+            return CompletableFuture.completedFuture(null);
+        }
+        if (type.isEnum()) {
+            return type.getEnumConstants()[0];
+        }
+        if (type.isArray()) {
+            return Array.newInstance(type.getComponentType(), 0);
+        }
+        if (type.isInterface()) {
+            return DEEP_STUBS.computeIfAbsent(type, interfaceType -> deepStub(interfaceType, Map.of()));
+        }
+        return null;
+    }
+
+    private static Object zero(Class<?> type) {
+        if (type == long.class) {
+            return 0L;
+        }
+        if (type == double.class) {
+            return 0.0d;
+        }
+        if (type == float.class) {
+            return 0.0f;
+        }
+        if (type == short.class) {
+            return (short) 0;
+        }
+        if (type == byte.class) {
+            return (byte) 0;
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,399 @@
+package com.app.heartbound.benchmarks;
+
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.GuildVoiceState;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.MessageType;
+import net.dv8tion.jda.api.entities.SelfUser;
+import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.entities.channel.ChannelType;
+import net.dv8tion.jda.api.entities.channel.concrete.TextChannel;
+import net.dv8tion.jda.api.entities.channel.concrete.VoiceChannel;
+import net.dv8tion.jda.api.entities.channel.unions.AudioChannelUnion;
+import net.dv8tion.jda.api.entities.channel.unions.GuildMessageChannelUnion;
+import net.dv8tion.jda.api.entities.channel.unions.MessageChannelUnion;
+import net.dv8tion.jda.api.events.guild.voice.GuildVoiceUpdateEvent;
+import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
+import net.dv8tion.jda.api.events.message.MessageReceivedEvent;
+import net.dv8tion.jda.api.hooks.IEventManager;
+import net.dv8tion.jda.api.interactions.InteractionType;
+import net.dv8tion.jda.api.interactions.commands.SlashCommandInteraction;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * A guild that only exists in memory: the bot's {@link JDA}, its members and its text and voice
+ * channels as {@link Stubs#deepStub deep stubs}, plus factories for the gateway events the
+ * listeners consume. Anything the listeners send back to Discord is accepted and discarded.
+ *
+ * Members {@code 2k} and {@code 2k + 1} share pairing channel {@code k}. Voice occupancy is
+ * tracked here so that voice events and {@code AudioChannel#getMembers()} agree.
+ */
+final class SyntheticGuild {
+
+    static final long GUILD_ID = 1_000_000_000_000_000_000L;
+    static final long BOT_ID = 1_000_000_000_000_000_001L;
+    static final long COUNTING_CHANNEL_ID = 1_000_000_000_000_000_002L;
+    private static final long USER_ID_BASE = 1_100_000_000_000_000_000L;
+    private static final long TEXT_CHANNEL_ID_BASE = 1_200_000_000_000_000_000L;
+    private static final long PAIRING_CHANNEL_ID_BASE = 1_300_000_000_000_000_000L;
+    private static final long VOICE_CHANNEL_ID_BASE = 1_400_000_000_000_000_000L;
+
+    private final int pairings;
+    private final JDA jda;
+    private final Guild guild;
+    private final Member botMember;
+    private final User[] users;
+    private final Member[] members;
+    private final MessageChannelUnion[] textChannels;
+    private final MessageChannelUnion[] pairingChannels;
+    private final MessageChannelUnion countingChannel;
+    private final AudioChannelUnion[] voiceChannels;
+    private final Map<Long, MessageChannelUnion> channelsById = new ConcurrentHashMap<>();
+    private final Map<AudioChannelUnion, List<Member>> voiceOccupants = new HashMap<>();
+    private final AtomicReferenceArray<AudioChannelUnion> memberVoiceChannels;
+    private final AtomicLong snowflakes = new AtomicLong(1_500_000_000_000_000_000L);
+    private final AtomicLong responseNumbers = new AtomicLong();
+
+    private volatile IEventManager eventManager;
+
+    SyntheticGuild(int userCount, int pairings, int textChannelCount, int voiceChannelCount) {
+        if (pairings * 2 > userCount) {
+            throw new IllegalArgumentException("Need at least " + pairings * 2 + " users for " + pairings + " pairings");
+        }
+        this.pairings = pairings;
+        this.memberVoiceChannels = new AtomicReferenceArray<>(userCount);
+
+        SelfUser selfUser = Stubs.deepStub(SelfUser.class, Map.of(
+            "getIdLong", BOT_ID,
+            "getId", Long.toString(BOT_ID),
+            "getName", "Heartbound",
+            "isBot", true));
+        this.jda = Stubs.deepStub(JDA.class, jdaAnswers(selfUser));
+        this.guild = Stubs.deepStub(Guild.class, guildAnswers());
+        this.botMember = Stubs.deepStub(Member.class, Map.of(
+            "getIdLong", BOT_ID,
+            "getId", Long.toString(BOT_ID),
+            "getUser", selfUser,
+            "getGuild", guild,
+            "getJDA", jda,
+            "hasPermission", (Function<Object[], Object>) args -> true,
+            "canInteract", (Function<Object[], Object>) args -> true));
+
+        this.users = new User[userCount];
+        this.members = new Member[userCount];
+        for (int i = 0; i < userCount; i++) {
+            users[i] = user(i);
+            members[i] = member(i, users[i]);
+        }
+
+        this.textChannels = new MessageChannelUnion[textChannelCount];
+        for (int i = 0; i < textChannelCount; i++) {
+            textChannels[i] = registerTextChannel(TEXT_CHANNEL_ID_BASE + i, "general-" + i);
+        }
+        this.pairingChannels = new MessageChannelUnion[pairings];
+        for (int i = 0; i < pairings; i++) {
+            pairingChannels[i] = registerTextChannel(PAIRING_CHANNEL_ID_BASE + i, "pairing-" + i);
+        }
+        this.countingChannel = registerTextChannel(COUNTING_CHANNEL_ID, "counting");
+
+        this.voiceChannels = new AudioChannelUnion[voiceChannelCount];
+        for (int i = 0; i < voiceChannelCount; i++) {
+            voiceChannels[i] = voiceChannel(VOICE_CHANNEL_ID_BASE + i, "voice-" + i);
+        }
+    }
+
+    /**
+     * Route {@link JDA#addEventListener} and friends to the application's event manager, which
+     * only exists once the Spring context is up.
+     */
+    void attach(IEventManager eventManager) {
+        this.eventManager = eventManager;
+    }
+
+    JDA jda() {
+        return jda;
+    }
+
+    int userCount() {
+        return members.length;
+    }
+
+    int pairingCount() {
+        return pairings;
+    }
+
+    int textChannelCount() {
+        return textChannels.length;
+    }
+
+    int voiceChannelCount() {
+        return voiceChannels.length;
+    }
+
+    static String userId(int member) {
+        return Long.toString(USER_ID_BASE + member);
+    }
+
+    static long pairingChannelId(int pairing) {
+        return PAIRING_CHANNEL_ID_BASE + pairing;
+    }
+
+    /**
+     * Index of the pairing a member belongs to, or -1.
+     */
+    int pairingOf(int member) {
+        return member < pairings * 2 ? member / 2 : -1;
+    }
+
+    static int partnerOf(int member) {
+        return member ^ 1;
+    }
+
+    MessageReceivedEvent textMessage(int member, int textChannel, String content) {
+        return message(member, textChannels[textChannel], content);
+    }
+
+    MessageReceivedEvent pairingMessage(int member, String content) {
+        return message(member, pairingChannels[pairingOf(member)], content);
+    }
+
+    MessageReceivedEvent countingMessage(int member, int number) {
+        return message(member, countingChannel, Integer.toString(number));
+    }
+
+    private MessageReceivedEvent message(int member, MessageChannelUnion channel, String content) {
+        long messageId = snowflakes.incrementAndGet();
+        Message message = Stubs.deepStub(Message.class, Map.ofEntries(
+            Map.entry("getIdLong", messageId),
+            Map.entry("getId", Long.toString(messageId)),
+            Map.entry("getContentRaw", content),
+            Map.entry("getContentDisplay", content),
+            Map.entry("getContentStripped", content),
+            Map.entry("getAuthor", users[member]),
+            Map.entry("getMember", members[member]),
+            Map.entry("getChannel", channel),
+            Map.entry("getChannelType", ChannelType.TEXT),
+            Map.entry("getType", MessageType.DEFAULT),
+            Map.entry("isFromGuild", true),
+            Map.entry("getGuild", guild),
+            Map.entry("getJDA", jda)));
+        return new MessageReceivedEvent(jda, responseNumbers.incrementAndGet(), message);
+    }
+
+    /**
+     * Current voice channel of a member, or -1.
+     */
+    int voiceChannelOf(int member) {
+        AudioChannelUnion channel = memberVoiceChannels.get(member);
+        if (channel == null) {
+            return -1;
+        }
+        for (int i = 0; i < voiceChannels.length; i++) {
+            if (voiceChannels[i] == channel) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Move a member to a voice channel, or out of voice when {@code voiceChannel} is -1, and
+     * return the resulting update event.
+     */
+    GuildVoiceUpdateEvent moveVoice(int member, int voiceChannel) {
+        AudioChannelUnion next = voiceChannel < 0 ? null : voiceChannels[voiceChannel];
+        AudioChannelUnion previous = memberVoiceChannels.getAndSet(member, next);
+        if (previous != null) {
+            voiceOccupants.get(previous).remove(members[member]);
+        }
+        if (next != null) {
+            voiceOccupants.get(next).add(members[member]);
+        }
+        return new GuildVoiceUpdateEvent(jda, responseNumbers.incrementAndGet(), members[member], previous);
+    }
+
+    SlashCommandInteractionEvent slashCommand(int member, String command) {
+        long interactionId = snowflakes.incrementAndGet();
+        MessageChannelUnion channel = textChannels[member % textChannels.length];
+        SlashCommandInteraction interaction = Stubs.deepStub(SlashCommandInteraction.class, Map.ofEntries(
+            Map.entry("getIdLong", interactionId),
+            Map.entry("getId", Long.toString(interactionId)),
+            Map.entry("getName", command),
+            Map.entry("getFullCommandName", command),
+            Map.entry("getType", InteractionType.COMMAND),
+            Map.entry("getTypeRaw", InteractionType.COMMAND.getKey()),
+            Map.entry("getUser", users[member]),
+            Map.entry("getMember", members[member]),
+            Map.entry("getGuild", guild),
+            Map.entry("isFromGuild", true),
+            Map.entry("getChannel", channel),
+            Map.entry("getMessageChannel", channel),
+            Map.entry("getChannelIdLong", channel.getIdLong()),
+            Map.entry("getJDA", jda)));
+        return new SlashCommandInteractionEvent(jda, responseNumbers.incrementAndGet(), interaction);
+    }
+
+    private Map<String, Object> jdaAnswers(SelfUser selfUser) {
+        Map<String, Object> answers = new HashMap<>();
+        answers.put("getSelfUser", selfUser);
+        answers.put("getStatus", JDA.Status.CONNECTED);
+        answers.put("getGatewayPing", 42L);
+        answers.put("getGuildById", (Function<Object[], Object>) args -> idOf(args[0]) == GUILD_ID ? guild : null);
+        answers.put("getGuilds", (Function<Object[], Object>) args -> List.of(guild));
+        answers.put("getTextChannelById", (Function<Object[], Object>) args -> textChannelById(idOf(args[0])));
+        answers.put("getChannelById", (Function<Object[], Object>) args -> {
+            MessageChannelUnion channel = textChannelById(idOf(args[1]));
+            return ((Class<?>) args[0]).isInstance(channel) ? channel : null;
+        });
+        answers.put("getUserById", (Function<Object[], Object>) args -> {
+            int member = memberIndex(idOf(args[0]));
+            return member < 0 ? null : users[member];
+        });
+        answers.put("getEventManager", (Function<Object[], Object>) args -> eventManager);
+        answers.put("getRegisteredListeners", (Function<Object[], Object>) args -> eventManager.getRegisteredListeners());
+        answers.put("addEventListener", (Function<Object[], Object>) args -> {
+            for (Object listener : (Object[]) args[0]) {
+                // Listeners that register themselves may already be present
+                if (!eventManager.getRegisteredListeners().contains(listener)) {
+                    eventManager.register(listener);
+                }
+            }
+            return null;
+        });
+        answers.put("removeEventListener", (Function<Object[], Object>) args -> {
+            for (Object listener : (Object[]) args[0]) {
+                eventManager.unregister(listener);
+            }
+            return null;
+        });
+        answers.put("awaitReady", (Function<Object[], Object>) args -> jda);
+        return answers;
+    }
+
+    private Map<String, Object> guildAnswers() {
+        Map<String, Object> answers = new HashMap<>();
+        answers.put("getIdLong", GUILD_ID);
+        answers.put("getId", Long.toString(GUILD_ID));
+        answers.put("getName", "Synthetic Guild");
+        answers.put("getJDA", (Function<Object[], Object>) args -> jda);
+        answers.put("getSelfMember", (Function<Object[], Object>) args -> botMember);
+        answers.put("getMemberCount", (Function<Object[], Object>) args -> members.length);
+        answers.put("getMembers", (Function<Object[], Object>) args -> List.of(members));
+        answers.put("getMemberById", (Function<Object[], Object>) args -> {
+            int member = memberIndex(idOf(args[0]));
+            return member < 0 ? null : members[member];
+        });
+        answers.put("getTextChannelById", (Function<Object[], Object>) args -> textChannelById(idOf(args[0])));
+        return answers;
+    }
+
+    private User user(int index) {
+        long id = USER_ID_BASE + index;
+        return Stubs.deepStub(User.class, Map.of(
+            "getIdLong", id,
+            "getId", Long.toString(id),
+            "getName", "loaduser" + index,
+            "getGlobalName", "Load User " + index,
+            "getEffectiveName", "Load User " + index,
+            "isBot", false,
+            "isSystem", false,
+            "getJDA", jda));
+    }
+
+    private Member member(int index, User user) {
+        long id = USER_ID_BASE + index;
+        Member[] self = new Member[1];
+        GuildVoiceState voiceState = Stubs.deepStub(GuildVoiceState.class, Map.of(
+            "getChannel", (Function<Object[], Object>) args -> memberVoiceChannels.get(index),
+            "inAudioChannel", (Function<Object[], Object>) args -> memberVoiceChannels.get(index) != null,
+            "getMember", (Function<Object[], Object>) args -> self[0],
+            "getGuild", guild,
+            "getJDA", jda));
+        self[0] = Stubs.deepStub(Member.class, Map.of(
+            "getIdLong", id,
+            "getId", Long.toString(id),
+            "getUser", user,
+            "getGuild", guild,
+            "getJDA", jda,
+            "getEffectiveName", "Load User " + index,
+            "getVoiceState", voiceState));
+        return self[0];
+    }
+
+    private MessageChannelUnion registerTextChannel(long id, String name) {
+        MessageChannelUnion channel = textChannel(id, name);
+        channelsById.put(id, channel);
+        return channel;
+    }
+
+    /**
+     * Any channel id the application is configured with (leaderboards, logs, welcome) exists
+     * in this guild as an otherwise empty text channel.
+     */
+    private MessageChannelUnion textChannelById(long id) {
+        return id <= 0 ? null : channelsById.computeIfAbsent(id, key -> textChannel(key, "channel-" + key));
+    }
+
+    private MessageChannelUnion textChannel(long id, String name) {
+        Object[] self = new Object[1];
+        Function<Object[], Object> asSelf = args -> self[0];
+        Map<String, Object> answers = new HashMap<>();
+        answers.put("getIdLong", id);
+        answers.put("getId", Long.toString(id));
+        answers.put("getName", name);
+        answers.put("getType", ChannelType.TEXT);
+        answers.put("getGuild", guild);
+        answers.put("getJDA", jda);
+        answers.put("canTalk", true);
+        answers.put("asTextChannel", asSelf);
+        answers.put("asGuildMessageChannel", asSelf);
+        MessageChannelUnion channel = Stubs.deepStub(MessageChannelUnion.class, answers,
+            GuildMessageChannelUnion.class, TextChannel.class);
+        self[0] = channel;
+        return channel;
+    }
+
+    private AudioChannelUnion voiceChannel(long id, String name) {
+        List<Member> occupants = new CopyOnWriteArrayList<>();
+        Object[] self = new Object[1];
+        Map<String, Object> answers = new HashMap<>();
+        answers.put("getIdLong", id);
+        answers.put("getId", Long.toString(id));
+        answers.put("getName", name);
+        answers.put("getType", ChannelType.VOICE);
+        answers.put("getGuild", guild);
+        answers.put("getJDA", jda);
+        answers.put("getMembers", (Function<Object[], Object>) args -> List.copyOf(occupants));
+        answers.put("asVoiceChannel", (Function<Object[], Object>) args -> self[0]);
+        AudioChannelUnion channel = Stubs.deepStub(AudioChannelUnion.class, answers, VoiceChannel.class);
+        self[0] = channel;
+        voiceOccupants.put(channel, occupants);
+        return channel;
+    }
+
+    private int memberIndex(long id) {
+        long index = id - USER_ID_BASE;
+        return index >= 0 && index < members.length ? (int) index : -1;
+    }
+
+    private static long idOf(Object id) {
+        if (id instanceof Long value) {
+            return value;
+        }
+        try {
+            return Long.parseLong(String.valueOf(id));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.app.heartbound.benchmarks;
+
+import com.app.heartbound.dto.shop.UserInventoryItemDTO;
+import com.app.heartbound.entities.ItemInstance;
+import com.app.heartbound.entities.Shop;
+import com.app.heartbound.entities.User;
+import com.app.heartbound.enums.ItemRarity;
+import com.app.heartbound.enums.ShopCategory;
+import com.app.heartbound.repositories.UserRepository;
+import com.app.heartbound.services.UserInventoryService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Grouping and DTO mapping of {@link UserInventoryService#getUserInventory} over an inventory
+ * that is already loaded, i.e. everything after {@code findByIdWithInventory} returns.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class UserInventoryBenchmark {
+
+    private static final String USER_ID = "123456789012345678";
+
+    private static final ShopCategory[] CATEGORIES = {
+        ShopCategory.USER_COLOR, ShopCategory.BADGE, ShopCategory.CASE,
+        ShopCategory.FISHING_ROD, ShopCategory.FISHING_ROD_PART
+    };
+
+    @Param({"50", "500"})
+    public int instances;
+
+    private UserInventoryService userInventoryService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        User user = new User();
+        user.setId(USER_ID);
+
+        // Fixed seed; roughly one distinct base item per five instances
+        SplittableRandom random = new SplittableRandom(11);
+        int distinctItems = Math.max(1, instances / 5);
+        List<Shop> catalog = new ArrayList<>(distinctItems);
+        for (int i = 0; i < distinctItems; i++) {
+            catalog.add(Shop.builder()
+                .id(UUID.nameUUIDFromBytes(("shop-item-" + i).getBytes()))
+                .name("Item " + i)
+                .description("Benchmark item " + i)
+                .category(CATEGORIES[i % CATEGORIES.length])
+                .rarity(ItemRarity.values()[i % ItemRarity.values().length])
+                .price(100 + i)
+                .maxDurability(100)
+                .build());
+        }
+
+        List<ItemInstance> itemInstances = new ArrayList<>(instances);
+        for (int i = 0; i < instances; i++) {
+            Shop baseItem = catalog.get(random.nextInt(distinctItems));
+            itemInstances.add(ItemInstance.builder()
+                .id(UUID.nameUUIDFromBytes(("instance-" + i).getBytes()))
+                .owner(user)
+                .baseItem(baseItem)
+                .serialNumber((long) i)
+                .level(1 + random.nextInt(20))
+                .experience((long) random.nextInt(5000))
+                .durability(baseItem.getCategory() == ShopCategory.FISHING_ROD ? 100 : null)
+                .build());
+        }
+        user.setItemInstances(itemInstances);
+
+        UserRepository userRepository = Stubs.stub(UserRepository.class, Map.of(
+            "findByIdWithInventory", Optional.of(user)));
+        userInventoryService = new UserInventoryService(null, userRepository, null, null, null, null, null, null, null);
+    }
+
+    @Benchmark
+    public List<UserInventoryItemDTO> getUserInventory() {
+        return userInventoryService.getUserInventory(USER_ID);
+    }
+}
@@ -0,0 +1,260 @@
+package com.app.heartbound.benchmarks;
+
+import com.app.heartbound.dto.CreateTradeDto;
+import com.app.heartbound.entities.CaseItem;
+import com.app.heartbound.entities.Giveaway;
+import com.app.heartbound.entities.GiveawayEntry;
+import com.app.heartbound.entities.ItemInstance;
+import com.app.heartbound.entities.Shop;
+import com.app.heartbound.entities.User;
+import com.app.heartbound.enums.ShopCategory;
+import com.app.heartbound.repositories.GiveawayEntryRepository;
+import com.app.heartbound.repositories.GiveawayRepository;
+import com.app.heartbound.repositories.ItemInstanceRepository;
+import com.app.heartbound.repositories.TradeRepository;
+import com.app.heartbound.repositories.UserRepository;
+import com.app.heartbound.repositories.shop.CaseItemRepository;
+import com.app.heartbound.repositories.shop.ShopRepository;
+import com.app.heartbound.services.GiveawayService;
+import com.app.heartbound.services.TradeService;
+import com.app.heartbound.services.shop.CaseService;
+import com.app.heartbound.services.shop.ShopService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntToLongFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * JDBC statement counts of the bulk write paths, in the application context
+ * {@link GatewayLoadHarness} boots against embedded PostgreSQL with Flyway and the production
+ * Hibernate settings. Each path is run on a small and a large number of rows: written one at a
+ * time every extra row costs at least one statement, batched the count only grows by a few
+ * statements per batch of 50.
+ *
+ * The counter sees the whole process, so a scheduled job running at the same time adds a few
+ * statements; the bound leaves room for that. The test needs embedded PostgreSQL, so like the
+ * harness it is opt-in through the benchmarks profile and is not part of the regular build.
+ * PostgreSQL refuses to run as root:
+ *
+ * <pre>
+ * mvn -Pbenchmarks -pl benchmarks -am test -Dtest=BatchedWriteStatementsTest -Dsurefire.failIfNoSpecifiedTests=false
+ * </pre>
+ */
+class BatchedWriteStatementsTest {
+
+    private static final int SMALL = 30;
+    private static final int LARGE = 300;
+    // Statements allowed per extra row, well below the one per row of unbatched writes
+    private static final double MAX_STATEMENTS_PER_ROW = 0.2;
+
+    private static final StatementCounter statements = new StatementCounter();
+    private static EmbeddedPostgres database;
+    private static ConfigurableApplicationContext context;
+    private static TransactionTemplate transaction;
+
+    @BeforeAll
+    static void start() throws IOException {
+        database = EmbeddedPostgres.builder().start();
+        context = GatewayLoadHarness.start(new SyntheticGuild(2, 0, 1, 1), statements,
+            database.getJdbcUrl("postgres", "postgres"), "postgres", "postgres");
+        transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        if (context != null) {
+            context.close();
+        }
+        if (database != null) {
+            database.close();
+        }
+    }
+
+    @Test
+    void createTradeWithManyItems() {
+        assertBatched("Creating a trade of %d items", BatchedWriteStatementsTest::createTrade);
+    }
+
+    @Test
+    void executeTradeWithManyItems() {
+        assertBatched("Executing a trade of %d items", BatchedWriteStatementsTest::executeTrade);
+    }
+
+    @Test
+    void openCaseWithLargeInventory() {
+        assertBatched("Opening a case with %d items in the inventory", BatchedWriteStatementsTest::openCase);
+    }
+
+    @Test
+    void deleteShopItemHeldByManyUsers() {
+        assertBatched("Deleting an item held by %d users", BatchedWriteStatementsTest::deleteShopItem);
+    }
+
+    @Test
+    void cancelGiveawayRefundsManyEntrants() {
+        assertBatched("Refunding %d giveaway entries", BatchedWriteStatementsTest::cancelGiveaway);
+    }
+
+    private static long createTrade(int items) {
+        List<User> users = seedUsers("trade" + items, 2);
+        Shop item = seedShopItem("Trade Item " + items, ShopCategory.BADGE);
+        List<ItemInstance> instances = seedInstances(item, List.of(users.get(0)), items);
+
+        CreateTradeDto trade = new CreateTradeDto();
+        trade.setReceiverId(users.get(1).getId());
+        trade.setOfferedItemInstanceIds(instances.stream().map(ItemInstance::getId).toList());
+
+        long executed = count(() -> context.getBean(TradeService.class).createTrade(trade, users.get(0).getId()));
+
+        Integer traded = transaction.execute(status -> context.getBean(TradeRepository.class)
+            .findByInitiatorIdOrReceiverId(users.get(0).getId(), users.get(0).getId()).get(0).getItems().size());
+        assertEquals(items, traded);
+        return executed;
+    }
+
+    private static long executeTrade(int items) {
+        List<User> users = seedUsers("swap" + items, 2);
+        // Stackable, so many copies may change hands in one trade
+        Shop item = seedShopItem("Swapped Case " + items, ShopCategory.CASE);
+        List<ItemInstance> instances = seedInstances(item, List.of(users.get(0)), items);
+
+        CreateTradeDto offer = new CreateTradeDto();
+        offer.setReceiverId(users.get(1).getId());
+        offer.setOfferedItemInstanceIds(instances.stream().map(ItemInstance::getId).toList());
+        TradeService trades = context.getBean(TradeService.class);
+        Long tradeId = trades.createTrade(offer, users.get(0).getId()).getId();
+        trades.lockOffer(tradeId, users.get(0).getId());
+        trades.lockOffer(tradeId, users.get(1).getId());
+        trades.acceptFinalTrade(tradeId, users.get(0).getId());
+
+        long executed = count(() -> trades.acceptFinalTrade(tradeId, users.get(1).getId()));
+
+        Integer received = transaction.execute(status -> context.getBean(ItemInstanceRepository.class)
+            .findByBaseItem(item).stream().filter(instance -> instance.getOwner().getId().equals(users.get(1).getId())).toList().size());
+        assertEquals(items, received);
+        return executed;
+    }
+
+    private static long openCase(int inventory) {
+        User user = seedUsers("opener" + inventory, 1).get(0);
+        Shop crate = seedShopItem("Case " + inventory, ShopCategory.CASE);
+        Shop prize = seedShopItem("Case Prize " + inventory, ShopCategory.BADGE);
+        transaction.execute(status -> context.getBean(CaseItemRepository.class).save(CaseItem.builder()
+            .caseShopItem(crate)
+            .containedItem(prize)
+            .dropRate(new BigDecimal("100"))
+            .build()));
+        seedInstances(crate, List.of(user), inventory);
+
+        long executed = count(() -> context.getBean(CaseService.class).openCase(user.getId(), crate.getId()));
+
+        assertEquals(inventory - 1, context.getBean(ItemInstanceRepository.class).findByBaseItem(crate).size());
+        assertEquals(1, context.getBean(ItemInstanceRepository.class).findByBaseItem(prize).size());
+        return executed;
+    }
+
+    private static long deleteShopItem(int holders) {
+        List<User> users = seedUsers("holder" + holders, holders);
+        Shop item = seedShopItem("Deleted Item " + holders, ShopCategory.BADGE);
+        seedInstances(item, users, 1);
+
+        long executed = count(() -> context.getBean(ShopService.class).deleteShopItem(item.getId()));
+
+        assertEquals(0, context.getBean(ItemInstanceRepository.class).findByBaseItem(item).size());
+        return executed;
+    }
+
+    private static long cancelGiveaway(int entrants) {
+        List<User> users = seedUsers("entrant" + entrants, entrants);
+        Giveaway giveaway = transaction.execute(status -> {
+            Giveaway created = context.getBean(GiveawayRepository.class).save(Giveaway.builder()
+                .hostUserId(users.get(0).getId())
+                .hostUsername("host")
+                .prize("Prize")
+                .numberOfWinners(1)
+                .endDate(LocalDateTime.now().plusDays(1))
+                .channelId("0")
+                .messageId("0")
+                .entryPrice(10)
+                .createdAt(LocalDateTime.now())
+                .build());
+            List<GiveawayEntry> entries = new ArrayList<>(users.size());
+            for (User user : users) {
+                entries.add(GiveawayEntry.builder()
+                    .giveaway(created)
+                    .userId(user.getId())
+                    .username(user.getUsername())
+                    .entryNumber(1)
+                    .creditsPaid(10)
+                    .entryDate(LocalDateTime.now())
+                    .build());
+            }
+            context.getBean(GiveawayEntryRepository.class).saveAll(entries);
+            return created;
+        });
+
+        long executed = count(() -> context.getBean(GiveawayService.class).cancelGiveaway(giveaway.getId(), "admin"));
+
+        assertEquals(1_010, context.getBean(UserRepository.class).findById(users.get(entrants - 1).getId()).orElseThrow().getCredits());
+        return executed;
+    }
+
+    private static void assertBatched(String description, IntToLongFunction scenario) {
+        long small = scenario.applyAsLong(SMALL);
+        long large = scenario.applyAsLong(LARGE);
+        assertTrue(large - small <= (LARGE - SMALL) * MAX_STATEMENTS_PER_ROW,
+            () -> String.format(description, SMALL) + " took " + small + " statements, "
+                + String.format(description, LARGE) + " took " + large);
+    }
+
+    private static long count(Runnable action) {
+        long before = statements.executions();
+        action.run();
+        return statements.executions() - before;
+    }
+
+    private static List<User> seedUsers(String prefix, int count) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(User.builder()
+                .id(prefix + "-" + i)
+                .username(prefix + i)
+                .displayName(prefix + " " + i)
+                .avatar("https://cdn.discordapp.com/embed/avatars/0.png")
+                .credits(1_000)
+                .build());
+        }
+        return transaction.execute(status -> context.getBean(UserRepository.class).saveAll(users));
+    }
+
+    private static Shop seedShopItem(String name, ShopCategory category) {
+        return transaction.execute(status -> context.getBean(ShopRepository.class).save(Shop.builder()
+            .name(name)
+            .price(100)
+            .category(category)
+            .build()));
+    }
+
+    private static List<ItemInstance> seedInstances(Shop item, List<User> owners, int perOwner) {
+        List<ItemInstance> instances = new ArrayList<>(owners.size() * perOwner);
+        for (User owner : owners) {
+            for (int i = 0; i < perOwner; i++) {
+                instances.add(ItemInstance.builder().owner(owner).baseItem(item).build());
+            }
+        }
+        return transaction.execute(status -> context.getBean(ItemInstanceRepository.class).saveAll(instances));
+    }
+}